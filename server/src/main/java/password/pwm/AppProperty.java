@@ -44,6 +44,8 @@ public enum AppProperty {
     BACKUP_LOCALDB_COUNT                            ("backup.localdb.count"),
     CACHE_ENABLE                                    ("cache.enable"),
     CACHE_MEMORY_MAX_ITEMS                          ("cache.memory.maxItems"),
+    CACHE_NEGATIVE_LIFETIME_MS                      ("cache.memory.negativeLifetimeMS"),
+    CACHE_NEGATIVE_MAX_ITEMS                        ("cache.memory.negativeMaxItems"),
     CACHE_PWRULECHECK_LIFETIME_MS                   ("cache.pwRuleCheckLifetimeMS"),
     CACHE_FORM_UNIQUE_VALUE_LIFETIME_MS             ("cache.uniqueFormValueLifetimeMS"),
     CLIENT_ACTIVITY_MAX_EPS_RATE                    ("client.ajax.activityMaxEpsRate"),
@@ -104,12 +106,18 @@ public enum AppProperty {
     HTTP_COOKIE_CAPTCHA_SKIP_NAME                   ("http.cookie.captchaSkip.name"),
     HTTP_COOKIE_CAPTCHA_SKIP_AGE                    ("http.cookie.captchaSkip.age"),
     HTTP_COOKIE_LOGIN_NAME                          ("http.cookie.login.name"),
+    HTTP_COOKIE_BEAN_KEY_CACHE_MAX_ENTRIES          ("http.cookie.bean.keyCache.maxEntries"),
+    HTTP_COOKIE_BEAN_KEY_CACHE_IDLE_TIMEOUT_MS      ("http.cookie.bean.keyCache.idleTimeoutMs"),
     HTTP_BASIC_AUTH_CHARSET                         ("http.basicAuth.charset"),
     HTTP_BODY_MAXREAD_LENGTH                        ("http.body.maxReadLength"),
     HTTP_CLIENT_SOCKET_TIMEOUT_MS                   ("http.client.socketTimeoutMs"),
     HTTP_CLIENT_CONNECT_TIMEOUT_MS                  ("http.client.connectTimeoutMs"),
     HTTP_CLIENT_REQUEST_TIMEOUT_MS                  ("http.client.requestTimeoutMs"),
     HTTP_CLIENT_PROMISCUOUS_WORDLIST_ENABLE         ("http.client.promiscuous.wordlist.enable"),
+    HTTP_CLIENT_POOL_MAX_TOTAL                      ("http.client.pool.maxTotal"),
+    HTTP_CLIENT_POOL_MAX_PER_ROUTE                  ("http.client.pool.maxPerRoute"),
+    HTTP_CLIENT_POOL_IDLE_TIMEOUT_MS                ("http.client.pool.idleTimeoutMs"),
+    HTTP_CLIENT_POOL_TIME_TO_LIVE_MS                ("http.client.pool.timeToLiveMs"),
     HTTP_ENABLE_GZIP                                ("http.gzip.enable"),
     HTTP_ERRORS_ALLOW_HTML                          ("http.errors.allowHtml"),
     HTTP_HEADER_SERVER                              ("http.header.server"),
@@ -186,6 +194,11 @@ public enum AppProperty {
     LDAP_CHAI_SETTINGS                              ("ldap.chaiSettings"),
     LDAP_PROXY_CONNECTION_PER_PROFILE               ("ldap.proxy.connectionsPerProfile"),
     LDAP_PROXY_MAX_CONNECTIONS                      ("ldap.proxy.maxConnections"),
+    LDAP_PROXY_POOL_MIN_CONNECTIONS                 ("ldap.proxy.pool.minConnectionsPerProfile"),
+    LDAP_PROXY_POOL_LEASE_MODE                      ("ldap.proxy.pool.leaseMode"),
+    LDAP_PROXY_POOL_MAX_WAIT_MS                     ("ldap.proxy.pool.maxWaitMs"),
+    LDAP_PROXY_POOL_IDLE_TIMEOUT_MS                 ("ldap.proxy.pool.idleTimeoutMs"),
+    LDAP_PROXY_POOL_VALIDATION_INTERVAL_MS          ("ldap.proxy.pool.validationIntervalMs"),
     LDAP_EXTENSIONS_NMAS_ENABLE                     ("ldap.extensions.nmas.enable"),
     LDAP_CONNECTION_TIMEOUT                         ("ldap.connection.timeoutMS"),
     LDAP_PROFILE_RETRY_DELAY                        ("ldap.profile.retryDelayMS"),
@@ -201,6 +214,10 @@ public enum AppProperty {
     LDAP_SEARCH_PARALLEL_ENABLE                     ("ldap.search.parallel.enable"),
     LDAP_SEARCH_PARALLEL_FACTOR                     ("ldap.search.parallel.factor"),
     LDAP_SEARCH_PARALLEL_THREAD_MAX                 ("ldap.search.parallel.threadMax"),
+    LDAP_SEARCH_RESOLVE_CACHE_ENABLE                ("ldap.search.resolveCache.enable"),
+    LDAP_SEARCH_RESOLVE_CACHE_MAX_ENTRIES           ("ldap.search.resolveCache.maxEntries"),
+    LDAP_SEARCH_RESOLVE_CACHE_POSITIVE_TTL_MS       ("ldap.search.resolveCache.positiveTtlMs"),
+    LDAP_SEARCH_RESOLVE_CACHE_NEGATIVE_TTL_MS       ("ldap.search.resolveCache.negativeTtlMs"),
     LDAP_ORACLE_POST_TEMPPW_USE_CURRENT_TIME        ("ldap.oracle.postTempPasswordUseCurrentTime"),
     LOGGING_PATTERN                                 ("logging.pattern"),
     LOGGING_FILE_MAX_SIZE                           ("logging.file.maxSize"),
@@ -241,6 +258,7 @@ public enum AppProperty {
     PASSWORD_RANDOMGEN_MAX_ATTEMPTS                 ("password.randomGenerator.maxAttempts"),
     PASSWORD_RANDOMGEN_MAX_LENGTH                   ("password.randomGenerator.maxLength"),
     PASSWORD_RANDOMGEN_JITTER_COUNT                 ("password.randomGenerator.jitter.count"),
+    PEOPLESEARCH_CACHE_REFRESH_AHEAD_SECONDS        ("peoplesearch.cache.refreshAheadSeconds"),
     PEOPLESEARCH_MAX_VALUE_VERIFYUSERDN             ("peoplesearch.values.verifyUserDN"),
     PEOPLESEARCH_VALUE_MAXCOUNT                     ("peoplesearch.values.maxCount"),
     PEOPLESEARCH_VIEW_DETAIL_LINKS                  ("peoplesearch.view.detail.links"),
@@ -257,8 +275,16 @@ public enum AppProperty {
     RECAPTCHA_CLIENT_JS_URL                         ("recaptcha.clientJsUrl"),
     RECAPTCHA_CLIENT_IFRAME_URL                     ("recaptcha.clientIframeUrl"),
     RECAPTCHA_VALIDATE_URL                          ("recaptcha.validateUrl"),
+    REPORTING_COLUMN_STORE_ENABLE                   ("reporting.columnStore.enable"),
+    REPORTING_INCREMENTAL_ENABLE                    ("reporting.incremental.enable"),
+    REPORTING_INCREMENTAL_FULL_SWEEP_INTERVAL_MS    ("reporting.incremental.fullSweepIntervalMs"),
+    REPORTING_INCREMENTAL_CLOCK_SKEW_MS             ("reporting.incremental.clockSkewMs"),
+    REPORTING_LDAP_MODIFY_TIMESTAMP_ATTRIBUTE       ("reporting.ldap.modifyTimestampAttribute"),
     REPORTING_LDAP_SEARCH_TIMEOUT                   ("reporting.ldap.searchTimeoutMs"),
     REPORTING_LDAP_SEARCH_THREADS                   ("reporting.ldap.searchThreads"),
+    REPORTING_PIPELINE_BATCH_SIZE                   ("reporting.pipeline.batchSize"),
+    SCHEDULER_WORKER_THREADS                        ("scheduler.workerThreads"),
+    SERVICES_STARTUP_PARALLELISM                    ("services.startup.parallelism"),
     SECURITY_STRIP_INLINE_JAVASCRIPT                ("security.html.stripInlineJavascript"),
     SECURITY_HTTP_FORCE_REQUEST_SEQUENCING          ("security.http.forceRequestSequencing"),
     SECURITY_HTTP_STRIP_HEADER_REGEX                ("security.http.stripHeaderRegex"),
@@ -283,6 +309,7 @@ public enum AppProperty {
     SECURITY_DEFAULT_EPHEMERAL_BLOCK_ALG            ("security.defaultEphemeralBlockAlg"),
     SECURITY_DEFAULT_EPHEMERAL_HASH_ALG             ("security.defaultEphemeralHashAlg"),
     SEEDLIST_BUILTIN_PATH                           ("seedlist.builtin.path"),
+    SEEDLIST_STORAGE_FORMAT                         ("seedlist.storageFormat"),
     SMTP_SUBJECT_ENCODING_CHARSET                   ("smtp.subjectEncodingCharset"),
     TOKEN_CLEANER_INTERVAL_SECONDS                  ("token.cleaner.intervalSeconds"),
     TOKEN_MASK_EMAIL_REGEX                          ("token.mask.email.regex"),
@@ -307,6 +334,14 @@ public enum AppProperty {
     WORDLIST_BUILTIN_PATH                           ("wordlist.builtin.path"),
     WORDLIST_CHAR_LENGTH_MAX                        ("wordlist.maxCharLength"),
     WORDLIST_CHAR_LENGTH_MIN                        ("wordlist.minCharLength"),
+    WORDLIST_FILTER_ENABLE                          ("wordlist.filter.enable"),
+    WORDLIST_FILTER_FALSE_POSITIVE_RATE             ("wordlist.filter.falsePositiveRate"),
+    WORDLIST_FILTER_MAX_SIZE_MB                     ("wordlist.filter.maxSizeMB"),
+    WORDLIST_FILTER_OFF_HEAP                        ("wordlist.filter.offHeap"),
+    WORDLIST_IMPORT_NORMALIZE_THREADS               ("wordlist.import.normalizeThreads"),
+    WORDLIST_IMPORT_CHUNK_LINES                     ("wordlist.import.chunkLines"),
+    WORDLIST_IMPORT_CHECKPOINT_INTERVAL_MS          ("wordlist.import.checkpointIntervalMs"),
+    WORDLIST_STORAGE_FORMAT                         ("wordlist.storageFormat"),
     WS_REST_CLIENT_PWRULE_HALTONERROR               ("ws.restClient.pwRule.haltOnError"),
     WS_REST_SERVER_SIGNING_FORM_TIMEOUT_SECONDS     ("ws.restServer.signing.form.timeoutSeconds"),
     ALLOW_MACRO_IN_REGEX_SETTING                    ("password.policy.allowMacroInRegexSetting"),
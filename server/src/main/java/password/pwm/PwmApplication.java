@@ -35,10 +35,12 @@ import password.pwm.error.PwmError;
 import password.pwm.error.PwmException;
 import password.pwm.error.PwmUnrecoverableException;
 import password.pwm.health.HealthMonitor;
+import password.pwm.http.client.HttpClientService;
 import password.pwm.http.servlet.resource.ResourceServletService;
 import password.pwm.http.state.SessionStateService;
 import password.pwm.ldap.LdapConnectionService;
 import password.pwm.ldap.search.UserSearchEngine;
+import password.pwm.svc.PwmScheduler;
 import password.pwm.svc.PwmService;
 import password.pwm.svc.PwmServiceManager;
 import password.pwm.svc.cache.CacheService;
@@ -595,6 +597,18 @@ public class PwmApplication {
         return newInstanceID;
     }
 
+    public HttpClientService getHttpClientService() {
+        return (HttpClientService)pwmServiceManager.getService(HttpClientService.class);
+    }
+
+    public PwmScheduler getPwmScheduler() {
+        return pwmServiceManager.getPwmScheduler();
+    }
+
+    public List<PwmServiceManager.ServiceStartupRecord> getServiceStartupTimeline() {
+        return pwmServiceManager.getStartupTimeline();
+    }
+
     public StatisticsManager getStatisticsManager() {
         return (StatisticsManager)pwmServiceManager.getService(StatisticsManager.class);
     }
@@ -680,6 +694,8 @@ public class PwmApplication {
             localDB = null;
         }
 
+        pwmServiceManager.shutdownScheduler();
+
         pwmEnvironment.releaseFileLock();
 
         LOGGER.info(PwmConstants.PWM_APP_NAME + " " + PwmConstants.SERVLET_VERSION + " closed for bidness, cya!");
@@ -473,7 +473,7 @@ public class PwmEnvironment {
     public void waitForFileLock() throws PwmUnrecoverableException {
         final int maxWaitSeconds = this.getFlags().contains(ApplicationFlag.CommandLineInstance)
                 ? 1
-                : Integer.parseInt(getConfig().readAppProperty(AppProperty.APPLICATION_FILELOCK_WAIT_SECONDS));
+                : getConfig().readAppPropertyInt(AppProperty.APPLICATION_FILELOCK_WAIT_SECONDS);
         final Instant startTime = Instant.now();
         final int attemptInterval = 5021; //ms
 
@@ -0,0 +1,138 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+
+package password.pwm.config;
+
+import password.pwm.AppProperty;
+import password.pwm.util.java.StringUtil;
+import password.pwm.util.java.TimeDuration;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resolved {@link AppProperty} values for a single {@link Configuration}.  Overrides from
+ * {@link PwmSetting#APP_PROPERTY_OVERRIDES} are applied and numeric and boolean values are parsed once
+ * when the table is built, so that reads are simple map lookups.
+ */
+class AppPropertyTable {
+
+    private final Map<AppProperty, String> stringValues;
+    private final Map<AppProperty, Long> longValues;
+    private final Map<AppProperty, Boolean> booleanValues;
+    private final Map<AppProperty, LongAdder> readCounters;
+
+    private AppPropertyTable(
+            final Map<AppProperty, String> stringValues,
+            final Map<AppProperty, Long> longValues,
+            final Map<AppProperty, Boolean> booleanValues,
+            final Map<AppProperty, LongAdder> readCounters
+    )
+    {
+        this.stringValues = stringValues;
+        this.longValues = longValues;
+        this.booleanValues = booleanValues;
+        this.readCounters = readCounters;
+    }
+
+    static AppPropertyTable fromOverrides(final List<String> overrideValues) {
+        final Map<String, String> configuredValues = StringUtil.convertStringListToNameValuePair(overrideValues, "=");
+
+        final Map<AppProperty, String> stringValues = new EnumMap<>(AppProperty.class);
+        final Map<AppProperty, Long> longValues = new EnumMap<>(AppProperty.class);
+        final Map<AppProperty, Boolean> booleanValues = new EnumMap<>(AppProperty.class);
+        final Map<AppProperty, LongAdder> readCounters = new EnumMap<>(AppProperty.class);
+
+        for (final AppProperty appProperty : AppProperty.values()) {
+            final String value = configuredValues.containsKey(appProperty.getKey())
+                    ? configuredValues.get(appProperty.getKey())
+                    : appProperty.getDefaultValue();
+
+            stringValues.put(appProperty, value);
+            booleanValues.put(appProperty, Boolean.parseBoolean(value));
+            readCounters.put(appProperty, new LongAdder());
+
+            if (value != null) {
+                try {
+                    longValues.put(appProperty, Long.parseLong(value.trim()));
+                } catch (NumberFormatException e) {
+                    /* not a numeric property */
+                }
+            }
+        }
+
+        return new AppPropertyTable(
+                Collections.unmodifiableMap(stringValues),
+                Collections.unmodifiableMap(longValues),
+                Collections.unmodifiableMap(booleanValues),
+                Collections.unmodifiableMap(readCounters)
+        );
+    }
+
+    String readString(final AppProperty appProperty) {
+        readCounters.get(appProperty).increment();
+        return stringValues.get(appProperty);
+    }
+
+    boolean readBoolean(final AppProperty appProperty) {
+        readCounters.get(appProperty).increment();
+        return booleanValues.get(appProperty);
+    }
+
+    long readLong(final AppProperty appProperty) {
+        readCounters.get(appProperty).increment();
+        final Long value = longValues.get(appProperty);
+        if (value == null) {
+            throw new NumberFormatException("app property " + appProperty.getKey() + " value '" + stringValues.get(appProperty) + "' is not numeric");
+        }
+        return value;
+    }
+
+    int readInt(final AppProperty appProperty) {
+        final long value = readLong(appProperty);
+        if (value > Integer.MAX_VALUE || value < Integer.MIN_VALUE) {
+            throw new NumberFormatException("app property " + appProperty.getKey() + " value '" + value + "' is out of integer range");
+        }
+        return (int) value;
+    }
+
+    TimeDuration readDuration(final AppProperty appProperty, final TimeUnit timeUnit) {
+        return new TimeDuration(readLong(appProperty), timeUnit);
+    }
+
+    Map<AppProperty, String> values() {
+        return stringValues;
+    }
+
+    Map<AppProperty, Long> readCounts() {
+        final Map<AppProperty, Long> returnMap = new EnumMap<>(AppProperty.class);
+        for (final Map.Entry<AppProperty, LongAdder> entry : readCounters.entrySet()) {
+            returnMap.put(entry.getKey(), entry.getValue().sum());
+        }
+        return Collections.unmodifiableMap(returnMap);
+    }
+}
@@ -68,9 +68,11 @@ import password.pwm.error.ErrorInformation;
 import password.pwm.error.PwmError;
 import password.pwm.error.PwmUnrecoverableException;
 import password.pwm.util.LocaleHelper;
+import password.pwm.util.LocalizedMessageCache;
 import password.pwm.util.PasswordData;
 import password.pwm.util.java.JsonUtil;
 import password.pwm.util.java.StringUtil;
+import password.pwm.util.java.TimeDuration;
 import password.pwm.util.logging.PwmLogLevel;
 import password.pwm.util.logging.PwmLogger;
 import password.pwm.util.secure.PwmRandom;
@@ -83,7 +85,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.EnumMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -92,6 +93,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Jason D. Rivard
@@ -101,12 +103,17 @@ public class Configuration implements SettingReader {
 
     private final StoredConfigurationImpl storedConfiguration;
 
+    private final AppPropertyTable appPropertyTable;
+
     private DataCache dataCache = new DataCache();
 
+    private final LocalizedMessageCache localizedMessageCache = new LocalizedMessageCache();
+
     private String cashedConfigurationHash;
 
     public Configuration(final StoredConfigurationImpl storedConfiguration) {
         this.storedConfiguration = storedConfiguration;
+        this.appPropertyTable = AppPropertyTable.fromOverrides(readSettingAsStringArray(PwmSetting.APP_PROPERTY_OVERRIDES));
     }
 
     public String toDebugString() {
@@ -431,6 +438,10 @@ public class Configuration implements SettingReader {
         return localizedMap;
     }
 
+    public LocalizedMessageCache getLocalizedMessageCache() {
+        return localizedMessageCache;
+    }
+
     public PwmLogLevel getEventLogLocalDBLevel() {
         return readSettingAsEnum(PwmSetting.EVENTS_LOCALDB_LOG_LEVEL, PwmLogLevel.class);
     }
@@ -620,7 +631,7 @@ public class Configuration implements SettingReader {
             return tempInstanceKey;
         }
 
-        final int minSecurityKeyLength = Integer.parseInt(readAppProperty(AppProperty.SECURITY_CONFIG_MIN_SECURITY_KEY_LENGTH));
+        final int minSecurityKeyLength = readAppPropertyInt(AppProperty.SECURITY_CONFIG_MIN_SECURITY_KEY_LENGTH);
         if (configValue.getStringValue().length() < minSecurityKeyLength) {
             final String errorMsg = "Security Key must be greater than 32 characters in length";
             final ErrorInformation errorInfo = new ErrorInformation(PwmError.ERROR_INVALID_SECURITY_KEY, errorMsg);
@@ -750,11 +761,27 @@ public class Configuration implements SettingReader {
     }
 
     public String readAppProperty(final AppProperty property) {
-        final Map<String,String> configurationValues = StringUtil.convertStringListToNameValuePair(this.readSettingAsStringArray(PwmSetting.APP_PROPERTY_OVERRIDES),"=");
-        if (configurationValues.containsKey(property.getKey())) {
-            return configurationValues.get(property.getKey());
-        }
-        return property.getDefaultValue();
+        return appPropertyTable.readString(property);
+    }
+
+    public int readAppPropertyInt(final AppProperty property) {
+        return appPropertyTable.readInt(property);
+    }
+
+    public long readAppPropertyLong(final AppProperty property) {
+        return appPropertyTable.readLong(property);
+    }
+
+    public boolean readAppPropertyBoolean(final AppProperty property) {
+        return appPropertyTable.readBoolean(property);
+    }
+
+    public TimeDuration readAppPropertyDuration(final AppProperty property, final TimeUnit timeUnit) {
+        return appPropertyTable.readDuration(property, timeUnit);
+    }
+
+    public Map<AppProperty,Long> readAppPropertyReadCounts() {
+        return appPropertyTable.readCounts();
     }
 
     private Convenience helper = new Convenience();
@@ -817,20 +844,14 @@ public class Configuration implements SettingReader {
     }
 
     private StoredValue readStoredValue(final PwmSetting setting) {
-        if (dataCache.settings.containsKey(setting)) {
-            return dataCache.settings.get(setting);
-        }
-
-        final StoredValue readValue = storedConfiguration.readSetting(setting);
-        dataCache.settings.put(setting, readValue);
-        return readValue;
+        // served from the stored configuration's compiled snapshot without locking.
+        return storedConfiguration.readSetting(setting);
     }
 
     private static class DataCache implements Serializable {
         private final Map<String,Map<Locale,PwmPasswordPolicy>> cachedPasswordPolicy = new LinkedHashMap<>();
         private Map<Locale,String> localeFlagMap = null;
         private Map<String,LdapProfile> ldapProfiles;
-        private final Map<PwmSetting, StoredValue> settings = new EnumMap<>(PwmSetting.class);
         private final Map<String,Map<Locale,String>> customText = new LinkedHashMap<>();
         private final Map<ProfileType,Map<String,Profile>> profileCache = new LinkedHashMap<>();
     }
@@ -838,7 +859,7 @@ public class Configuration implements SettingReader {
     public Map<AppProperty,String> readAllNonDefaultAppProperties() {
         final LinkedHashMap<AppProperty,String> nonDefaultProperties = new LinkedHashMap<>();
         for (final AppProperty loopProperty : AppProperty.values()) {
-            final String configuredValue = readAppProperty(loopProperty);
+            final String configuredValue = appPropertyTable.values().get(loopProperty);
             final String defaultValue = loopProperty.getDefaultValue();
             if (configuredValue != null && !configuredValue.equals(defaultValue)) {
                 nonDefaultProperties.put(loopProperty,configuredValue);
@@ -933,7 +954,7 @@ public class Configuration implements SettingReader {
     }
 
     public boolean isDevDebugMode() {
-        return Boolean.parseBoolean(readAppProperty(AppProperty.LOGGING_DEV_OUTPUT));
+        return readAppPropertyBoolean(AppProperty.LOGGING_DEV_OUTPUT);
     }
 
     public String configurationHash()
@@ -68,7 +68,7 @@ public class UserMatchViewerFunction implements SettingUIFunction {
         final PwmApplication pwmApplication = pwmRequest.getPwmApplication();
 
         final Date startSearchTime = new Date();
-        final int maxResultSize = Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.CONFIG_EDITOR_QUERY_FILTER_TEST_LIMIT));
+        final int maxResultSize = pwmApplication.getConfig().readAppPropertyInt(AppProperty.CONFIG_EDITOR_QUERY_FILTER_TEST_LIMIT);
         final Collection<UserIdentity> users = discoverMatchingUsers(pwmApplication, maxResultSize, storedConfiguration, setting, profile);
         final TimeDuration searchDuration = TimeDuration.fromCurrent(startSearchTime);
 
@@ -126,13 +126,13 @@ public class LdapProfile extends AbstractProfile implements Profile {
             throws PwmUnrecoverableException
     {
         {
-            final boolean doCanonicalDnResolve = Boolean.parseBoolean(pwmApplication.getConfig().readAppProperty(AppProperty.LDAP_RESOLVE_CANONICAL_DN));
+            final boolean doCanonicalDnResolve = pwmApplication.getConfig().readAppPropertyBoolean(AppProperty.LDAP_RESOLVE_CANONICAL_DN);
             if (!doCanonicalDnResolve) {
                 return dnValue;
             }
         }
 
-        final boolean enableCanonicalCache = Boolean.parseBoolean(pwmApplication.getConfig().readAppProperty(AppProperty.LDAP_CACHE_CANONICAL_ENABLE));
+        final boolean enableCanonicalCache = pwmApplication.getConfig().readAppPropertyBoolean(AppProperty.LDAP_CACHE_CANONICAL_ENABLE);
 
         String canonicalValue = null;
         final CacheKey cacheKey = CacheKey.makeCacheKey(LdapPermissionTester.class, null, "canonicalDN-" + this.getIdentifier() + "-" + dnValue);
@@ -150,7 +150,7 @@ public class LdapProfile extends AbstractProfile implements Profile {
                 canonicalValue = chaiEntry.readCanonicalDN();
 
                 if (enableCanonicalCache) {
-                    final long cacheSeconds = Long.parseLong(pwmApplication.getConfig().readAppProperty(AppProperty.LDAP_CACHE_CANONICAL_SECONDS));
+                    final long cacheSeconds = pwmApplication.getConfig().readAppPropertyLong(AppProperty.LDAP_CACHE_CANONICAL_SECONDS);
                     final CachePolicy cachePolicy = CachePolicy.makePolicyWithExpiration(new TimeDuration(cacheSeconds, TimeUnit.SECONDS));
                     pwmApplication.getCacheService().put(cacheKey, cachePolicy, canonicalValue);
                 }
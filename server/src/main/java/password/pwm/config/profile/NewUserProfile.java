@@ -77,7 +77,7 @@ public class NewUserProfile extends AbstractProfile {
             throws PwmUnrecoverableException
     {
         final Configuration config = pwmApplication.getConfig();
-        final long maxNewUserCacheMS = Long.parseLong(pwmApplication.getConfig().readAppProperty(AppProperty.CONFIG_NEWUSER_PASSWORD_POLICY_CACHE_MS));
+        final long maxNewUserCacheMS = pwmApplication.getConfig().readAppPropertyLong(AppProperty.CONFIG_NEWUSER_PASSWORD_POLICY_CACHE_MS);
         if (newUserPasswordPolicyCacheTime != null && TimeDuration.fromCurrent(newUserPasswordPolicyCacheTime).isLongerThan(maxNewUserCacheMS)) {
             newUserPasswordPolicyCacheTime = Instant.now();
             newUserPasswordPolicyCache.clear();
@@ -179,7 +179,7 @@ public class ConfigurationReader {
                 final File pwmPath = pwmApplication.getPwmEnvironment().getApplicationPath();
                 backupDirectory = FileSystemUtility.figureFilepath(backupDirSetting, pwmPath);
             }
-            backupRotations = Integer.parseInt(configuration.readAppProperty(AppProperty.BACKUP_CONFIG_COUNT));
+            backupRotations = configuration.readAppPropertyInt(AppProperty.BACKUP_CONFIG_COUNT);
         }
 
 
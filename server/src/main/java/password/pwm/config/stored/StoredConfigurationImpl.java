@@ -110,13 +110,19 @@ public class StoredConfigurationImpl implements StoredConfiguration {
     private final boolean setting_writeLabels = true;
     private final ReentrantReadWriteLock domModifyLock = new ReentrantReadWriteLock();
 
+    /* compiled settings, replaced (never modified) whenever a setting value is written. */
+    private volatile StoredConfigurationSnapshot snapshot;
+
     public static StoredConfigurationImpl newStoredConfiguration() throws PwmUnrecoverableException {
-        return new StoredConfigurationImpl();
+        final StoredConfigurationImpl newConfiguration = new StoredConfigurationImpl();
+        newConfiguration.compileSnapshot();
+        return newConfiguration;
     }
 
     public static StoredConfigurationImpl copy(final StoredConfigurationImpl input) throws PwmUnrecoverableException {
         final StoredConfigurationImpl copy = new StoredConfigurationImpl();
         copy.document = input.document.clone();
+        copy.snapshot = input.snapshot;
         return copy;
     }
 
@@ -127,7 +133,7 @@ public class StoredConfigurationImpl implements StoredConfiguration {
         //validateXmlSchema(xmlData);
 
         final Document inputDocument = XmlUtil.parseXml(xmlData);
-        final StoredConfigurationImpl newConfiguration = StoredConfigurationImpl.newStoredConfiguration();
+        final StoredConfigurationImpl newConfiguration = new StoredConfigurationImpl();
 
         try {
             newConfiguration.document = inputDocument;
@@ -140,6 +146,7 @@ public class StoredConfigurationImpl implements StoredConfiguration {
         }
 
         checkIfXmlRequiresUpdate(newConfiguration);
+        newConfiguration.compileSnapshot();
         LOGGER.debug("successfully loaded configuration (" + TimeDuration.compactFromCurrent(startTime) + ")");
         return newConfiguration;
     }
@@ -244,9 +251,46 @@ public class StoredConfigurationImpl implements StoredConfiguration {
     }
 
     public void lock() {
+        if (snapshot == null) {
+            compileSnapshot();
+        }
         locked = true;
     }
 
+    private void compileSnapshot() {
+        domModifyLock.readLock().lock();
+        try {
+            snapshot = StoredConfigurationSnapshot.compile(document, readTemplateSetFromDocument(), getKey());
+        } catch (PwmUnrecoverableException | IllegalStateException e) {
+            LOGGER.error("unable to compile stored configuration snapshot, settings will be read from xml document: " + e.getMessage());
+            snapshot = null;
+        } finally {
+            domModifyLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Must be called with the write lock held after the xml element of a setting has been modified.
+     */
+    private void updateSnapshot(final PwmSetting setting, final String profileID) {
+        final StoredConfigurationSnapshot currentSnapshot = snapshot;
+        if (currentSnapshot == null) {
+            return;
+        }
+
+        if (StoredConfigurationSnapshot.affectsTemplate(setting)) {
+            compileSnapshot();
+            return;
+        }
+
+        try {
+            snapshot = currentSnapshot.withSetting(setting, profileID, readSettingFromDocument(setting, profileID, currentSnapshot.getTemplateSet()));
+        } catch (IllegalStateException e) {
+            LOGGER.error("unable to update stored configuration snapshot: " + e.getMessage());
+            snapshot = null;
+        }
+    }
+
     public Map<String,String> readLocaleBundleMap(final String bundleName, final String keyName) {
         domModifyLock.readLock().lock();
         try {
@@ -323,6 +367,7 @@ public class StoredConfigurationImpl implements StoredConfiguration {
             settingElement.removeContent();
             settingElement.addContent(new Element(XML_ELEMENT_DEFAULT));
             updateMetaData(settingElement, userIdentity);
+            updateSnapshot(setting, profileID);
         } finally {
             domModifyLock.writeLock().unlock();
         }
@@ -360,6 +405,14 @@ public class StoredConfigurationImpl implements StoredConfiguration {
     }
 
     public PwmSettingTemplateSet getTemplateSet() {
+        final StoredConfigurationSnapshot currentSnapshot = snapshot;
+        if (currentSnapshot != null) {
+            return currentSnapshot.getTemplateSet();
+        }
+        return readTemplateSetFromDocument();
+    }
+
+    private PwmSettingTemplateSet readTemplateSetFromDocument() {
         final Set<PwmSettingTemplate> templates = new HashSet<>();
         templates.add(readTemplateValue(document, PwmSetting.TEMPLATE_LDAP));
         templates.add(readTemplateValue(document, PwmSetting.TEMPLATE_STORAGE));
@@ -658,30 +711,43 @@ public class StoredConfigurationImpl implements StoredConfiguration {
         if (profileID != null && !setting.getCategory().hasProfiles()) {
             throw new IllegalStateException("cannot read setting key " + setting.getKey() + " with non-null profileID");
         }
-        domModifyLock.readLock().lock();
-        try {
-            final XPathExpression xp = XPathBuilder.xpathForSetting(setting, profileID);
-            final Element settingElement = (Element)xp.evaluateFirst(document);
 
-            if (settingElement == null) {
-                return defaultValue(setting, getTemplateSet());
-            }
-
-            if (settingElement.getChild(XML_ELEMENT_DEFAULT) != null) {
-                return defaultValue(setting, getTemplateSet());
+        final StoredConfigurationSnapshot currentSnapshot = snapshot;
+        if (currentSnapshot != null) {
+            final StoredValue compiledValue = currentSnapshot.readSetting(setting, profileID);
+            if (compiledValue != null) {
+                return compiledValue;
             }
+        }
 
-            try {
-                return ValueFactory.fromXmlValues(setting, settingElement, getKey());
-            } catch (PwmException e) {
-                final String errorMsg = "unexpected error reading setting '" + setting.getKey() + "' profile '" + profileID + "', error: " + e.getMessage();
-                throw new IllegalStateException(errorMsg);
-            }
+        domModifyLock.readLock().lock();
+        try {
+            return readSettingFromDocument(setting, profileID, getTemplateSet());
         } finally {
             domModifyLock.readLock().unlock();
         }
     }
 
+    private StoredValue readSettingFromDocument(final PwmSetting setting, final String profileID, final PwmSettingTemplateSet templateSet) {
+        final XPathExpression xp = XPathBuilder.xpathForSetting(setting, profileID);
+        final Element settingElement = (Element)xp.evaluateFirst(document);
+
+        if (settingElement == null) {
+            return defaultValue(setting, templateSet);
+        }
+
+        if (settingElement.getChild(XML_ELEMENT_DEFAULT) != null) {
+            return defaultValue(setting, templateSet);
+        }
+
+        try {
+            return ValueFactory.fromXmlValues(setting, settingElement, getKey());
+        } catch (PwmException e) {
+            final String errorMsg = "unexpected error reading setting '" + setting.getKey() + "' profile '" + profileID + "', error: " + e.getMessage();
+            throw new IllegalStateException(errorMsg);
+        }
+    }
+
     public void writeLocaleBundleMap(final String bundleName, final String keyName, final Map<String,String> localeMap) {
         ResourceBundle theBundle = null;
         for (final PwmLocaleBundle bundle : PwmLocaleBundle.values()) {
@@ -819,6 +885,7 @@ public class StoredConfigurationImpl implements StoredConfiguration {
 
 
             updateMetaData(settingElement, userIdentity);
+            updateSnapshot(setting, profileID);
         } finally {
             domModifyLock.writeLock().unlock();
         }
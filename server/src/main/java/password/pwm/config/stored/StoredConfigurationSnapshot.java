@@ -0,0 +1,245 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package password.pwm.config.stored;
+
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.filter.Filters;
+import password.pwm.config.PwmSetting;
+import password.pwm.config.PwmSettingTemplateSet;
+import password.pwm.config.StoredValue;
+import password.pwm.config.value.ValueFactory;
+import password.pwm.error.PwmException;
+import password.pwm.util.java.TimeDuration;
+import password.pwm.util.logging.PwmLogger;
+import password.pwm.util.secure.PwmSecurityKey;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, pre-parsed view of the setting values held in a {@link StoredConfigurationImpl} document.  Reads against
+ * a snapshot are plain map lookups and do not require any locking, xpath evaluation or value decryption.
+ *
+ * <p>Instances are never modified; {@link #withSetting(PwmSetting, String, StoredValue)} returns a new copy that
+ * shares all unchanged values with the original.</p>
+ */
+class StoredConfigurationSnapshot {
+    private static final PwmLogger LOGGER = PwmLogger.forClass(StoredConfigurationSnapshot.class);
+
+    private static final Map<String, PwmSetting> SETTINGS_BY_KEY;
+
+    static {
+        final Map<String, PwmSetting> settingsByKey = new HashMap<>();
+        for (final PwmSetting pwmSetting : PwmSetting.values()) {
+            settingsByKey.put(pwmSetting.getKey(), pwmSetting);
+        }
+        SETTINGS_BY_KEY = Collections.unmodifiableMap(settingsByKey);
+    }
+
+    private final PwmSettingTemplateSet templateSet;
+    private final Map<PwmSetting, StoredValue> defaultValues;
+    private final Map<PwmSetting, StoredValue> settings;
+    private final Map<String, Map<PwmSetting, StoredValue>> profileSettings;
+    private final Set<String> unreadableSettings;
+
+    private StoredConfigurationSnapshot(
+            final PwmSettingTemplateSet templateSet,
+            final Map<PwmSetting, StoredValue> defaultValues,
+            final Map<PwmSetting, StoredValue> settings,
+            final Map<String, Map<PwmSetting, StoredValue>> profileSettings,
+            final Set<String> unreadableSettings
+    )
+    {
+        this.templateSet = templateSet;
+        this.defaultValues = defaultValues;
+        this.settings = settings;
+        this.profileSettings = profileSettings;
+        this.unreadableSettings = unreadableSettings;
+    }
+
+    static StoredConfigurationSnapshot compile(
+            final Document document,
+            final PwmSettingTemplateSet templateSet,
+            final PwmSecurityKey securityKey
+    )
+    {
+        final Instant startTime = Instant.now();
+
+        final Map<PwmSetting, StoredValue> defaultValues = new EnumMap<>(PwmSetting.class);
+        for (final PwmSetting pwmSetting : PwmSetting.values()) {
+            try {
+                defaultValues.put(pwmSetting, pwmSetting.getDefaultValue(templateSet));
+            } catch (PwmException e) {
+                LOGGER.error("error reading default value for setting " + pwmSetting.getKey() + ", error: " + e.getMessage());
+            }
+        }
+
+        final Map<PwmSetting, StoredValue> settings = new EnumMap<>(PwmSetting.class);
+        final Map<String, Map<PwmSetting, StoredValue>> profileSettings = new HashMap<>();
+        final Set<String> unreadableSettings = new HashSet<>();
+
+        // xpath lookups return the first matching element in document order, so only the first occurrence is used here as well.
+        final Set<String> seenSettings = new HashSet<>();
+        for (final Element settingElement : document.getRootElement().getDescendants(Filters.element(StoredConfiguration.XML_ELEMENT_SETTING))) {
+            final PwmSetting pwmSetting = SETTINGS_BY_KEY.get(settingElement.getAttributeValue(StoredConfiguration.XML_ATTRIBUTE_KEY));
+            if (pwmSetting == null) {
+                continue;
+            }
+
+            final String profileAttribute = settingElement.getAttributeValue(StoredConfiguration.XML_ATTRIBUTE_PROFILE);
+            final String profileID = profileAttribute == null || profileAttribute.isEmpty() ? null : profileAttribute;
+            if (pwmSetting.getCategory().hasProfiles() != (profileID != null)) {
+                continue;
+            }
+
+            final String recordKey = recordKey(pwmSetting, profileID);
+            if (!seenSettings.add(recordKey)) {
+                continue;
+            }
+
+            if (settingElement.getChild(StoredConfiguration.XML_ELEMENT_DEFAULT) != null) {
+                continue;
+            }
+
+            final StoredValue storedValue;
+            try {
+                storedValue = ValueFactory.fromXmlValues(pwmSetting, settingElement, securityKey);
+            } catch (Exception e) {
+                // leave the setting out of the snapshot so that a read reports the error the same way an uncompiled read does.
+                unreadableSettings.add(recordKey);
+                continue;
+            }
+
+            if (profileID == null) {
+                settings.put(pwmSetting, storedValue);
+            } else {
+                profileSettings.computeIfAbsent(profileID, k -> new EnumMap<>(PwmSetting.class)).put(pwmSetting, storedValue);
+            }
+        }
+
+        for (final Map.Entry<PwmSetting, StoredValue> entry : defaultValues.entrySet()) {
+            final PwmSetting pwmSetting = entry.getKey();
+            if (!pwmSetting.getCategory().hasProfiles() && !settings.containsKey(pwmSetting) && !unreadableSettings.contains(recordKey(pwmSetting, null))) {
+                settings.put(pwmSetting, entry.getValue());
+            }
+        }
+
+        final StoredConfigurationSnapshot snapshot = new StoredConfigurationSnapshot(
+                templateSet,
+                Collections.unmodifiableMap(defaultValues),
+                Collections.unmodifiableMap(settings),
+                unmodifiableProfileMap(profileSettings),
+                Collections.unmodifiableSet(unreadableSettings)
+        );
+
+        LOGGER.trace("compiled stored configuration snapshot with " + snapshot.settings.size() + " settings and "
+                + snapshot.profileSettings.size() + " profiles in " + TimeDuration.compactFromCurrent(startTime));
+
+        return snapshot;
+    }
+
+    PwmSettingTemplateSet getTemplateSet() {
+        return templateSet;
+    }
+
+    /**
+     * Read a compiled setting value.
+     * @param setting setting to read
+     * @param profileID profile of the setting, or null for non-profiled settings
+     * @return the compiled value, or null if the value could not be compiled and must be read from the document.
+     */
+    StoredValue readSetting(final PwmSetting setting, final String profileID) {
+        if (profileID == null) {
+            return settings.get(setting);
+        }
+
+        final Map<PwmSetting, StoredValue> profileValues = profileSettings.get(profileID);
+        if (profileValues != null) {
+            final StoredValue storedValue = profileValues.get(setting);
+            if (storedValue != null) {
+                return storedValue;
+            }
+        }
+
+        if (unreadableSettings.contains(recordKey(setting, profileID))) {
+            return null;
+        }
+
+        return defaultValues.get(setting);
+    }
+
+    StoredConfigurationSnapshot withSetting(final PwmSetting setting, final String profileID, final StoredValue storedValue) {
+        final Set<String> newUnreadableSettings = new HashSet<>(unreadableSettings);
+        newUnreadableSettings.remove(recordKey(setting, profileID));
+
+        if (profileID == null) {
+            final Map<PwmSetting, StoredValue> newSettings = new EnumMap<>(settings);
+            newSettings.put(setting, storedValue);
+            return new StoredConfigurationSnapshot(
+                    templateSet,
+                    defaultValues,
+                    Collections.unmodifiableMap(newSettings),
+                    profileSettings,
+                    Collections.unmodifiableSet(newUnreadableSettings)
+            );
+        }
+
+        final Map<String, Map<PwmSetting, StoredValue>> newProfileSettings = new HashMap<>(profileSettings);
+        final Map<PwmSetting, StoredValue> newProfileValues = newProfileSettings.containsKey(profileID)
+                ? new EnumMap<>(newProfileSettings.get(profileID))
+                : new EnumMap<>(PwmSetting.class);
+        newProfileValues.put(setting, storedValue);
+        newProfileSettings.put(profileID, newProfileValues);
+        return new StoredConfigurationSnapshot(
+                templateSet,
+                defaultValues,
+                settings,
+                unmodifiableProfileMap(newProfileSettings),
+                Collections.unmodifiableSet(newUnreadableSettings)
+        );
+    }
+
+    static boolean affectsTemplate(final PwmSetting setting) {
+        return setting == PwmSetting.TEMPLATE_LDAP
+                || setting == PwmSetting.TEMPLATE_STORAGE
+                || setting == PwmSetting.DB_VENDOR_TEMPLATE;
+    }
+
+    private static String recordKey(final PwmSetting setting, final String profileID) {
+        return profileID == null ? setting.getKey() : setting.getKey() + "|" + profileID;
+    }
+
+    private static Map<String, Map<PwmSetting, StoredValue>> unmodifiableProfileMap(final Map<String, Map<PwmSetting, StoredValue>> input) {
+        final Map<String, Map<PwmSetting, StoredValue>> returnMap = new HashMap<>();
+        for (final Map.Entry<String, Map<PwmSetting, StoredValue>> entry : input.entrySet()) {
+            returnMap.put(entry.getKey(), Collections.unmodifiableMap(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(returnMap);
+    }
+}
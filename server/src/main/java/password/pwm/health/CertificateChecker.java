@@ -108,7 +108,7 @@ public class CertificateChecker implements HealthChecker {
             final String profileID,
             final List<X509Certificate> certificates
     ) {
-        final long warnDurationMs = 1000 * Long.parseLong(configuration.readAppProperty(AppProperty.HEALTH_CERTIFICATE_WARN_SECONDS));
+        final long warnDurationMs = 1000 * configuration.readAppPropertyLong(AppProperty.HEALTH_CERTIFICATE_WARN_SECONDS);
 
         if (certificates != null) {
             final List<HealthRecord> returnList = new ArrayList<>();
@@ -110,7 +110,7 @@ public class ConfigurationChecker implements HealthChecker {
                     HealthRecord.forMessage(HealthMessage.Config_LDAPWireTrace,PwmSetting.LDAP_ENABLE_WIRE_TRACE.toMenuLocationDebug(null,locale)));
         }
 
-        if (Boolean.parseBoolean(config.readAppProperty(AppProperty.LDAP_PROMISCUOUS_ENABLE))) {
+        if (config.readAppPropertyBoolean(AppProperty.LDAP_PROMISCUOUS_ENABLE)) {
             final String appPropertyKey = "AppProperty" +  SEPARATOR + AppProperty.LDAP_PROMISCUOUS_ENABLE.getKey();
             records.add(HealthRecord.forMessage(HealthMessage.Config_PromiscuousLDAP, appPropertyKey));
         }
@@ -41,7 +41,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -130,18 +129,14 @@ public class HealthMonitor implements PwmService {
         this.pwmApplication = pwmApplication;
         settings = HealthMonitorSettings.fromConfiguration(pwmApplication.getConfig());
 
-        if (!Boolean.parseBoolean(pwmApplication.getConfig().readAppProperty(AppProperty.HEALTHCHECK_ENABLED))) {
+        if (!pwmApplication.getConfig().readAppPropertyBoolean(AppProperty.HEALTHCHECK_ENABLED)) {
             LOGGER.debug("health monitor will remain inactive due to AppProperty " + AppProperty.HEALTHCHECK_ENABLED.getKey());
             status = STATUS.CLOSED;
             return;
         }
 
 
-        executorService = Executors.newSingleThreadScheduledExecutor(
-                JavaHelper.makePwmThreadFactory(
-                        JavaHelper.makeThreadName(pwmApplication, this.getClass()) + "-",
-                        true
-                ));
+        executorService = JavaHelper.makeSingleThreadExecutorService(pwmApplication, this.getClass());
 
 
         executorService.scheduleAtFixedRate(new ScheduledUpdater(), 0, settings.getNominalCheckInterval().getTotalMilliseconds(), TimeUnit.MILLISECONDS);
@@ -53,10 +53,10 @@ class HealthMonitorSettings implements Serializable {
 
     public static HealthMonitorSettings fromConfiguration(final Configuration config) {
         final HealthMonitorSettings settings = new HealthMonitorSettings();
-        settings.nominalCheckInterval = new TimeDuration(Long.parseLong(config.readAppProperty(AppProperty.HEALTHCHECK_NOMINAL_CHECK_INTERVAL)), TimeUnit.SECONDS);
-        settings.minimumCheckInterval = new TimeDuration(Long.parseLong(config.readAppProperty(AppProperty.HEALTHCHECK_MIN_CHECK_INTERVAL)), TimeUnit.SECONDS);
-        settings.maximumRecordAge = new TimeDuration(Long.parseLong(config.readAppProperty(AppProperty.HEALTHCHECK_MAX_RECORD_AGE)), TimeUnit.SECONDS);
-        settings.maximumForceCheckWait = new TimeDuration(Long.parseLong(config.readAppProperty(AppProperty.HEALTHCHECK_MAX_FORCE_WAIT)), TimeUnit.SECONDS);
+        settings.nominalCheckInterval = config.readAppPropertyDuration(AppProperty.HEALTHCHECK_NOMINAL_CHECK_INTERVAL, TimeUnit.SECONDS);
+        settings.minimumCheckInterval = config.readAppPropertyDuration(AppProperty.HEALTHCHECK_MIN_CHECK_INTERVAL, TimeUnit.SECONDS);
+        settings.maximumRecordAge = config.readAppPropertyDuration(AppProperty.HEALTHCHECK_MAX_RECORD_AGE, TimeUnit.SECONDS);
+        settings.maximumForceCheckWait = config.readAppPropertyDuration(AppProperty.HEALTHCHECK_MAX_FORCE_WAIT, TimeUnit.SECONDS);
         return settings;
     }
 }
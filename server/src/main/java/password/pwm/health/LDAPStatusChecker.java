@@ -116,7 +116,7 @@ public class LDAPStatusChecker implements HealthChecker {
             if (errorInfo != null) {
                 final TimeDuration errorAge = TimeDuration.fromCurrent(errorInfo.getDate());
 
-                final long cautionDurationMS = Long.parseLong(pwmApplication.getConfig().readAppProperty(AppProperty.HEALTH_LDAP_CAUTION_DURATION_MS));
+                final long cautionDurationMS = pwmApplication.getConfig().readAppPropertyLong(AppProperty.HEALTH_LDAP_CAUTION_DURATION_MS);
                 if (errorAge.isShorterThan(cautionDurationMS)) {
                     final String ageString = errorAge.asLongString();
                     final String errorDate = JavaHelper.toIsoDate(errorInfo.getDate());
@@ -195,8 +195,8 @@ public class ContextManager implements Serializable {
         long fileScanFrequencyMs = 5000;
         {
             if (pwmApplication != null) {
-                reloadOnChange = Boolean.parseBoolean(pwmApplication.getConfig().readAppProperty(AppProperty.CONFIG_RELOAD_ON_CHANGE));
-                fileScanFrequencyMs = Long.parseLong(pwmApplication.getConfig().readAppProperty(AppProperty.CONFIG_FILE_SCAN_FREQUENCY));
+                reloadOnChange = pwmApplication.getConfig().readAppPropertyBoolean(AppProperty.CONFIG_RELOAD_ON_CHANGE);
+                fileScanFrequencyMs = pwmApplication.getConfig().readAppPropertyLong(AppProperty.CONFIG_FILE_SCAN_FREQUENCY);
             }
             if (reloadOnChange) {
                 taskMaster.schedule(new ConfigFileWatcher(), fileScanFrequencyMs, fileScanFrequencyMs);
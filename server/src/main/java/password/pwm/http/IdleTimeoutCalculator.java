@@ -64,7 +64,7 @@ public class IdleTimeoutCalculator {
 
         if (!pwmSession.isAuthenticated()) {
             if (pwmApplication.getApplicationMode() == PwmApplicationMode.NEW) {
-                final long configGuideIdleTimeout = Long.parseLong(configuration.readAppProperty(AppProperty.CONFIG_GUIDE_IDLE_TIMEOUT));
+                final long configGuideIdleTimeout = configuration.readAppPropertyLong(AppProperty.CONFIG_GUIDE_IDLE_TIMEOUT);
                 results.add(new MaxIdleTimeoutResult(
                         "Configuration Guide Idle Timeout",
                         new TimeDuration(configGuideIdleTimeout, TimeUnit.SECONDS)));
@@ -125,7 +125,7 @@ public class IdleTimeoutCalculator {
         }
 
         if (userIsAdmin) {
-            final long configEditorIdleTimeout = Long.parseLong(configuration.readAppProperty(AppProperty.CONFIG_EDITOR_IDLE_TIMEOUT));
+            final long configEditorIdleTimeout = configuration.readAppPropertyLong(AppProperty.CONFIG_EDITOR_IDLE_TIMEOUT);
             results.add(new MaxIdleTimeoutResult(
                     "Config Editor Idle Timeout",
                     new TimeDuration(configEditorIdleTimeout, TimeUnit.SECONDS)));
@@ -191,7 +191,7 @@ public class IdleTimeoutCalculator {
         if (pwmURL.isPwmServletURL(PwmServletDefinition.ConfigEditor)) {
             try {
                 if (pwmSession.getSessionManager().checkPermission(pwmApplication, Permission.PWMADMIN)) {
-                    final long configEditorIdleTimeout = Long.parseLong(config.readAppProperty(AppProperty.CONFIG_EDITOR_IDLE_TIMEOUT));
+                    final long configEditorIdleTimeout = config.readAppPropertyLong(AppProperty.CONFIG_EDITOR_IDLE_TIMEOUT);
                     if (configEditorIdleTimeout > 0) {
                         return new TimeDuration(configEditorIdleTimeout, TimeUnit.SECONDS);
                     }
@@ -203,7 +203,7 @@ public class IdleTimeoutCalculator {
 
         if (pwmURL.isPwmServletURL(PwmServletDefinition.ConfigGuide)) {
             if (pwmApplication.getApplicationMode() == PwmApplicationMode.NEW) {
-                final long configGuideIdleTimeout = Long.parseLong(config.readAppProperty(AppProperty.CONFIG_GUIDE_IDLE_TIMEOUT));
+                final long configGuideIdleTimeout = config.readAppPropertyLong(AppProperty.CONFIG_GUIDE_IDLE_TIMEOUT);
                 if (configGuideIdleTimeout > 0) {
                     return new TimeDuration(configGuideIdleTimeout, TimeUnit.SECONDS);
                 }
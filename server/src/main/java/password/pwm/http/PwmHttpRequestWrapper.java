@@ -86,7 +86,7 @@ public abstract class PwmHttpRequestWrapper {
 
     public String readRequestBodyAsString()
             throws IOException, PwmUnrecoverableException {
-        final int maxChars = Integer.parseInt(configuration.readAppProperty(AppProperty.HTTP_BODY_MAXREAD_LENGTH));
+        final int maxChars = configuration.readAppPropertyInt(AppProperty.HTTP_BODY_MAXREAD_LENGTH);
         return readRequestBodyAsString(maxChars);
     }
 
@@ -128,9 +128,9 @@ public abstract class PwmHttpRequestWrapper {
         final String bodyString = readRequestBodyAsString();
         final Map<String, String> inputMap = JsonUtil.deserializeStringMap(bodyString);
 
-        final boolean trim = Boolean.parseBoolean(configuration.readAppProperty(AppProperty.SECURITY_INPUT_TRIM));
-        final boolean passwordTrim = Boolean.parseBoolean(configuration.readAppProperty(AppProperty.SECURITY_INPUT_PASSWORD_TRIM));
-        final int maxLength = Integer.parseInt(configuration.readAppProperty(AppProperty.HTTP_PARAM_MAX_READ_LENGTH));
+        final boolean trim = configuration.readAppPropertyBoolean(AppProperty.SECURITY_INPUT_TRIM);
+        final boolean passwordTrim = configuration.readAppPropertyBoolean(AppProperty.SECURITY_INPUT_PASSWORD_TRIM);
+        final int maxLength = configuration.readAppPropertyInt(AppProperty.HTTP_PARAM_MAX_READ_LENGTH);
 
         final Map<String, String> outputMap = new LinkedHashMap<>();
         if (inputMap != null) {
@@ -161,9 +161,9 @@ public abstract class PwmHttpRequestWrapper {
         final String bodyString = readRequestBodyAsString();
         final Map<String, Object> inputMap = JsonUtil.deserializeMap(bodyString);
 
-        final boolean trim = Boolean.parseBoolean(configuration.readAppProperty(AppProperty.SECURITY_INPUT_TRIM));
-        final boolean passwordTrim = Boolean.parseBoolean(configuration.readAppProperty(AppProperty.SECURITY_INPUT_PASSWORD_TRIM));
-        final int maxLength = Integer.parseInt(configuration.readAppProperty(AppProperty.HTTP_PARAM_MAX_READ_LENGTH));
+        final boolean trim = configuration.readAppPropertyBoolean(AppProperty.SECURITY_INPUT_TRIM);
+        final boolean passwordTrim = configuration.readAppPropertyBoolean(AppProperty.SECURITY_INPUT_PASSWORD_TRIM);
+        final int maxLength = configuration.readAppPropertyInt(AppProperty.HTTP_PARAM_MAX_READ_LENGTH);
 
         final Map<String, Object> outputMap = new LinkedHashMap<>();
         if (inputMap != null) {
@@ -195,8 +195,8 @@ public abstract class PwmHttpRequestWrapper {
     public PasswordData readParameterAsPassword(final String name)
             throws PwmUnrecoverableException
     {
-        final int maxLength = Integer.parseInt(configuration.readAppProperty(AppProperty.HTTP_PARAM_MAX_READ_LENGTH));
-        final boolean trim = Boolean.parseBoolean(configuration.readAppProperty(AppProperty.SECURITY_INPUT_PASSWORD_TRIM));
+        final int maxLength = configuration.readAppPropertyInt(AppProperty.HTTP_PARAM_MAX_READ_LENGTH);
+        final boolean trim = configuration.readAppPropertyBoolean(AppProperty.SECURITY_INPUT_PASSWORD_TRIM);
 
         final String rawValue = httpServletRequest.getParameter(name);
         if (rawValue != null && !rawValue.isEmpty()) {
@@ -222,7 +222,7 @@ public abstract class PwmHttpRequestWrapper {
 
     public String readParameterAsString(final String name, final String valueIfNotPresent)
             throws PwmUnrecoverableException {
-        final int maxLength = Integer.parseInt(configuration.readAppProperty(AppProperty.HTTP_PARAM_MAX_READ_LENGTH));
+        final int maxLength = configuration.readAppPropertyInt(AppProperty.HTTP_PARAM_MAX_READ_LENGTH);
         final String returnValue = readParameterAsString(name, maxLength);
         return returnValue == null || returnValue.isEmpty() ? valueIfNotPresent : returnValue;
     }
@@ -234,7 +234,7 @@ public abstract class PwmHttpRequestWrapper {
 
     public String readParameterAsString(final String name, final Flag... flags)
             throws PwmUnrecoverableException {
-        final int maxLength = Integer.parseInt(configuration.readAppProperty(AppProperty.HTTP_PARAM_MAX_READ_LENGTH));
+        final int maxLength = configuration.readAppPropertyInt(AppProperty.HTTP_PARAM_MAX_READ_LENGTH);
         return readParameterAsString(name, maxLength, flags);
     }
 
@@ -263,7 +263,7 @@ public abstract class PwmHttpRequestWrapper {
     {
         final boolean bypassInputValidation = flags != null && Arrays.asList(flags).contains(Flag.BypassValidation);
         final HttpServletRequest req = this.getHttpServletRequest();
-        final boolean trim = Boolean.parseBoolean(configuration.readAppProperty(AppProperty.SECURITY_INPUT_TRIM));
+        final boolean trim = configuration.readAppPropertyBoolean(AppProperty.SECURITY_INPUT_TRIM);
         final String[] rawValues = req.getParameterValues(name);
         if (rawValues == null || rawValues.length == 0) {
             return Collections.emptyList();
@@ -289,7 +289,7 @@ public abstract class PwmHttpRequestWrapper {
     }
 
     public String readHeaderValueAsString(final String headerName) {
-        final int maxChars = Integer.parseInt(configuration.readAppProperty(AppProperty.HTTP_PARAM_MAX_READ_LENGTH));
+        final int maxChars = configuration.readAppPropertyInt(AppProperty.HTTP_PARAM_MAX_READ_LENGTH);
         final HttpServletRequest req = this.getHttpServletRequest();
         final String rawValue = req.getHeader(headerName);
         final String sanitizedInputValue = Validator.sanitizeInputValue(configuration, rawValue, maxChars);
@@ -297,7 +297,7 @@ public abstract class PwmHttpRequestWrapper {
     }
 
     public Map<String, List<String>> readHeaderValuesMap() {
-        final int maxChars = Integer.parseInt(configuration.readAppProperty(AppProperty.HTTP_PARAM_MAX_READ_LENGTH));
+        final int maxChars = configuration.readAppPropertyInt(AppProperty.HTTP_PARAM_MAX_READ_LENGTH);
         final HttpServletRequest req = this.getHttpServletRequest();
         final Map<String, List<String>> returnObj = new LinkedHashMap<>();
 
@@ -320,7 +320,7 @@ public abstract class PwmHttpRequestWrapper {
     }
 
     public List<String> parameterNames() {
-        final int maxChars = Integer.parseInt(configuration.readAppProperty(AppProperty.HTTP_PARAM_MAX_READ_LENGTH));
+        final int maxChars = configuration.readAppPropertyInt(AppProperty.HTTP_PARAM_MAX_READ_LENGTH);
         final List<String> returnObj = new ArrayList();
         for (final Enumeration nameEnum = getHttpServletRequest().getParameterNames(); nameEnum.hasMoreElements(); ) {
             final String paramName = nameEnum.nextElement().toString();
@@ -342,7 +342,7 @@ public abstract class PwmHttpRequestWrapper {
 
     public Map<String, List<String>> readMultiParametersAsMap()
             throws PwmUnrecoverableException {
-        final int maxLength = Integer.parseInt(configuration.readAppProperty(AppProperty.HTTP_PARAM_MAX_READ_LENGTH));
+        final int maxLength = configuration.readAppPropertyInt(AppProperty.HTTP_PARAM_MAX_READ_LENGTH);
         final Map<String, List<String>> returnObj = new HashMap<>();
         for (final String paramName : parameterNames()) {
             final List<String> values = readParameterAsStrings(paramName, maxLength);
@@ -352,7 +352,7 @@ public abstract class PwmHttpRequestWrapper {
     }
 
     public String readCookie(final String cookieName) {
-        final int maxChars = Integer.parseInt(configuration.readAppProperty(AppProperty.HTTP_COOKIE_MAX_READ_LENGTH));
+        final int maxChars = configuration.readAppPropertyInt(AppProperty.HTTP_COOKIE_MAX_READ_LENGTH);
         final Cookie[] cookies = this.getHttpServletRequest().getCookies();
         if (cookies != null) {
             for (final Cookie cookie : cookies) {
@@ -463,7 +463,7 @@ public class PwmRequest extends PwmHttpRequestWrapper {
     public synchronized String getCspNonce()
     {
         if (getAttribute(PwmRequestAttribute.CspNonce) == null) {
-            final int nonceLength = Integer.parseInt(getConfig().readAppProperty(AppProperty.HTTP_HEADER_CSP_NONCE_BYTES));
+            final int nonceLength = getConfig().readAppPropertyInt(AppProperty.HTTP_HEADER_CSP_NONCE_BYTES);
             final byte[] cspNonce = PwmRandom.getInstance().newBytes(nonceLength);
             final String cspString = StringUtil.base64Encode(cspNonce);
             setAttribute(PwmRequestAttribute.CspNonce, cspString);
@@ -90,7 +90,7 @@ public class PwmSession implements Serializable {
             throw new IllegalStateException("PwmApplication must be available during session creation");
         }
 
-        final int sessionValidationKeyLength = Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.HTTP_SESSION_VALIDATION_KEY_LENGTH));
+        final int sessionValidationKeyLength = pwmApplication.getConfig().readAppPropertyInt(AppProperty.HTTP_SESSION_VALIDATION_KEY_LENGTH);
         sessionStateBean = new LocalSessionStateBean(sessionValidationKeyLength);
         sessionStateBean.regenerateSessionVerificationKey();
         this.sessionStateBean.setSessionID(null);
@@ -0,0 +1,210 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package password.pwm.http.client;
+
+import lombok.Value;
+import org.apache.http.client.HttpClient;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import password.pwm.AppProperty;
+import password.pwm.PwmApplication;
+import password.pwm.config.Configuration;
+import password.pwm.error.PwmException;
+import password.pwm.error.PwmUnrecoverableException;
+import password.pwm.health.HealthRecord;
+import password.pwm.svc.PwmService;
+import password.pwm.util.java.JavaHelper;
+import password.pwm.util.java.TimeDuration;
+import password.pwm.util.logging.PwmLogger;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds one pooled, keep-alive capable {@link HttpClient} for each distinct {@link PwmHttpClientConfiguration} in use,
+ * so outbound requests to the same remote service reuse connections (and TLS sessions) instead of building a new
+ * client for each request.
+ */
+public class HttpClientService implements PwmService {
+    private static final PwmLogger LOGGER = PwmLogger.forClass(HttpClientService.class);
+
+    private static final TimeDuration CLOSE_WAIT = TimeDuration.SECONDS_10;
+    private static final long CLOSE_POLL_INTERVAL_MS = 100;
+
+    private final Map<PwmHttpClientConfiguration, PooledClient> clients = new ConcurrentHashMap<>();
+    private final AtomicInteger clientCounter = new AtomicInteger(0);
+
+    private PwmApplication pwmApplication;
+    private volatile STATUS status = STATUS.NEW;
+
+    @Override
+    public STATUS status() {
+        return status;
+    }
+
+    @Override
+    public void init(final PwmApplication pwmApplication) throws PwmException {
+        this.pwmApplication = pwmApplication;
+        status = STATUS.OPEN;
+    }
+
+    /**
+     * Stop handing out pooled clients, then close each client once the requests already using it have released their
+     * connections, waiting at most {@link #CLOSE_WAIT} in total.
+     */
+    @Override
+    public void close() {
+        final List<PooledClient> closingClients;
+        synchronized (clients) {
+            status = STATUS.CLOSED;
+            closingClients = new ArrayList<>(clients.values());
+            clients.clear();
+        }
+
+        final Instant startTime = Instant.now();
+        for (final PooledClient pooledClient : closingClients) {
+            final MeteredConnectionManager connectionManager = pooledClient.getConnectionManager();
+            connectionManager.closeIdleConnections(0, TimeUnit.MILLISECONDS);
+            while (connectionManager.isInUse() && TimeDuration.fromCurrent(startTime).isShorterThan(CLOSE_WAIT)) {
+                JavaHelper.pause(CLOSE_POLL_INTERVAL_MS);
+            }
+            if (connectionManager.isInUse()) {
+                LOGGER.debug("closing http client " + pooledClient.getName() + " with connections still in use");
+            }
+
+            try {
+                pooledClient.getHttpClient().close();
+            } catch (IOException e) {
+                LOGGER.debug("error closing http client " + pooledClient.getName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public List<HealthRecord> healthCheck() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public ServiceInfoBean serviceInfo() {
+        final Map<String, String> debugProperties = new TreeMap<>();
+        for (final PooledClient pooledClient : clients.values()) {
+            for (final Map.Entry<String, String> entry : pooledClient.getConnectionManager().debugProperties().entrySet()) {
+                debugProperties.put(pooledClient.getName() + "." + entry.getKey(), entry.getValue());
+            }
+        }
+        return new ServiceInfoBean(Collections.emptyList(), Collections.unmodifiableMap(debugProperties));
+    }
+
+    /**
+     * Return the shared client for the configuration.  Responses must be fully consumed (or their content stream
+     * closed) so that the underlying connection is returned to the pool.
+     * @param pwmHttpClientConfiguration client configuration, or null for the default configuration
+     * @return a shared client, or a new unpooled client if the service is not open
+     * @throws PwmUnrecoverableException if the client ssl configuration can not be created
+     */
+    public HttpClient getHttpClient(final PwmHttpClientConfiguration pwmHttpClientConfiguration)
+            throws PwmUnrecoverableException
+    {
+        final PwmHttpClientConfiguration effectiveConfiguration = pwmHttpClientConfiguration == null
+                ? PwmHttpClientConfiguration.builder().certificates(null).build()
+                : pwmHttpClientConfiguration;
+
+        if (status != STATUS.OPEN) {
+            return PwmHttpClient.getHttpClient(pwmApplication.getConfig(), effectiveConfiguration);
+        }
+
+        final PooledClient existingClient = clients.get(effectiveConfiguration);
+        if (existingClient != null) {
+            return existingClient.getHttpClient();
+        }
+
+        synchronized (clients) {
+            if (status != STATUS.OPEN) {
+                return PwmHttpClient.getHttpClient(pwmApplication.getConfig(), effectiveConfiguration);
+            }
+            final PooledClient pooledClient = clients.get(effectiveConfiguration);
+            if (pooledClient != null) {
+                return pooledClient.getHttpClient();
+            }
+            final PooledClient newClient = makePooledClient(effectiveConfiguration);
+            clients.put(effectiveConfiguration, newClient);
+            return newClient.getHttpClient();
+        }
+    }
+
+    private PooledClient makePooledClient(final PwmHttpClientConfiguration pwmHttpClientConfiguration)
+            throws PwmUnrecoverableException
+    {
+        final Configuration configuration = pwmApplication.getConfig();
+        final int maxTotal = configuration.readAppPropertyInt(AppProperty.HTTP_CLIENT_POOL_MAX_TOTAL);
+        final int maxPerRoute = configuration.readAppPropertyInt(AppProperty.HTTP_CLIENT_POOL_MAX_PER_ROUTE);
+        final long idleTimeoutMs = configuration.readAppPropertyLong(AppProperty.HTTP_CLIENT_POOL_IDLE_TIMEOUT_MS);
+        final long timeToLiveMs = configuration.readAppPropertyLong(AppProperty.HTTP_CLIENT_POOL_TIME_TO_LIVE_MS);
+
+        final MeteredConnectionManager connectionManager = new MeteredConnectionManager(
+                PwmHttpClient.makeSocketFactoryRegistry(configuration, pwmHttpClientConfiguration),
+                timeToLiveMs
+        );
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+
+        final HttpClientBuilder clientBuilder = PwmHttpClient.makeClientBuilder(configuration);
+        clientBuilder.setConnectionManager(connectionManager);
+
+        // the client is shared by unrelated callers, so cookies set by one remote service response must not be sent
+        // with other requests.
+        clientBuilder.disableCookieManagement();
+        clientBuilder.evictExpiredConnections();
+        clientBuilder.evictIdleConnections(idleTimeoutMs, TimeUnit.MILLISECONDS);
+
+        final String name = "client" + clientCounter.incrementAndGet() + "-" + describe(pwmHttpClientConfiguration);
+        LOGGER.debug("created pooled http client " + name + " (maxTotal=" + maxTotal + ", maxPerRoute=" + maxPerRoute + ")");
+        return new PooledClient(name, clientBuilder.build(), connectionManager);
+    }
+
+    private static String describe(final PwmHttpClientConfiguration pwmHttpClientConfiguration) {
+        if (pwmHttpClientConfiguration.isPromiscuous()) {
+            return "promiscuous";
+        }
+        if (pwmHttpClientConfiguration.getCertificates() != null) {
+            return "pinned";
+        }
+        return "default";
+    }
+
+    @Value
+    private static class PooledClient {
+        private final String name;
+        private final CloseableHttpClient httpClient;
+        private final MeteredConnectionManager connectionManager;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package password.pwm.http.client;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.config.Registry;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pooling connection manager that records how many connections have been leased from the pool and how long callers
+ * waited for them.
+ */
+class MeteredConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private final LongAdder leaseCount = new LongAdder();
+    private final LongAdder leaseTimeoutCount = new LongAdder();
+    private final LongAdder leaseWaitNanos = new LongAdder();
+    private final LongAccumulator maxLeaseWaitNanos = new LongAccumulator(Math::max, 0);
+
+    MeteredConnectionManager(final Registry<ConnectionSocketFactory> socketFactoryRegistry, final long timeToLiveMs) {
+        super(socketFactoryRegistry, null, null, null, timeToLiveMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(final HttpRoute route, final Object state) {
+        final ConnectionRequest connectionRequest = super.requestConnection(route, state);
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(final long timeout, final TimeUnit timeUnit)
+                    throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException
+            {
+                final long startTime = System.nanoTime();
+                try {
+                    final HttpClientConnection connection = connectionRequest.get(timeout, timeUnit);
+                    leaseCount.increment();
+                    return connection;
+                } catch (ConnectionPoolTimeoutException e) {
+                    leaseTimeoutCount.increment();
+                    throw e;
+                } finally {
+                    final long waitNanos = System.nanoTime() - startTime;
+                    leaseWaitNanos.add(waitNanos);
+                    maxLeaseWaitNanos.accumulate(waitNanos);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return connectionRequest.cancel();
+            }
+        };
+    }
+
+    boolean isInUse() {
+        final PoolStats poolStats = getTotalStats();
+        return poolStats.getLeased() > 0 || poolStats.getPending() > 0;
+    }
+
+    Map<String, String> debugProperties() {
+        final PoolStats poolStats = getTotalStats();
+        final long leases = leaseCount.sum();
+        final Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("leased", Integer.toString(poolStats.getLeased()));
+        properties.put("available", Integer.toString(poolStats.getAvailable()));
+        properties.put("pending", Integer.toString(poolStats.getPending()));
+        properties.put("max", Integer.toString(poolStats.getMax()));
+        properties.put("routes", Integer.toString(getRoutes().size()));
+        properties.put("leaseCount", Long.toString(leases));
+        properties.put("leaseTimeoutCount", Long.toString(leaseTimeoutCount.sum()));
+        properties.put("averageLeaseWaitMs", leases == 0 ? "0" : Long.toString(TimeUnit.NANOSECONDS.toMillis(leaseWaitNanos.sum() / leases)));
+        properties.put("maxLeaseWaitMs", Long.toString(TimeUnit.NANOSECONDS.toMillis(maxLeaseWaitNanos.get())));
+        return properties;
+    }
+}
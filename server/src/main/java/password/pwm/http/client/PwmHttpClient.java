@@ -40,8 +40,8 @@ import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.config.Registry;
 import org.apache.http.config.RegistryBuilder;
-import org.apache.http.conn.HttpClientConnectionManager;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.entity.StringEntity;
@@ -117,30 +117,45 @@ public class PwmHttpClient {
     public static HttpClient getHttpClient(final Configuration configuration, final PwmHttpClientConfiguration pwmHttpClientConfiguration)
             throws PwmUnrecoverableException
     {
-        final HttpClientBuilder clientBuilder = HttpClientBuilder.create();
-        clientBuilder.setUserAgent(PwmConstants.PWM_APP_NAME + " " + PwmConstants.SERVLET_VERSION);
+        final HttpClientBuilder clientBuilder = makeClientBuilder(configuration);
+        clientBuilder.setConnectionManager(new BasicHttpClientConnectionManager(makeSocketFactoryRegistry(configuration, pwmHttpClientConfiguration)));
+        return clientBuilder.build();
+    }
+
+    static Registry<ConnectionSocketFactory> makeSocketFactoryRegistry(
+            final Configuration configuration,
+            final PwmHttpClientConfiguration pwmHttpClientConfiguration
+    )
+            throws PwmUnrecoverableException
+    {
         final boolean httpClientPromiscuousEnable = Boolean.parseBoolean(configuration.readAppProperty(AppProperty.SECURITY_HTTP_PROMISCUOUS_ENABLE));
 
+        final SSLConnectionSocketFactory sslConnectionFactory;
         try {
             if (httpClientPromiscuousEnable || (pwmHttpClientConfiguration != null && pwmHttpClientConfiguration.isPromiscuous())) {
-                clientBuilder.setSSLContext(promiscuousSSLContext());
-                clientBuilder.setSSLHostnameVerifier(NoopHostnameVerifier.INSTANCE);
+                sslConnectionFactory = new SSLConnectionSocketFactory(promiscuousSSLContext(), NoopHostnameVerifier.INSTANCE);
             } else if (pwmHttpClientConfiguration != null && pwmHttpClientConfiguration.getCertificates() != null) {
                 final SSLContext sslContext = SSLContext.getInstance("SSL");
                 final TrustManager trustManager = new X509Utils.CertMatchingTrustManager(configuration, pwmHttpClientConfiguration.getCertificates());
                 sslContext.init(null, new TrustManager[]{ trustManager }, new SecureRandom());
-
-                final SSLConnectionSocketFactory sslConnectionFactory = new SSLConnectionSocketFactory(sslContext, NoopHostnameVerifier.INSTANCE);
-                final Registry<ConnectionSocketFactory> registry = RegistryBuilder.<ConnectionSocketFactory>create().register("https", sslConnectionFactory).build();
-                final HttpClientConnectionManager ccm = new BasicHttpClientConnectionManager(registry);
-
-                clientBuilder.setSSLSocketFactory(sslConnectionFactory);
-                clientBuilder.setConnectionManager(ccm);
+                sslConnectionFactory = new SSLConnectionSocketFactory(sslContext, NoopHostnameVerifier.INSTANCE);
+            } else {
+                sslConnectionFactory = SSLConnectionSocketFactory.getSocketFactory();
             }
         } catch (Exception e) {
             throw new PwmUnrecoverableException(new ErrorInformation(PwmError.ERROR_UNKNOWN,"unexpected error creating promiscuous https client: " + e.getMessage()));
         }
 
+        return RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", sslConnectionFactory)
+                .build();
+    }
+
+    static HttpClientBuilder makeClientBuilder(final Configuration configuration) {
+        final HttpClientBuilder clientBuilder = HttpClientBuilder.create();
+        clientBuilder.setUserAgent(PwmConstants.PWM_APP_NAME + " " + PwmConstants.SERVLET_VERSION);
+
         final String proxyUrl = configuration.readSettingAsString(PwmSetting.HTTP_PROXY_URL);
         if (proxyUrl != null && proxyUrl.length() > 0) {
             final URI proxyURI = URI.create(proxyUrl);
@@ -169,7 +184,25 @@ public class PwmHttpClient {
                 .setConnectionRequestTimeout(Integer.parseInt(configuration.readAppProperty(AppProperty.HTTP_CLIENT_REQUEST_TIMEOUT_MS)))
                 .build());
 
-        return clientBuilder.build();
+        return clientBuilder;
+    }
+
+    /**
+     * Return the shared, pooled client for the configuration when the application's {@link HttpClientService} is
+     * available, otherwise a new single-use client.
+     * @param pwmApplication application
+     * @param pwmHttpClientConfiguration client configuration
+     * @return http client
+     * @throws PwmUnrecoverableException if the client ssl configuration can not be created
+     */
+    public static HttpClient getHttpClient(final PwmApplication pwmApplication, final PwmHttpClientConfiguration pwmHttpClientConfiguration)
+            throws PwmUnrecoverableException
+    {
+        final HttpClientService httpClientService = pwmApplication.getHttpClientService();
+        if (httpClientService != null) {
+            return httpClientService.getHttpClient(pwmHttpClientConfiguration);
+        }
+        return getHttpClient(pwmApplication.getConfig(), pwmHttpClientConfiguration);
     }
 
     static String entityToDebugString(
@@ -211,7 +244,7 @@ public class PwmHttpClient {
 
         LOGGER.trace(sessionLabel, "preparing to send (id=" + counter + ") " + clientRequest.toDebugString());
 
-        final HttpResponse httpResponse = executeRequest(clientRequest);
+        final HttpResponse httpResponse = executeRequest(clientRequest, getHttpClient(pwmApplication, pwmHttpClientConfiguration));
         final String responseBody = EntityUtils.toString(httpResponse.getEntity());
         final Map<String, String> responseHeaders = new LinkedHashMap<>();
         if (httpResponse.getAllHeaders() != null) {
@@ -233,7 +266,7 @@ public class PwmHttpClient {
     }
 
     @SuppressWarnings("deprecation")
-    private HttpResponse executeRequest(final PwmHttpClientRequest clientRequest)
+    private HttpResponse executeRequest(final PwmHttpClientRequest clientRequest, final HttpClient httpClient)
             throws IOException, PwmUnrecoverableException {
         final String requestBody = clientRequest.getBody();
         final HttpRequestBase httpRequest;
@@ -308,7 +341,6 @@ public class PwmHttpClient {
             }
         }
         
-        final HttpClient httpClient = getHttpClient(pwmApplication.getConfig(), pwmHttpClientConfiguration);
         return httpClient.execute(httpRequest);
     }
 
@@ -336,7 +368,8 @@ public class PwmHttpClient {
                     null
             );
 
-            final HttpResponse httpResponse = executeRequest(pwmHttpClientRequest);
+            // streams are potentially large and may not be fully read, so a single-use client is used rather than the pool.
+            final HttpResponse httpResponse = executeRequest(pwmHttpClientRequest, getHttpClient(pwmApplication.getConfig(), pwmHttpClientConfiguration));
             if (httpResponse.getStatusLine().getStatusCode() != HttpStatus.SC_OK) {
                 final String errorMsg = "error retrieving stream for url '" + inputUrl + "', remote response: " + httpResponse.getStatusLine().toString();
                 final ErrorInformation errorInformation = new ErrorInformation(PwmError.ERROR_REMOTE_ERROR_VALUE, errorMsg);
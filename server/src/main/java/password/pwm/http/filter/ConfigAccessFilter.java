@@ -277,7 +277,7 @@ public class ConfigAccessFilter extends AbstractPwmFilter {
                 Instant.now(),
                 pwmRequest.getPwmSession().getSessionStateBean().getSrcAddress()
         );
-        final int maxEvents = Integer.parseInt(pwmRequest.getPwmApplication().getConfig().readAppProperty(AppProperty.CONFIG_HISTORY_MAX_ITEMS));
+        final int maxEvents = pwmRequest.getPwmApplication().getConfig().readAppPropertyInt(AppProperty.CONFIG_HISTORY_MAX_ITEMS);
         configLoginHistory.addEvent(event, maxEvents, successful);
         pwmRequest.getPwmApplication().writeAppAttribute(PwmApplication.AppAttribute.CONFIG_LOGIN_HISTORY, configLoginHistory);
     }
@@ -356,7 +356,7 @@ public class ConfigAccessFilter extends AbstractPwmFilter {
     }
 
     static int figureMaxLoginSeconds(final PwmRequest pwmRequest) {
-        return Integer.parseInt(pwmRequest.getConfig().readAppProperty(AppProperty.CONFIG_MAX_PERSISTENT_LOGIN_SECONDS));
+        return pwmRequest.getConfig().readAppPropertyInt(AppProperty.CONFIG_MAX_PERSISTENT_LOGIN_SECONDS);
     }
 
     private void checkUserAgent(final PwmRequest pwmRequest) throws PwmUnrecoverableException {
@@ -252,7 +252,7 @@ public class RequestInitializationFilter implements Filter {
             return;
         }
 
-        final boolean recycleEnabled = Boolean.parseBoolean( pwmRequest.getConfig().readAppProperty(AppProperty.HTTP_SESSION_RECYCLE_AT_AUTH));
+        final boolean recycleEnabled = pwmRequest.getConfig().readAppPropertyBoolean(AppProperty.HTTP_SESSION_RECYCLE_AT_AUTH);
 
         if (!recycleEnabled) {
             return;
@@ -308,16 +308,16 @@ public class RequestInitializationFilter implements Filter {
         }
 
         final String serverHeader = config.readAppProperty(AppProperty.HTTP_HEADER_SERVER);
-        final boolean includeXInstance = Boolean.parseBoolean(config.readAppProperty(AppProperty.HTTP_HEADER_SEND_XINSTANCE));
-        final boolean includeXSessionID = Boolean.parseBoolean(config.readAppProperty(AppProperty.HTTP_HEADER_SEND_XSESSIONID));
-        final boolean includeXVersion = Boolean.parseBoolean(config.readAppProperty(AppProperty.HTTP_HEADER_SEND_XVERSION));
-        final boolean includeXContentTypeOptions = Boolean.parseBoolean(config.readAppProperty(AppProperty.HTTP_HEADER_SEND_XCONTENTTYPEOPTIONS));
-        final boolean includeXXSSProtection = Boolean.parseBoolean(config.readAppProperty(AppProperty.HTTP_HEADER_SEND_XXSSPROTECTION));
+        final boolean includeXInstance = config.readAppPropertyBoolean(AppProperty.HTTP_HEADER_SEND_XINSTANCE);
+        final boolean includeXSessionID = config.readAppPropertyBoolean(AppProperty.HTTP_HEADER_SEND_XSESSIONID);
+        final boolean includeXVersion = config.readAppPropertyBoolean(AppProperty.HTTP_HEADER_SEND_XVERSION);
+        final boolean includeXContentTypeOptions = config.readAppPropertyBoolean(AppProperty.HTTP_HEADER_SEND_XCONTENTTYPEOPTIONS);
+        final boolean includeXXSSProtection = config.readAppPropertyBoolean(AppProperty.HTTP_HEADER_SEND_XXSSPROTECTION);
 
-        final boolean sendNoise = Boolean.parseBoolean(config.readAppProperty(AppProperty.HTTP_HEADER_SEND_XNOISE));
+        final boolean sendNoise = config.readAppPropertyBoolean(AppProperty.HTTP_HEADER_SEND_XNOISE);
 
         if (sendNoise) {
-            final int noiseLength = Integer.parseInt(config.readAppProperty(AppProperty.HTTP_HEADER_NOISE_LENGTH));
+            final int noiseLength = config.readAppPropertyInt(AppProperty.HTTP_HEADER_NOISE_LENGTH);
             resp.setHeader(
                     HttpHeader.XNoise,
                     PwmRandom.getInstance().alphaNumericString(PwmRandom.getInstance().nextInt(noiseLength)+11)
@@ -352,8 +352,8 @@ public class RequestInitializationFilter implements Filter {
         // ----- non-resource urls only for the following operations -----
 
         final boolean includeXFrameDeny = config.readSettingAsBoolean(PwmSetting.SECURITY_PREVENT_FRAMING);
-        final boolean includeXAmb = Boolean.parseBoolean(config.readAppProperty(AppProperty.HTTP_HEADER_SEND_XAMB));
-        final boolean includeContentLanguage = Boolean.parseBoolean(config.readAppProperty(AppProperty.HTTP_HEADER_SEND_CONTENT_LANGUAGE));
+        final boolean includeXAmb = config.readAppPropertyBoolean(AppProperty.HTTP_HEADER_SEND_XAMB);
+        final boolean includeContentLanguage = config.readAppPropertyBoolean(AppProperty.HTTP_HEADER_SEND_CONTENT_LANGUAGE);
 
         if (includeXFrameDeny) {
             resp.setHeader(HttpHeader.XFrameOptions, "DENY");
@@ -593,7 +593,7 @@ public class RequestInitializationFilter implements Filter {
         }
 
         //  csrf cross-site request forgery checks
-        final boolean performCsrfHeaderChecks = Boolean.parseBoolean(pwmRequest.getConfig().readAppProperty(AppProperty.SECURITY_HTTP_PERFORM_CSRF_HEADER_CHECKS));
+        final boolean performCsrfHeaderChecks = pwmRequest.getConfig().readAppPropertyBoolean(AppProperty.SECURITY_HTTP_PERFORM_CSRF_HEADER_CHECKS);
         if (
                 performCsrfHeaderChecks
                         && !pwmRequest.getMethod().isIdempotent()
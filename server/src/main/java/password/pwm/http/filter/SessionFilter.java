@@ -412,7 +412,7 @@ public class SessionFilter extends AbstractPwmFilter {
                     if (configuredTheme != null && configuredTheme.equalsIgnoreCase(themeReqParameter)) {
                         pwmRequest.getPwmResponse().removeCookie(themeCookieName, PwmHttpResponseWrapper.CookiePath.Application);
                     } else {
-                        final int maxAge = Integer.parseInt(config.readAppProperty(AppProperty.HTTP_COOKIE_THEME_AGE));
+                        final int maxAge = config.readAppPropertyInt(AppProperty.HTTP_COOKIE_THEME_AGE);
                         pwmRequest.getPwmResponse().writeCookie(themeCookieName, themeReqParameter, maxAge, PwmHttpResponseWrapper.CookiePath.Application);
                     }
                 }
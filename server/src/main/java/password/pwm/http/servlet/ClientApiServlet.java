@@ -279,11 +279,11 @@ public class ClientApiServlet extends ControlledPwmServlet {
     {
         final Configuration config = pwmApplication.getConfig();
         final TreeMap<String,Object> settingMap = new TreeMap<>();
-        settingMap.put("client.ajaxTypingTimeout", Integer.parseInt(config.readAppProperty(AppProperty.CLIENT_AJAX_TYPING_TIMEOUT)));
-        settingMap.put("client.ajaxTypingWait", Integer.parseInt(config.readAppProperty(AppProperty.CLIENT_AJAX_TYPING_WAIT)));
-        settingMap.put("client.activityMaxEpsRate", Integer.parseInt(config.readAppProperty(AppProperty.CLIENT_ACTIVITY_MAX_EPS_RATE)));
-        settingMap.put("client.js.enableHtml5Dialog", Boolean.parseBoolean(config.readAppProperty(AppProperty.CLIENT_JS_ENABLE_HTML5DIALOG)));
-        settingMap.put("client.pwShowRevertTimeout", Integer.parseInt(config.readAppProperty(AppProperty.CLIENT_PW_SHOW_REVERT_TIMEOUT)));
+        settingMap.put("client.ajaxTypingTimeout", config.readAppPropertyInt(AppProperty.CLIENT_AJAX_TYPING_TIMEOUT));
+        settingMap.put("client.ajaxTypingWait", config.readAppPropertyInt(AppProperty.CLIENT_AJAX_TYPING_WAIT));
+        settingMap.put("client.activityMaxEpsRate", config.readAppPropertyInt(AppProperty.CLIENT_ACTIVITY_MAX_EPS_RATE));
+        settingMap.put("client.js.enableHtml5Dialog", config.readAppPropertyBoolean(AppProperty.CLIENT_JS_ENABLE_HTML5DIALOG));
+        settingMap.put("client.pwShowRevertTimeout", config.readAppPropertyInt(AppProperty.CLIENT_PW_SHOW_REVERT_TIMEOUT));
         settingMap.put("enableIdleTimeout", config.readSettingAsBoolean(PwmSetting.DISPLAY_IDLE_TIMEOUT));
         settingMap.put("pageLeaveNotice", config.readSettingAsLong(PwmSetting.SECURITY_PAGE_LEAVE_NOTICE_TIMEOUT));
         settingMap.put("setting-showHidePasswordFields",pwmApplication.getConfig().readSettingAsBoolean(password.pwm.config.PwmSetting.DISPLAY_SHOW_HIDE_PASSWORD_FIELDS));
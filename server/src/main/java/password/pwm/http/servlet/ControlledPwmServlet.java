@@ -148,7 +148,7 @@ public abstract class ControlledPwmServlet extends AbstractPwmServlet implements
                 return;
             }
 
-            final boolean enablePostRedirectGet = Boolean.parseBoolean(pwmRequest.getConfig().readAppProperty(AppProperty.HTTP_SERVLET_ENABLE_POST_REDIRECT_GET));
+            final boolean enablePostRedirectGet = pwmRequest.getConfig().readAppPropertyBoolean(AppProperty.HTTP_SERVLET_ENABLE_POST_REDIRECT_GET);
             if (enablePostRedirectGet) {
                 final String servletUrl = pwmRequest.getURL().determinePwmServletPath();
                 LOGGER.debug(pwmRequest, "this request is not idempotent, redirecting to self with no action");
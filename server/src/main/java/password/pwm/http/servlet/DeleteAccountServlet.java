@@ -238,6 +238,7 @@ public class DeleteAccountServlet extends ControlledPwmServlet {
                 LOGGER.error("error during user delete", pwmException);
                 throw pwmException;
             }
+            pwmApplication.getUserSearchEngine().invalidateResolvedUser(pwmRequest.getUserInfoIfLoggedIn());
         }
 
         // clear the delete bean
@@ -235,6 +235,7 @@ public class GuestRegistrationServlet extends AbstractPwmServlet {
 
             // Update user attributes
             LdapOperationsHelper.writeFormValuesToLdap(pwmApplication, pwmSession.getSessionManager().getMacroMachine(pwmApplication), theGuest, formValues, false);
+            pwmApplication.getUserSearchEngine().invalidateResolvedUser(guestRegistrationBean.getUpdateUserIdentity());
 
             // Write expirationDate
             if (expirationDate != null) {
@@ -430,6 +431,7 @@ public class GuestRegistrationServlet extends AbstractPwmServlet {
 
             final ChaiUser theUser = ChaiFactory.createChaiUser(guestUserDN, provider);
             final UserIdentity userIdentity = new UserIdentity(guestUserDN, pwmSession.getUserInfo().getUserIdentity().getLdapProfileID());
+            pwmApplication.getUserSearchEngine().invalidateResolvedUser(userIdentity);
 
             // write the expiration date:
             if (expirationDate != null) {
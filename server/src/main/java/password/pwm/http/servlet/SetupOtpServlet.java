@@ -467,8 +467,8 @@ public class SetupOtpServlet extends AbstractPwmServlet {
                 + "/" + identifier
                 + "?secret=" + secret;
 
-        final int height = Integer.parseInt(pwmRequest.getConfig().readAppProperty(AppProperty.OTP_QR_IMAGE_HEIGHT));
-        final int width = Integer.parseInt(pwmRequest.getConfig().readAppProperty(AppProperty.OTP_QR_IMAGE_WIDTH));
+        final int height = pwmRequest.getConfig().readAppPropertyInt(AppProperty.OTP_QR_IMAGE_HEIGHT);
+        final int width = pwmRequest.getConfig().readAppPropertyInt(AppProperty.OTP_QR_IMAGE_WIDTH);
 
         final byte[] imageBytes;
         try {
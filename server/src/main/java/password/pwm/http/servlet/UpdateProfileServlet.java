@@ -506,6 +506,7 @@ public class UpdateProfileServlet extends ControlledPwmServlet {
         LdapOperationsHelper.writeFormValuesToLdap(pwmApplication, macroMachine, theUser, formMap, false);
 
         final UserIdentity userIdentity = userInfo.getUserIdentity();
+        pwmApplication.getUserSearchEngine().invalidateResolvedUser(userIdentity);
 
         {  // execute configured actions
             final List<ActionConfiguration> actions = updateAttributesProfile.readSettingAsAction(PwmSetting.UPDATE_PROFILE_WRITE_ATTRIBUTES);
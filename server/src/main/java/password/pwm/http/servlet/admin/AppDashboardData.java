@@ -36,6 +36,7 @@ import password.pwm.http.bean.DisplayElement;
 import password.pwm.i18n.Admin;
 import password.pwm.i18n.Display;
 import password.pwm.svc.PwmService;
+import password.pwm.svc.PwmServiceManager;
 import password.pwm.svc.cluster.NodeInfo;
 import password.pwm.svc.sessiontrack.SessionTrackService;
 import password.pwm.util.LocaleHelper;
@@ -56,6 +57,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
@@ -76,6 +78,7 @@ public class AppDashboardData implements Serializable {
         private Collection<DataStorageMethod> storageMethod;
         private List<HealthRecord> health;
         private Map<String, String> debugData;
+        private String startup;
     }
 
     @Value
@@ -224,6 +227,13 @@ public class AppDashboardData implements Serializable {
     }
 
     private static List<ServiceData> getServiceData(final PwmApplication pwmApplication) {
+        final Map<String, String> startupData = new HashMap<>();
+        for (final PwmServiceManager.ServiceStartupRecord record : pwmApplication.getServiceStartupTimeline()) {
+            startupData.put(record.getServiceName(), "+" + record.getStartOffset().asCompactString()
+                    + " / " + record.getDuration().asCompactString()
+                    + (record.isBackground() ? " (background)" : ""));
+        }
+
         final Map<String, ServiceData> returnData = new TreeMap<>();
         for (final PwmService pwmService : pwmApplication.getPwmServices()) {
             final PwmService.ServiceInfo serviceInfo = pwmService.serviceInfo();
@@ -244,7 +254,8 @@ public class AppDashboardData implements Serializable {
                     pwmService.status(),
                     storageMethods,
                     pwmService.healthCheck(),
-                    debugData
+                    debugData,
+                    startupData.get(pwmService.getClass().getSimpleName())
             ));
         }
 
@@ -82,6 +82,9 @@ public class ReportStatusBean implements Serializable {
                         presentableMap.put("Estimated Time Remaining", remainingDuration.asLongString(locale));
                     }
                 }
+                for (final Map.Entry<ReportStatusInfo.PipelineStage, ReportStatusInfo.StageInfo> entry : reportInfo.getStageInfo().entrySet()) {
+                    presentableMap.put(entry.getKey().getLabel(), formatStageInfo(entry.getValue(), numberFormat));
+                }
                 availableCommands.add(ReportService.ReportCommand.Stop);
             }
             break;
@@ -126,6 +129,18 @@ public class ReportStatusBean implements Serializable {
         return returnMap;
     }
 
+    private static String formatStageInfo(
+            final ReportStatusInfo.StageInfo stageInfo,
+            final PwmNumberFormat numberFormat
+    )
+    {
+        return numberFormat.format(stageInfo.getItems()) + " records"
+                + ", " + new BigDecimal(stageInfo.getItemsPerSecond()).setScale(2, RoundingMode.HALF_UP) + "/second"
+                + ", " + numberFormat.format(stageInfo.getAverageLatencyMs()) + "ms average latency"
+                + ", waiting for input " + new TimeDuration(stageInfo.getInputWaitMs()).asCompactString()
+                + ", blocked on output " + new TimeDuration(stageInfo.getOutputWaitMs()).asCompactString();
+    }
+
     public Map<String, Object> getPresentable() {
         return presentable;
     }
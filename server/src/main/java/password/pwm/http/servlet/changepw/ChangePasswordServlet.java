@@ -307,7 +307,7 @@ public abstract class ChangePasswordServlet extends ControlledPwmServlet {
             passwordChangeProgress = checker.figureProgress(progressTracker);
         }
         final RestResultBean restResultBean = RestResultBean.withData(passwordChangeProgress);
-        LOGGER.trace(pwmRequest, "returning result for restCheckProgress: " + JsonUtil.serialize(restResultBean));
+        LOGGER.trace(pwmRequest, () -> "returning result for restCheckProgress: " + JsonUtil.serialize(restResultBean));
         pwmRequest.outputJsonResult(restResultBean);
         return ProcessStatus.Halt;
     }
@@ -463,7 +463,7 @@ public abstract class ChangePasswordServlet extends ControlledPwmServlet {
 
         pwmRequest.setAttribute(
                 PwmRequestAttribute.ChangePassword_CheckIntervalSeconds,
-                Long.parseLong(pwmRequest.getConfig().readAppProperty(AppProperty.CLIENT_AJAX_PW_WAIT_CHECK_SECONDS))
+                pwmRequest.getConfig().readAppPropertyLong(AppProperty.CLIENT_AJAX_PW_WAIT_CHECK_SECONDS)
         );
 
         pwmRequest.forwardToJsp(JspUrl.PASSWORD_CHANGE_WAIT);
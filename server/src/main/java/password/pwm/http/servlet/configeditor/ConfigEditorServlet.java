@@ -712,7 +712,7 @@ public class ConfigEditorServlet extends AbstractPwmServlet {
     {
         final String key = pwmRequest.readParameterAsString("key");
         final PwmSetting setting = PwmSetting.forKey(key);
-        final int maxFileSize = Integer.parseInt(pwmRequest.getConfig().readAppProperty(AppProperty.CONFIG_MAX_JDBC_JAR_SIZE));
+        final int maxFileSize = pwmRequest.getConfig().readAppPropertyInt(AppProperty.CONFIG_MAX_JDBC_JAR_SIZE);
 
 
         if (setting == PwmSetting.HTTPS_CERT) {
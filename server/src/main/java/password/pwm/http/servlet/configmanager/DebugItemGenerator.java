@@ -88,6 +88,8 @@ public class DebugItemGenerator {
             ConfigurationDebugTextItemGenerator.class,
             AboutItemGenerator.class,
             SystemEnvironmentItemGenerator.class,
+            AppPropertyReadCountsItemGenerator.class,
+            LocalizedMessageCacheItemGenerator.class,
             AppPropertiesItemGenerator.class,
             ServicesDebugItemGenerator.class,
             HealthDebugItemGenerator.class,
@@ -288,6 +290,44 @@ public class DebugItemGenerator {
         }
     }
 
+    static class AppPropertyReadCountsItemGenerator implements Generator {
+        @Override
+        public String getFilename() {
+            return "appPropertyReadCounts.json";
+        }
+
+        @Override
+        public void outputItem(final PwmApplication pwmApplication, final PwmRequest pwmRequest, final OutputStream outputStream) throws Exception
+        {
+            final Map<AppProperty,Long> readCounts = pwmApplication.getConfig().readAppPropertyReadCounts();
+            final List<AppProperty> sortedProperties = new ArrayList<>(readCounts.keySet());
+            sortedProperties.sort((o1, o2) -> Long.compare(readCounts.get(o2), readCounts.get(o1)));
+
+            final LinkedHashMap<String,Object> outputMap = new LinkedHashMap<>();
+            for (final AppProperty appProperty : sortedProperties) {
+                outputMap.put(appProperty.getKey(), readCounts.get(appProperty));
+            }
+
+            final String recordJson = JsonUtil.serializeMap(outputMap, JsonUtil.Flag.PrettyPrint);
+            outputStream.write(recordJson.getBytes(PwmConstants.DEFAULT_CHARSET));
+        }
+    }
+
+    static class LocalizedMessageCacheItemGenerator implements Generator {
+        @Override
+        public String getFilename() {
+            return "localizedMessageCache.json";
+        }
+
+        @Override
+        public void outputItem(final PwmApplication pwmApplication, final PwmRequest pwmRequest, final OutputStream outputStream) throws Exception
+        {
+            final Map<String,Object> outputMap = pwmApplication.getConfig().getLocalizedMessageCache().debugStats();
+            final String recordJson = JsonUtil.serializeMap(outputMap, JsonUtil.Flag.PrettyPrint);
+            outputStream.write(recordJson.getBytes(PwmConstants.DEFAULT_CHARSET));
+        }
+    }
+
     static class ServicesDebugItemGenerator implements Generator {
         @Override
         public String getFilename() {
@@ -448,8 +488,8 @@ public class DebugItemGenerator {
                 final OutputStream outputStream
         ) throws Exception {
 
-            final int maxCount = Integer.parseInt(pwmRequest.getConfig().readAppProperty(AppProperty.CONFIG_MANAGER_ZIPDEBUG_MAXLOGLINES));
-            final int maxSeconds = Integer.parseInt(pwmRequest.getConfig().readAppProperty(AppProperty.CONFIG_MANAGER_ZIPDEBUG_MAXLOGSECONDS));
+            final int maxCount = pwmRequest.getConfig().readAppPropertyInt(AppProperty.CONFIG_MANAGER_ZIPDEBUG_MAXLOGLINES);
+            final int maxSeconds = pwmRequest.getConfig().readAppPropertyInt(AppProperty.CONFIG_MANAGER_ZIPDEBUG_MAXLOGSECONDS);
             final LocalDBSearchQuery searchParameters = new LocalDBSearchQuery(
                     PwmLogLevel.TRACE,
                     maxCount,
@@ -715,7 +715,7 @@ public class ForgottenPasswordServlet extends ControlledPwmServlet {
 
         {
             LOGGER.trace(pwmRequest, "preparing to send a new token to user");
-            final long delayTime = Long.parseLong(pwmRequest.getConfig().readAppProperty(AppProperty.TOKEN_RESEND_DELAY_MS));
+            final long delayTime = pwmRequest.getConfig().readAppPropertyLong(AppProperty.TOKEN_RESEND_DELAY_MS);
             JavaHelper.pause(delayTime);
         }
 
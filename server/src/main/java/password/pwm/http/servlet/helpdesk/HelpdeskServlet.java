@@ -256,7 +256,7 @@ public class HelpdeskServlet extends ControlledPwmServlet {
         }
 
         final RestResultBean restResultBean = RestResultBean.withData(returnValues);
-        LOGGER.trace(pwmRequest, "returning clientData: " + JsonUtil.serialize(restResultBean));
+        LOGGER.trace(pwmRequest, () -> "returning clientData: " + JsonUtil.serialize(restResultBean));
         pwmRequest.outputJsonResult(restResultBean);
         return ProcessStatus.Halt;
     }
@@ -384,6 +384,8 @@ public class HelpdeskServlet extends ControlledPwmServlet {
             return ProcessStatus.Halt;
         }
 
+        pwmApplication.getUserSearchEngine().invalidateResolvedUser(userIdentity);
+
         // mark the event log
         {
             //normally the audit record builder reads the userID while constructing the record, but because the target user is already deleted,
@@ -654,7 +656,7 @@ public class HelpdeskServlet extends ControlledPwmServlet {
             }
 
             // add a delay to prevent continuous checks
-            final long delayMs = Long.parseLong(pwmRequest.getConfig().readAppProperty(AppProperty.HELPDESK_VERIFICATION_INVALID_DELAY_MS));
+            final long delayMs = pwmRequest.getConfig().readAppPropertyLong(AppProperty.HELPDESK_VERIFICATION_INVALID_DELAY_MS);
             while (TimeDuration.fromCurrent(startTime).isShorterThan(delayMs)) {
                 JavaHelper.pause(100);
             }
@@ -806,7 +808,7 @@ public class HelpdeskServlet extends ControlledPwmServlet {
             throw new PwmUnrecoverableException(new ErrorInformation(PwmError.ERROR_TOKEN_INCORRECT, errorMsg));
         }
 
-        final TimeDuration maxTokenAge = new TimeDuration(Long.parseLong(pwmRequest.getConfig().readAppProperty(AppProperty.HELPDESK_TOKEN_MAX_AGE)) * 1000);
+        final TimeDuration maxTokenAge = new TimeDuration(pwmRequest.getConfig().readAppPropertyLong(AppProperty.HELPDESK_TOKEN_MAX_AGE) * 1000);
         final Date maxTokenAgeTimestamp = new Date(System.currentTimeMillis() - maxTokenAge.getTotalMilliseconds());
         if (tokenData.getIssueDate().before(maxTokenAgeTimestamp)) {
             final String errorMsg = "token is older than maximum issue time (" + maxTokenAge.asCompactString() + ")";
@@ -843,7 +845,7 @@ public class HelpdeskServlet extends ControlledPwmServlet {
         }
 
         // add a delay to prevent continuous checks
-        final long delayMs = Long.parseLong(pwmRequest.getConfig().readAppProperty(AppProperty.HELPDESK_VERIFICATION_INVALID_DELAY_MS));
+        final long delayMs = pwmRequest.getConfig().readAppPropertyLong(AppProperty.HELPDESK_VERIFICATION_INVALID_DELAY_MS);
         while (TimeDuration.fromCurrent(startTime).isShorterThan(delayMs)) {
             JavaHelper.pause(100);
         }
@@ -1037,7 +1039,7 @@ public class HelpdeskServlet extends ControlledPwmServlet {
         }
 
         // add a delay to prevent continuous checks
-        final long delayMs = Long.parseLong(pwmRequest.getConfig().readAppProperty(AppProperty.HELPDESK_VERIFICATION_INVALID_DELAY_MS));
+        final long delayMs = pwmRequest.getConfig().readAppPropertyLong(AppProperty.HELPDESK_VERIFICATION_INVALID_DELAY_MS);
         while (TimeDuration.fromCurrent(startTime).isShorterThan(delayMs)) {
             JavaHelper.pause(100);
         }
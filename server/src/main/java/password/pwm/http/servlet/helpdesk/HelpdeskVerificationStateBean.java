@@ -187,7 +187,7 @@ class HelpdeskVerificationStateBean implements Serializable {
     )
             throws PwmUnrecoverableException
     {
-        final int maxAgeSeconds = Integer.parseInt(pwmRequest.getConfig().readAppProperty(AppProperty.HELPDESK_VERIFICATION_TIMEOUT_SECONDS));
+        final int maxAgeSeconds = pwmRequest.getConfig().readAppPropertyInt(AppProperty.HELPDESK_VERIFICATION_TIMEOUT_SECONDS);
         final TimeDuration maxAge = new TimeDuration(maxAgeSeconds, TimeUnit.SECONDS);
         final UserIdentity actor = pwmRequest.getUserInfoIfLoggedIn();
 
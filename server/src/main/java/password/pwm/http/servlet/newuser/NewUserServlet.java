@@ -576,7 +576,7 @@ public class NewUserServlet extends ControlledPwmServlet {
 
         final RestResultBean restResultBean = RestResultBean.withData(outputMap);
 
-        LOGGER.trace(pwmRequest, "returning result for restCheckProgress: " + JsonUtil.serialize(restResultBean));
+        LOGGER.trace(pwmRequest, () -> "returning result for restCheckProgress: " + JsonUtil.serialize(restResultBean));
         pwmRequest.outputJsonResult(restResultBean);
         return ProcessStatus.Halt;
     }
@@ -161,6 +161,8 @@ class NewUserUtils {
             chaiProvider.createEntry(newUserDN, createObjectClasses, createAttributes);
 
             NewUserUtils.LOGGER.info(pwmSession, "created user entry: " + newUserDN);
+            pwmApplication.getUserSearchEngine().invalidateResolvedUser(
+                    new UserIdentity(newUserDN, pwmApplication.getConfig().getDefaultLdapProfile().getIdentifier()));
         } catch (ChaiOperationException e) {
             final String userMessage = "unexpected ldap error creating user entry: " + e.getMessage();
             final ErrorInformation errorInformation = new ErrorInformation(PwmError.ERROR_NEW_USER_FAILURE,
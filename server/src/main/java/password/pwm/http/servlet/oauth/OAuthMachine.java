@@ -249,9 +249,9 @@ public class OAuthMachine {
         final String bodyResponse;
         try {
             if (JavaHelper.isEmpty(certs)) {
-                httpResponse = PwmHttpClient.getHttpClient(pwmRequest.getConfig()).execute(httpPost);
+                httpResponse = PwmHttpClient.getHttpClient(pwmRequest.getPwmApplication(), null).execute(httpPost);
             } else {
-                httpResponse = PwmHttpClient.getHttpClient(pwmRequest.getConfig(), PwmHttpClientConfiguration.builder()
+                httpResponse = PwmHttpClient.getHttpClient(pwmRequest.getPwmApplication(), PwmHttpClientConfiguration.builder()
                         .certificates(certs)
                         .build()
                 ).execute(httpPost);
@@ -352,7 +352,7 @@ public class OAuthMachine {
             final PwmRequest pwmRequest
     )
     {
-        if (!Boolean.parseBoolean(pwmRequest.getConfig().readAppProperty(AppProperty.OAUTH_ENABLE_TOKEN_REFRESH))) {
+        if (!pwmRequest.getConfig().readAppPropertyBoolean(AppProperty.OAUTH_ENABLE_TOKEN_REFRESH)) {
             return false;
         }
 
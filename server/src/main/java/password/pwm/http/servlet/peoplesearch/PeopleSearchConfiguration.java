@@ -54,8 +54,8 @@ public class PeopleSearchConfiguration {
                 && config.orgChartChildAttr != null
                 && !config.orgChartChildAttr.isEmpty();
 
-        config.orgChartShowChildCount = Boolean.parseBoolean(configuration.readAppProperty(AppProperty.PEOPLESEARCH_ORGCHART_ENABLE_CHILD_COUNT));
-        config.orgChartMaxParents = Integer.parseInt(configuration.readAppProperty(AppProperty.PEOPLESEARCH_ORGCHART_MAX_PARENTS));
+        config.orgChartShowChildCount = configuration.readAppPropertyBoolean(AppProperty.PEOPLESEARCH_ORGCHART_ENABLE_CHILD_COUNT);
+        config.orgChartMaxParents = configuration.readAppPropertyInt(AppProperty.PEOPLESEARCH_ORGCHART_MAX_PARENTS);
 
         return config;
     }
@@ -27,6 +27,7 @@ import com.novell.ldapchai.exception.ChaiException;
 import com.novell.ldapchai.exception.ChaiOperationException;
 import com.novell.ldapchai.exception.ChaiUnavailableException;
 import com.novell.ldapchai.provider.ChaiProvider;
+import lombok.Value;
 import password.pwm.AppProperty;
 import password.pwm.PwmApplication;
 import password.pwm.PwmConstants;
@@ -73,6 +74,8 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 class PeopleSearchDataReader {
     private static final PwmLogger LOGGER = PwmLogger.forClass(PeopleSearchDataReader.class);
@@ -92,23 +95,19 @@ class PeopleSearchDataReader {
             throws PwmUnrecoverableException, ChaiUnavailableException {
         final CacheKey cacheKey = makeCacheKey(SearchResultBean.class.getSimpleName(), searchData + "|" + includeDisplayName);
 
-        { // try to serve from cache first
-            final String cachedOutput = pwmRequest.getPwmApplication().getCacheService().get(cacheKey);
-            if (cachedOutput != null) {
-                final SearchResultBean searchResultBean = JsonUtil.deserialize(cachedOutput, SearchResultBean.class);
-                searchResultBean.setFromCache(true);
-                StatisticsManager.incrementStat(pwmRequest, Statistic.PEOPLESEARCH_CACHE_HITS);
+        final CachedData<SearchResultBean> cachedData = readThroughCache(cacheKey, SearchResultBean.class, () -> {
+            // if not in cache, build results from ldap
+            try {
+                final SearchResultBean searchResultBean = makeSearchResultsImpl(pwmRequest, searchData, includeDisplayName);
+                StatisticsManager.incrementStat(pwmRequest, Statistic.PEOPLESEARCH_SEARCHES);
                 return searchResultBean;
-            } else {
-                StatisticsManager.incrementStat(pwmRequest, Statistic.PEOPLESEARCH_CACHE_MISSES);
+            } catch (ChaiUnavailableException e) {
+                throw PwmUnrecoverableException.fromChaiException(e);
             }
-        }
+        });
 
-        // if not in cache, build results from ldap
-        final SearchResultBean searchResultBean = makeSearchResultsImpl(pwmRequest, searchData, includeDisplayName);
-        searchResultBean.setFromCache(false);
-        StatisticsManager.incrementStat(pwmRequest, Statistic.PEOPLESEARCH_SEARCHES);
-        storeDataInCache(pwmRequest.getPwmApplication(), cacheKey, searchResultBean);
+        final SearchResultBean searchResultBean = cachedData.getData();
+        searchResultBean.setFromCache(cachedData.isFromCache());
         LOGGER.trace(pwmRequest, "returning " + searchResultBean.getSearchResults().size() + " results for search request '" + searchData + "'");
         return searchResultBean;
     }
@@ -123,16 +122,22 @@ class PeopleSearchDataReader {
         final Instant startTime = Instant.now();
 
         final CacheKey cacheKey = makeCacheKey(OrgChartDataBean.class.getSimpleName(), userIdentity.toDelimitedKey() + "|" + noChildren);
-        { // if value is cached then return;
-            final String cachedOutput = pwmRequest.getPwmApplication().getCacheService().get(cacheKey);
-            if (cachedOutput != null) {
-                StatisticsManager.incrementStat(pwmRequest, Statistic.PEOPLESEARCH_CACHE_HITS);
-                LOGGER.trace(pwmRequest, "completed makeOrgChartData of " + userIdentity.toDisplayString() + " from cache");
-                return JsonUtil.deserialize(cachedOutput, OrgChartDataBean.class);
-            } else {
-                StatisticsManager.incrementStat(pwmRequest, Statistic.PEOPLESEARCH_CACHE_MISSES);
-            }
+        final CachedData<OrgChartDataBean> cachedData = readThroughCache(cacheKey, OrgChartDataBean.class, () -> makeOrgChartDataImpl(userIdentity, noChildren));
+        if (cachedData.isFromCache()) {
+            LOGGER.trace(pwmRequest, "completed makeOrgChartData of " + userIdentity.toDisplayString() + " from cache");
+        } else {
+            LOGGER.trace(pwmRequest, "completed makeOrgChartData in " + TimeDuration.fromCurrent(startTime).asCompactString());
         }
+        return cachedData.getData();
+    }
+
+    private OrgChartDataBean makeOrgChartDataImpl(
+            final UserIdentity userIdentity,
+            final boolean noChildren
+    )
+            throws PwmUnrecoverableException
+    {
+        final Instant startTime = Instant.now();
 
         final OrgChartDataBean orgChartData = new OrgChartDataBean();
 
@@ -178,8 +183,7 @@ class PeopleSearchDataReader {
         }
 
         final TimeDuration totalTime = TimeDuration.fromCurrent(startTime);
-        storeDataInCache(pwmRequest.getPwmApplication(), cacheKey, orgChartData);
-        LOGGER.trace(pwmRequest, "completed makeOrgChartData in " + totalTime.asCompactString() + " with " + childCount + " children" );
+        LOGGER.trace(pwmRequest, "read org chart data from ldap in " + totalTime.asCompactString() + " with " + childCount + " children" );
         return orgChartData;
     }
 
@@ -192,16 +196,36 @@ class PeopleSearchDataReader {
         final UserIdentity userIdentity = UserIdentity.fromKey(userKey, pwmRequest.getPwmApplication());
 
         final CacheKey cacheKey = makeCacheKey(UserDetailBean.class.getSimpleName(), userIdentity.toDelimitedKey());
-        {
-            final String cachedOutput = pwmRequest.getPwmApplication().getCacheService().get(cacheKey);
-            if (cachedOutput != null) {
-                StatisticsManager.incrementStat(pwmRequest, Statistic.PEOPLESEARCH_CACHE_HITS);
-                return JsonUtil.deserialize(cachedOutput, UserDetailBean.class);
-            } else {
-                StatisticsManager.incrementStat(pwmRequest, Statistic.PEOPLESEARCH_CACHE_MISSES);
+        try {
+            return readThroughCache(cacheKey, UserDetailBean.class, () -> {
+                try {
+                    return makeUserDetailImpl(userKey, userIdentity, startTime);
+                } catch (PwmOperationalException e) {
+                    throw new PwmUnrecoverableException(e.getErrorInformation(), e);
+                } catch (ChaiUnavailableException e) {
+                    throw PwmUnrecoverableException.fromChaiException(e);
+                }
+            }).getData();
+        } catch (PwmUnrecoverableException e) {
+            // operational errors of the loader are wrapped so they can be shared with coalesced requests.
+            Throwable cause = e.getCause();
+            while (cause != null) {
+                if (cause instanceof PwmOperationalException) {
+                    throw new PwmOperationalException(((PwmOperationalException) cause).getErrorInformation());
+                }
+                cause = cause.getCause();
             }
+            throw e;
         }
+    }
 
+    private UserDetailBean makeUserDetailImpl(
+            final String userKey,
+            final UserIdentity userIdentity,
+            final Instant startTime
+    )
+            throws PwmUnrecoverableException, PwmOperationalException, ChaiUnavailableException
+    {
         try {
             checkIfUserIdentityViewable(userIdentity);
         } catch (PwmOperationalException e) {
@@ -230,7 +254,6 @@ class PeopleSearchDataReader {
         userDetailBean.setLinks(makeUserDetailLinks(userIdentity));
 
         LOGGER.trace(pwmRequest.getPwmSession(), "finished building userDetail result in " + TimeDuration.fromCurrent(startTime).asCompactString());
-        storeDataInCache(pwmRequest.getPwmApplication(), cacheKey, userDetailBean);
         return userDetailBean;
     }
 
@@ -270,7 +293,7 @@ class PeopleSearchDataReader {
 
         final List<String> returnObj = new ArrayList<>();
 
-        final int MAX_VALUES = Integer.parseInt(pwmRequest.getConfig().readAppProperty(AppProperty.PEOPLESEARCH_VALUE_MAXCOUNT));
+        final int MAX_VALUES = pwmRequest.getConfig().readAppPropertyInt(AppProperty.PEOPLESEARCH_VALUE_MAXCOUNT);
         final ChaiUser chaiUser = getChaiUser(userIdentity);
         try {
             final Set<String> ldapValues = chaiUser.readMultiStringAttribute(attributeName);
@@ -337,7 +360,7 @@ class PeopleSearchDataReader {
 
         final List<UserIdentity> returnObj = new ArrayList<>();
 
-        final int MAX_VALUES = Integer.parseInt(pwmRequest.getConfig().readAppProperty(AppProperty.PEOPLESEARCH_VALUE_MAXCOUNT));
+        final int MAX_VALUES = pwmRequest.getConfig().readAppPropertyInt(AppProperty.PEOPLESEARCH_VALUE_MAXCOUNT);
         final ChaiUser chaiUser = getChaiUser(userIdentity);
         final Set<String> ldapValues;
         try {
@@ -349,7 +372,7 @@ class PeopleSearchDataReader {
         }
 
 
-        final boolean checkUserDNValues = Boolean.parseBoolean(pwmRequest.getConfig().readAppProperty(AppProperty.PEOPLESEARCH_MAX_VALUE_VERIFYUSERDN));
+        final boolean checkUserDNValues = pwmRequest.getConfig().readAppPropertyBoolean(AppProperty.PEOPLESEARCH_MAX_VALUE_VERIFYUSERDN);
         for (final String userDN : ldapValues) {
             final UserIdentity loopIdentity = new UserIdentity(userDN, userIdentity.getLdapProfileID());
             if (returnObj.size() < MAX_VALUES) {
@@ -369,18 +392,54 @@ class PeopleSearchDataReader {
         return returnObj;
     }
 
-    private static void storeDataInCache(
-            final PwmApplication pwmApplication,
+    /**
+     * Read data from the cache, loading it on a cache miss.  Concurrent misses for the same key share a single load.
+     */
+    private <T extends Serializable> CachedData<T> readThroughCache(
             final CacheKey cacheKey,
-            final Serializable data
+            final Class<T> dataClass,
+            final DataLoader<T> dataLoader
     )
             throws PwmUnrecoverableException
     {
+        final PwmApplication pwmApplication = pwmRequest.getPwmApplication();
         final long maxCacheSeconds = pwmApplication.getConfig().readSettingAsLong(PwmSetting.PEOPLE_SEARCH_MAX_CACHE_SECONDS);
-        if (maxCacheSeconds > 0) {
-            final CachePolicy cachePolicy = CachePolicy.makePolicyWithExpirationMS(maxCacheSeconds * 1000);
-            pwmApplication.getCacheService().put(cacheKey, cachePolicy, JsonUtil.serialize(data));
+        if (maxCacheSeconds <= 0) {
+            StatisticsManager.incrementStat(pwmRequest, Statistic.PEOPLESEARCH_CACHE_MISSES);
+            return new CachedData<>(dataLoader.load(), false);
+        }
+
+        final long configuredRefreshAheadSeconds = pwmApplication.getConfig().readAppPropertyLong(AppProperty.PEOPLESEARCH_CACHE_REFRESH_AHEAD_SECONDS);
+        final long refreshAheadSeconds = Math.min(configuredRefreshAheadSeconds, maxCacheSeconds / 4);
+        final CachePolicy cachePolicy = CachePolicy.makePolicyWithExpiration(
+                new TimeDuration(maxCacheSeconds, TimeUnit.SECONDS),
+                new TimeDuration(refreshAheadSeconds, TimeUnit.SECONDS)
+        );
+
+        final AtomicReference<T> loadedData = new AtomicReference<>();
+        final String payload = pwmApplication.getCacheService().get(cacheKey, cachePolicy, () -> {
+            final T data = dataLoader.load();
+            loadedData.set(data);
+            return JsonUtil.serialize(data);
+        });
+
+        if (loadedData.get() != null) {
+            StatisticsManager.incrementStat(pwmRequest, Statistic.PEOPLESEARCH_CACHE_MISSES);
+            return new CachedData<>(loadedData.get(), false);
         }
+
+        StatisticsManager.incrementStat(pwmRequest, Statistic.PEOPLESEARCH_CACHE_HITS);
+        return new CachedData<>(JsonUtil.deserialize(payload, dataClass), true);
+    }
+
+    private interface DataLoader<T extends Serializable> {
+        T load() throws PwmUnrecoverableException;
+    }
+
+    @Value
+    private static class CachedData<T> {
+        private final T data;
+        private final boolean fromCache;
     }
 
     private String figurePhotoURL(
@@ -116,7 +116,7 @@ public abstract class PeopleSearchServlet extends ControlledPwmServlet {
         );
 
         final RestResultBean restResultBean = RestResultBean.withData(peopleSearchClientConfigBean);
-        LOGGER.trace(pwmRequest, "returning clientData: " + JsonUtil.serialize(restResultBean));
+        LOGGER.trace(pwmRequest, () -> "returning clientData: " + JsonUtil.serialize(restResultBean));
         pwmRequest.outputJsonResult(restResultBean);
         return ProcessStatus.Halt;
     }
@@ -68,11 +68,11 @@ class ResourceServletConfiguration {
     private ResourceServletConfiguration(final PwmApplication pwmApplication) {
         LOGGER.trace("initializing");
         final Configuration configuration = pwmApplication.getConfig();
-        maxCacheItems = Integer.parseInt(configuration.readAppProperty(AppProperty.HTTP_RESOURCES_MAX_CACHE_ITEMS));
-        cacheExpireSeconds = Long.parseLong(configuration.readAppProperty(AppProperty.HTTP_RESOURCES_EXPIRATION_SECONDS));
-        enableGzip = Boolean.parseBoolean(configuration.readAppProperty(AppProperty.HTTP_RESOURCES_ENABLE_GZIP));
-        enablePathNonce = Boolean.parseBoolean(configuration.readAppProperty(AppProperty.HTTP_RESOURCES_ENABLE_PATH_NONCE));
-        maxCacheBytes = Long.parseLong(configuration.readAppProperty(AppProperty.HTTP_RESOURCES_MAX_CACHE_BYTES));
+        maxCacheItems = configuration.readAppPropertyInt(AppProperty.HTTP_RESOURCES_MAX_CACHE_ITEMS);
+        cacheExpireSeconds = configuration.readAppPropertyLong(AppProperty.HTTP_RESOURCES_EXPIRATION_SECONDS);
+        enableGzip = configuration.readAppPropertyBoolean(AppProperty.HTTP_RESOURCES_ENABLE_GZIP);
+        enablePathNonce = configuration.readAppPropertyBoolean(AppProperty.HTTP_RESOURCES_ENABLE_PATH_NONCE);
+        maxCacheBytes = configuration.readAppPropertyLong(AppProperty.HTTP_RESOURCES_MAX_CACHE_BYTES);
 
         final String noncePrefix = configuration.readAppProperty(AppProperty.HTTP_RESOURCES_NONCE_PATH_PREFIX);
         noncePattern = Pattern.compile(noncePrefix + "[^/]*?/");
@@ -156,8 +156,8 @@ public class ResourceServletService implements PwmService {
     private String makeResourcePathNonce()
             throws PwmUnrecoverableException, IOException
     {
-        final int nonceLength = Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.HTTP_RESOURCES_PATH_NONCE_LENGTH));
-        final boolean enablePathNonce = Boolean.parseBoolean(pwmApplication.getConfig().readAppProperty(AppProperty.HTTP_RESOURCES_ENABLE_PATH_NONCE));
+        final int nonceLength = pwmApplication.getConfig().readAppPropertyInt(AppProperty.HTTP_RESOURCES_PATH_NONCE_LENGTH);
+        final boolean enablePathNonce = pwmApplication.getConfig().readAppPropertyBoolean(AppProperty.HTTP_RESOURCES_ENABLE_PATH_NONCE);
         if (!enablePathNonce) {
             return "";
         }
@@ -22,6 +22,11 @@
 
 package password.pwm.http.state;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Value;
+import password.pwm.AppProperty;
+import password.pwm.config.Configuration;
 import password.pwm.config.PwmSetting;
 import password.pwm.error.PwmException;
 import password.pwm.error.PwmUnrecoverableException;
@@ -45,6 +50,21 @@ class CryptoCookieBeanImpl implements SessionBeanProvider {
 
     private static final PwmHttpResponseWrapper.CookiePath COOKIE_PATH = PwmHttpResponseWrapper.CookiePath.PwmServlet;
 
+    /**
+     * Derived per-session keys, keyed by the configuration they were derived from so that a configuration
+     * change (and any change to the security key) never re-uses a stale key.
+     */
+    private final Cache<SessionKeyCacheKey, PwmSecurityKey> sessionKeyCache;
+
+    CryptoCookieBeanImpl(final Configuration configuration) {
+        final int maxEntries = configuration.readAppPropertyInt(AppProperty.HTTP_COOKIE_BEAN_KEY_CACHE_MAX_ENTRIES);
+        final long idleTimeoutMs = configuration.readAppPropertyLong(AppProperty.HTTP_COOKIE_BEAN_KEY_CACHE_IDLE_TIMEOUT_MS);
+        sessionKeyCache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(idleTimeoutMs, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
     @Override
     public <E extends PwmSessionBean> E getSessionBean(final PwmRequest pwmRequest, final Class<E> theClass) throws PwmUnrecoverableException {
         final Map<Class<? extends PwmSessionBean>,PwmSessionBean> sessionBeans = getRequestBeanMap(pwmRequest);
@@ -164,8 +184,22 @@ class CryptoCookieBeanImpl implements SessionBeanProvider {
     private PwmSecurityKey keyForSession(final PwmRequest pwmRequest)
             throws PwmUnrecoverableException
     {
-        final PasswordData configKey = pwmRequest.getConfig().readSettingAsPassword(PwmSetting.PWM_SECURITY_KEY);
         final String userGuid = pwmRequest.getPwmSession().getLoginInfoBean().getGuid();
-        return new PwmSecurityKey(configKey.getStringValue() + userGuid);
+        final SessionKeyCacheKey cacheKey = new SessionKeyCacheKey(pwmRequest.getConfig().configurationHash(), userGuid);
+        final PwmSecurityKey cachedKey = sessionKeyCache.getIfPresent(cacheKey);
+        if (cachedKey != null) {
+            return cachedKey;
+        }
+
+        final PasswordData configKey = pwmRequest.getConfig().readSettingAsPassword(PwmSetting.PWM_SECURITY_KEY);
+        final PwmSecurityKey newKey = new PwmSecurityKey(configKey.getStringValue() + userGuid);
+        sessionKeyCache.put(cacheKey, newKey);
+        return newKey;
+    }
+
+    @Value
+    private static class SessionKeyCacheKey {
+        private final String configurationHash;
+        private final String sessionGuid;
     }
 }
@@ -67,7 +67,7 @@ public class SessionStateService implements PwmService {
                         break;
 
                     case CRYPTCOOKIE:
-                        sessionBeanProvider = new CryptoCookieBeanImpl();
+                        sessionBeanProvider = new CryptoCookieBeanImpl(pwmApplication.getConfig());
                         break;
 
                     case CRYPTREQUEST:
@@ -62,7 +62,7 @@ public class ErrorMessageTag extends PwmAbstractTag {
             final ErrorInformation error = (ErrorInformation)pwmRequest.getAttribute(PwmRequestAttribute.PwmErrorInfo);
 
             if (error != null) {
-                final boolean allowHtml = Boolean.parseBoolean(pwmRequest.getConfig().readAppProperty(AppProperty.HTTP_ERRORS_ALLOW_HTML));
+                final boolean allowHtml = pwmRequest.getConfig().readAppPropertyBoolean(AppProperty.HTTP_ERRORS_ALLOW_HTML);
                 final boolean showErrorDetail = pwmApplication.determineIfDetailErrorMsgShown();
 
                 String outputMsg = error.toUserStr(pwmRequest.getPwmSession(), pwmApplication);
@@ -184,7 +184,7 @@ public enum PwmIfTest {
             final PwmApplicationMode applicationMode = pwmRequest.getPwmApplication().getApplicationMode();
             final boolean configMode = applicationMode == PwmApplicationMode.CONFIGURATION;
             final boolean adminUser = pwmRequest.getPwmSession().getSessionManager().checkPermission(pwmRequest.getPwmApplication(), Permission.PWMADMIN);
-            if (Boolean.parseBoolean(pwmRequest.getConfig().readAppProperty(AppProperty.CLIENT_WARNING_HEADER_SHOW))) {
+            if (pwmRequest.getConfig().readAppPropertyBoolean(AppProperty.CLIENT_WARNING_HEADER_SHOW)) {
                 if (configMode || PwmConstants.TRIAL_MODE) {
                     return true;
                 } else if (pwmRequest.isAuthenticated()) {
@@ -138,7 +138,7 @@ public class LdapBrowser {
 
     private int getMaxSizeLimit() {
         final Configuration configuration = new Configuration(storedConfiguration);
-        return Integer.parseInt(configuration.readAppProperty(AppProperty.LDAP_BROWSER_MAX_ENTRIES));
+        return configuration.readAppPropertyInt(AppProperty.LDAP_BROWSER_MAX_ENTRIES);
     }
 
     private Map<String, Boolean> getChildEntries(
@@ -0,0 +1,532 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+
+package password.pwm.ldap;
+
+import com.novell.ldapchai.exception.ChaiError;
+import com.novell.ldapchai.exception.ChaiUnavailableException;
+import com.novell.ldapchai.provider.ChaiProvider;
+import lombok.Builder;
+import lombok.Value;
+import password.pwm.error.ErrorInformation;
+import password.pwm.error.PwmError;
+import password.pwm.error.PwmUnrecoverableException;
+import password.pwm.util.java.TimeDuration;
+import password.pwm.util.logging.PwmLogger;
+
+import java.io.Serializable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pool of proxy connections for a single ldap profile.
+ *
+ * <p>Callers use the {@link ChaiProvider} returned by {@link #getPooledProvider()}; each ldap operation invoked on it
+ * leases a connection from the pool for the duration of that operation only.  In {@link LeaseMode#EXCLUSIVE} mode a
+ * connection serves one operation at a time and callers wait (up to the configured maximum) for a free connection once
+ * the pool has reached its maximum size.  In {@link LeaseMode#SHARED} mode operations are spread over the least used
+ * connections and never wait.</p>
+ *
+ * <p>Connections that fail with {@link ChaiUnavailableException} are discarded and replaced on demand.  {@link #maintain()}
+ * closes connections idle for longer than the idle timeout, validates the remaining idle connections and re-opens
+ * connections up to the minimum size.</p>
+ */
+class LdapConnectionPool {
+    private static final PwmLogger LOGGER = PwmLogger.forClass(LdapConnectionPool.class);
+
+    enum LeaseMode {
+        EXCLUSIVE,
+        SHARED,
+    }
+
+    interface ConnectionFactory {
+        ChaiProvider openConnection() throws PwmUnrecoverableException;
+    }
+
+    interface ConnectionValidator {
+        boolean isValid(ChaiProvider chaiProvider);
+    }
+
+    @Value
+    @Builder
+    static class PoolSettings implements Serializable {
+        private final int minConnections;
+        private final int maxConnections;
+        private final LeaseMode leaseMode;
+        private final TimeDuration maxWait;
+        private final TimeDuration idleTimeout;
+    }
+
+    @Value
+    @Builder
+    public static class PoolStats implements Serializable {
+        private final int connections;
+        private final int idleConnections;
+        private final int activeLeases;
+        private final long leaseCount;
+        private final long waitCount;
+        private final long waitTimeoutCount;
+        private final long averageWaitMs;
+        private final long maxWaitMs;
+        private final long openedCount;
+        private final long discardedCount;
+        private final long idleEvictionCount;
+        private final Instant lastWaitTimeout;
+    }
+
+    private final String identifier;
+    private final PoolSettings settings;
+    private final ConnectionFactory connectionFactory;
+    private final ConnectionValidator connectionValidator;
+    private final ChaiProvider pooledProvider;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition connectionReleased = lock.newCondition();
+    private final List<PooledConnection> connections = new ArrayList<>();
+    private int pendingOpens;
+    private volatile boolean used;
+    private volatile boolean closed;
+
+    private final LongAdder leaseCount = new LongAdder();
+    private final LongAdder waitCount = new LongAdder();
+    private final LongAdder waitTimeoutCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder openedCount = new LongAdder();
+    private final LongAdder discardedCount = new LongAdder();
+    private final LongAdder idleEvictionCount = new LongAdder();
+    private volatile Instant lastWaitTimeout;
+
+    LdapConnectionPool(
+            final String identifier,
+            final PoolSettings settings,
+            final ConnectionFactory connectionFactory,
+            final ConnectionValidator connectionValidator
+    )
+    {
+        this.identifier = identifier;
+        this.settings = settings;
+        this.connectionFactory = connectionFactory;
+        this.connectionValidator = connectionValidator;
+        this.pooledProvider = (ChaiProvider) Proxy.newProxyInstance(
+                ChaiProvider.class.getClassLoader(),
+                new Class[] {ChaiProvider.class},
+                new LeasingInvocationHandler()
+        );
+    }
+
+    ChaiProvider getPooledProvider() {
+        return pooledProvider;
+    }
+
+    static class PooledConnection {
+        private final ChaiProvider chaiProvider;
+        private int leases;
+        private long lastUsedNanos = System.nanoTime();
+
+        PooledConnection(final ChaiProvider chaiProvider) {
+            this.chaiProvider = chaiProvider;
+        }
+    }
+
+    PooledConnection lease() throws PwmUnrecoverableException {
+        used = true;
+        final long startNanos = System.nanoTime();
+        final long deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(settings.getMaxWait().getTotalMilliseconds());
+        boolean waited = false;
+
+        lock.lock();
+        try {
+            while (true) {
+                if (closed) {
+                    throw new PwmUnrecoverableException(new ErrorInformation(PwmError.ERROR_SERVICE_NOT_AVAILABLE, "ldap connection pool is closed"));
+                }
+
+                final PooledConnection leastUsed = leastUsedConnection();
+                final boolean canOpen = connections.size() + pendingOpens < settings.getMaxConnections();
+
+                if (leastUsed != null && (leastUsed.leases == 0 || (settings.getLeaseMode() == LeaseMode.SHARED && !canOpen))) {
+                    leastUsed.leases++;
+                    recordLease(startNanos, waited);
+                    return leastUsed;
+                }
+
+                if (canOpen) {
+                    pendingOpens++;
+                    break;
+                }
+
+                final long remainingNanos = deadlineNanos - System.nanoTime();
+                if (remainingNanos <= 0) {
+                    waitTimeoutCount.increment();
+                    lastWaitTimeout = Instant.now();
+                    final String msg = "timed out after " + settings.getMaxWait().asCompactString()
+                            + " waiting for an available ldap proxy connection for profile " + identifier;
+                    throw new PwmUnrecoverableException(new ErrorInformation(PwmError.ERROR_DIRECTORY_UNAVAILABLE, msg));
+                }
+                waited = true;
+                connectionReleased.awaitNanos(remainingNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PwmUnrecoverableException(new ErrorInformation(PwmError.ERROR_UNKNOWN, "interrupted while waiting for ldap proxy connection"));
+        } finally {
+            lock.unlock();
+        }
+
+        // open the new connection outside of the lock so other callers can continue to use existing connections.
+        final PooledConnection newConnection;
+        try {
+            newConnection = new PooledConnection(connectionFactory.openConnection());
+        } catch (PwmUnrecoverableException | RuntimeException e) {
+            lock.lock();
+            try {
+                pendingOpens--;
+                connectionReleased.signal();
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+
+        openedCount.increment();
+        lock.lock();
+        try {
+            pendingOpens--;
+            newConnection.leases = 1;
+            connections.add(newConnection);
+            recordLease(startNanos, waited);
+        } finally {
+            lock.unlock();
+        }
+        return newConnection;
+    }
+
+    void release(final PooledConnection pooledConnection, final boolean discard) {
+        boolean closeConnection = false;
+        lock.lock();
+        try {
+            pooledConnection.leases--;
+            pooledConnection.lastUsedNanos = System.nanoTime();
+            if (discard && connections.remove(pooledConnection)) {
+                discardedCount.increment();
+            }
+            if (!connections.contains(pooledConnection) && pooledConnection.leases == 0) {
+                closeConnection = true;
+            }
+            connectionReleased.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        if (closeConnection) {
+            closeQuietly(pooledConnection.chaiProvider);
+        }
+    }
+
+    /**
+     * Close idle connections beyond the minimum pool size, validate idle connections and open connections up to the
+     * minimum pool size.  Intended to be run periodically from a background thread.
+     */
+    void maintain() {
+        if (closed) {
+            return;
+        }
+
+        final List<PooledConnection> idleConnections = new ArrayList<>();
+        final List<PooledConnection> evictedConnections = new ArrayList<>();
+        final long idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(settings.getIdleTimeout().getTotalMilliseconds());
+        lock.lock();
+        try {
+            final long now = System.nanoTime();
+            for (final PooledConnection pooledConnection : new ArrayList<>(connections)) {
+                if (pooledConnection.leases == 0) {
+                    if (now - pooledConnection.lastUsedNanos > idleTimeoutNanos && connections.size() > settings.getMinConnections()) {
+                        connections.remove(pooledConnection);
+                        evictedConnections.add(pooledConnection);
+                    } else {
+                        // hold a lease while validating so the connection is not handed out concurrently.
+                        pooledConnection.leases++;
+                        idleConnections.add(pooledConnection);
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        for (final PooledConnection pooledConnection : evictedConnections) {
+            idleEvictionCount.increment();
+            closeQuietly(pooledConnection.chaiProvider);
+        }
+
+        for (final PooledConnection pooledConnection : idleConnections) {
+            final boolean valid = connectionValidator.isValid(pooledConnection.chaiProvider);
+            if (!valid) {
+                LOGGER.debug("discarding ldap proxy connection for profile " + identifier + " that failed validation");
+            }
+            release(pooledConnection, !valid);
+        }
+
+        if (used) {
+            fillToMinimum();
+        }
+
+        if (!evictedConnections.isEmpty()) {
+            LOGGER.trace("closed " + evictedConnections.size() + " idle ldap proxy connections for profile " + identifier);
+        }
+    }
+
+    private void fillToMinimum() {
+        while (!closed) {
+            lock.lock();
+            try {
+                if (connections.size() + pendingOpens >= settings.getMinConnections()) {
+                    return;
+                }
+                pendingOpens++;
+            } finally {
+                lock.unlock();
+            }
+
+            PooledConnection newConnection = null;
+            try {
+                newConnection = new PooledConnection(connectionFactory.openConnection());
+                openedCount.increment();
+            } catch (PwmUnrecoverableException | RuntimeException e) {
+                LOGGER.debug("unable to open ldap proxy connection for profile " + identifier + " while filling pool to minimum size: " + e.getMessage());
+            } finally {
+                lock.lock();
+                try {
+                    pendingOpens--;
+                    if (newConnection != null) {
+                        connections.add(newConnection);
+                    }
+                    connectionReleased.signal();
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            if (newConnection == null) {
+                return;
+            }
+        }
+    }
+
+    void close() {
+        final List<PooledConnection> closingConnections;
+        lock.lock();
+        try {
+            closed = true;
+            closingConnections = new ArrayList<>(connections);
+            connections.clear();
+            connectionReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        for (final PooledConnection pooledConnection : closingConnections) {
+            closeQuietly(pooledConnection.chaiProvider);
+        }
+    }
+
+    /**
+     * Check a pooled connection, opening one if the pool is empty, as the single proxy connection used before pooling
+     * was connected as soon as it was created.
+     */
+    boolean isConnected() {
+        if (closed) {
+            return false;
+        }
+
+        final List<ChaiProvider> providers = allProviders();
+        if (!providers.isEmpty()) {
+            for (final ChaiProvider chaiProvider : providers) {
+                if (chaiProvider.isConnected()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        final PooledConnection pooledConnection;
+        try {
+            pooledConnection = lease();
+        } catch (PwmUnrecoverableException e) {
+            return false;
+        }
+
+        boolean connected = false;
+        try {
+            connected = pooledConnection.chaiProvider.isConnected();
+            return connected;
+        } finally {
+            release(pooledConnection, !connected);
+        }
+    }
+
+    int connectionCount() {
+        int count = 0;
+        for (final ChaiProvider chaiProvider : allProviders()) {
+            if (chaiProvider.isConnected()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    PoolStats getPoolStats() {
+        int size = 0;
+        int idle = 0;
+        int activeLeases = 0;
+        lock.lock();
+        try {
+            size = connections.size();
+            for (final PooledConnection pooledConnection : connections) {
+                activeLeases += pooledConnection.leases;
+                if (pooledConnection.leases == 0) {
+                    idle++;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        final long leases = leaseCount.sum();
+        return PoolStats.builder()
+                .connections(size)
+                .idleConnections(idle)
+                .activeLeases(activeLeases)
+                .leaseCount(leases)
+                .waitCount(waitCount.sum())
+                .waitTimeoutCount(waitTimeoutCount.sum())
+                .averageWaitMs(leases == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum() / leases))
+                .maxWaitMs(TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()))
+                .openedCount(openedCount.sum())
+                .discardedCount(discardedCount.sum())
+                .idleEvictionCount(idleEvictionCount.sum())
+                .lastWaitTimeout(lastWaitTimeout)
+                .build();
+    }
+
+    private List<ChaiProvider> allProviders() {
+        lock.lock();
+        try {
+            final List<ChaiProvider> returnList = new ArrayList<>();
+            for (final PooledConnection pooledConnection : connections) {
+                returnList.add(pooledConnection.chaiProvider);
+            }
+            return Collections.unmodifiableList(returnList);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private PooledConnection leastUsedConnection() {
+        PooledConnection leastUsed = null;
+        for (final PooledConnection pooledConnection : connections) {
+            if (leastUsed == null || pooledConnection.leases < leastUsed.leases) {
+                leastUsed = pooledConnection;
+            }
+        }
+        return leastUsed;
+    }
+
+    private void recordLease(final long startNanos, final boolean waited) {
+        final long waitNanos = System.nanoTime() - startNanos;
+        leaseCount.increment();
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        if (waited) {
+            waitCount.increment();
+        }
+    }
+
+    private void closeQuietly(final ChaiProvider chaiProvider) {
+        try {
+            chaiProvider.close();
+        } catch (Exception e) {
+            LOGGER.error("error closing ldap proxy connection for profile " + identifier + ": " + e.getMessage());
+        }
+    }
+
+    private class LeasingInvocationHandler implements InvocationHandler {
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    // pooled connections are closed by the pool when the ldap connection service closes.
+                    LOGGER.debug("ignoring close of shared ldap proxy connection provider for profile " + identifier);
+                    return null;
+
+                case "isConnected":
+                    return isConnected();
+
+                case "equals":
+                    return proxy == args[0];
+
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+
+                case "toString":
+                    return "LdapConnectionPool[" + identifier + "]";
+
+                default:
+                    break;
+            }
+
+            final PooledConnection pooledConnection;
+            try {
+                pooledConnection = lease();
+            } catch (PwmUnrecoverableException e) {
+                if (Arrays.asList(method.getExceptionTypes()).contains(ChaiUnavailableException.class)) {
+                    throw new ChaiUnavailableException(e.getMessage(), ChaiError.COMMUNICATION);
+                }
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+
+            boolean discard = false;
+            try {
+                return method.invoke(pooledConnection.chaiProvider, args);
+            } catch (InvocationTargetException e) {
+                discard = e.getCause() instanceof ChaiUnavailableException;
+                throw e.getCause();
+            } finally {
+                release(pooledConnection, discard);
+            }
+        }
+    }
+}
@@ -23,39 +23,46 @@
 package password.pwm.ldap;
 
 import com.google.gson.reflect.TypeToken;
+import com.novell.ldapchai.exception.ChaiUnavailableException;
 import com.novell.ldapchai.provider.ChaiProvider;
 import password.pwm.AppProperty;
 import password.pwm.PwmApplication;
+import password.pwm.config.Configuration;
 import password.pwm.config.option.DataStorageMethod;
 import password.pwm.config.profile.LdapProfile;
 import password.pwm.error.ErrorInformation;
 import password.pwm.error.PwmError;
 import password.pwm.error.PwmException;
 import password.pwm.error.PwmUnrecoverableException;
+import password.pwm.health.HealthMessage;
 import password.pwm.health.HealthRecord;
 import password.pwm.svc.PwmService;
-import password.pwm.util.java.AtomicLoopIntIncrementer;
+import password.pwm.util.java.JavaHelper;
 import password.pwm.util.java.JsonUtil;
+import password.pwm.util.java.TimeDuration;
 import password.pwm.util.logging.PwmLogger;
 
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class LdapConnectionService implements PwmService {
     private static final PwmLogger LOGGER = PwmLogger.forClass(LdapConnectionService.class);
 
-    private final Map<LdapProfile, Map<Integer,ChaiProvider>> proxyChaiProviders = new ConcurrentHashMap<>();
+    private static final TimeDuration POOL_EXHAUSTED_HEALTH_PERIOD = TimeDuration.HOUR;
+
+    private final Map<LdapProfile, LdapConnectionPool> connectionPools = new ConcurrentHashMap<>();
     private final Map<LdapProfile, ErrorInformation> lastLdapErrors = new ConcurrentHashMap<>();
     private PwmApplication pwmApplication;
     private STATUS status = STATUS.NEW;
-    private AtomicLoopIntIncrementer slotIncrementer;
-    private final ThreadLocal<Map<LdapProfile,ChaiProvider>> threadLocalProvider = new ThreadLocal<>();
+    private ScheduledExecutorService executorService;
 
     public STATUS status()
     {
@@ -70,12 +77,22 @@ public class LdapConnectionService implements PwmService {
         // read the lastLoginTime
         this.lastLdapErrors.putAll(readLastLdapFailure(pwmApplication));
 
-        final int connectionsPerProfile = maxSlotsPerProfile(pwmApplication);
-        LOGGER.trace("allocating " + connectionsPerProfile + " ldap proxy connections per profile");
-        slotIncrementer = new AtomicLoopIntIncrementer(connectionsPerProfile);
+        final LdapConnectionPool.PoolSettings poolSettings = makePoolSettings(pwmApplication);
+        LOGGER.trace("ldap proxy connection pool settings: " + JsonUtil.serialize(poolSettings));
 
         for (final LdapProfile ldapProfile: pwmApplication.getConfig().getLdapProfiles().values()) {
-            proxyChaiProviders.put(ldapProfile, new ConcurrentHashMap<>());
+            connectionPools.put(ldapProfile, new LdapConnectionPool(
+                    ldapProfile.getIdentifier(),
+                    poolSettings,
+                    () -> openProxyChaiProvider(ldapProfile),
+                    LdapConnectionService::validateConnection
+            ));
+        }
+
+        final long validationIntervalMs = pwmApplication.getConfig().readAppPropertyLong(AppProperty.LDAP_PROXY_POOL_VALIDATION_INTERVAL_MS);
+        if (validationIntervalMs > 0) {
+            executorService = JavaHelper.makeSingleThreadExecutorService(pwmApplication, this.getClass());
+            executorService.scheduleWithFixedDelay(this::maintainPools, validationIntervalMs, validationIntervalMs, TimeUnit.MILLISECONDS);
         }
 
         status = STATUS.OPEN;
@@ -84,27 +101,53 @@ public class LdapConnectionService implements PwmService {
     public void close()
     {
         status = STATUS.CLOSED;
+        JavaHelper.closeAndWaitExecutor(executorService, new TimeDuration(5, TimeUnit.SECONDS));
         LOGGER.trace("closing ldap proxy connections");
-        for (final ChaiProvider existingProvider : getAllProviders()) {
-            try {
-                existingProvider.close();
-            } catch (Exception e) {
-                LOGGER.error("error closing ldap proxy connection: " + e.getMessage(), e);
-            }
+        for (final LdapConnectionPool connectionPool : connectionPools.values()) {
+            connectionPool.close();
         }
-        proxyChaiProviders.clear();
+        connectionPools.clear();
     }
 
     public List<HealthRecord> healthCheck()
     {
-        return null;
+        final List<HealthRecord> healthRecords = new ArrayList<>();
+        for (final Map.Entry<LdapProfile, LdapConnectionPool> entry : connectionPools.entrySet()) {
+            final LdapConnectionPool.PoolStats poolStats = entry.getValue().getPoolStats();
+            final Instant lastWaitTimeout = poolStats.getLastWaitTimeout();
+            if (lastWaitTimeout != null && TimeDuration.fromCurrent(lastWaitTimeout).isShorterThan(POOL_EXHAUSTED_HEALTH_PERIOD)) {
+                healthRecords.add(HealthRecord.forMessage(
+                        HealthMessage.LDAP_ProxyPoolExhausted,
+                        entry.getKey().getIdentifier(),
+                        String.valueOf(poolStats.getWaitTimeoutCount()),
+                        JavaHelper.toIsoDate(lastWaitTimeout),
+                        String.valueOf(poolStats.getConnections())
+                ));
+            }
+        }
+        return Collections.unmodifiableList(healthRecords);
     }
 
     public ServiceInfoBean serviceInfo()
     {
-        return new ServiceInfoBean(Collections.singletonList(DataStorageMethod.LDAP));
+        final Map<String, String> debugProperties = new TreeMap<>();
+        for (final Map.Entry<LdapProfile, LdapConnectionPool> entry : connectionPools.entrySet()) {
+            final LdapConnectionPool.PoolStats poolStats = entry.getValue().getPoolStats();
+            final Map<String, String> statsMap = JsonUtil.deserializeStringMap(JsonUtil.serialize(poolStats));
+            for (final Map.Entry<String, String> statEntry : statsMap.entrySet()) {
+                debugProperties.put(entry.getKey().getIdentifier() + "." + statEntry.getKey(), statEntry.getValue());
+            }
+        }
+        return new ServiceInfoBean(Collections.singletonList(DataStorageMethod.LDAP), Collections.unmodifiableMap(debugProperties));
     }
 
+    public Map<String, LdapConnectionPool.PoolStats> getPoolStats() {
+        final Map<String, LdapConnectionPool.PoolStats> returnMap = new TreeMap<>();
+        for (final Map.Entry<LdapProfile, LdapConnectionPool> entry : connectionPools.entrySet()) {
+            returnMap.put(entry.getKey().getIdentifier(), entry.getValue().getPoolStats());
+        }
+        return Collections.unmodifiableMap(returnMap);
+    }
 
     public ChaiProvider getProxyChaiProvider(final String identifier)
             throws PwmUnrecoverableException
@@ -120,45 +163,29 @@ public class LdapConnectionService implements PwmService {
                 ? pwmApplication.getConfig().getDefaultLdapProfile()
                 : ldapProfile;
 
-        if (threadLocalProvider.get() != null && threadLocalProvider.get().containsKey(effectiveProfile)) {
-            return threadLocalProvider.get().get(effectiveProfile);
+        if (effectiveProfile == null) {
+            throw new NullPointerException("ldapProfile must not be null");
         }
 
-        final ChaiProvider chaiProvider = getNewProxyChaiProvider(effectiveProfile);
-
-        if (threadLocalProvider.get() == null) {
-            threadLocalProvider.set(new ConcurrentHashMap<>());
+        final LdapConnectionPool connectionPool = connectionPools.get(effectiveProfile);
+        if (connectionPool == null) {
+            final String errorMsg = "ldap connection service is not available for profile " + effectiveProfile.getIdentifier();
+            throw new PwmUnrecoverableException(new ErrorInformation(PwmError.ERROR_SERVICE_NOT_AVAILABLE, errorMsg));
         }
-        threadLocalProvider.get().put(effectiveProfile, chaiProvider);
 
-        return chaiProvider;
+        return connectionPool.getPooledProvider();
     }
 
-    private ChaiProvider getNewProxyChaiProvider(final LdapProfile ldapProfile)
+    private ChaiProvider openProxyChaiProvider(final LdapProfile ldapProfile)
             throws PwmUnrecoverableException
     {
-        if (ldapProfile == null) {
-            throw new NullPointerException("ldapProfile must not be null");
-        }
-
-        final int slot = slotIncrementer.next();
-
-        final ChaiProvider proxyChaiProvider = proxyChaiProviders.get(ldapProfile).get(slot);
-
-        if (proxyChaiProvider != null) {
-            return proxyChaiProvider;
-        }
-
         try {
-            final ChaiProvider newProvider = LdapOperationsHelper.openProxyChaiProvider(
+            return LdapOperationsHelper.openProxyChaiProvider(
                     null,
                     ldapProfile,
                     pwmApplication.getConfig(),
                     pwmApplication.getStatisticsManager()
             );
-            proxyChaiProviders.get(ldapProfile).put(slot, newProvider);
-
-            return newProvider;
         } catch (PwmUnrecoverableException e) {
             setLastLdapFailure(ldapProfile,e.getErrorInformation());
             throw e;
@@ -170,6 +197,28 @@ public class LdapConnectionService implements PwmService {
         }
     }
 
+    private static boolean validateConnection(final ChaiProvider chaiProvider) {
+        try {
+            chaiProvider.readStringAttribute("", "objectClass");
+            return true;
+        } catch (ChaiUnavailableException e) {
+            return false;
+        } catch (Exception e) {
+            // operation errors still show the connection is usable
+            return chaiProvider.isConnected();
+        }
+    }
+
+    private void maintainPools() {
+        for (final LdapConnectionPool connectionPool : connectionPools.values()) {
+            try {
+                connectionPool.maintain();
+            } catch (Exception e) {
+                LOGGER.error("unexpected error during ldap connection pool maintenance: " + e.getMessage(), e);
+            }
+        }
+    }
+
     public void setLastLdapFailure(final LdapProfile ldapProfile, final ErrorInformation errorInformation) {
         lastLdapErrors.put(ldapProfile, errorInformation);
         final HashMap<String,ErrorInformation> outputMap = new HashMap<>();
@@ -215,39 +264,42 @@ public class LdapConnectionService implements PwmService {
         return Collections.emptyMap();
     }
 
-    private int maxSlotsPerProfile(final PwmApplication pwmApplication) {
-        final int maxConnections = Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.LDAP_PROXY_MAX_CONNECTIONS));
-        final int perProfile = Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.LDAP_PROXY_CONNECTION_PER_PROFILE));
-        final int profileCount = pwmApplication.getConfig().getLdapProfiles().size();
+    private static LdapConnectionPool.PoolSettings makePoolSettings(final PwmApplication pwmApplication) {
+        final Configuration config = pwmApplication.getConfig();
+        final int maxConnections = config.readAppPropertyInt(AppProperty.LDAP_PROXY_MAX_CONNECTIONS);
+        final int perProfile = config.readAppPropertyInt(AppProperty.LDAP_PROXY_CONNECTION_PER_PROFILE);
+        final int profileCount = Math.max(1, config.getLdapProfiles().size());
 
-        if ((perProfile * profileCount) >= maxConnections) {
-            final int adjustedConnections = Math.min(1, (maxConnections / profileCount));
+        int maxPerProfile = perProfile;
+        if ((perProfile * profileCount) > maxConnections) {
+            maxPerProfile = Math.max(1, (maxConnections / profileCount));
             LOGGER.warn("connections per profile (" + perProfile + ") multiplied by number of profiles ("
-                    + profileCount + ") exceeds max connections (" + maxConnections  + "), will limit to " + adjustedConnections);
-            return adjustedConnections;
+                    + profileCount + ") exceeds max connections (" + maxConnections  + "), will limit to " + maxPerProfile);
         }
 
-        return perProfile;
-    }
+        final int minPerProfile = Math.min(maxPerProfile, config.readAppPropertyInt(AppProperty.LDAP_PROXY_POOL_MIN_CONNECTIONS));
 
-    private Collection<ChaiProvider> getAllProviders() {
-        final List<ChaiProvider> returnList = new ArrayList<>();
-        for (final Map<Integer,ChaiProvider> loopProfileMap : proxyChaiProviders.values()) {
-            for (final ChaiProvider chaiProvider : loopProfileMap.values()) {
-                if (chaiProvider != null) {
-                    returnList.add(chaiProvider);
-                }
-            }
+        LdapConnectionPool.LeaseMode leaseMode = LdapConnectionPool.LeaseMode.EXCLUSIVE;
+        final String leaseModeValue = config.readAppProperty(AppProperty.LDAP_PROXY_POOL_LEASE_MODE);
+        try {
+            leaseMode = LdapConnectionPool.LeaseMode.valueOf(leaseModeValue);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            LOGGER.warn("unknown ldap proxy pool lease mode '" + leaseModeValue + "', will use " + leaseMode);
         }
-        return Collections.unmodifiableList(returnList);
+
+        return LdapConnectionPool.PoolSettings.builder()
+                .minConnections(minPerProfile)
+                .maxConnections(maxPerProfile)
+                .leaseMode(leaseMode)
+                .maxWait(new TimeDuration(config.readAppPropertyLong(AppProperty.LDAP_PROXY_POOL_MAX_WAIT_MS)))
+                .idleTimeout(new TimeDuration(config.readAppPropertyLong(AppProperty.LDAP_PROXY_POOL_IDLE_TIMEOUT_MS)))
+                .build();
     }
 
     public int connectionCount() {
         int count = 0;
-        for (final ChaiProvider chaiProvider : getAllProviders()) {
-            if (chaiProvider.isConnected()) {
-                count++;
-            }
+        for (final LdapConnectionPool connectionPool : connectionPools.values()) {
+            count += connectionPool.connectionCount();
         }
         return count;
     }
@@ -36,6 +36,7 @@ import com.novell.ldapchai.provider.ChaiSetting;
 import com.novell.ldapchai.util.SearchHelper;
 import password.pwm.AppProperty;
 import password.pwm.PwmApplication;
+import password.pwm.PwmConstants;
 import password.pwm.bean.SessionLabel;
 import password.pwm.bean.UserIdentity;
 import password.pwm.config.Configuration;
@@ -53,6 +54,7 @@ import password.pwm.svc.cache.CachePolicy;
 import password.pwm.svc.stats.Statistic;
 import password.pwm.svc.stats.StatisticsManager;
 import password.pwm.util.PasswordData;
+import password.pwm.util.java.ClosableIterator;
 import password.pwm.util.java.JsonUtil;
 import password.pwm.util.java.StringUtil;
 import password.pwm.util.java.TimeDuration;
@@ -63,22 +65,23 @@ import password.pwm.util.secure.X509Utils;
 import javax.net.ssl.X509TrustManager;
 import java.security.cert.X509Certificate;
 import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 public class LdapOperationsHelper {
     private static final PwmLogger LOGGER = PwmLogger.forClass(LdapOperationsHelper.class);
 
+    private static final DateTimeFormatter GENERALIZED_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss").withZone(ZoneOffset.UTC);
+
     public static void addConfiguredUserObjectClass(
             final SessionLabel sessionLabel,
             final UserIdentity userIdentity,
@@ -168,7 +171,7 @@ public class LdapOperationsHelper {
     )
             throws ChaiUnavailableException, PwmUnrecoverableException
     {
-        final boolean enableCache = Boolean.parseBoolean(pwmApplication.getConfig().readAppProperty(AppProperty.LDAP_CACHE_USER_GUID_ENABLE));
+        final boolean enableCache = pwmApplication.getConfig().readAppPropertyBoolean(AppProperty.LDAP_CACHE_USER_GUID_ENABLE);
         final CacheKey cacheKey = CacheKey.makeCacheKey(LdapOperationsHelper.class, null, "guidValue-" + userIdentity.toDelimitedKey());
 
         if (enableCache) {
@@ -201,7 +204,7 @@ public class LdapOperationsHelper {
         }
 
         if (enableCache) {
-            final long cacheSeconds = Long.parseLong(pwmApplication.getConfig().readAppProperty(AppProperty.LDAP_CACHE_USER_GUID_SECONDS));
+            final long cacheSeconds = pwmApplication.getConfig().readAppPropertyLong(AppProperty.LDAP_CACHE_USER_GUID_SECONDS);
             final CachePolicy cachePolicy = CachePolicy.makePolicyWithExpiration(new TimeDuration(cacheSeconds, TimeUnit.SECONDS));
             final String cacheValue = existingValue == null
                     ? NULL_CACHE_GUID
@@ -505,7 +508,7 @@ public class LdapOperationsHelper {
 
         chaiConfig.setSetting(ChaiSetting.PROMISCUOUS_SSL, config.readAppProperty(AppProperty.LDAP_PROMISCUOUS_ENABLE));
         {
-            final boolean enableNmasExtensions = Boolean.parseBoolean(config.readAppProperty(AppProperty.LDAP_EXTENSIONS_NMAS_ENABLE));
+            final boolean enableNmasExtensions = config.readAppPropertyBoolean(AppProperty.LDAP_EXTENSIONS_NMAS_ENABLE);
             chaiConfig.setSetting(ChaiSetting.EDIRECTORY_ENABLE_NMAS, Boolean.toString(enableNmasExtensions));
         }
 
@@ -632,7 +635,7 @@ public class LdapOperationsHelper {
         return Collections.emptyMap();
     }
 
-    public static Iterator<UserIdentity> readAllUsersFromLdap(
+    public static ClosableIterator<UserIdentity> readAllUsersFromLdap(
             final PwmApplication pwmApplication,
             final SessionLabel sessionLabel,
             final String searchFilter,
@@ -640,50 +643,122 @@ public class LdapOperationsHelper {
     )
             throws ChaiUnavailableException, ChaiOperationException, PwmUnrecoverableException, PwmOperationalException
     {
-        final UserSearchEngine userSearchEngine = pwmApplication.getUserSearchEngine();
+        final SearchConfiguration.SearchConfigurationBuilder builder = makeReadAllUsersSearchBuilder(pwmApplication);
 
-        final SearchConfiguration searchConfiguration;
-        {
-            final SearchConfiguration.SearchConfigurationBuilder builder = SearchConfiguration.builder();
+        if (searchFilter == null) {
+            builder.username("*");
+        } else {
+            builder.filter(searchFilter);
+        }
+
+        return performStreamingSearch(pwmApplication, sessionLabel, builder.build(), maxResults);
+    }
 
-            builder.enableValueEscaping(false);
-            builder.searchTimeout(Long.parseLong(pwmApplication.getConfig().readAppProperty(AppProperty.REPORTING_LDAP_SEARCH_TIMEOUT)));
+    /**
+     * Read the users of a single ldap profile, optionally limited to entries that have been modified since the
+     * specified time.  The modification time is matched against the directory's operational modify timestamp
+     * attribute, which is {@code whenChanged} for Active Directory and {@code modifyTimestamp} for other
+     * directories unless overridden by {@link AppProperty#REPORTING_LDAP_MODIFY_TIMESTAMP_ATTRIBUTE}.
+     *
+     * @param pwmApplication application
+     * @param sessionLabel session label for logging
+     * @param searchFilter search filter, or null to use the profile's username search filter
+     * @param maxResults maximum number of results, or zero for no limit
+     * @param ldapProfile profile to search
+     * @param modifiedSince only return entries modified at or after this time, or null to return all entries
+     * @return an iterator of matching users, which must be closed by the caller
+     */
+    public static ClosableIterator<UserIdentity> readUsersFromLdap(
+            final PwmApplication pwmApplication,
+            final SessionLabel sessionLabel,
+            final String searchFilter,
+            final int maxResults,
+            final LdapProfile ldapProfile,
+            final Instant modifiedSince
+    )
+            throws ChaiUnavailableException, ChaiOperationException, PwmUnrecoverableException, PwmOperationalException
+    {
+        final SearchConfiguration.SearchConfigurationBuilder builder = makeReadAllUsersSearchBuilder(pwmApplication);
+        builder.ldapProfile(ldapProfile.getIdentifier());
 
+        if (modifiedSince == null) {
             if (searchFilter == null) {
                 builder.username("*");
             } else {
                 builder.filter(searchFilter);
             }
-
-            searchConfiguration = builder.build();
+        } else {
+            final String baseFilter = searchFilter == null
+                    ? ldapProfile.readSettingAsString(PwmSetting.LDAP_USERNAME_SEARCH_FILTER).replace(PwmConstants.VALUE_REPLACEMENT_USERNAME, "*")
+                    : searchFilter;
+            final ChaiProvider.DIRECTORY_VENDOR vendor = pwmApplication.getProxyChaiProvider(ldapProfile.getIdentifier()).getDirectoryVendor();
+            final String timestampAttribute = pwmApplication.getConfig().readAppProperty(AppProperty.REPORTING_LDAP_MODIFY_TIMESTAMP_ATTRIBUTE);
+            builder.filter(makeModifiedSinceFilter(baseFilter, vendor, timestampAttribute, modifiedSince));
         }
 
+        return performStreamingSearch(pwmApplication, sessionLabel, builder.build(), maxResults);
+    }
+
+    static String makeModifiedSinceFilter(
+            final String baseFilter,
+            final ChaiProvider.DIRECTORY_VENDOR vendor,
+            final String timestampAttribute,
+            final Instant modifiedSince
+    )
+    {
+        final boolean activeDirectory = vendor == ChaiProvider.DIRECTORY_VENDOR.MICROSOFT_ACTIVE_DIRECTORY;
+        final String attributeName = timestampAttribute == null || timestampAttribute.trim().isEmpty()
+                ? activeDirectory ? "whenChanged" : "modifyTimestamp"
+                : timestampAttribute.trim();
+        final String generalizedTime = GENERALIZED_TIME_FORMAT.format(modifiedSince) + (activeDirectory ? ".0Z" : "Z");
+        final String wrappedBaseFilter = baseFilter.trim().startsWith("(") ? baseFilter.trim() : "(" + baseFilter.trim() + ")";
+        return "(&" + wrappedBaseFilter + "(" + attributeName + ">=" + generalizedTime + "))";
+    }
+
+    private static SearchConfiguration.SearchConfigurationBuilder makeReadAllUsersSearchBuilder(final PwmApplication pwmApplication) {
+        final SearchConfiguration.SearchConfigurationBuilder builder = SearchConfiguration.builder();
+        builder.enableValueEscaping(false);
+        builder.searchTimeout(pwmApplication.getConfig().readAppPropertyLong(AppProperty.REPORTING_LDAP_SEARCH_TIMEOUT));
+        return builder;
+    }
+
+    private static ClosableIterator<UserIdentity> performStreamingSearch(
+            final PwmApplication pwmApplication,
+            final SessionLabel sessionLabel,
+            final SearchConfiguration searchConfiguration,
+            final int maxResults
+    )
+            throws PwmUnrecoverableException, PwmOperationalException
+    {
         LOGGER.debug(sessionLabel,"beginning user search using parameters: " + (JsonUtil.serialize(searchConfiguration)));
 
-        final Map<UserIdentity,Map<String,String>> searchResults = userSearchEngine.performMultiUserSearch(
+        return pwmApplication.getUserSearchEngine().performStreamingUserSearch(
                 searchConfiguration,
                 maxResults,
-                Collections.emptyList(),
                 sessionLabel
-
         );
-        LOGGER.debug(sessionLabel,"user search found " + searchResults.size() + " users");
-
-        final Queue<UserIdentity> tempQueue = new LinkedList<>(searchResults.keySet());
-
-        return new Iterator<UserIdentity>() {
-            @Override
-            public boolean hasNext()
-            {
-                return tempQueue.peek() != null;
-            }
+    }
 
-            @Override
-            public UserIdentity next()
-            {
-                return tempQueue.poll();
-            }
-        };
+    /**
+     * Unwrap an error thrown while iterating the results of {@link #readAllUsersFromLdap} or
+     * {@link #readUsersFromLdap}, which report ldap errors after the first result page as an
+     * {@link IllegalStateException} wrapping the original exception.
+     *
+     * @param e exception thrown by the result iterator
+     * @return the exception itself, for the caller to throw, if it does not wrap a search error
+     * @throws PwmUnrecoverableException if the exception wraps one
+     * @throws PwmOperationalException if the exception wraps one
+     */
+    public static IllegalStateException unwrapSearchIteratorException(final IllegalStateException e)
+            throws PwmUnrecoverableException, PwmOperationalException
+    {
+        if (e.getCause() instanceof PwmUnrecoverableException) {
+            throw (PwmUnrecoverableException) e.getCause();
+        }
+        if (e.getCause() instanceof PwmOperationalException) {
+            throw (PwmOperationalException) e.getCause();
+        }
+        return e;
     }
 
     public static Instant readPasswordExpirationTime(final ChaiUser theUser) {
@@ -0,0 +1,446 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+
+package password.pwm.ldap.search;
+
+import com.novell.ldapchai.exception.ChaiOperationException;
+import com.novell.ldapchai.exception.ChaiUnavailableException;
+import com.novell.ldapchai.provider.ChaiProvider;
+import com.novell.ldapchai.provider.ChaiProviderImplementor;
+import com.novell.ldapchai.util.SearchHelper;
+import password.pwm.bean.SessionLabel;
+import password.pwm.bean.UserIdentity;
+import password.pwm.config.profile.LdapProfile;
+import password.pwm.error.ErrorInformation;
+import password.pwm.error.PwmError;
+import password.pwm.error.PwmException;
+import password.pwm.error.PwmOperationalException;
+import password.pwm.error.PwmUnrecoverableException;
+import password.pwm.util.java.ClosableIterator;
+import password.pwm.util.java.TimeDuration;
+import password.pwm.util.logging.PwmLogger;
+
+import javax.naming.CommunicationException;
+import javax.naming.InvalidNameException;
+import javax.naming.NamingEnumeration;
+import javax.naming.NamingException;
+import javax.naming.ServiceUnavailableException;
+import javax.naming.SizeLimitExceededException;
+import javax.naming.directory.SearchControls;
+import javax.naming.directory.SearchResult;
+import javax.naming.ldap.Control;
+import javax.naming.ldap.LdapContext;
+import javax.naming.ldap.LdapName;
+import javax.naming.ldap.PagedResultsControl;
+import javax.naming.ldap.PagedResultsResponseControl;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Iterates the users matched by a list of {@link UserSearchJob}s one ldap result page at a time using the paged
+ * results control (RFC 2696).  The next page is only requested from the directory once the current page has been
+ * consumed, so memory use is bounded by the page size rather than the number of matching users, and a slow consumer
+ * simply delays the next page request.
+ *
+ * <p>Request controls are connection state, so each ldap profile is searched on a dedicated connection instead of
+ * the shared proxy connections.  The connection is closed once the profile's jobs are complete or the iterator is
+ * closed.  If the chai provider does not expose a JNDI context, each job falls back to a regular, non-streaming
+ * search.</p>
+ *
+ * <p>The jobs of one ldap profile share the same filter, so when their contexts overlap, a user under the context of
+ * an earlier job has already been returned by it and is skipped by later jobs.  This de-duplicates results without
+ * holding every returned DN in memory.</p>
+ *
+ * <p>Errors after the first page are thrown from {@link #hasNext()} or {@link #next()} as an
+ * {@link IllegalStateException} with the originating {@link PwmException} as the cause.</p>
+ */
+class PagedUserSearchIterator implements ClosableIterator<UserIdentity> {
+    private static final PwmLogger LOGGER = PwmLogger.forClass(PagedUserSearchIterator.class);
+
+    interface ConnectionFactory {
+        ChaiProvider openConnection(LdapProfile ldapProfile) throws PwmUnrecoverableException;
+    }
+
+    private final Iterator<UserSearchJob> searchJobs;
+    private final ConnectionFactory connectionFactory;
+    private final int pageSize;
+    private final boolean pagingEnabled;
+    private final int maxResults;
+    private final boolean ignoreUnreachableProfiles;
+    private final SessionLabel sessionLabel;
+    private final Set<String> skippedProfiles = new HashSet<>();
+    private final Map<String, List<LdapName>> searchedContexts = new HashMap<>();
+    private final Instant startTime = Instant.now();
+
+    private LdapProfile connectionProfile;
+    private ChaiProvider connection;
+    private LdapContext ldapContext;
+
+    private UserSearchJob currentJob;
+    private List<LdapName> earlierJobContexts = Collections.emptyList();
+    private NamingEnumeration<SearchResult> currentPage;
+    private Iterator<String> currentFallbackResults;
+
+    private UserIdentity nextValue;
+    private int resultCount;
+    private int pageCount;
+    private boolean finished;
+
+    PagedUserSearchIterator(
+            final List<UserSearchJob> searchJobs,
+            final ConnectionFactory connectionFactory,
+            final int pageSize,
+            final boolean pagingEnabled,
+            final int maxResults,
+            final boolean ignoreUnreachableProfiles,
+            final SessionLabel sessionLabel
+    )
+    {
+        this.searchJobs = searchJobs.iterator();
+        this.connectionFactory = connectionFactory;
+        this.pageSize = pageSize;
+        this.pagingEnabled = pagingEnabled;
+        this.maxResults = maxResults;
+        this.ignoreUnreachableProfiles = ignoreUnreachableProfiles;
+        this.sessionLabel = sessionLabel;
+    }
+
+    /**
+     * Read the first result so that connection and search errors are reported to the caller as checked exceptions.
+     */
+    void start()
+            throws PwmUnrecoverableException, PwmOperationalException
+    {
+        try {
+            nextValue = readNext();
+        } catch (PwmUnrecoverableException | PwmOperationalException | RuntimeException e) {
+            close();
+            throw e;
+        }
+        if (nextValue == null) {
+            close();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextValue != null;
+    }
+
+    @Override
+    public UserIdentity next() {
+        if (nextValue == null) {
+            throw new NoSuchElementException("iterator completed");
+        }
+
+        final UserIdentity returnValue = nextValue;
+        try {
+            nextValue = readNext();
+        } catch (PwmUnrecoverableException | PwmOperationalException e) {
+            nextValue = null;
+            close();
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+
+        if (nextValue == null) {
+            close();
+        }
+        return returnValue;
+    }
+
+    @Override
+    public void close() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        nextValue = null;
+        closePage();
+        closeConnection();
+        LOGGER.debug(sessionLabel, "completed paged user search with " + resultCount + " results in "
+                + pageCount + " pages (" + TimeDuration.fromCurrent(startTime).asCompactString() + ")");
+    }
+
+    private UserIdentity readNext()
+            throws PwmUnrecoverableException, PwmOperationalException
+    {
+        while (!finished && (maxResults <= 0 || resultCount < maxResults)) {
+            if (currentJob != null) {
+                final String userDN = readNextFromCurrentJob();
+                if (userDN != null) {
+                    if (isUnderEarlierJobContext(userDN)) {
+                        continue;
+                    }
+                    resultCount++;
+                    return new UserIdentity(userDN, currentJob.getLdapProfile().getIdentifier());
+                }
+                currentJob = null;
+            }
+
+            if (!searchJobs.hasNext()) {
+                return null;
+            }
+            beginJob(searchJobs.next());
+        }
+        return null;
+    }
+
+    private void beginJob(final UserSearchJob userSearchJob)
+            throws PwmUnrecoverableException, PwmOperationalException
+    {
+        final LdapProfile ldapProfile = userSearchJob.getLdapProfile();
+        if (skippedProfiles.contains(ldapProfile.getIdentifier())) {
+            return;
+        }
+
+        try {
+            openConnection(ldapProfile);
+        } catch (PwmUnrecoverableException e) {
+            if (ignoreUnreachableProfiles && e.getError() == PwmError.ERROR_DIRECTORY_UNAVAILABLE) {
+                LOGGER.warn(sessionLabel, "skipping paged user search of unreachable ldap profile " + ldapProfile.getIdentifier() + ": " + e.getMessage());
+                skippedProfiles.add(ldapProfile.getIdentifier());
+                return;
+            }
+            throw e;
+        }
+
+        final List<LdapName> profileContexts = searchedContexts.computeIfAbsent(ldapProfile.getIdentifier(), k -> new ArrayList<>());
+        earlierJobContexts = new ArrayList<>(profileContexts);
+        final LdapName jobContext = parseDN(userSearchJob.getContext());
+        if (jobContext != null) {
+            profileContexts.add(jobContext);
+        }
+
+        currentJob = userSearchJob;
+        LOGGER.trace(sessionLabel, "beginning paged user search of profile=" + ldapProfile.getIdentifier()
+                + ", base=" + userSearchJob.getContext() + ", filter=" + userSearchJob.getSearchFilter());
+
+        if (ldapContext != null) {
+            requestPage(null);
+        } else {
+            currentFallbackResults = fallbackSearch(userSearchJob);
+        }
+    }
+
+    private String readNextFromCurrentJob()
+            throws PwmUnrecoverableException, PwmOperationalException
+    {
+        if (currentFallbackResults != null) {
+            if (currentFallbackResults.hasNext()) {
+                return currentFallbackResults.next();
+            }
+            currentFallbackResults = null;
+            return null;
+        }
+
+        try {
+            while (currentPage != null) {
+                if (currentPage.hasMore()) {
+                    return readEntryDN(currentPage.next(), currentJob.getContext());
+                }
+
+                closePage();
+                final byte[] pageCookie = pagingEnabled ? readPageCookie(ldapContext.getResponseControls()) : null;
+                if (pageCookie != null) {
+                    requestPage(pageCookie);
+                }
+            }
+        } catch (SizeLimitExceededException e) {
+            closePage();
+        } catch (NamingException e) {
+            closePage();
+            rethrowNamingException(e);
+        }
+        return null;
+    }
+
+    private void requestPage(final byte[] pageCookie)
+            throws PwmUnrecoverableException, PwmOperationalException
+    {
+        final SearchControls searchControls = new SearchControls();
+        searchControls.setSearchScope(SearchControls.SUBTREE_SCOPE);
+        searchControls.setReturningAttributes(new String[0]);
+        searchControls.setReturningObjFlag(false);
+        searchControls.setTimeLimit((int) currentJob.getTimeoutMs());
+        searchControls.setCountLimit(maxResults > 0 ? maxResults - resultCount : 0);
+
+        try {
+            if (pagingEnabled) {
+                final Control pagedControl = pageCookie == null
+                        ? new PagedResultsControl(pageSize, Control.NONCRITICAL)
+                        : new PagedResultsControl(pageSize, pageCookie, Control.CRITICAL);
+                ldapContext.setRequestControls(new Control[] {pagedControl});
+            }
+            currentPage = ldapContext.search(new LdapName(currentJob.getContext()), currentJob.getSearchFilter(), searchControls);
+            pageCount++;
+        } catch (IOException e) {
+            throw new PwmUnrecoverableException(new ErrorInformation(PwmError.ERROR_DIRECTORY_UNAVAILABLE,
+                    "io error requesting ldap search result page: " + e.getMessage()));
+        } catch (NamingException e) {
+            rethrowNamingException(e);
+        }
+    }
+
+    private Iterator<String> fallbackSearch(final UserSearchJob userSearchJob)
+            throws PwmUnrecoverableException, PwmOperationalException
+    {
+        final SearchHelper searchHelper = new SearchHelper();
+        searchHelper.setMaxResults(maxResults > 0 ? maxResults - resultCount : 0);
+        searchHelper.setFilter(userSearchJob.getSearchFilter());
+        searchHelper.setAttributes(Collections.emptyList());
+        searchHelper.setTimeLimit((int) userSearchJob.getTimeoutMs());
+        pageCount++;
+
+        try {
+            return connection.search(userSearchJob.getContext(), searchHelper).keySet().iterator();
+        } catch (ChaiUnavailableException e) {
+            throw new PwmUnrecoverableException(new ErrorInformation(PwmError.ERROR_DIRECTORY_UNAVAILABLE, e.getMessage()));
+        } catch (ChaiOperationException e) {
+            throw new PwmOperationalException(PwmError.forChaiError(e.getErrorCode()), "ldap error during user search: " + e.getMessage());
+        }
+    }
+
+    private void openConnection(final LdapProfile ldapProfile)
+            throws PwmUnrecoverableException
+    {
+        if (connection != null && ldapProfile.equals(connectionProfile)) {
+            return;
+        }
+
+        closeConnection();
+        connection = connectionFactory.openConnection(ldapProfile);
+        connectionProfile = ldapProfile;
+
+        if (connection instanceof ChaiProviderImplementor) {
+            try {
+                final Object connectionObject = ((ChaiProviderImplementor) connection).getConnectionObject();
+                if (connectionObject instanceof LdapContext) {
+                    ldapContext = (LdapContext) connectionObject;
+                }
+            } catch (Exception e) {
+                closeConnection();
+                throw new PwmUnrecoverableException(new ErrorInformation(PwmError.ERROR_DIRECTORY_UNAVAILABLE,
+                        "unable to read ldap connection for paged search: " + e.getMessage()));
+            }
+        }
+
+        if (ldapContext == null) {
+            LOGGER.debug(sessionLabel, "ldap provider for profile " + ldapProfile.getIdentifier()
+                    + " does not expose a JNDI context, user search results will not be streamed");
+        }
+    }
+
+    private void closePage() {
+        if (currentPage != null) {
+            try {
+                currentPage.close();
+            } catch (NamingException e) {
+                LOGGER.trace(sessionLabel, "error closing ldap search result page: " + e.getMessage());
+            }
+            currentPage = null;
+        }
+    }
+
+    private void closeConnection() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (Exception e) {
+                LOGGER.error(sessionLabel, "error closing ldap search connection: " + e.getMessage());
+            }
+        }
+        connection = null;
+        connectionProfile = null;
+        ldapContext = null;
+    }
+
+    private boolean isUnderEarlierJobContext(final String userDN) {
+        if (earlierJobContexts.isEmpty()) {
+            return false;
+        }
+
+        final LdapName userName = parseDN(userDN);
+        if (userName == null) {
+            return false;
+        }
+
+        for (final LdapName earlierContext : earlierJobContexts) {
+            if (userName.startsWith(earlierContext)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static LdapName parseDN(final String dn) {
+        try {
+            return new LdapName(dn);
+        } catch (InvalidNameException e) {
+            return null;
+        }
+    }
+
+    private static String readEntryDN(final SearchResult searchResult, final String baseDN) {
+        try {
+            return searchResult.getNameInNamespace();
+        } catch (UnsupportedOperationException e) {
+            final String name = searchResult.getName();
+            if (!searchResult.isRelative()) {
+                return name;
+            }
+            return name == null || name.isEmpty() ? baseDN : name + "," + baseDN;
+        }
+    }
+
+    private static byte[] readPageCookie(final Control[] controls) {
+        if (controls != null) {
+            for (final Control control : controls) {
+                if (control instanceof PagedResultsResponseControl) {
+                    final byte[] cookie = ((PagedResultsResponseControl) control).getCookie();
+                    if (cookie != null && cookie.length > 0) {
+                        return cookie;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void rethrowNamingException(final NamingException e)
+            throws PwmUnrecoverableException, PwmOperationalException
+    {
+        if (e instanceof CommunicationException || e instanceof ServiceUnavailableException) {
+            throw new PwmUnrecoverableException(new ErrorInformation(PwmError.ERROR_DIRECTORY_UNAVAILABLE, e.getMessage()));
+        }
+        throw new PwmOperationalException(new ErrorInformation(PwmError.ERROR_UNKNOWN, "ldap error during paged user search: " + e.getMessage()));
+    }
+}
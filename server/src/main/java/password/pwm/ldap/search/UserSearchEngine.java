@@ -26,7 +26,10 @@ import com.novell.ldapchai.ChaiFactory;
 import com.novell.ldapchai.ChaiUser;
 import com.novell.ldapchai.exception.ChaiOperationException;
 import com.novell.ldapchai.exception.ChaiUnavailableException;
+import com.novell.ldapchai.provider.ChaiConfiguration;
 import com.novell.ldapchai.provider.ChaiProvider;
+import com.novell.ldapchai.provider.ChaiProviderFactory;
+import com.novell.ldapchai.provider.ChaiSetting;
 import com.novell.ldapchai.util.SearchHelper;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -46,8 +49,10 @@ import password.pwm.error.PwmException;
 import password.pwm.error.PwmOperationalException;
 import password.pwm.error.PwmUnrecoverableException;
 import password.pwm.health.HealthRecord;
+import password.pwm.ldap.LdapOperationsHelper;
 import password.pwm.svc.PwmService;
 import password.pwm.svc.stats.Statistic;
+import password.pwm.util.java.ClosableIterator;
 import password.pwm.util.java.ConditionalTaskExecutor;
 import password.pwm.util.java.JavaHelper;
 import password.pwm.util.java.JsonUtil;
@@ -93,6 +98,8 @@ public class UserSearchEngine implements PwmService {
 
     private ThreadPoolExecutor executor;
 
+    private volatile UsernameResolveCache resolveCache;
+
     private final ConditionalTaskExecutor debugOutputTask = new ConditionalTaskExecutor(
             () -> periodicDebugOutput(),
             new ConditionalTaskExecutor.TimeDurationPredicate(1, TimeUnit.MINUTES)
@@ -110,6 +117,7 @@ public class UserSearchEngine implements PwmService {
     public void init(final PwmApplication pwmApplication) throws PwmException {
         this.pwmApplication = pwmApplication;
         this.executor = createExecutor(pwmApplication);
+        this.resolveCache = createResolveCache(pwmApplication);
         this.periodicDebugOutput();
     }
 
@@ -119,6 +127,10 @@ public class UserSearchEngine implements PwmService {
             executor.shutdown();
         }
         executor = null;
+        if (resolveCache != null) {
+            resolveCache.invalidateAll();
+        }
+        resolveCache = null;
     }
 
     @Override
@@ -167,16 +179,7 @@ public class UserSearchEngine implements PwmService {
             if (checkIfStringIsDN(username, sessionLabel)) {
                 return resolveUserDN(username);
             } else {
-                final SearchConfiguration.SearchConfigurationBuilder builder = SearchConfiguration.builder();
-                builder.username(username);
-                if (context != null) {
-                    builder.contexts(Collections.singletonList(context));
-                }
-                if (profile != null) {
-                    builder.ldapProfile(profile);
-                }
-                final SearchConfiguration searchConfiguration = builder.build();
-                return performSingleUserSearch(searchConfiguration, sessionLabel);
+                return searchUsername(username, context, profile, sessionLabel);
             }
         } catch (PwmOperationalException e) {
             throw new PwmOperationalException(new ErrorInformation(PwmError.ERROR_CANT_MATCH_USER,e.getErrorInformation().getDetailedErrorMsg(),e.getErrorInformation().getFieldValues()));
@@ -185,6 +188,66 @@ public class UserSearchEngine implements PwmService {
         }
     }
 
+    private UserIdentity searchUsername(
+            final String username,
+            final String context,
+            final String profile,
+            final SessionLabel sessionLabel
+    )
+            throws PwmUnrecoverableException, PwmOperationalException
+    {
+        final UsernameResolveCache resolveCache = this.resolveCache;
+        final UsernameResolveCache.CacheKey cacheKey = UsernameResolveCache.makeKey(username, profile, context);
+        if (resolveCache != null) {
+            final UsernameResolveCache.CacheValue cachedValue = resolveCache.get(cacheKey);
+            if (cachedValue != null) {
+                if (cachedValue.getUserIdentity() != null) {
+                    LOGGER.trace(sessionLabel, () -> "resolved username '" + username + "' to " + cachedValue.getUserIdentity() + " from cache");
+                    return cachedValue.getUserIdentity();
+                }
+                LOGGER.trace(sessionLabel, () -> "username '" + username + "' did not resolve to a user (cached result)");
+                throw new PwmOperationalException(cachedValue.getErrorInformation());
+            }
+        }
+
+        final SearchConfiguration.SearchConfigurationBuilder builder = SearchConfiguration.builder();
+        builder.username(username);
+        if (context != null) {
+            builder.contexts(Collections.singletonList(context));
+        }
+        if (profile != null) {
+            builder.ldapProfile(profile);
+        }
+        final SearchConfiguration searchConfiguration = builder.build();
+
+        try {
+            final UserIdentity userIdentity = performSingleUserSearch(searchConfiguration, sessionLabel);
+            if (resolveCache != null) {
+                resolveCache.putResolved(cacheKey, userIdentity);
+            }
+            return userIdentity;
+        } catch (PwmOperationalException e) {
+            // only "no match" style results are cached; ldap errors are not.
+            if (resolveCache != null && e.getError() == PwmError.ERROR_CANT_MATCH_USER) {
+                resolveCache.putFailed(cacheKey, e.getErrorInformation());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Discard any cached username resolution that may no longer be valid for the user, such as after a password
+     * change, an update to the user's naming attributes or the deletion of the user.  Cached failed resolutions are
+     * discarded as well.
+     * @param userIdentity user whose entry has been modified, created or deleted
+     */
+    public void invalidateResolvedUser(final UserIdentity userIdentity) {
+        final UsernameResolveCache resolveCache = this.resolveCache;
+        if (resolveCache != null) {
+            resolveCache.invalidate(userIdentity);
+        }
+    }
+
     public UserIdentity performSingleUserSearch(
             final SearchConfiguration searchConfiguration,
             final SessionLabel sessionLabel
@@ -264,6 +327,81 @@ public class UserSearchEngine implements PwmService {
             final SessionLabel sessionLabel
     )
             throws PwmUnrecoverableException, PwmOperationalException
+    {
+        final List<UserSearchJob> searchJobs = makeSearchJobs(searchConfiguration, maxResults, returnAttributes, sessionLabel);
+        if (searchJobs.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final Map<UserIdentity,Map<String,String>> resultsMap = new LinkedHashMap<>(executeSearchJobs(searchJobs, sessionLabel, searchCounter.getAndIncrement()));
+        final Map<UserIdentity,Map<String,String>> returnMap = trimOrderedMap(resultsMap, maxResults);
+        return Collections.unmodifiableMap(returnMap);
+    }
+
+    /**
+     * Search for users, returning matching identities as they are read from the directory instead of after the
+     * search completes.  Results are read one ldap page at a time on a dedicated connection per ldap profile, so
+     * this is suitable for enumerating the entire directory.  As with {@link #performMultiUserSearch}, a user is
+     * returned once even when search contexts overlap.  The returned iterator must be closed by the caller.
+     *
+     * @param searchConfiguration search parameters
+     * @param maxResults maximum number of results, or zero for no limit
+     * @param sessionLabel session label for logging
+     * @return an iterator of matching users
+     * @throws PwmUnrecoverableException if the directory is unavailable
+     * @throws PwmOperationalException if the search fails
+     */
+    public ClosableIterator<UserIdentity> performStreamingUserSearch(
+            final SearchConfiguration searchConfiguration,
+            final int maxResults,
+            final SessionLabel sessionLabel
+    )
+            throws PwmUnrecoverableException, PwmOperationalException
+    {
+        final Configuration config = pwmApplication.getConfig();
+        final List<UserSearchJob> searchJobs = makeSearchJobs(searchConfiguration, maxResults, Collections.emptyList(), sessionLabel);
+        final int pageSize = config.readAppPropertyInt(AppProperty.LDAP_SEARCH_PAGING_SIZE);
+        final boolean pagingEnabled = !"false".equalsIgnoreCase(config.readAppProperty(AppProperty.LDAP_SEARCH_PAGING_ENABLE));
+        final boolean ignoreUnreachableProfiles = config.readSettingAsBoolean(PwmSetting.LDAP_IGNORE_UNREACHABLE_PROFILES);
+
+        final PagedUserSearchIterator searchIterator = new PagedUserSearchIterator(
+                searchJobs,
+                this::openSearchConnection,
+                pageSize,
+                pagingEnabled,
+                maxResults,
+                ignoreUnreachableProfiles,
+                sessionLabel
+        );
+        searchIterator.start();
+        return searchIterator;
+    }
+
+    private ChaiProvider openSearchConnection(final LdapProfile ldapProfile)
+            throws PwmUnrecoverableException
+    {
+        final ChaiConfiguration chaiConfiguration = LdapOperationsHelper.createChaiConfiguration(pwmApplication.getConfig(), ldapProfile);
+
+        // the connection is held open between result pages, so it must not be recycled by the idle watchdog.
+        chaiConfiguration.setSetting(ChaiSetting.WATCHDOG_ENABLE, "false");
+
+        try {
+            return ChaiProviderFactory.createProvider(chaiConfiguration);
+        } catch (ChaiUnavailableException e) {
+            final ErrorInformation errorInformation = new ErrorInformation(PwmError.ERROR_DIRECTORY_UNAVAILABLE,
+                    "unable to open ldap search connection for profile " + ldapProfile.getIdentifier() + ": " + e.getMessage());
+            pwmApplication.getLdapConnectionService().setLastLdapFailure(ldapProfile, errorInformation);
+            throw new PwmUnrecoverableException(errorInformation);
+        }
+    }
+
+    private List<UserSearchJob> makeSearchJobs(
+            final SearchConfiguration searchConfiguration,
+            final int maxResults,
+            final Collection<String> returnAttributes,
+            final SessionLabel sessionLabel
+    )
+            throws PwmUnrecoverableException, PwmOperationalException
     {
         final Collection<LdapProfile> ldapProfiles;
         if (searchConfiguration.getLdapProfile() != null && !searchConfiguration.getLdapProfile().isEmpty()) {
@@ -271,7 +409,7 @@ public class UserSearchEngine implements PwmService {
                 ldapProfiles = Collections.singletonList(pwmApplication.getConfig().getLdapProfiles().get(searchConfiguration.getLdapProfile()));
             } else {
                 LOGGER.debug(sessionLabel, "attempt to search for users in unknown ldap profile '" + searchConfiguration.getLdapProfile() + "', skipping search");
-                return Collections.emptyMap();
+                return Collections.emptyList();
             }
         } else {
             ldapProfiles = pwmApplication.getConfig().getLdapProfiles().values();
@@ -281,7 +419,7 @@ public class UserSearchEngine implements PwmService {
 
         final List<String> errors = new ArrayList<>();
 
-        final long profileRetryDelayMS = Long.parseLong(pwmApplication.getConfig().readAppProperty(AppProperty.LDAP_PROFILE_RETRY_DELAY));
+        final long profileRetryDelayMS = pwmApplication.getConfig().readAppPropertyLong(AppProperty.LDAP_PROFILE_RETRY_DELAY);
 
         final List<UserSearchJob> searchJobs = new ArrayList<>();
         for (final LdapProfile ldapProfile : ldapProfiles) {
@@ -317,12 +455,9 @@ public class UserSearchEngine implements PwmService {
             }
         }
 
-        final Map<UserIdentity,Map<String,String>> resultsMap = new LinkedHashMap<>(executeSearchJobs(searchJobs, sessionLabel, searchCounter.getAndIncrement()));
-        final Map<UserIdentity,Map<String,String>> returnMap = trimOrderedMap(resultsMap, maxResults);
-        return Collections.unmodifiableMap(returnMap);
+        return searchJobs;
     }
 
-
     private Collection<UserSearchJob> makeSearchJobs(
             final LdapProfile ldapProfile,
             final SearchConfiguration searchConfiguration,
@@ -669,6 +804,13 @@ public class UserSearchEngine implements PwmService {
             properties.put("background-canceledJobCounter", Integer.toString(canceledJobCounter.get()));
             properties.put("background-jobTimeoutCounter", Integer.toString(jobTimeoutCounter.get()));
         }
+        final UsernameResolveCache resolveCache = this.resolveCache;
+        if (resolveCache == null) {
+            properties.put("resolveCache-enabled","false");
+        } else {
+            properties.put("resolveCache-enabled","true");
+            properties.putAll(resolveCache.debugProperties());
+        }
         return Collections.unmodifiableMap(properties);
     }
 
@@ -689,10 +831,24 @@ public class UserSearchEngine implements PwmService {
         return idMsg;
     }
 
+    private static UsernameResolveCache createResolveCache(final PwmApplication pwmApplication) {
+        final Configuration configuration = pwmApplication.getConfig();
+        if (!configuration.readAppPropertyBoolean(AppProperty.LDAP_SEARCH_RESOLVE_CACHE_ENABLE)) {
+            return null;
+        }
+        final int maxEntries = configuration.readAppPropertyInt(AppProperty.LDAP_SEARCH_RESOLVE_CACHE_MAX_ENTRIES);
+        final long positiveTtlMs = configuration.readAppPropertyLong(AppProperty.LDAP_SEARCH_RESOLVE_CACHE_POSITIVE_TTL_MS);
+        final long negativeTtlMs = configuration.readAppPropertyLong(AppProperty.LDAP_SEARCH_RESOLVE_CACHE_NEGATIVE_TTL_MS);
+        if (maxEntries < 1 || positiveTtlMs < 1) {
+            return null;
+        }
+        return new UsernameResolveCache(maxEntries, new TimeDuration(positiveTtlMs), new TimeDuration(Math.max(0, negativeTtlMs)));
+    }
+
     private static ThreadPoolExecutor createExecutor(final PwmApplication pwmApplication) {
         final Configuration configuration = pwmApplication.getConfig();
 
-        final boolean enabled = Boolean.parseBoolean(configuration.readAppProperty(AppProperty.LDAP_SEARCH_PARALLEL_ENABLE));
+        final boolean enabled = configuration.readAppPropertyBoolean(AppProperty.LDAP_SEARCH_PARALLEL_ENABLE);
         if (!enabled) {
             return null;
         }
@@ -708,8 +864,8 @@ public class UserSearchEngine implements PwmService {
         }
 
         if (endPoints > 1) {
-            final int factor = Integer.parseInt(configuration.readAppProperty(AppProperty.LDAP_SEARCH_PARALLEL_FACTOR));
-            final int maxThreads = Integer.parseInt(configuration.readAppProperty(AppProperty.LDAP_SEARCH_PARALLEL_THREAD_MAX));
+            final int factor = configuration.readAppPropertyInt(AppProperty.LDAP_SEARCH_PARALLEL_FACTOR);
+            final int maxThreads = configuration.readAppPropertyInt(AppProperty.LDAP_SEARCH_PARALLEL_THREAD_MAX);
             final int threads = Math.min(maxThreads, (endPoints) * factor);
             final ThreadFactory threadFactory = JavaHelper.makePwmThreadFactory(JavaHelper.makeThreadName(pwmApplication, UserSearchEngine.class), true);
             return  new ThreadPoolExecutor(
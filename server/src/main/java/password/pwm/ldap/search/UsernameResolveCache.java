@@ -0,0 +1,136 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package password.pwm.ldap.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.Value;
+import password.pwm.bean.UserIdentity;
+import password.pwm.error.ErrorInformation;
+import password.pwm.util.java.TimeDuration;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of username to {@link UserIdentity} resolutions made by {@link UserSearchEngine#resolveUsername}.
+ * Successful resolutions are held for the positive TTL; failed resolutions are held, with the error that was
+ * returned, for the (typically much shorter) negative TTL.
+ */
+class UsernameResolveCache {
+
+    private final Cache<CacheKey, CacheValue> cache;
+
+    UsernameResolveCache(final int maxEntries, final TimeDuration positiveTtl, final TimeDuration negativeTtl) {
+        final long positiveTtlNanos = TimeUnit.MILLISECONDS.toNanos(positiveTtl.getTotalMilliseconds());
+        final long negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtl.getTotalMilliseconds());
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<CacheKey, CacheValue>() {
+                    @Override
+                    public long expireAfterCreate(final CacheKey key, final CacheValue value, final long currentTime) {
+                        return value.getUserIdentity() != null ? positiveTtlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(final CacheKey key, final CacheValue value, final long currentTime, final long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(final CacheKey key, final CacheValue value, final long currentTime, final long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    static CacheKey makeKey(final String username, final String profile, final String context) {
+        final String normalizedUsername = username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+        return new CacheKey(normalizedUsername, profile, context);
+    }
+
+    CacheValue get(final CacheKey key) {
+        return cache.getIfPresent(key);
+    }
+
+    void putResolved(final CacheKey key, final UserIdentity userIdentity) {
+        cache.put(key, new CacheValue(userIdentity, null));
+    }
+
+    void putFailed(final CacheKey key, final ErrorInformation errorInformation) {
+        cache.put(key, new CacheValue(null, errorInformation));
+    }
+
+    /**
+     * Remove any cached resolution to the given identity, along with all cached failures, since a changed or new
+     * entry may now match a username that previously did not resolve.
+     */
+    void invalidate(final UserIdentity userIdentity) {
+        cache.asMap().values().removeIf(value -> value.getUserIdentity() == null || sameIdentity(value.getUserIdentity(), userIdentity));
+    }
+
+    void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    Map<String, String> debugProperties() {
+        final CacheStats stats = cache.stats();
+        final Map<String, String> properties = new TreeMap<>();
+        properties.put("resolveCache-size", Long.toString(cache.estimatedSize()));
+        properties.put("resolveCache-hitCount", Long.toString(stats.hitCount()));
+        properties.put("resolveCache-missCount", Long.toString(stats.missCount()));
+        properties.put("resolveCache-hitRate", String.format(Locale.ROOT, "%.3f", stats.hitRate()));
+        properties.put("resolveCache-evictionCount", Long.toString(stats.evictionCount()));
+        return properties;
+    }
+
+    private static boolean sameIdentity(final UserIdentity cachedIdentity, final UserIdentity userIdentity) {
+        if (userIdentity == null) {
+            return false;
+        }
+        final String cachedProfile = cachedIdentity.getLdapProfileID();
+        final boolean sameProfile = cachedProfile == null
+                ? userIdentity.getLdapProfileID() == null
+                : cachedProfile.equals(userIdentity.getLdapProfileID());
+        return sameProfile && cachedIdentity.getUserDN().equalsIgnoreCase(userIdentity.getUserDN());
+    }
+
+    @Value
+    static class CacheKey {
+        private final String username;
+        private final String profile;
+        private final String context;
+    }
+
+    @Value
+    static class CacheValue {
+        private final UserIdentity userIdentity;
+        private final ErrorInformation errorInformation;
+    }
+}
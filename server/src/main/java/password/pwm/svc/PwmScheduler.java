@@ -0,0 +1,194 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package password.pwm.svc;
+
+import password.pwm.AppProperty;
+import password.pwm.PwmApplication;
+import password.pwm.config.option.DataStorageMethod;
+import password.pwm.health.HealthRecord;
+import password.pwm.util.java.JavaHelper;
+import password.pwm.util.java.TimeDuration;
+import password.pwm.util.logging.PwmLogger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application wide scheduler for background work.  A single timer thread triggers delayed and periodic tasks, which
+ * then run on a bounded pool of worker threads shared by all services.
+ *
+ * <p>Services obtain a {@link ScheduledExecutorService} from {@link #makeScheduledExecutor(String, int)}.  Each such
+ * executor runs at most its configured number of tasks concurrently (usually one, matching the single threaded
+ * executors services have always used), and records run time and queue delay for the tasks submitted to it.
+ * Services with tasks that run for hours, such as report processing and wordlist imports, keep their own thread (see
+ * {@link password.pwm.util.java.JavaHelper#makeDedicatedThreadExecutorService}) so they can not delay the short
+ * periodic tasks of other services.</p>
+ *
+ * <p>The scheduler is owned by the {@link PwmServiceManager} rather than listed in {@link PwmServiceEnum}, because the
+ * LocalDB and its logger depend on it before services are started and after they have been closed.</p>
+ */
+public class PwmScheduler implements PwmService {
+    private static final PwmLogger LOGGER = PwmLogger.forClass(PwmScheduler.class);
+
+    private static final TimeDuration WORKER_KEEP_ALIVE = TimeDuration.MINUTE;
+    private static final TimeDuration SHUTDOWN_WAIT = TimeDuration.SECONDS_10;
+
+    private final PwmApplication pwmApplication;
+    private final Map<String, ScheduledTaskExecutor> executors = new ConcurrentHashMap<>();
+
+    private volatile STATUS status = STATUS.NEW;
+    private ScheduledThreadPoolExecutor timer;
+    private ThreadPoolExecutor workers;
+
+    PwmScheduler(final PwmApplication pwmApplication) {
+        this.pwmApplication = pwmApplication;
+    }
+
+    /**
+     * Create an executor whose tasks run on the shared worker pool.
+     * @param name name used for worker thread names and metrics, usually the simple name of the owning class
+     * @param maxConcurrency maximum number of tasks from this executor running at once
+     * @return a new executor, which the caller is responsible for shutting down
+     */
+    public ScheduledExecutorService makeScheduledExecutor(final String name, final int maxConcurrency) {
+        start();
+
+        final String uniqueName = uniqueExecutorName(name);
+        final ScheduledTaskExecutor executor = new ScheduledTaskExecutor(uniqueName, maxConcurrency, timer, workers, executors::remove);
+        executors.put(uniqueName, executor);
+        return executor;
+    }
+
+    public ScheduledExecutorService makeScheduledExecutor(final Class owner) {
+        return makeScheduledExecutor(owner.getSimpleName(), 1);
+    }
+
+    private synchronized void start() {
+        if (status == STATUS.OPEN) {
+            return;
+        }
+
+        if (status == STATUS.CLOSED) {
+            throw new IllegalStateException("scheduler has been shut down");
+        }
+
+        final int configuredThreads = pwmApplication.getConfig() == null
+                ? Integer.parseInt(AppProperty.SCHEDULER_WORKER_THREADS.getDefaultValue())
+                : pwmApplication.getConfig().readAppPropertyInt(AppProperty.SCHEDULER_WORKER_THREADS);
+        final int workerThreads = Math.max(1, configuredThreads);
+        final String threadName = JavaHelper.makeThreadName(pwmApplication, PwmScheduler.class);
+
+        timer = new ScheduledThreadPoolExecutor(1, JavaHelper.makePwmThreadFactory(threadName + "-timer-", true));
+        timer.setRemoveOnCancelPolicy(true);
+
+        workers = new ThreadPoolExecutor(
+                workerThreads,
+                workerThreads,
+                WORKER_KEEP_ALIVE.getTotalMilliseconds(),
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                JavaHelper.makePwmThreadFactory(threadName + "-worker-", true)
+        );
+        workers.allowCoreThreadTimeOut(true);
+
+        status = STATUS.OPEN;
+        LOGGER.trace("started scheduler with " + workerThreads + " worker threads");
+    }
+
+    private synchronized String uniqueExecutorName(final String name) {
+        if (!executors.containsKey(name)) {
+            return name;
+        }
+        int counter = 2;
+        while (executors.containsKey(name + "-" + counter)) {
+            counter++;
+        }
+        return name + "-" + counter;
+    }
+
+    @Override
+    public STATUS status() {
+        return status;
+    }
+
+    @Override
+    public void init(final PwmApplication pwmApplication) {
+        // started on first use, see makeScheduledExecutor()
+    }
+
+    /**
+     * Stop the timer and worker threads.  Executors still open at this point are shut down without waiting for
+     * queued tasks.
+     */
+    @Override
+    public synchronized void close() {
+        if (status != STATUS.OPEN) {
+            status = STATUS.CLOSED;
+            return;
+        }
+        status = STATUS.CLOSED;
+
+        for (final ScheduledTaskExecutor executor : new ArrayList<>(executors.values())) {
+            LOGGER.debug("shutting down executor " + executor.getName() + " which was not closed by its owner");
+            executor.shutdownNow();
+        }
+
+        timer.shutdownNow();
+        workers.shutdown();
+        if (!JavaHelper.closeAndWaitExecutor(workers, SHUTDOWN_WAIT)) {
+            LOGGER.warn("worker threads did not complete within " + SHUTDOWN_WAIT.asCompactString() + ", interrupting");
+            workers.shutdownNow();
+        }
+    }
+
+    @Override
+    public List<HealthRecord> healthCheck() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public ServiceInfoBean serviceInfo() {
+        final Map<String, String> debugProperties = new LinkedHashMap<>();
+        if (workers != null) {
+            debugProperties.put("workers.poolSize", String.valueOf(workers.getPoolSize()));
+            debugProperties.put("workers.active", String.valueOf(workers.getActiveCount()));
+            debugProperties.put("workers.queued", String.valueOf(workers.getQueue().size()));
+        }
+
+        final List<ScheduledTaskExecutor> executorList = new ArrayList<>(executors.values());
+        executorList.sort((o1, o2) -> o1.getName().compareTo(o2.getName()));
+        for (final ScheduledTaskExecutor executor : executorList) {
+            debugProperties.putAll(executor.debugProperties());
+        }
+        return new ServiceInfoBean(Collections.<DataStorageMethod>emptyList(), debugProperties);
+    }
+}
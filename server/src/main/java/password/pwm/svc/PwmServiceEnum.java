@@ -26,52 +26,92 @@ import password.pwm.util.java.JavaHelper;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 public enum PwmServiceEnum {
-    SecureService(          password.pwm.util.secure.SecureService.class,           Flag.StartDuringRuntimeInstance),
-    LdapConnectionService(  password.pwm.ldap.LdapConnectionService.class,          Flag.StartDuringRuntimeInstance),
-    DatabaseService(        password.pwm.util.db.DatabaseService.class,             Flag.StartDuringRuntimeInstance),
-    SharedHistoryManager(   password.pwm.svc.wordlist.SharedHistoryManager.class),
-    AuditService(           password.pwm.svc.event.AuditService.class),
-    StatisticsManager(      password.pwm.svc.stats.StatisticsManager.class,         Flag.StartDuringRuntimeInstance),
-    WordlistManager(        password.pwm.svc.wordlist.WordlistManager.class),
-    SeedlistManager(        password.pwm.svc.wordlist.SeedlistManager.class),
-    EmailQueueManager(      password.pwm.util.queue.EmailQueueManager.class),
-    SmsQueueManager(        password.pwm.util.queue.SmsQueueManager.class),
-    UrlShortenerService(    password.pwm.svc.shorturl.UrlShortenerService.class),
-    TokenService(           password.pwm.svc.token.TokenService.class,              Flag.StartDuringRuntimeInstance),
-    IntruderManager(        password.pwm.svc.intruder.IntruderManager.class),
-    CrService(              password.pwm.util.operations.CrService.class,           Flag.StartDuringRuntimeInstance),
-    OtpService(             password.pwm.util.operations.OtpService.class),
-    CacheService(           password.pwm.svc.cache.CacheService.class,              Flag.StartDuringRuntimeInstance),
-    HealthMonitor(          password.pwm.health.HealthMonitor.class),
-    ReportService(          password.pwm.svc.report.ReportService.class,            Flag.StartDuringRuntimeInstance),
-    ResourceServletService( password.pwm.http.servlet.resource.ResourceServletService.class),
-    SessionTrackService(    password.pwm.svc.sessiontrack.SessionTrackService.class),
-    SessionStateSvc(        password.pwm.http.state.SessionStateService.class),
-    UserSearchEngine(       password.pwm.ldap.search.UserSearchEngine.class,        Flag.StartDuringRuntimeInstance),
-    TelemetryService(       password.pwm.svc.telemetry.TelemetryService.class),
-    ClusterService(         password.pwm.svc.cluster.ClusterService.class),
+    SecureService(          password.pwm.util.secure.SecureService.class,           dependsOn(),
+            Flag.StartDuringRuntimeInstance),
+    HttpClientService(      password.pwm.http.client.HttpClientService.class,       dependsOn(),
+            Flag.StartDuringRuntimeInstance),
+    LdapConnectionService(  password.pwm.ldap.LdapConnectionService.class,          dependsOn(SecureService),
+            Flag.StartDuringRuntimeInstance),
+    DatabaseService(        password.pwm.util.db.DatabaseService.class,             dependsOn(SecureService),
+            Flag.StartDuringRuntimeInstance),
+    SharedHistoryManager(   password.pwm.svc.wordlist.SharedHistoryManager.class,   dependsOn(SecureService),
+            Flag.BackgroundStartup),
+    AuditService(           password.pwm.svc.event.AuditService.class,              dependsOn(SecureService, DatabaseService)),
+    StatisticsManager(      password.pwm.svc.stats.StatisticsManager.class,         dependsOn(SecureService),
+            Flag.StartDuringRuntimeInstance),
+    WordlistManager(        password.pwm.svc.wordlist.WordlistManager.class,        dependsOn(SecureService),
+            Flag.BackgroundStartup),
+    SeedlistManager(        password.pwm.svc.wordlist.SeedlistManager.class,        dependsOn(SecureService),
+            Flag.BackgroundStartup),
+    EmailQueueManager(      password.pwm.util.queue.EmailQueueManager.class,        dependsOn(SecureService, StatisticsManager)),
+    UrlShortenerService(    password.pwm.svc.shorturl.UrlShortenerService.class,    dependsOn(SecureService)),
+    SmsQueueManager(        password.pwm.util.queue.SmsQueueManager.class,          dependsOn(SecureService, StatisticsManager, UrlShortenerService)),
+    TokenService(           password.pwm.svc.token.TokenService.class,              dependsOn(SecureService, LdapConnectionService, DatabaseService, StatisticsManager, AuditService, EmailQueueManager),
+            Flag.StartDuringRuntimeInstance),
+    IntruderManager(        password.pwm.svc.intruder.IntruderManager.class,        dependsOn(SecureService, LdapConnectionService, DatabaseService, StatisticsManager, AuditService, EmailQueueManager)),
+    CrService(              password.pwm.util.operations.CrService.class,           dependsOn(SecureService, LdapConnectionService, DatabaseService),
+            Flag.StartDuringRuntimeInstance),
+    OtpService(             password.pwm.util.operations.OtpService.class,          dependsOn(SecureService, LdapConnectionService, DatabaseService)),
+    CacheService(           password.pwm.svc.cache.CacheService.class,              dependsOn(SecureService),
+            Flag.StartDuringRuntimeInstance),
+    HealthMonitor(          password.pwm.health.HealthMonitor.class,                dependsOn(LdapConnectionService, DatabaseService)),
+    UserSearchEngine(       password.pwm.ldap.search.UserSearchEngine.class,        dependsOn(LdapConnectionService, StatisticsManager),
+            Flag.StartDuringRuntimeInstance),
+    ReportService(          password.pwm.svc.report.ReportService.class,            dependsOn(SecureService, LdapConnectionService, StatisticsManager, CacheService, UserSearchEngine),
+            Flag.StartDuringRuntimeInstance),
+    ResourceServletService( password.pwm.http.servlet.resource.ResourceServletService.class, dependsOn()),
+    SessionTrackService(    password.pwm.svc.sessiontrack.SessionTrackService.class, dependsOn()),
+    SessionStateSvc(        password.pwm.http.state.SessionStateService.class,      dependsOn(SecureService)),
+    TelemetryService(       password.pwm.svc.telemetry.TelemetryService.class,      dependsOn(SecureService, LdapConnectionService, StatisticsManager),
+            Flag.BackgroundStartup),
+    ClusterService(         password.pwm.svc.cluster.ClusterService.class,          dependsOn(SecureService, LdapConnectionService, DatabaseService)),
 
     ;
 
     private final Class<? extends PwmService> clazz;
+    private final Set<PwmServiceEnum> dependencies;
     private final Flag[] flags;
 
     private enum Flag {
         StartDuringRuntimeInstance,
+
+        /** Service may finish opening after the application is otherwise ready; must not be a dependency of other services. */
+        BackgroundStartup,
     }
 
-    PwmServiceEnum(final Class<? extends PwmService> clazz, final Flag... flags) {
+    PwmServiceEnum(final Class<? extends PwmService> clazz, final Set<PwmServiceEnum> dependencies, final Flag... flags) {
         this.clazz = clazz;
+        this.dependencies = dependencies;
         this.flags = flags;
     }
 
+    private static Set<PwmServiceEnum> dependsOn(final PwmServiceEnum... services) {
+        final Set<PwmServiceEnum> returnSet = new LinkedHashSet<>();
+        Collections.addAll(returnSet, services);
+        return Collections.unmodifiableSet(returnSet);
+    }
+
     public boolean isInternalRuntime() {
         return JavaHelper.enumArrayContainsValue(flags, Flag.StartDuringRuntimeInstance);
     }
 
+    public boolean isBackgroundStartup() {
+        return JavaHelper.enumArrayContainsValue(flags, Flag.BackgroundStartup);
+    }
+
+    /**
+     * Services that must complete initialization before this service is initialized.  Dependencies are always
+     * declared earlier in this enum, so iterating in declaration order is also a valid sequential startup order.
+     */
+    public Set<PwmServiceEnum> getDependencies() {
+        return dependencies;
+    }
+
     static List<Class<? extends PwmService>> allClasses() {
         final List<Class<? extends PwmService>> pwmServiceClasses = new ArrayList<>();
         for (final PwmServiceEnum enumClass : values()) {
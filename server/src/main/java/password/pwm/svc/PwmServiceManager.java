@@ -22,33 +22,66 @@
 
 package password.pwm.svc;
 
+import lombok.Value;
+import password.pwm.AppProperty;
 import password.pwm.PwmApplication;
 import password.pwm.PwmEnvironment;
 import password.pwm.error.ErrorInformation;
 import password.pwm.error.PwmError;
 import password.pwm.error.PwmException;
 import password.pwm.error.PwmUnrecoverableException;
+import password.pwm.util.java.JavaHelper;
 import password.pwm.util.java.TimeDuration;
 import password.pwm.util.logging.PwmLogger;
 
+import java.io.Serializable;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Owns the lifecycle of the {@link PwmService} instances listed in {@link PwmServiceEnum}.
+ *
+ * <p>Services are initialized according to the dependencies declared in {@link PwmServiceEnum}; services whose
+ * dependencies have completed are initialized in parallel on a startup thread pool.  The pool is kept apart from the
+ * shared {@link PwmScheduler} so that slow service initialization can not delay the scheduled tasks of services already
+ * open.  Services flagged for background startup are registered immediately and are allowed to finish opening after
+ * {@link #initAllServices()} has returned.</p>
+ */
 public class PwmServiceManager {
 
     private static final PwmLogger LOGGER = PwmLogger.forClass(PwmServiceManager.class);
 
+    private static final TimeDuration STARTUP_SHUTDOWN_WAIT = TimeDuration.SECONDS_30;
 
     private final PwmApplication pwmApplication;
-    private final Map<Class<? extends PwmService>, PwmService> runningServices = new HashMap<>();
+    private final Map<Class<? extends PwmService>, PwmService> runningServices = new ConcurrentHashMap<>();
+    private final Map<PwmServiceEnum, ServiceStartupRecord> startupTimeline = new ConcurrentHashMap<>();
+    private final PwmScheduler pwmScheduler;
+    private volatile CompletableFuture<Void> backgroundStartup = CompletableFuture.completedFuture(null);
     private boolean initialized;
 
     public PwmServiceManager(final PwmApplication pwmApplication) {
         this.pwmApplication = pwmApplication;
+        this.pwmScheduler = new PwmScheduler(pwmApplication);
+    }
+
+    public PwmScheduler getPwmScheduler() {
+        return pwmScheduler;
     }
 
     public PwmService getService(final Class<? extends PwmService> serviceClass) {
@@ -58,55 +91,167 @@ public class PwmServiceManager {
     public void initAllServices()
             throws PwmUnrecoverableException
     {
+        final Instant startTime = Instant.now();
+        startupTimeline.clear();
 
         final boolean internalRuntimeInstance = pwmApplication.getPwmEnvironment().isInternalRuntimeInstance()
                 || pwmApplication.getPwmEnvironment().getFlags().contains(PwmEnvironment.ApplicationFlag.CommandLineInstance);
 
+        final Map<PwmServiceEnum, PwmService> serviceInstances = new LinkedHashMap<>();
         for (final PwmServiceEnum serviceClassEnum : PwmServiceEnum.values()) {
             boolean startService = true;
             if (internalRuntimeInstance && !serviceClassEnum.isInternalRuntime()) {
                 startService = false;
             }
             if (startService) {
-                final Class<? extends PwmService> serviceClass = serviceClassEnum.getPwmServiceClass();
-                final PwmService newServiceInstance = initService(serviceClass);
-                runningServices.put(serviceClass, newServiceInstance);
+                final PwmService newServiceInstance = instantiateService(serviceClassEnum.getPwmServiceClass());
+                serviceInstances.put(serviceClassEnum, newServiceInstance);
+
+                // background services are visible (and report their own status) while they are still opening.
+                if (serviceClassEnum.isBackgroundStartup()) {
+                    runningServices.put(serviceClassEnum.getPwmServiceClass(), newServiceInstance);
+                }
             }
         }
+
+        final int parallelism = readStartupParallelism();
+        final ExecutorService startupExecutor = parallelism > 1
+                ? Executors.newFixedThreadPool(parallelism, JavaHelper.makePwmThreadFactory(
+                        JavaHelper.makeThreadName(pwmApplication, PwmServiceManager.class) + "-ServiceStartup-", true))
+                : null;
+        final Executor executor = startupExecutor == null ? Runnable::run : startupExecutor;
+
+        final AtomicReference<PwmUnrecoverableException> startupError = new AtomicReference<>();
+        final Map<PwmServiceEnum, CompletableFuture<Void>> startupFutures = new EnumMap<>(PwmServiceEnum.class);
+        for (final Map.Entry<PwmServiceEnum, PwmService> entry : serviceInstances.entrySet()) {
+            final PwmServiceEnum serviceEnum = entry.getKey();
+            final PwmService serviceInstance = entry.getValue();
+
+            final List<CompletableFuture<Void>> dependencyFutures = new ArrayList<>();
+            for (final PwmServiceEnum dependency : serviceEnum.getDependencies()) {
+                if (startupFutures.containsKey(dependency)) {
+                    dependencyFutures.add(startupFutures.get(dependency));
+                }
+            }
+
+            final CompletableFuture<Void> startupFuture = CompletableFuture
+                    .allOf(dependencyFutures.toArray(new CompletableFuture<?>[0]))
+                    .thenRunAsync(() -> {
+                        if (startupError.get() != null) {
+                            throw new CompletionException(new PwmUnrecoverableException(new ErrorInformation(
+                                    PwmError.ERROR_STARTUP_ERROR, "startup of " + serviceEnum + " skipped due to previous startup error")));
+                        }
+                        try {
+                            initService(serviceEnum, serviceInstance, startTime);
+                            runningServices.put(serviceEnum.getPwmServiceClass(), serviceInstance);
+                        } catch (PwmUnrecoverableException e) {
+                            if (!serviceEnum.isBackgroundStartup()) {
+                                startupError.compareAndSet(null, e);
+                            }
+                            throw new CompletionException(e);
+                        }
+                    }, executor);
+
+            startupFutures.put(serviceEnum, startupFuture);
+        }
+
+        final List<CompletableFuture<Void>> criticalFutures = new ArrayList<>();
+        final List<CompletableFuture<Void>> backgroundFutures = new ArrayList<>();
+        for (final Map.Entry<PwmServiceEnum, CompletableFuture<Void>> entry : startupFutures.entrySet()) {
+            if (entry.getKey().isBackgroundStartup()) {
+                backgroundFutures.add(entry.getValue());
+            } else {
+                criticalFutures.add(entry.getValue());
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(criticalFutures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            if (startupExecutor != null) {
+                startupExecutor.shutdownNow();
+            }
+            // the first failure is the root cause; services depending on it or started after it are failed or skipped.
+            if (startupError.get() != null) {
+                throw startupError.get();
+            }
+            final String errorMsg = "unexpected error during service startup: " + (e.getCause() == null ? e.getMessage() : e.getCause().getMessage());
+            throw new PwmUnrecoverableException(new ErrorInformation(PwmError.ERROR_STARTUP_ERROR, errorMsg));
+        }
+
         initialized = true;
+
+        LOGGER.debug("application services ready in " + TimeDuration.compactFromCurrent(startTime)
+                + " (parallelism=" + parallelism + ")"
+                + (backgroundFutures.isEmpty() ? "" : ", " + backgroundFutures.size() + " services continuing startup in background"));
+
+        backgroundStartup = CompletableFuture
+                .allOf(backgroundFutures.toArray(new CompletableFuture<?>[0]))
+                .handle((result, throwable) -> null)
+                .thenRun(() -> {
+                    if (startupExecutor != null) {
+                        startupExecutor.shutdown();
+                    }
+                    LOGGER.debug("service startup completed in " + TimeDuration.compactFromCurrent(startTime) + ", timeline: " + debugTimeline());
+                });
+    }
+
+    private int readStartupParallelism() {
+        try {
+            return Math.max(1, Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.SERVICES_STARTUP_PARALLELISM)));
+        } catch (Exception e) {
+            LOGGER.warn("unable to read " + AppProperty.SERVICES_STARTUP_PARALLELISM.getKey() + ", services will start sequentially: " + e.getMessage());
+            return 1;
+        }
     }
 
-    private PwmService initService(final Class<? extends PwmService> serviceClass)
+    private PwmService instantiateService(final Class<? extends PwmService> serviceClass)
             throws PwmUnrecoverableException
     {
-        final Instant startTime = Instant.now();
-        final PwmService newServiceInstance;
         final String serviceName = serviceClass.getName();
         try {
             final Object newInstance = serviceClass.newInstance();
-            newServiceInstance = (PwmService) newInstance;
+            return (PwmService) newInstance;
         } catch (Exception e) {
             final String errorMsg = "unexpected error instantiating service class '" + serviceName + "', error: " + e.toString();
             LOGGER.fatal(errorMsg, e);
             throw new PwmUnrecoverableException(new ErrorInformation(PwmError.ERROR_STARTUP_ERROR, errorMsg));
         }
+    }
 
+    private void initService(final PwmServiceEnum serviceEnum, final PwmService newServiceInstance, final Instant applicationStartTime)
+            throws PwmUnrecoverableException
+    {
+        final Instant startTime = Instant.now();
+        final String serviceName = serviceEnum.getPwmServiceClass().getName();
+        String error = null;
         try {
             LOGGER.debug("initializing service " + serviceName);
             newServiceInstance.init(pwmApplication);
             final TimeDuration startupDuration = TimeDuration.fromCurrent(startTime);
             LOGGER.debug("completed initialization of service " + serviceName + " in " + startupDuration.asCompactString() + ", status=" + newServiceInstance.status());
         } catch (PwmException e) {
+            error = e.getMessage();
             LOGGER.warn("error instantiating service class '" + serviceName + "', service will remain unavailable, error: " + e.getMessage());
         } catch (Exception e) {
             String errorMsg = "unexpected error instantiating service class '" + serviceName + "', cannot load, error: " + e.getMessage();
             if (e.getCause() != null) {
                 errorMsg += ", cause: " + e.getCause();
             }
+            error = errorMsg;
             LOGGER.fatal(errorMsg);
             throw new PwmUnrecoverableException(new ErrorInformation(PwmError.ERROR_STARTUP_ERROR, errorMsg));
+        } finally {
+            startupTimeline.put(serviceEnum, new ServiceStartupRecord(
+                    serviceEnum.getPwmServiceClass().getSimpleName(),
+                    new TimeDuration(applicationStartTime, startTime),
+                    TimeDuration.fromCurrent(startTime),
+                    newServiceInstance.status(),
+                    serviceEnum.isBackgroundStartup(),
+                    Thread.currentThread().getName(),
+                    error
+            ));
         }
-        return newServiceInstance;
     }
 
     public void shutdownAllServices()
@@ -115,6 +260,8 @@ public class PwmServiceManager {
             return;
         }
 
+        awaitBackgroundStartup();
+
         final List<Class<? extends PwmService>> reverseServiceList = new ArrayList<>(PwmServiceEnum.allClasses());
         Collections.reverse(reverseServiceList);
         for (final Class<? extends PwmService> serviceClass : reverseServiceList) {
@@ -125,6 +272,23 @@ public class PwmServiceManager {
         initialized = false;
     }
 
+    private void awaitBackgroundStartup() {
+        if (backgroundStartup.isDone()) {
+            return;
+        }
+
+        LOGGER.debug("waiting up to " + STARTUP_SHUTDOWN_WAIT.asCompactString() + " for background service startup to complete before closing services");
+        try {
+            backgroundStartup.get(STARTUP_SHUTDOWN_WAIT.getTotalMilliseconds(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            LOGGER.warn("background service startup did not complete within " + STARTUP_SHUTDOWN_WAIT.asCompactString() + ", closing services anyway");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LOGGER.debug("error waiting for background service startup: " + e.getMessage());
+        }
+    }
+
     private void shutDownService(final Class<? extends PwmService> serviceClass)
     {
         LOGGER.trace("closing service " + serviceClass.getName());
@@ -137,7 +301,59 @@ public class PwmServiceManager {
         }
     }
 
+    /**
+     * Stop the shared scheduler.  Called once all services, and anything else that may have obtained an executor
+     * from the scheduler, have been closed.
+     */
+    public void shutdownScheduler()
+    {
+        LOGGER.trace("closing scheduler");
+        try {
+            pwmScheduler.close();
+        } catch (Exception e) {
+            LOGGER.error("error closing scheduler: " + e.getMessage(), e);
+        }
+    }
+
     public List<PwmService> getRunningServices() {
-        return Collections.unmodifiableList(new ArrayList<>(this.runningServices.values()));
+        final List<PwmService> services = new ArrayList<>(this.runningServices.values());
+        services.add(pwmScheduler);
+        return Collections.unmodifiableList(services);
+    }
+
+    /**
+     * @return the startup timeline of the most recent {@link #initAllServices()}, ordered by service start time.
+     */
+    public List<ServiceStartupRecord> getStartupTimeline() {
+        final List<ServiceStartupRecord> records = new ArrayList<>(startupTimeline.values());
+        records.sort(Comparator.comparing(record -> record.getStartOffset().getTotalMilliseconds()));
+        return Collections.unmodifiableList(records);
+    }
+
+    private String debugTimeline() {
+        final StringBuilder sb = new StringBuilder();
+        for (final ServiceStartupRecord record : getStartupTimeline()) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(record.getServiceName())
+                    .append("[+").append(record.getStartOffset().asCompactString())
+                    .append(" ").append(record.getDuration().asCompactString())
+                    .append(record.isBackground() ? " background" : "")
+                    .append(" ").append(record.getStatus())
+                    .append("]");
+        }
+        return sb.toString();
+    }
+
+    @Value
+    public static class ServiceStartupRecord implements Serializable {
+        private String serviceName;
+        private TimeDuration startOffset;
+        private TimeDuration duration;
+        private PwmService.STATUS status;
+        private boolean background;
+        private String threadName;
+        private String error;
     }
 }
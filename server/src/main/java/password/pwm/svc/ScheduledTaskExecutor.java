@@ -0,0 +1,448 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package password.pwm.svc;
+
+import password.pwm.util.logging.PwmLogger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * {@link ScheduledExecutorService} view of the {@link PwmScheduler} for a single owner.  Delayed and periodic tasks are
+ * triggered by the shared timer, and at most <code>maxConcurrency</code> tasks of this executor run on the shared
+ * worker pool at any time; the rest wait in this executor's own queue.
+ *
+ * <p>Periodic tasks never overlap with themselves; a fixed rate trigger that fires while the previous run is still
+ * queued or running is skipped.  Unlike {@link java.util.concurrent.ScheduledThreadPoolExecutor}, a periodic task that
+ * throws an exception is logged and continues to be scheduled.</p>
+ */
+class ScheduledTaskExecutor extends AbstractExecutorService implements ScheduledExecutorService {
+    private static final PwmLogger LOGGER = PwmLogger.forClass(ScheduledTaskExecutor.class);
+
+    private final String name;
+    private final int maxConcurrency;
+    private final ScheduledExecutorService timer;
+    private final Executor workers;
+    private final Consumer<String> terminationListener;
+
+    private final Object lock = new Object();
+    private final Deque<QueuedTask> pending = new ArrayDeque<>();
+    private final Set<Thread> runningThreads = new HashSet<>();
+    private final Set<ScheduledFuture<?>> scheduledFutures = ConcurrentHashMap.newKeySet();
+    private int running;
+    private boolean shutdown;
+    private boolean terminated;
+
+    private final LongAdder executedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder totalRunMs = new LongAdder();
+    private final LongAdder totalQueueDelayMs = new LongAdder();
+    private final LongAccumulator maxRunMs = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxQueueDelayMs = new LongAccumulator(Math::max, 0);
+
+    ScheduledTaskExecutor(
+            final String name,
+            final int maxConcurrency,
+            final ScheduledExecutorService timer,
+            final Executor workers,
+            final Consumer<String> terminationListener
+    )
+    {
+        this.name = name;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.timer = timer;
+        this.workers = workers;
+        this.terminationListener = terminationListener;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        Objects.requireNonNull(command);
+        synchronized (lock) {
+            if (shutdown) {
+                throw new RejectedExecutionException("executor " + name + " has been shut down");
+            }
+            pending.add(new QueuedTask(command));
+            dispatch();
+        }
+    }
+
+    private void executeFromTimer(final Runnable command) {
+        synchronized (lock) {
+            if (!shutdown) {
+                pending.add(new QueuedTask(command));
+                dispatch();
+            }
+        }
+    }
+
+    // must be called while holding lock
+    private void dispatch() {
+        while (running < maxConcurrency && !pending.isEmpty()) {
+            final QueuedTask queuedTask = pending.poll();
+            running++;
+            try {
+                workers.execute(() -> runTask(queuedTask));
+            } catch (RejectedExecutionException e) {
+                running--;
+                LOGGER.warn("discarding " + (pending.size() + 1) + " queued tasks of executor " + name + ", scheduler is no longer running");
+                pending.clear();
+            }
+        }
+        checkTerminated();
+    }
+
+    private void runTask(final QueuedTask queuedTask) {
+        final long startNanos = System.nanoTime();
+        final long queueDelayMs = TimeUnit.NANOSECONDS.toMillis(startNanos - queuedTask.queuedNanos);
+        totalQueueDelayMs.add(queueDelayMs);
+        maxQueueDelayMs.accumulate(queueDelayMs);
+
+        final Thread thread = Thread.currentThread();
+        final String workerName = thread.getName();
+        thread.setName(workerName + "-" + name);
+        synchronized (lock) {
+            runningThreads.add(thread);
+        }
+
+        try {
+            queuedTask.command.run();
+        } catch (Throwable e) {
+            failedCount.increment();
+            LOGGER.error("unexpected error running background task of " + name + ": " + e.getMessage(), e);
+        } finally {
+            final long runMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            executedCount.increment();
+            totalRunMs.add(runMs);
+            maxRunMs.accumulate(runMs);
+
+            synchronized (lock) {
+                runningThreads.remove(thread);
+                running--;
+                dispatch();
+            }
+
+            // don't let an interrupt from shutdownNow() leak into the next task run by this worker.
+            Thread.interrupted();
+            thread.setName(workerName);
+        }
+    }
+
+    // must be called while holding lock
+    private void checkTerminated() {
+        if (shutdown && !terminated && running == 0 && pending.isEmpty()) {
+            terminated = true;
+            lock.notifyAll();
+            terminationListener.accept(name);
+        }
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(final Runnable command, final long delay, final TimeUnit unit) {
+        return schedule(Executors.callable(command), delay, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(final Callable<V> callable, final long delay, final TimeUnit unit) {
+        Objects.requireNonNull(callable);
+        checkNotShutdown();
+
+        final DelayedTask<V> delayedTask = new DelayedTask<>(callable);
+        scheduledFutures.add(delayedTask);
+        delayedTask.timerFuture = timer.schedule(() -> {
+            scheduledFutures.remove(delayedTask);
+            executeFromTimer(delayedTask);
+        }, delay, unit);
+        return delayedTask;
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(final Runnable command, final long initialDelay, final long period, final TimeUnit unit) {
+        Objects.requireNonNull(command);
+        checkNotShutdown();
+
+        final PeriodicTask periodicTask = new PeriodicTask(command, 0, unit);
+        scheduledFutures.add(periodicTask);
+        periodicTask.nextRun = timer.scheduleAtFixedRate(periodicTask::trigger, initialDelay, period, unit);
+        return periodicTask;
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(final Runnable command, final long initialDelay, final long delay, final TimeUnit unit) {
+        Objects.requireNonNull(command);
+        checkNotShutdown();
+
+        final PeriodicTask periodicTask = new PeriodicTask(command, delay, unit);
+        scheduledFutures.add(periodicTask);
+        periodicTask.nextRun = timer.schedule(periodicTask::trigger, initialDelay, unit);
+        return periodicTask;
+    }
+
+    private void checkNotShutdown() {
+        synchronized (lock) {
+            if (shutdown) {
+                throw new RejectedExecutionException("executor " + name + " has been shut down");
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        synchronized (lock) {
+            shutdown = true;
+        }
+
+        for (final ScheduledFuture<?> scheduledFuture : new ArrayList<>(scheduledFutures)) {
+            scheduledFuture.cancel(false);
+        }
+        scheduledFutures.clear();
+
+        synchronized (lock) {
+            checkTerminated();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+
+        synchronized (lock) {
+            final List<Runnable> drained = new ArrayList<>();
+            for (final QueuedTask queuedTask : pending) {
+                drained.add(queuedTask.command);
+            }
+            pending.clear();
+            for (final Thread thread : runningThreads) {
+                thread.interrupt();
+            }
+            checkTerminated();
+            return drained;
+        }
+    }
+
+    @Override
+    public boolean isShutdown() {
+        synchronized (lock) {
+            return shutdown;
+        }
+    }
+
+    @Override
+    public boolean isTerminated() {
+        synchronized (lock) {
+            return terminated;
+        }
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (lock) {
+            while (!terminated) {
+                final long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMs <= 0) {
+                    return false;
+                }
+                lock.wait(remainingMs);
+            }
+            return true;
+        }
+    }
+
+    Map<String, String> debugProperties() {
+        final long executed = executedCount.sum();
+        final Map<String, String> returnMap = new LinkedHashMap<>();
+        synchronized (lock) {
+            returnMap.put(name + ".running", String.valueOf(running));
+            returnMap.put(name + ".queued", String.valueOf(pending.size()));
+        }
+        returnMap.put(name + ".scheduled", String.valueOf(scheduledFutures.size()));
+        returnMap.put(name + ".executed", String.valueOf(executed));
+        returnMap.put(name + ".failed", String.valueOf(failedCount.sum()));
+        returnMap.put(name + ".averageRunMs", String.valueOf(executed == 0 ? 0 : totalRunMs.sum() / executed));
+        returnMap.put(name + ".maxRunMs", String.valueOf(maxRunMs.get()));
+        returnMap.put(name + ".averageQueueDelayMs", String.valueOf(executed == 0 ? 0 : totalQueueDelayMs.sum() / executed));
+        returnMap.put(name + ".maxQueueDelayMs", String.valueOf(maxQueueDelayMs.get()));
+        return returnMap;
+    }
+
+    private static class QueuedTask {
+        private final Runnable command;
+        private final long queuedNanos = System.nanoTime();
+
+        QueuedTask(final Runnable command) {
+            this.command = command;
+        }
+    }
+
+    private class DelayedTask<V> extends FutureTask<V> implements ScheduledFuture<V> {
+        private volatile ScheduledFuture<?> timerFuture;
+
+        DelayedTask(final Callable<V> callable) {
+            super(callable);
+        }
+
+        @Override
+        public long getDelay(final TimeUnit unit) {
+            final ScheduledFuture<?> localFuture = timerFuture;
+            return localFuture == null ? 0 : localFuture.getDelay(unit);
+        }
+
+        @Override
+        public int compareTo(final Delayed o) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), o.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+            final ScheduledFuture<?> localFuture = timerFuture;
+            if (localFuture != null) {
+                localFuture.cancel(false);
+            }
+            scheduledFutures.remove(this);
+            return super.cancel(mayInterruptIfRunning);
+        }
+    }
+
+    private class PeriodicTask implements ScheduledFuture<Object> {
+        private final Runnable command;
+        private final long fixedDelay;
+        private final TimeUnit unit;
+        private final AtomicBoolean inFlight = new AtomicBoolean(false);
+        private final CountDownLatch cancelLatch = new CountDownLatch(1);
+        private volatile ScheduledFuture<?> nextRun;
+        private volatile boolean cancelled;
+
+        /**
+         * @param fixedDelay delay between the end of one run and the start of the next, or zero when the timer
+         *                   triggers this task at a fixed rate.
+         */
+        PeriodicTask(final Runnable command, final long fixedDelay, final TimeUnit unit) {
+            this.command = command;
+            this.fixedDelay = fixedDelay;
+            this.unit = unit;
+        }
+
+        private void trigger() {
+            if (cancelled || !inFlight.compareAndSet(false, true)) {
+                return;
+            }
+
+            executeFromTimer(() -> {
+                try {
+                    if (!cancelled) {
+                        command.run();
+                    }
+                } finally {
+                    inFlight.set(false);
+                    if (fixedDelay > 0 && !cancelled && !isShutdown()) {
+                        try {
+                            nextRun = timer.schedule(this::trigger, fixedDelay, unit);
+                        } catch (RejectedExecutionException e) {
+                            LOGGER.trace("unable to reschedule periodic task of " + name + ", scheduler is no longer running");
+                        }
+                    }
+                }
+            });
+        }
+
+        @Override
+        public long getDelay(final TimeUnit unit) {
+            final ScheduledFuture<?> localFuture = nextRun;
+            return localFuture == null ? 0 : localFuture.getDelay(unit);
+        }
+
+        @Override
+        public int compareTo(final Delayed o) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), o.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+            if (cancelled) {
+                return false;
+            }
+            cancelled = true;
+            final ScheduledFuture<?> localFuture = nextRun;
+            if (localFuture != null) {
+                localFuture.cancel(false);
+            }
+            scheduledFutures.remove(this);
+            cancelLatch.countDown();
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return cancelled;
+        }
+
+        @Override
+        public Object get() throws InterruptedException {
+            cancelLatch.await();
+            throw new CancellationException();
+        }
+
+        @Override
+        public Object get(final long timeout, final TimeUnit unit) throws InterruptedException, TimeoutException {
+            if (!cancelLatch.await(timeout, unit)) {
+                throw new TimeoutException();
+            }
+            throw new CancellationException();
+        }
+    }
+}
@@ -29,6 +29,7 @@ import java.time.Instant;
 
 public class CachePolicy implements Serializable {
     private Instant expiration;
+    private TimeDuration refreshAhead;
     
     CachePolicy() {
     }
@@ -38,6 +39,16 @@ public class CachePolicy implements Serializable {
         return expiration;
     }
 
+    /**
+     * Duration before expiration during which a read through {@link CacheService#get(CacheKey, CachePolicy, CacheService.CacheLoader)}
+     * reloads the value.
+     * @return refresh-ahead duration, or null if values are only loaded once they have expired
+     */
+    public TimeDuration getRefreshAhead()
+    {
+        return refreshAhead;
+    }
+
     public static CachePolicy makePolicy(final Instant date) {
         final CachePolicy policy = new CachePolicy();
         policy.expiration = date;
@@ -54,4 +65,10 @@ public class CachePolicy implements Serializable {
         return makePolicyWithExpirationMS(timeDuration.getTotalMilliseconds());
     }
 
+    public static CachePolicy makePolicyWithExpiration(final TimeDuration timeDuration, final TimeDuration refreshAhead) {
+        final CachePolicy policy = makePolicyWithExpiration(timeDuration);
+        policy.refreshAhead = refreshAhead;
+        return policy;
+    }
+
 }
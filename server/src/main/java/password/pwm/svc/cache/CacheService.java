@@ -25,6 +25,8 @@ package password.pwm.svc.cache;
 import password.pwm.AppProperty;
 import password.pwm.PwmApplication;
 import password.pwm.PwmApplicationMode;
+import password.pwm.error.ErrorInformation;
+import password.pwm.error.PwmError;
 import password.pwm.error.PwmException;
 import password.pwm.error.PwmUnrecoverableException;
 import password.pwm.health.HealthRecord;
@@ -36,13 +38,24 @@ import password.pwm.util.logging.PwmLogger;
 
 import java.time.Instant;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
 
 public class CacheService implements PwmService {
     private static final PwmLogger LOGGER = PwmLogger.forClass(CacheService.class);
 
     private MemoryCacheStore memoryCacheStore;
     private LocalDBCacheStore localDBCacheStore;
+    private TimeDuration negativeEntryLifetime;
+
+    private final Map<CacheKey, CompletableFuture<String>> inFlightLoads = new ConcurrentHashMap<>();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder refreshAheadCount = new LongAdder();
 
     private STATUS status = STATUS.NEW;
 
@@ -57,7 +70,7 @@ public class CacheService implements PwmService {
     public void init(final PwmApplication pwmApplication)
             throws PwmException
     {
-        final boolean enabled = Boolean.parseBoolean(pwmApplication.getConfig().readAppProperty(AppProperty.CACHE_ENABLE));
+        final boolean enabled = pwmApplication.getConfig().readAppPropertyBoolean(AppProperty.CACHE_ENABLE);
         if (!enabled) {
             LOGGER.debug("skipping cache service init due to app property setting");
             status = STATUS.CLOSED;
@@ -77,17 +90,22 @@ public class CacheService implements PwmService {
         }
 
         status = STATUS.OPENING;
-        final int maxMemItems = Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.CACHE_MEMORY_MAX_ITEMS));
+        final int maxMemItems = pwmApplication.getConfig().readAppPropertyInt(AppProperty.CACHE_MEMORY_MAX_ITEMS);
+        final int maxNegativeItems = pwmApplication.getConfig().readAppPropertyInt(AppProperty.CACHE_NEGATIVE_MAX_ITEMS);
         if (pwmApplication.getLocalDB() != null && pwmApplication.getLocalDB().status() == LocalDB.Status.OPEN) {
             localDBCacheStore = new LocalDBCacheStore(pwmApplication);
         }
-        memoryCacheStore = new MemoryCacheStore(maxMemItems);
+        memoryCacheStore = new MemoryCacheStore(maxMemItems, maxNegativeItems);
+        negativeEntryLifetime = new TimeDuration(pwmApplication.getConfig().readAppPropertyLong(AppProperty.CACHE_NEGATIVE_LIFETIME_MS));
         status = STATUS.OPEN;
     }
 
     @Override
     public void close() {
         status = STATUS.CLOSED;
+        if (localDBCacheStore != null) {
+            localDBCacheStore.close();
+        }
         localDBCacheStore = null;
     }
 
@@ -98,7 +116,30 @@ public class CacheService implements PwmService {
 
     @Override
     public ServiceInfoBean serviceInfo() {
-        return new ServiceInfoBean(Collections.emptyList());
+        final Map<String, String> debugProperties = new LinkedHashMap<>();
+        if (memoryCacheStore != null) {
+            debugProperties.putAll(storeInfoDebugProperties("memory", memoryCacheStore));
+        }
+        if (localDBCacheStore != null) {
+            debugProperties.putAll(storeInfoDebugProperties("localDB", localDBCacheStore));
+        }
+        debugProperties.put("coalescedLoadCount", String.valueOf(coalescedCount.sum()));
+        debugProperties.put("refreshAheadLoadCount", String.valueOf(refreshAheadCount.sum()));
+        return new ServiceInfoBean(Collections.emptyList(), Collections.unmodifiableMap(debugProperties));
+    }
+
+    private static Map<String, String> storeInfoDebugProperties(final String prefix, final CacheStore cacheStore) {
+        final CacheStoreInfo info = cacheStore.getCacheStoreInfo();
+        final Map<String, String> returnMap = new LinkedHashMap<>();
+        returnMap.put(prefix + ".itemCount", String.valueOf(cacheStore.itemCount()));
+        returnMap.put(prefix + ".storeCount", String.valueOf(info.getStoreCount()));
+        returnMap.put(prefix + ".readCount", String.valueOf(info.getReadCount()));
+        returnMap.put(prefix + ".hitCount", String.valueOf(info.getHitCount()));
+        returnMap.put(prefix + ".missCount", String.valueOf(info.getMissCount()));
+        returnMap.put(prefix + ".negativeHitCount", String.valueOf(info.getNegativeHitCount()));
+        returnMap.put(prefix + ".evictionCount", String.valueOf(info.getEvictionCount()));
+        returnMap.put(prefix + ".promotionCount", String.valueOf(info.getPromotionCount()));
+        return returnMap;
     }
 
     public void put(final CacheKey cacheKey, final CachePolicy cachePolicy, final String payload)
@@ -133,18 +174,138 @@ public class CacheService implements PwmService {
             return null;
         }
 
-        String payload = null;
-        if (memoryCacheStore != null) {
-            payload = memoryCacheStore.read(cacheKey);
+        final CacheValueWrapper valueWrapper = readValue(cacheKey);
+        outputTraceInfo();
+        return valueWrapper == null ? null : valueWrapper.getPayload();
+    }
+
+    /**
+     * Read a value from the cache, or load and store it on a miss.  Concurrent misses for the same key share a single
+     * invocation of the loader.  If the policy has a refresh-ahead duration, the first read of a value that is about to
+     * expire reloads it while other readers continue to use the cached value.
+     * @param cacheKey key of the value
+     * @param cachePolicy policy used to store a loaded value
+     * @param cacheLoader loader for the value; a null value returned by the loader is not stored
+     * @return the cached or loaded value
+     * @throws PwmUnrecoverableException if the loader fails
+     */
+    public String get(final CacheKey cacheKey, final CachePolicy cachePolicy, final CacheLoader cacheLoader)
+            throws PwmUnrecoverableException
+    {
+        if (cacheKey == null) {
+            throw new NullPointerException("cacheKey can not be null");
+        }
+        if (cachePolicy == null) {
+            throw new NullPointerException("cachePolicy can not be null");
         }
 
-        if (payload == null && localDBCacheStore != null) {
-            payload = localDBCacheStore.read(cacheKey);
+        if (status != STATUS.OPEN) {
+            return cacheLoader.load();
         }
 
+        final CacheValueWrapper valueWrapper = readValue(cacheKey);
         outputTraceInfo();
 
-        return payload;
+        if (valueWrapper != null && valueWrapper.getPayload() != null) {
+            if (!needsRefresh(valueWrapper, cachePolicy)) {
+                return valueWrapper.getPayload();
+            }
+
+            final CompletableFuture<String> refreshLoad = new CompletableFuture<>();
+            if (inFlightLoads.putIfAbsent(cacheKey, refreshLoad) != null) {
+                // another caller is already refreshing the value
+                return valueWrapper.getPayload();
+            }
+            refreshAheadCount.increment();
+            try {
+                return loadAndStore(cacheKey, cachePolicy, cacheLoader, refreshLoad);
+            } catch (PwmUnrecoverableException e) {
+                LOGGER.debug("error refreshing cache value ahead of expiration, cached value will be used: " + e.getMessage());
+                return valueWrapper.getPayload();
+            }
+        }
+
+        final CompletableFuture<String> newLoad = new CompletableFuture<>();
+        final CompletableFuture<String> existingLoad = inFlightLoads.putIfAbsent(cacheKey, newLoad);
+        if (existingLoad != null) {
+            coalescedCount.increment();
+            return awaitLoad(existingLoad);
+        }
+        return loadAndStore(cacheKey, cachePolicy, cacheLoader, newLoad);
+    }
+
+    private String loadAndStore(
+            final CacheKey cacheKey,
+            final CachePolicy cachePolicy,
+            final CacheLoader cacheLoader,
+            final CompletableFuture<String> inFlightLoad
+    )
+            throws PwmUnrecoverableException
+    {
+        try {
+            final String payload = cacheLoader.load();
+            if (payload != null) {
+                put(cacheKey, cachePolicy, payload);
+            }
+            inFlightLoad.complete(payload);
+            return payload;
+        } catch (PwmUnrecoverableException | RuntimeException e) {
+            inFlightLoad.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(cacheKey, inFlightLoad);
+        }
+    }
+
+    private static String awaitLoad(final CompletableFuture<String> inFlightLoad)
+            throws PwmUnrecoverableException
+    {
+        try {
+            return inFlightLoad.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PwmUnrecoverableException(new ErrorInformation(PwmError.ERROR_UNKNOWN, "interrupted while waiting for cache value load"), e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof PwmUnrecoverableException) {
+                throw new PwmUnrecoverableException(((PwmUnrecoverableException) cause).getErrorInformation(), cause);
+            }
+            throw new PwmUnrecoverableException(new ErrorInformation(PwmError.ERROR_UNKNOWN, "error loading cache value: " + cause.getMessage()), cause);
+        }
+    }
+
+    private static boolean needsRefresh(final CacheValueWrapper valueWrapper, final CachePolicy cachePolicy) {
+        final TimeDuration refreshAhead = cachePolicy.getRefreshAhead();
+        if (refreshAhead == null || refreshAhead.getTotalMilliseconds() <= 0) {
+            return false;
+        }
+        return valueWrapper.getExpirationDate().minusMillis(refreshAhead.getTotalMilliseconds()).isBefore(Instant.now());
+    }
+
+    private CacheValueWrapper readValue(final CacheKey cacheKey)
+            throws PwmUnrecoverableException
+    {
+        final CacheValueWrapper memoryValue = memoryCacheStore.readValue(cacheKey);
+        if (memoryValue != null) {
+            // a null payload is a negative entry for a key known to be absent from the localDB store.
+            return memoryValue;
+        }
+
+        if (localDBCacheStore != null) {
+            final CacheValueWrapper localDBValue = localDBCacheStore.readValue(cacheKey);
+            if (localDBValue != null) {
+                memoryCacheStore.promote(localDBValue);
+                return localDBValue;
+            } else if (negativeEntryLifetime.getTotalMilliseconds() > 0) {
+                memoryCacheStore.storeAbsent(cacheKey, Instant.now().plusMillis(negativeEntryLifetime.getTotalMilliseconds()));
+            }
+        }
+
+        return null;
+    }
+
+    public interface CacheLoader {
+        String load() throws PwmUnrecoverableException;
     }
 
     private void outputTraceInfo() {
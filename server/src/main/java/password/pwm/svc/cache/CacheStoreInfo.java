@@ -30,6 +30,9 @@ public class CacheStoreInfo implements Serializable {
     private final AtomicLong readCount = new AtomicLong();
     private final AtomicLong hitCount = new AtomicLong();
     private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong negativeHitCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong promotionCount = new AtomicLong();
 
     public void incrementStoreCount()
     {
@@ -51,6 +54,21 @@ public class CacheStoreInfo implements Serializable {
         missCount.incrementAndGet();
     }
 
+    public void incrementNegativeHitCount()
+    {
+        negativeHitCount.incrementAndGet();
+    }
+
+    public void incrementEvictionCount()
+    {
+        evictionCount.incrementAndGet();
+    }
+
+    public void incrementPromotionCount()
+    {
+        promotionCount.incrementAndGet();
+    }
+
     public long getStoreCount()
     {
         return storeCount.get();
@@ -70,4 +88,19 @@ public class CacheStoreInfo implements Serializable {
     {
         return missCount.get();
     }
+
+    public long getNegativeHitCount()
+    {
+        return negativeHitCount.get();
+    }
+
+    public long getEvictionCount()
+    {
+        return evictionCount.get();
+    }
+
+    public long getPromotionCount()
+    {
+        return promotionCount.get();
+    }
 }
@@ -26,27 +26,40 @@ import password.pwm.PwmApplication;
 import password.pwm.error.PwmUnrecoverableException;
 import password.pwm.util.java.JavaHelper;
 import password.pwm.util.java.JsonUtil;
+import password.pwm.util.java.TimeDuration;
 import password.pwm.util.localdb.LocalDB;
 import password.pwm.util.localdb.LocalDBException;
 import password.pwm.util.logging.PwmLogger;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * LocalDB backed cache tier.  Writes are queued and written to the LocalDB in batches by a background thread; reads
+ * check the queue of pending writes before reading the LocalDB.
+ */
 public class LocalDBCacheStore implements CacheStore {
     private static final PwmLogger LOGGER = PwmLogger.forClass(LocalDBCacheStore.class);
     
     private static final LocalDB.DB DB = LocalDB.DB.CACHE;
     private static final int MAX_REMOVALS_PER_CYCLE = 10 * 1000;
     private static final int TICKS_BETWEEN_PURGE_CYCLES = 1000;
+    private static final int MAX_PENDING_WRITES = 10 * 1000;
 
     private final LocalDB localDB;
     private final ExecutorService timer;
     private final AtomicInteger ticks = new AtomicInteger(0);
+    private final Map<String, CacheValueWrapper> pendingWrites = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
 
     private final CacheStoreInfo cacheStoreInfo = new CacheStoreInfo();
 
@@ -66,10 +79,12 @@ public class LocalDBCacheStore implements CacheStore {
     {
         ticks.incrementAndGet();
         cacheStoreInfo.incrementStoreCount();
-        try {
-            localDB.put(DB,cacheKey.getHash(),JsonUtil.serialize(new CacheValueWrapper(cacheKey, expirationDate, data)));
-        } catch (LocalDBException e) {
-            LOGGER.error("error while writing cache: " + e.getMessage());
+        pendingWrites.put(cacheKey.getHash(), new CacheValueWrapper(cacheKey, expirationDate, data));
+        if (pendingWrites.size() > MAX_PENDING_WRITES) {
+            // the background writer is not keeping up, so write from the calling thread instead of queuing further.
+            flushPendingWrites();
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            timer.execute(new FlushTask());
         }
         if (ticks.get() > TICKS_BETWEEN_PURGE_CYCLES) {
             ticks.set(0);
@@ -77,13 +92,59 @@ public class LocalDBCacheStore implements CacheStore {
         }
     }
 
+    private void flushPendingWrites() {
+        final Map<String, CacheValueWrapper> batch = new LinkedHashMap<>(pendingWrites);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        final Map<String, String> serializedBatch = new LinkedHashMap<>();
+        for (final Map.Entry<String, CacheValueWrapper> entry : batch.entrySet()) {
+            serializedBatch.put(entry.getKey(), JsonUtil.serialize(entry.getValue()));
+        }
+
+        try {
+            localDB.putAll(DB, serializedBatch);
+        } catch (LocalDBException e) {
+            LOGGER.error("error while writing cache: " + e.getMessage());
+        }
+
+        for (final Map.Entry<String, CacheValueWrapper> entry : batch.entrySet()) {
+            // a newer value stored during the write remains queued for the next flush.
+            pendingWrites.remove(entry.getKey(), entry.getValue());
+        }
+    }
+
+    void close() {
+        timer.execute(this::flushPendingWrites);
+        JavaHelper.closeAndWaitExecutor(timer, new TimeDuration(10, TimeUnit.SECONDS));
+    }
+
     @Override
     public String read(final CacheKey cacheKey)
             throws PwmUnrecoverableException 
+    {
+        final CacheValueWrapper valueWrapper = readValue(cacheKey);
+        return valueWrapper == null ? null : valueWrapper.getPayload();
+    }
+
+    CacheValueWrapper readValue(final CacheKey cacheKey)
+            throws PwmUnrecoverableException
     {
         cacheStoreInfo.incrementReadCount();
         final String hashKey = cacheKey.getHash();
-        final String storedValue; 
+
+        final CacheValueWrapper pendingValue = pendingWrites.get(hashKey);
+        if (pendingValue != null && cacheKey.equals(pendingValue.getCacheKey())) {
+            if (pendingValue.getExpirationDate().isAfter(Instant.now())) {
+                cacheStoreInfo.incrementHitCount();
+                return pendingValue;
+            }
+            cacheStoreInfo.incrementMissCount();
+            return null;
+        }
+
+        final String storedValue;
         try {
             storedValue = localDB.get(DB,hashKey);
         } catch (LocalDBException e) {
@@ -95,8 +156,8 @@ public class LocalDBCacheStore implements CacheStore {
                 final CacheValueWrapper valueWrapper = JsonUtil.deserialize(storedValue, CacheValueWrapper.class);
                 if (cacheKey.equals(valueWrapper.getCacheKey())) {
                     if (valueWrapper.getExpirationDate().isAfter(Instant.now())) {
-                        cacheStoreInfo.getHitCount();
-                        return valueWrapper.getPayload();
+                        cacheStoreInfo.incrementHitCount();
+                        return valueWrapper;
                     }
                 }
             } catch (Exception e) {
@@ -131,7 +192,7 @@ public class LocalDBCacheStore implements CacheStore {
                         final String strValue = localDB.get(DB, key);
                         if (strValue != null) {
                             final CacheValueWrapper valueWrapper = JsonUtil.deserialize(strValue, CacheValueWrapper.class);
-                            if (valueWrapper.getExpirationDate().isBefore(Instant.now())) {
+                            if (valueWrapper.getExpirationDate().isAfter(Instant.now())) {
                                 keep = true;
                             }
                         }
@@ -159,6 +220,14 @@ public class LocalDBCacheStore implements CacheStore {
         return removalKeys.size() >= MAX_REMOVALS_PER_CYCLE;
     }
     
+    private class FlushTask extends TimerTask {
+        @Override
+        public void run() {
+            flushScheduled.set(false);
+            flushPendingWrites();
+        }
+    }
+
     private class PurgerTask extends TimerTask {
         @Override
         public void run() {
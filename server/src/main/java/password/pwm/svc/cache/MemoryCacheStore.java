@@ -24,42 +24,106 @@ package password.pwm.svc.cache;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import password.pwm.error.PwmUnrecoverableException;
 
 import java.time.Instant;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * In-memory cache tier.  Entries expire at the expiration date of their {@link CachePolicy}, and the store can also
+ * hold negative entries that record a key as known to be absent.  Negative entries are kept in a separate, smaller
+ * cache so that a burst of lookups for absent keys can not evict stored values.
+ */
 class MemoryCacheStore implements CacheStore {
     private final Cache<String,CacheValueWrapper> memoryStore;
+    private final Cache<String,CacheValueWrapper> absentStore;
     private final CacheStoreInfo cacheStoreInfo = new CacheStoreInfo();
 
-    MemoryCacheStore(final int maxItems) {
-        memoryStore = Caffeine.newBuilder()
+    MemoryCacheStore(final int maxItems, final int maxAbsentItems) {
+        memoryStore = makeCache(maxItems);
+        absentStore = makeCache(maxAbsentItems);
+    }
+
+    private Cache<String,CacheValueWrapper> makeCache(final int maxItems) {
+        return Caffeine.newBuilder()
                 .maximumSize(maxItems)
+                .expireAfter(new PolicyExpiry())
+                .removalListener((String key, CacheValueWrapper value, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        cacheStoreInfo.incrementEvictionCount();
+                    }
+                })
                 .build();
     }
 
     @Override
     public void store(final CacheKey cacheKey, final Instant expirationDate, final String data)
             throws PwmUnrecoverableException {
-        cacheStoreInfo.getStoreCount();
+        cacheStoreInfo.incrementStoreCount();
         memoryStore.put(cacheKey.getHash(), new CacheValueWrapper(cacheKey, expirationDate, data));
+        absentStore.invalidate(cacheKey.getHash());
+    }
+
+    /**
+     * Record a key as known to be absent.  Does not replace a value stored concurrently with the lookup.
+     */
+    void storeAbsent(final CacheKey cacheKey, final Instant expirationDate)
+            throws PwmUnrecoverableException
+    {
+        final String hash = cacheKey.getHash();
+        if (memoryStore.getIfPresent(hash) != null) {
+            return;
+        }
+        absentStore.put(hash, new CacheValueWrapper(cacheKey, expirationDate, null));
+
+        // a value stored between the check and the put wins over the negative entry.
+        if (memoryStore.getIfPresent(hash) != null) {
+            absentStore.invalidate(hash);
+        }
+    }
+
+    /**
+     * Copy a value read from a lower tier into this store.  Does not replace a value stored concurrently with the lookup.
+     */
+    void promote(final CacheValueWrapper valueWrapper)
+            throws PwmUnrecoverableException
+    {
+        if (memoryStore.asMap().putIfAbsent(valueWrapper.getCacheKey().getHash(), valueWrapper) == null) {
+            cacheStoreInfo.incrementPromotionCount();
+            absentStore.invalidate(valueWrapper.getCacheKey().getHash());
+        }
     }
 
     @Override
     public String read(final CacheKey cacheKey)
             throws PwmUnrecoverableException 
     {
-        cacheStoreInfo.getReadCount();
+        final CacheValueWrapper valueWrapper = readValue(cacheKey);
+        return valueWrapper == null ? null : valueWrapper.getPayload();
+    }
+
+    /**
+     * Read the stored value wrapper for a key.
+     * @param cacheKey key to read
+     * @return the stored value, a value with a null payload if the key is known to be absent, or null if the key is not
+     * in the store.
+     */
+    CacheValueWrapper readValue(final CacheKey cacheKey)
+            throws PwmUnrecoverableException
+    {
+        cacheStoreInfo.incrementReadCount();
         final CacheValueWrapper valueWrapper = memoryStore.getIfPresent(cacheKey.getHash());
-        if (valueWrapper != null) {
-            if (cacheKey.equals(valueWrapper.getCacheKey())) {
-                if (valueWrapper.getExpirationDate().isAfter(Instant.now())) {
-                    cacheStoreInfo.incrementHitCount();
-                    return valueWrapper.getPayload();
-                }
-            }
+        if (valueWrapper != null && cacheKey.equals(valueWrapper.getCacheKey())) {
+            cacheStoreInfo.incrementHitCount();
+            return valueWrapper;
+        }
+        final CacheValueWrapper absentWrapper = absentStore.getIfPresent(cacheKey.getHash());
+        if (absentWrapper != null && cacheKey.equals(absentWrapper.getCacheKey())) {
+            cacheStoreInfo.incrementNegativeHitCount();
+            return absentWrapper;
         }
-        memoryStore.invalidate(cacheKey.getHash());
         cacheStoreInfo.incrementMissCount();
         return null;
     }
@@ -74,4 +138,26 @@ class MemoryCacheStore implements CacheStore {
     {
         return (int)memoryStore.estimatedSize();
     }
+
+    private static class PolicyExpiry implements Expiry<String, CacheValueWrapper> {
+        @Override
+        public long expireAfterCreate(final String key, final CacheValueWrapper value, final long currentTime) {
+            return nanosUntil(value.getExpirationDate());
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final CacheValueWrapper value, final long currentTime, final long currentDuration) {
+            return nanosUntil(value.getExpirationDate());
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final CacheValueWrapper value, final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+
+        private static long nanosUntil(final Instant expirationDate) {
+            final long remainingMs = expirationDate.toEpochMilli() - System.currentTimeMillis();
+            return remainingMs > 0 ? TimeUnit.MILLISECONDS.toNanos(remainingMs) : 0;
+        }
+    }
 }
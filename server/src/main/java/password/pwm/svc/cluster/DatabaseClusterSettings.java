@@ -41,10 +41,10 @@ class DatabaseClusterSettings {
 
     static DatabaseClusterSettings fromConfig(final Configuration configuration) {
         return new DatabaseClusterSettings(
-                Boolean.parseBoolean(configuration.readAppProperty(AppProperty.CLUSTER_DB_ENABLE)),
-                new TimeDuration( Integer.parseInt(configuration.readAppProperty(AppProperty.CLUSTER_DB_HEARTBEAT_SECONDS)), TimeUnit.SECONDS),
-                new TimeDuration( Integer.parseInt(configuration.readAppProperty(AppProperty.CLUSTER_DB_NODE_TIMEOUT_SECONDS)), TimeUnit.SECONDS),
-                new TimeDuration( Integer.parseInt(configuration.readAppProperty(AppProperty.CLUSTER_DB_NODE_PURGE_SECONDS)), TimeUnit.SECONDS)
+                configuration.readAppPropertyBoolean(AppProperty.CLUSTER_DB_ENABLE),
+                configuration.readAppPropertyDuration(AppProperty.CLUSTER_DB_HEARTBEAT_SECONDS, TimeUnit.SECONDS),
+                configuration.readAppPropertyDuration(AppProperty.CLUSTER_DB_NODE_TIMEOUT_SECONDS, TimeUnit.SECONDS),
+                configuration.readAppPropertyDuration(AppProperty.CLUSTER_DB_NODE_PURGE_SECONDS, TimeUnit.SECONDS)
         );
     }
 }
@@ -39,7 +39,6 @@ import password.pwm.util.logging.PwmLogger;
 import java.time.Instant;
 import java.util.Iterator;
 import java.util.Map;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -71,15 +70,11 @@ public class LocalDbAuditVault implements AuditVault {
     {
         this.settings = settings;
         this.auditDB = LocalDBStoredQueue.createLocalDBStoredQueue(pwmApplication, localDB, LocalDB.DB.AUDIT_EVENTS);
-        this.maxBulkRemovals = Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.AUDIT_EVENTS_LOCALDB_MAX_BULK_REMOVALS));
+        this.maxBulkRemovals = pwmApplication.getConfig().readAppPropertyInt(AppProperty.AUDIT_EVENTS_LOCALDB_MAX_BULK_REMOVALS);
 
         readOldestRecord();
 
-        executorService = Executors.newSingleThreadScheduledExecutor(
-                JavaHelper.makePwmThreadFactory(
-                        JavaHelper.makeThreadName(pwmApplication,this.getClass()) + "-",
-                        true
-                ));
+        executorService = JavaHelper.makeSingleThreadExecutorService(pwmApplication, this.getClass());
 
         status = PwmService.STATUS.OPEN;
         executorService.scheduleWithFixedDelay(new TrimmerThread(), 0, 10, TimeUnit.MINUTES);
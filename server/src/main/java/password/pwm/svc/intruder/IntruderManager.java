@@ -74,8 +74,8 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class IntruderManager implements PwmService {
     private static final PwmLogger LOGGER = PwmLogger.forClass(IntruderManager.class);
@@ -83,7 +83,7 @@ public class IntruderManager implements PwmService {
     private PwmApplication pwmApplication;
     private STATUS status = STATUS.NEW;
     private ErrorInformation startupError;
-    private Timer timer;
+    private ScheduledExecutorService executorService;
 
     private final Map<RecordType, RecordManager> recordManagers = new HashMap<>();
 
@@ -160,20 +160,16 @@ public class IntruderManager implements PwmService {
         final RecordStore recordStore;
         {
             recordStore = new DataStoreRecordStore(dataStore, this);
-            final String threadName = JavaHelper.makeThreadName(pwmApplication, this.getClass()) + " timer";
-            timer = new Timer(threadName, true);
-            final long maxRecordAge = Long.parseLong(pwmApplication.getConfig().readAppProperty(AppProperty.INTRUDER_RETENTION_TIME_MS));
-            final long cleanerRunFrequency = Long.parseLong(pwmApplication.getConfig().readAppProperty(AppProperty.INTRUDER_CLEANUP_FREQUENCY_MS));
-            timer.schedule(new TimerTask() {
-                @Override
-                public void run() {
-                    try {
-                        recordStore.cleanup(new TimeDuration(maxRecordAge));
-                    } catch (Exception e) {
-                        LOGGER.error("error cleaning recordStore: " + e.getMessage(),e);
-                    }
+            executorService = JavaHelper.makeSingleThreadExecutorService(pwmApplication, this.getClass());
+            final long maxRecordAge = pwmApplication.getConfig().readAppPropertyLong(AppProperty.INTRUDER_RETENTION_TIME_MS);
+            final long cleanerRunFrequency = pwmApplication.getConfig().readAppPropertyLong(AppProperty.INTRUDER_CLEANUP_FREQUENCY_MS);
+            executorService.scheduleWithFixedDelay(() -> {
+                try {
+                    recordStore.cleanup(new TimeDuration(maxRecordAge));
+                } catch (Exception e) {
+                    LOGGER.error("error cleaning recordStore: " + e.getMessage(),e);
                 }
-            },1000,cleanerRunFrequency);
+            }, 1000, cleanerRunFrequency, TimeUnit.MILLISECONDS);
         }
 
         try {
@@ -238,9 +234,9 @@ public class IntruderManager implements PwmService {
     @Override
     public void close() {
         status = STATUS.CLOSED;
-        if (timer != null) {
-            timer.cancel();
-            timer = null;
+        if (executorService != null) {
+            executorService.shutdown();
+            executorService = null;
         }
     }
 
@@ -387,10 +383,10 @@ public class IntruderManager implements PwmService {
         int points = 0;
         if (intruderRecord != null) {
             points += intruderRecord.getAttemptCount();
-            long delayPenalty = Long.parseLong(pwmApplication.getConfig().readAppProperty(AppProperty.INTRUDER_MIN_DELAY_PENALTY_MS)); // minimum
-            delayPenalty += points * Long.parseLong(pwmApplication.getConfig().readAppProperty(AppProperty.INTRUDER_DELAY_PER_COUNT_MS));
-            delayPenalty += PwmRandom.getInstance().nextInt((int)Long.parseLong(pwmApplication.getConfig().readAppProperty(AppProperty.INTRUDER_DELAY_MAX_JITTER_MS))); // add some randomness;
-            delayPenalty = delayPenalty > Long.parseLong(pwmApplication.getConfig().readAppProperty(AppProperty.INTRUDER_MAX_DELAY_PENALTY_MS)) ? Long.parseLong(pwmApplication.getConfig().readAppProperty(AppProperty.INTRUDER_MAX_DELAY_PENALTY_MS)) : delayPenalty;
+            long delayPenalty = pwmApplication.getConfig().readAppPropertyLong(AppProperty.INTRUDER_MIN_DELAY_PENALTY_MS); // minimum
+            delayPenalty += points * pwmApplication.getConfig().readAppPropertyLong(AppProperty.INTRUDER_DELAY_PER_COUNT_MS);
+            delayPenalty += PwmRandom.getInstance().nextInt((int)pwmApplication.getConfig().readAppPropertyLong(AppProperty.INTRUDER_DELAY_MAX_JITTER_MS)); // add some randomness;
+            delayPenalty = delayPenalty > pwmApplication.getConfig().readAppPropertyLong(AppProperty.INTRUDER_MAX_DELAY_PENALTY_MS) ? pwmApplication.getConfig().readAppPropertyLong(AppProperty.INTRUDER_MAX_DELAY_PENALTY_MS) : delayPenalty;
             LOGGER.trace(sessionLabel, "delaying response " + delayPenalty + "ms due to intruder record: " + JsonUtil.serialize(intruderRecord));
             JavaHelper.pause(delayPenalty);
         }
@@ -43,6 +43,7 @@ import password.pwm.ldap.LdapOperationsHelper;
 import password.pwm.ldap.UserInfoFactory;
 import password.pwm.util.db.DatabaseException;
 import password.pwm.util.db.DatabaseTable;
+import password.pwm.util.java.ClosableIterator;
 import password.pwm.util.java.JsonUtil;
 import password.pwm.util.java.StringUtil;
 import password.pwm.util.java.TimeDuration;
@@ -54,7 +55,6 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 
@@ -77,16 +77,18 @@ public class PasswordExpireNotificationEngine {
     public void executeJob()
             throws ChaiUnavailableException, ChaiOperationException, PwmOperationalException, PwmUnrecoverableException
     {
-        final Iterator<UserIdentity> workQueue = LdapOperationsHelper.readAllUsersFromLdap(
+        try (ClosableIterator<UserIdentity> workQueue = LdapOperationsHelper.readAllUsersFromLdap(
                 pwmApplication,
                 null,
                 null,
                 1_000_000
-        );
-
-        while (workQueue.hasNext()) {
-            final UserIdentity userIdentity = workQueue.next();
-            processUserIdentity(userIdentity);
+        )) {
+            while (workQueue.hasNext()) {
+                final UserIdentity userIdentity = workQueue.next();
+                processUserIdentity(userIdentity);
+            }
+        } catch (IllegalStateException e) {
+            throw LdapOperationsHelper.unwrapSearchIteratorException(e);
         }
     }
 
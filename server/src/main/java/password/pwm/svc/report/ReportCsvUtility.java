@@ -36,6 +36,7 @@ import password.pwm.util.java.JavaHelper;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
@@ -158,79 +159,68 @@ public class ReportCsvUtility {
             csvPrinter.printRecord(headerRow);
         }
 
-        ClosableIterator<UserCacheRecord> cacheBeanIterator = null;
-        try {
-            cacheBeanIterator = iterator();
-            while (cacheBeanIterator.hasNext()) {
-                final UserCacheRecord userCacheRecord = cacheBeanIterator.next();
-                outputRecordRow(config, locale, userCacheRecord, csvPrinter, columnFilter);
-            }
-        } finally {
-            if (cacheBeanIterator != null) {
-                cacheBeanIterator.close();
-            }
-        }
+        final String trueField = Display.getLocalizedMessage(locale, Display.Value_True, config);
+        final String falseField = Display.getLocalizedMessage(locale, Display.Value_False, config);
+        final String naField = Display.getLocalizedMessage(locale, Display.Value_NotApplicable, config);
+
+        visitRecords(record -> {
+            outputRecordRow(record, csvPrinter, columnFilter, trueField, falseField, naField);
+            return true;
+        });
 
         csvPrinter.flush();
     }
 
-    private void outputRecordRow(
-            final Configuration config,
-            final Locale locale,
-            final UserCacheRecord userCacheRecord,
+    private static void outputRecordRow(
+            final UserCacheRecordView userCacheRecord,
             final CSVPrinter csvPrinter,
-            final ReportColumnFilter columnFilter
+            final ReportColumnFilter columnFilter,
+            final String trueField,
+            final String falseField,
+            final String naField
     )
             throws IOException {
-        final String trueField = Display.getLocalizedMessage(locale, Display.Value_True, config);
-        final String falseField = Display.getLocalizedMessage(locale, Display.Value_False, config);
-        final String naField = Display.getLocalizedMessage(locale, Display.Value_NotApplicable, config);
         final List<String> csvRow = new ArrayList<>();
         if (columnFilter.isUsernameVisible()) {
-            csvRow.add(userCacheRecord.getUsername());
+            csvRow.add(userCacheRecord.getText(UserCacheRecordView.TextField.Username));
         }
         if (columnFilter.isUserDnVisible()) {
-            csvRow.add(userCacheRecord.getUserDN());
+            csvRow.add(userCacheRecord.getText(UserCacheRecordView.TextField.UserDN));
         }
         if (columnFilter.isLdapProfileVisible()) {
             csvRow.add(userCacheRecord.getLdapProfile());
         }
         if (columnFilter.isEmailVisible()) {
-            csvRow.add(userCacheRecord.getEmail());
+            csvRow.add(userCacheRecord.getText(UserCacheRecordView.TextField.Email));
         }
         if (columnFilter.isUserGuidVisible()) {
-            csvRow.add(userCacheRecord.getUserGUID());
+            csvRow.add(userCacheRecord.getText(UserCacheRecordView.TextField.UserGUID));
         }
         if (columnFilter.isAccountExpirationTimeVisible()) {
-            csvRow.add(userCacheRecord.getAccountExpirationTime() == null ? naField :
-                    JavaHelper.toIsoDate(userCacheRecord.getAccountExpirationTime()));
+            csvRow.add(formatTime(userCacheRecord, UserCacheRecordView.TimeField.AccountExpiration, naField));
         }
 
         if (columnFilter.isPasswordExpirationTimeVisible()) {
-            csvRow.add(userCacheRecord.getPasswordExpirationTime() == null ? naField :
-                    JavaHelper.toIsoDate(userCacheRecord.getPasswordExpirationTime()));
+            csvRow.add(formatTime(userCacheRecord, UserCacheRecordView.TimeField.PasswordExpiration, naField));
         }
 
         if (columnFilter.isPasswordChangeTimeVisible()) {
-            csvRow.add(userCacheRecord.getPasswordChangeTime() == null ? naField :
-                    JavaHelper.toIsoDate(userCacheRecord.getPasswordChangeTime()));
+            csvRow.add(formatTime(userCacheRecord, UserCacheRecordView.TimeField.PasswordChange, naField));
         }
 
         if (columnFilter.isResponseSetTimeVisible()) {
-            csvRow.add(userCacheRecord.getResponseSetTime() == null ? naField :
-                    JavaHelper.toIsoDate(userCacheRecord.getResponseSetTime()));
+            csvRow.add(formatTime(userCacheRecord, UserCacheRecordView.TimeField.ResponseSet, naField));
         }
 
         if (columnFilter.isLastLoginTimeVisible()) {
-            csvRow.add(userCacheRecord.getLastLoginTime() == null ? naField :
-                    JavaHelper.toIsoDate(userCacheRecord.getLastLoginTime()));
+            csvRow.add(formatTime(userCacheRecord, UserCacheRecordView.TimeField.LastLogin, naField));
         }
 
         if (columnFilter.isHasResponsesVisible()) {
-            csvRow.add(userCacheRecord.isHasResponses() ? trueField : falseField);
+            csvRow.add(userCacheRecord.getFlag(UserCacheRecordView.FlagField.HasResponses) ? trueField : falseField);
         }
         if (columnFilter.isHasHelpdeskResponsesVisible()) {
-            csvRow.add(userCacheRecord.isHasHelpdeskResponses() ? trueField : falseField);
+            csvRow.add(userCacheRecord.getFlag(UserCacheRecordView.FlagField.HasHelpdeskResponses) ? trueField : falseField);
         }
 
         if (columnFilter.isResponseStorageMethodVisible()) {
@@ -244,35 +234,60 @@ public class ReportCsvUtility {
         }
 
         if (columnFilter.isPasswordStatusExpiredVisible()) {
-            csvRow.add(userCacheRecord.getPasswordStatus().isExpired() ? trueField : falseField);
+            csvRow.add(userCacheRecord.getFlag(UserCacheRecordView.FlagField.PasswordExpired) ? trueField : falseField);
         }
         if (columnFilter.isPasswordStatusPreExpiredVisible()) {
-            csvRow.add(userCacheRecord.getPasswordStatus().isPreExpired() ? trueField : falseField);
+            csvRow.add(userCacheRecord.getFlag(UserCacheRecordView.FlagField.PasswordPreExpired) ? trueField : falseField);
         }
         if (columnFilter.isPasswordStatusViolatesPolicyVisible()) {
-            csvRow.add(userCacheRecord.getPasswordStatus().isViolatesPolicy() ? trueField : falseField);
+            csvRow.add(userCacheRecord.getFlag(UserCacheRecordView.FlagField.PasswordViolatesPolicy) ? trueField : falseField);
         }
         if (columnFilter.isPasswordStatusWarnPeriodVisible()) {
-            csvRow.add(userCacheRecord.getPasswordStatus().isWarnPeriod() ? trueField : falseField);
+            csvRow.add(userCacheRecord.getFlag(UserCacheRecordView.FlagField.PasswordWarnPeriod) ? trueField : falseField);
         }
         if (columnFilter.isRequiresPasswordUpdateVisible()) {
-            csvRow.add(userCacheRecord.isRequiresPasswordUpdate() ? trueField : falseField);
+            csvRow.add(userCacheRecord.getFlag(UserCacheRecordView.FlagField.RequiresPasswordUpdate) ? trueField : falseField);
         }
         if (columnFilter.isRequiresResponseUpdateVisible()) {
-            csvRow.add(userCacheRecord.isRequiresResponseUpdate() ? trueField : falseField);
+            csvRow.add(userCacheRecord.getFlag(UserCacheRecordView.FlagField.RequiresResponseUpdate) ? trueField : falseField);
         }
         if (columnFilter.isRequiresProfileUpdateVisible()) {
-            csvRow.add(userCacheRecord.isRequiresProfileUpdate() ? trueField : falseField);
+            csvRow.add(userCacheRecord.getFlag(UserCacheRecordView.FlagField.RequiresProfileUpdate) ? trueField : falseField);
         }
 
         if (columnFilter.isCacheTimestampVisible()) {
-            csvRow.add(userCacheRecord.getCacheTimestamp() == null ? naField :
-                    JavaHelper.toIsoDate(userCacheRecord.getCacheTimestamp()));
+            csvRow.add(formatTime(userCacheRecord, UserCacheRecordView.TimeField.CacheTimestamp, naField));
         }
 
         csvPrinter.printRecord(csvRow);
     }
 
+    private static String formatTime(final UserCacheRecordView userCacheRecord, final UserCacheRecordView.TimeField field, final String naField) {
+        final long value = userCacheRecord.getTime(field);
+        return value == UserCacheRecordView.NULL_TIME ? naField : JavaHelper.toIsoDate(Instant.ofEpochMilli(value));
+    }
+
+    /**
+     * Rows are read from the report column store when it is available, so only the selected columns are decoded.
+     */
+    private void visitRecords(final UserCacheColumnStore.RowVisitor visitor)
+            throws IOException
+    {
+        if (reportService != null && reportService.isColumnStoreReady()) {
+            reportService.visitRecords(visitor);
+            return;
+        }
+
+        try (ClosableIterator<UserCacheRecord> recordIterator = iterator()) {
+            while (recordIterator.hasNext()) {
+                final UserCacheRecord record = recordIterator.next();
+                if (record != null && !visitor.visit(record)) {
+                    return;
+                }
+            }
+        }
+    }
+
     public ReportService.RecordIterator<UserCacheRecord> iterator() {
         return reportService.iterator();
     }
@@ -0,0 +1,281 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+
+package password.pwm.svc.report;
+
+import lombok.Value;
+import password.pwm.bean.SessionLabel;
+import password.pwm.util.java.ConditionalTaskExecutor;
+import password.pwm.util.java.JavaHelper;
+import password.pwm.util.java.TimeDuration;
+import password.pwm.util.localdb.LocalDBException;
+import password.pwm.util.localdb.LocalDBStoredQueue;
+import password.pwm.util.logging.PwmLogger;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Processes the report work queue in three stages connected by bounded queues, so that a slow stage holds back the
+ * stages before it instead of accumulating work in memory.
+ * <ol>
+ *     <li>the calling thread drains the LocalDB work queue in batches,</li>
+ *     <li>a pool of threads reads each user from ldap,</li>
+ *     <li>a single thread writes completed records to the user cache in batches.</li>
+ * </ol>
+ *
+ * <p>Users removed from the work queue remain in flight until their record has been written, or their read has
+ * failed.  When the pipeline stops, because the work queue is empty or the {@link Handler} is no longer running, any
+ * users still in flight are returned to the work queue so a later run will process them.</p>
+ */
+class ReportProcessPipeline {
+    private static final PwmLogger LOGGER = PwmLogger.forClass(ReportProcessPipeline.class);
+
+    interface Handler {
+        boolean isRunning();
+
+        /**
+         * @return the record for the user, or null if the user could not be read, in which case the handler has already recorded the error.
+         */
+        UserCacheRecord readRecord(String delimitedKey);
+
+        /**
+         * Store a batch of records.  If the batch can not be stored, the users of the batch are returned to the work queue.
+         */
+        void writeRecords(List<UserCacheRecord> userCacheRecords) throws LocalDBException;
+
+        void publishStageInfo(Map<ReportStatusInfo.PipelineStage, ReportStatusInfo.StageInfo> stageInfo);
+    }
+
+    private final LocalDBStoredQueue workQueue;
+    private final String threadName;
+    private final int readThreads;
+    private final int batchSize;
+    private final Handler handler;
+
+    private final BlockingQueue<String> readQueue;
+    private final BlockingQueue<PipelineRecord> writeQueue;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final Map<ReportStatusInfo.PipelineStage, ReportStageMeter> stageMeters = new EnumMap<>(ReportStatusInfo.PipelineStage.class);
+    private final ConditionalTaskExecutor statusPublisher = new ConditionalTaskExecutor(
+            this::publishStatus,
+            new ConditionalTaskExecutor.TimeDurationPredicate(TimeDuration.SECOND)
+    );
+
+    private volatile boolean drainComplete;
+    private volatile boolean readComplete;
+
+    @Value
+    private static class PipelineRecord {
+        private final String delimitedKey;
+        private final UserCacheRecord userCacheRecord;
+    }
+
+    ReportProcessPipeline(
+            final LocalDBStoredQueue workQueue,
+            final String threadName,
+            final int readThreads,
+            final int batchSize,
+            final Handler handler
+    ) {
+        this.workQueue = workQueue;
+        this.threadName = threadName;
+        this.readThreads = readThreads;
+        this.batchSize = batchSize;
+        this.handler = handler;
+        this.readQueue = new ArrayBlockingQueue<>(batchSize + readThreads);
+        this.writeQueue = new ArrayBlockingQueue<>(batchSize * 2);
+        for (final ReportStatusInfo.PipelineStage pipelineStage : ReportStatusInfo.PipelineStage.values()) {
+            stageMeters.put(pipelineStage, new ReportStageMeter());
+        }
+    }
+
+    void execute() {
+        final ExecutorService readExecutor = Executors.newFixedThreadPool(readThreads, JavaHelper.makePwmThreadFactory(threadName + "-ldap-read-", true));
+        final ExecutorService writeExecutor = Executors.newSingleThreadExecutor(JavaHelper.makePwmThreadFactory(threadName + "-cache-write-", true));
+
+        try {
+            for (int i = 0; i < readThreads; i++) {
+                readExecutor.execute(this::readLoop);
+            }
+            writeExecutor.execute(this::writeLoop);
+            drainLoop();
+        } finally {
+            drainComplete = true;
+            awaitTermination(readExecutor);
+            readComplete = true;
+            awaitTermination(writeExecutor);
+            requeueInFlight();
+            publishStatus();
+        }
+    }
+
+    private void drainLoop() {
+        final ReportStageMeter meter = stageMeters.get(ReportStatusInfo.PipelineStage.QueueDrain);
+        try {
+            while (handler.isRunning()) {
+                final long drainStart = System.nanoTime();
+                final List<String> batch = workQueue.pollFirst(batchSize);
+                if (batch.isEmpty()) {
+                    return;
+                }
+                inFlight.addAll(batch);
+                meter.recordOperation(batch.size(), System.nanoTime() - drainStart);
+
+                final long waitStart = System.nanoTime();
+                for (final String delimitedKey : batch) {
+                    while (!readQueue.offer(delimitedKey, 1, TimeUnit.SECONDS)) {
+                        if (!handler.isRunning()) {
+                            return;
+                        }
+                    }
+                }
+                meter.recordOutputWait(System.nanoTime() - waitStart);
+                statusPublisher.conditionallyExecuteTask();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void readLoop() {
+        final ReportStageMeter meter = stageMeters.get(ReportStatusInfo.PipelineStage.LdapRead);
+        try {
+            while (handler.isRunning()) {
+                final long pollStart = System.nanoTime();
+                final String delimitedKey = readQueue.poll(100, TimeUnit.MILLISECONDS);
+                meter.recordInputWait(System.nanoTime() - pollStart);
+                if (delimitedKey == null) {
+                    if (drainComplete) {
+                        return;
+                    }
+                    continue;
+                }
+
+                final long readStart = System.nanoTime();
+                final UserCacheRecord userCacheRecord = handler.readRecord(delimitedKey);
+                meter.recordOperation(1, System.nanoTime() - readStart);
+
+                if (userCacheRecord == null) {
+                    inFlight.remove(delimitedKey);
+                    continue;
+                }
+
+                final long waitStart = System.nanoTime();
+                final PipelineRecord pipelineRecord = new PipelineRecord(delimitedKey, userCacheRecord);
+                while (!writeQueue.offer(pipelineRecord, 1, TimeUnit.SECONDS)) {
+                    if (!handler.isRunning()) {
+                        return;
+                    }
+                }
+                meter.recordOutputWait(System.nanoTime() - waitStart);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        final ReportStageMeter meter = stageMeters.get(ReportStatusInfo.PipelineStage.CacheWrite);
+        final List<PipelineRecord> batch = new ArrayList<>(batchSize);
+        final List<UserCacheRecord> userCacheRecords = new ArrayList<>(batchSize);
+        try {
+            while (handler.isRunning()) {
+                final long pollStart = System.nanoTime();
+                final PipelineRecord firstRecord = writeQueue.poll(100, TimeUnit.MILLISECONDS);
+                meter.recordInputWait(System.nanoTime() - pollStart);
+                if (firstRecord == null) {
+                    if (readComplete) {
+                        return;
+                    }
+                    continue;
+                }
+
+                batch.clear();
+                batch.add(firstRecord);
+                writeQueue.drainTo(batch, batchSize - 1);
+
+                userCacheRecords.clear();
+                for (final PipelineRecord pipelineRecord : batch) {
+                    userCacheRecords.add(pipelineRecord.getUserCacheRecord());
+                }
+
+                final long writeStart = System.nanoTime();
+                try {
+                    handler.writeRecords(userCacheRecords);
+                    for (final PipelineRecord pipelineRecord : batch) {
+                        inFlight.remove(pipelineRecord.getDelimitedKey());
+                    }
+                } catch (LocalDBException e) {
+                    LOGGER.error(SessionLabel.REPORTING_SESSION_LABEL, "unable to store batch of " + batch.size() + " report records, will be retried: " + e.getMessage());
+                }
+                meter.recordOperation(batch.size(), System.nanoTime() - writeStart);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void requeueInFlight() {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+
+        try {
+            workQueue.addAll(new ArrayList<>(inFlight));
+            LOGGER.debug(SessionLabel.REPORTING_SESSION_LABEL, "returned " + inFlight.size() + " unprocessed users to the report work queue");
+            inFlight.clear();
+        } catch (Exception e) {
+            LOGGER.error(SessionLabel.REPORTING_SESSION_LABEL, "unable to return " + inFlight.size() + " unprocessed users to the report work queue: " + e.getMessage());
+        }
+    }
+
+    private void publishStatus() {
+        final Map<ReportStatusInfo.PipelineStage, ReportStatusInfo.StageInfo> stageInfo = new EnumMap<>(ReportStatusInfo.PipelineStage.class);
+        for (final Map.Entry<ReportStatusInfo.PipelineStage, ReportStageMeter> entry : stageMeters.entrySet()) {
+            stageInfo.put(entry.getKey(), entry.getValue().toStageInfo());
+        }
+        handler.publishStageInfo(stageInfo);
+    }
+
+    private void awaitTermination(final ExecutorService executorService) {
+        executorService.shutdown();
+        try {
+            while (!executorService.awaitTermination(1, TimeUnit.MINUTES)) {
+                LOGGER.trace(SessionLabel.REPORTING_SESSION_LABEL, "waiting for report processing threads to complete");
+            }
+        } catch (InterruptedException e) {
+            executorService.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -32,6 +32,7 @@ import password.pwm.bean.SessionLabel;
 import password.pwm.bean.UserIdentity;
 import password.pwm.ldap.UserInfo;
 import password.pwm.config.PwmSetting;
+import password.pwm.config.profile.LdapProfile;
 import password.pwm.config.option.DataStorageMethod;
 import password.pwm.error.ErrorInformation;
 import password.pwm.error.PwmError;
@@ -44,7 +45,6 @@ import password.pwm.ldap.UserInfoFactory;
 import password.pwm.svc.PwmService;
 import password.pwm.svc.stats.EventRateMeter;
 import password.pwm.util.TransactionSizeCalculator;
-import password.pwm.util.java.BlockingThreadPool;
 import password.pwm.util.java.ClosableIterator;
 import password.pwm.util.java.JavaHelper;
 import password.pwm.util.java.JsonUtil;
@@ -54,21 +54,21 @@ import password.pwm.util.localdb.LocalDBException;
 import password.pwm.util.localdb.LocalDBStoredQueue;
 import password.pwm.util.logging.PwmLogger;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.MathContext;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 public class ReportService implements PwmService {
     private static final PwmLogger LOGGER = PwmLogger.forClass(ReportService.class);
@@ -85,7 +85,7 @@ public class ReportService implements PwmService {
     private UserCacheService userCacheService;
     private ReportSettings settings = new ReportSettings();
 
-    private Queue<String> dnQueue;
+    private LocalDBStoredQueue dnQueue;
 
     private final EventRateMeter eventRateMeter = new EventRateMeter(TimeDuration.MINUTE);
 
@@ -138,11 +138,7 @@ public class ReportService implements PwmService {
 
         dnQueue = LocalDBStoredQueue.createLocalDBStoredQueue(pwmApplication, pwmApplication.getLocalDB(), LocalDB.DB.REPORT_QUEUE);
 
-        executorService = Executors.newSingleThreadScheduledExecutor(
-                JavaHelper.makePwmThreadFactory(
-                        JavaHelper.makeThreadName(pwmApplication,this.getClass()) + "-",
-                        true
-                ));
+        executorService = JavaHelper.makeDedicatedThreadExecutorService(pwmApplication, this.getClass());
 
 
         final String startupMsg = "report service started";
@@ -199,7 +195,7 @@ public class ReportService implements PwmService {
                         )
                 {
                     executorService.execute(new ClearTask());
-                    executorService.execute(new ReadLDAPTask());
+                    executorService.execute(new ReadLDAPTask(false));
                     LOGGER.trace(SessionLabel.REPORTING_SESSION_LABEL,"submitted new ldap dredge task to executorService");
                 }
             }
@@ -209,6 +205,9 @@ public class ReportService implements PwmService {
             {
                 cancelFlag = true;
                 clearWorkQueue();
+
+                // users discarded from the work queue would be skipped by the next incremental refresh.
+                reportStatus.clearHighWaterMarks();
             }
             break;
 
@@ -315,6 +314,38 @@ public class ReportService implements PwmService {
     }
 
 
+    boolean isColumnStoreReady() {
+        return userCacheService != null && userCacheService.isColumnStoreReady();
+    }
+
+    /**
+     * Visit every current cached record.  Records are read from the report column store when it is available, otherwise
+     * each record is read from LocalDB.
+     */
+    void visitRecords(final UserCacheColumnStore.RowVisitor visitor)
+            throws IOException
+    {
+        if (userCacheService.isColumnStoreReady()) {
+            userCacheService.scanColumnStore(row -> isExpiredRecord(row) || visitor.visit(row));
+            return;
+        }
+
+        try (ClosableIterator<UserCacheRecord> recordIterator = iterator()) {
+            while (recordIterator.hasNext()) {
+                final UserCacheRecord record = recordIterator.next();
+                if (record != null && !visitor.visit(record)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean isExpiredRecord(final UserCacheRecordView record) {
+        final long cacheTimestamp = record.getTime(UserCacheRecordView.TimeField.CacheTimestamp);
+        return cacheTimestamp == UserCacheRecordView.NULL_TIME
+                || System.currentTimeMillis() - cacheTimestamp > settings.getMaxCacheAge().getTotalMilliseconds();
+    }
+
     public ReportSummaryData getSummaryData() {
         return summaryData;
     }
@@ -358,6 +389,12 @@ public class ReportService implements PwmService {
     }
 
     private class ReadLDAPTask implements Runnable {
+        private final boolean incremental;
+
+        ReadLDAPTask(final boolean incremental) {
+            this.incremental = incremental;
+        }
+
         @Override
         public void run()
         {
@@ -365,12 +402,16 @@ public class ReportService implements PwmService {
             try {
                 readUserListFromLdap();
                 executorService.execute(new ProcessWorkQueueTask());
+                if (incremental) {
+                    // summary day windows are relative to the current time, so rebuild rather than adjust by deltas.
+                    executorService.execute(new RolloverTask());
+                }
             } catch (Exception e) {
                 if (e instanceof PwmException) {
                     if (((PwmException) e).getErrorInformation().getError() == PwmError.ERROR_DIRECTORY_UNAVAILABLE) {
                         if (executorService != null) {
                             LOGGER.error(SessionLabel.REPORTING_SESSION_LABEL, "directory unavailable error during background SearchLDAP, will retry; error: " + e.getMessage());
-                            executorService.schedule(new ReadLDAPTask(), 10, TimeUnit.MINUTES);
+                            executorService.schedule(new ReadLDAPTask(incremental), 10, TimeUnit.MINUTES);
                         }
                     } else {
                         LOGGER.error(SessionLabel.REPORTING_SESSION_LABEL, "error during background ReadData: " + e.getMessage());
@@ -385,20 +426,19 @@ public class ReportService implements PwmService {
                 throws ChaiUnavailableException, ChaiOperationException, PwmUnrecoverableException, PwmOperationalException
         {
             final Instant startTime = Instant.now();
-            LOGGER.trace("beginning ldap search process");
+            LOGGER.trace("beginning " + (incremental ? "incremental" : "full") + " ldap search process");
 
             resetJobStatus();
-            clearWorkQueue();
-
-            final Iterator<UserIdentity> memQueue = LdapOperationsHelper.readAllUsersFromLdap(
-                    pwmApplication,
-                    SessionLabel.REPORTING_SESSION_LABEL,
-                    settings.getSearchFilter(),
-                    settings.getMaxSearchSize()
-            );
-
+            if (incremental) {
+                // queued users from an interrupted run are kept, their changes are older than the high water mark.
+                reportStatus.setCount(0);
+                reportStatus.setJobDuration(TimeDuration.ZERO);
+            } else {
+                clearWorkQueue();
 
-            LOGGER.trace("completed ldap search process, transferring search results to work queue");
+                // profiles skipped by this sweep must not be refreshed incrementally from an older mark.
+                reportStatus.clearHighWaterMarks();
+            }
 
             final TransactionSizeCalculator transactionCalculator = new TransactionSizeCalculator(
                     new TransactionSizeCalculator.SettingsBuilder()
@@ -408,17 +448,90 @@ public class ReportService implements PwmService {
                             .createSettings()
             );
 
-            while (status == STATUS.OPEN && !cancelFlag && memQueue.hasNext()) {
-                final Instant loopStart = Instant.now();
-                final List<String> bufferList = new ArrayList<>();
-                final int loopCount = transactionCalculator.getTransactionSize();
-                for (int i = 0; i < loopCount && memQueue.hasNext(); i++) {
-                    bufferList.add(memQueue.next().toDelimitedKey());
+            final Collection<LdapProfile> ldapProfiles = pwmApplication.getConfig().getLdapProfiles().values();
+            final boolean ignoreUnreachableProfiles = pwmApplication.getConfig().readSettingAsBoolean(PwmSetting.LDAP_IGNORE_UNREACHABLE_PROFILES);
+            boolean allProfilesRead = true;
+            int resultCount = 0;
+
+            for (final LdapProfile ldapProfile : ldapProfiles) {
+                if (status != STATUS.OPEN || cancelFlag) {
+                    return;
+                }
+
+                final int remainingResults = settings.getMaxSearchSize() > 0 ? settings.getMaxSearchSize() - resultCount : 0;
+                if (settings.getMaxSearchSize() > 0 && remainingResults <= 0) {
+                    break;
                 }
-                dnQueue.addAll(bufferList);
-                transactionCalculator.recordLastTransactionDuration(TimeDuration.fromCurrent(loopStart));
+
+                final Instant profileStartTime = Instant.now();
+                final Instant modifiedSince = incremental
+                        ? reportStatus.getHighWaterMarks().get(ldapProfile.getIdentifier()).minusMillis(settings.getClockSkewAllowance().getTotalMilliseconds())
+                        : null;
+
+                try {
+                    resultCount += readProfileUsers(ldapProfile, modifiedSince, remainingResults, transactionCalculator);
+                } catch (PwmUnrecoverableException e) {
+                    if (e.getError() == PwmError.ERROR_DIRECTORY_UNAVAILABLE && ignoreUnreachableProfiles && ldapProfiles.size() > 1) {
+                        LOGGER.error(SessionLabel.REPORTING_SESSION_LABEL, "skipping unreachable ldap profile " + ldapProfile.getIdentifier()
+                                + " during report ldap search: " + e.getMessage());
+                        allProfilesRead = false;
+                        continue;
+                    }
+                    throw e;
+                }
+
+                if (status != STATUS.OPEN || cancelFlag) {
+                    return;
+                }
+
+                reportStatus.setHighWaterMark(ldapProfile.getIdentifier(), profileStartTime);
             }
-            LOGGER.trace("completed transfer of ldap search results to work queue in " + TimeDuration.fromCurrent(startTime).asCompactString());
+
+            if (!incremental && allProfilesRead) {
+                reportStatus.setLastFullSweep(startTime);
+            }
+
+            LOGGER.trace("completed transfer of " + resultCount + " ldap search results to work queue in " + TimeDuration.fromCurrent(startTime).asCompactString());
+        }
+
+        private int readProfileUsers(
+                final LdapProfile ldapProfile,
+                final Instant modifiedSince,
+                final int maxResults,
+                final TransactionSizeCalculator transactionCalculator
+        )
+                throws ChaiUnavailableException, ChaiOperationException, PwmUnrecoverableException, PwmOperationalException
+        {
+            // search results are streamed from ldap one page at a time directly into the work queue.
+            int resultCount = 0;
+            try (ClosableIterator<UserIdentity> searchResults = LdapOperationsHelper.readUsersFromLdap(
+                    pwmApplication,
+                    SessionLabel.REPORTING_SESSION_LABEL,
+                    settings.getSearchFilter(),
+                    maxResults,
+                    ldapProfile,
+                    modifiedSince
+            )) {
+                while (status == STATUS.OPEN && !cancelFlag && searchResults.hasNext()) {
+                    final Instant loopStart = Instant.now();
+                    final List<String> bufferList = new ArrayList<>();
+                    final int loopCount = transactionCalculator.getTransactionSize();
+                    for (int i = 0; i < loopCount && searchResults.hasNext(); i++) {
+                        bufferList.add(searchResults.next().toDelimitedKey());
+                    }
+                    dnQueue.addAll(bufferList);
+                    resultCount += bufferList.size();
+                    transactionCalculator.recordLastTransactionDuration(TimeDuration.fromCurrent(loopStart));
+                }
+            } catch (IllegalStateException e) {
+                throw LdapOperationsHelper.unwrapSearchIteratorException(e);
+            }
+
+            if (modifiedSince != null) {
+                LOGGER.debug(SessionLabel.REPORTING_SESSION_LABEL, "found " + resultCount + " users in ldap profile "
+                        + ldapProfile.getIdentifier() + " modified since " + modifiedSince.toString());
+            }
+            return resultCount;
         }
     }
 
@@ -446,7 +559,7 @@ public class ReportService implements PwmService {
         }
 
         private void processWorkQueue()
-                throws ChaiUnavailableException, ChaiOperationException, PwmOperationalException, PwmUnrecoverableException
+                throws PwmUnrecoverableException
         {
             LOGGER.debug(SessionLabel.REPORTING_SESSION_LABEL, "beginning process to updating user cache records from ldap");
             if (status != STATUS.OPEN) {
@@ -465,62 +578,16 @@ public class ReportService implements PwmService {
 
             final boolean pauseBetweenIterations = settings.getReportJobIntensity() == ReportSettings.JobIntensity.LOW;
 
-            final Lock updateTimeLock = new ReentrantLock();
-
             try {
-                LOGGER.trace(SessionLabel.REPORTING_SESSION_LABEL, "about to begin ldap processing with thread count of " + threadCount);
-                final BlockingThreadPool threadService = new BlockingThreadPool(threadCount, "reporting-thread");
-                while (status == STATUS.OPEN && !dnQueue.isEmpty() && !cancelFlag) {
-                    final UserIdentity userIdentity = UserIdentity.fromDelimitedKey(dnQueue.poll());
-                    if (pwmApplication.getConfig().isDevDebugMode()) {
-                        LOGGER.trace(SessionLabel.REPORTING_SESSION_LABEL, "submit " + Instant.now().toString()
-                                + " size=" + threadService.getQueue().size());
-                    }
-                    threadService.blockingSubmit(() -> {
-                        if (pwmApplication.getConfig().isDevDebugMode()) {
-                            LOGGER.trace(SessionLabel.REPORTING_SESSION_LABEL, "start " + Instant.now().toString()
-                                    + " size=" + threadService.getQueue().size());
-                        }
-                        try {
-                            final Instant startUpdateTime = Instant.now();
-                            updateCachedRecordFromLdap(userIdentity);
-                            reportStatus.setCount(reportStatus.getCount() + 1);
-                            eventRateMeter.markEvents(1);
-                            final TimeDuration totalUpdateTime = TimeDuration.fromCurrent(startUpdateTime);
-                            avgTracker.addSample(totalUpdateTime.getTotalMilliseconds());
-
-                            try {
-                                updateTimeLock.lock();
-                                final TimeDuration scaledTime = new TimeDuration(totalUpdateTime.getTotalMilliseconds() / threadCount);
-                                reportStatus.setJobDuration(reportStatus.getJobDuration().add(scaledTime));
-                            } finally {
-                                updateTimeLock.unlock();
-                            }
-
-                            if (pauseBetweenIterations) {
-                                JavaHelper.pause(avgTracker.avgAsLong());
-                            }
-                        } catch (Exception e) {
-                            String errorMsg = "error while updating report cache for " + userIdentity.toString() + ", cause: ";
-                            errorMsg += e instanceof PwmException ? ((PwmException) e).getErrorInformation().toDebugStr() : e.getMessage();
-                            final ErrorInformation errorInformation;
-                            errorInformation = new ErrorInformation(PwmError.ERROR_REPORTING_ERROR,errorMsg);
-                            LOGGER.error(SessionLabel.REPORTING_SESSION_LABEL,errorInformation.toDebugStr(), e);
-                            reportStatus.setLastError(errorInformation);
-                            reportStatus.setErrors(reportStatus.getErrors() + 1);
-                        }
-                        if (pwmApplication.getConfig().isDevDebugMode()) {
-                            LOGGER.trace(SessionLabel.REPORTING_SESSION_LABEL, "finish " + Instant.now().toString()
-                                    + " size=" + threadService.getQueue().size());
-                        }
-                    });
-                }
-                if (pwmApplication.getConfig().isDevDebugMode()) {
-                    LOGGER.trace(SessionLabel.REPORTING_SESSION_LABEL, "exit " + Instant.now().toString()
-                            + " size=" + threadService.getQueue().size());
-                }
-
-                JavaHelper.closeAndWaitExecutor(threadService, TimeDuration.SECONDS_10);
+                LOGGER.trace(SessionLabel.REPORTING_SESSION_LABEL, "about to begin ldap processing with thread count of " + threadCount
+                        + " and batch size of " + settings.getPipelineBatchSize());
+                new ReportProcessPipeline(
+                        dnQueue,
+                        JavaHelper.makeThreadName(pwmApplication, ReportService.class),
+                        threadCount,
+                        settings.getPipelineBatchSize(),
+                        new PipelineHandler(pauseBetweenIterations)
+                ).execute();
 
                 if (cancelFlag) {
                     reportStatus.setLastError(new ErrorInformation(PwmError.ERROR_SERVICE_NOT_AVAILABLE,"report cancelled by operator"));
@@ -531,36 +598,105 @@ public class ReportService implements PwmService {
             }
             LOGGER.debug(SessionLabel.REPORTING_SESSION_LABEL,"update user cache process completed: " + JsonUtil.serialize(reportStatus));
         }
+    }
+
+    /**
+     * Reads users from ldap and stores their records for the {@link ReportProcessPipeline}, keeping the report status
+     * and summary data current as records are written.
+     */
+    private class PipelineHandler implements ReportProcessPipeline.Handler {
+        private final boolean pauseBetweenReads;
+        private final Instant startTime = Instant.now();
+        private final TimeDuration previousJobDuration = reportStatus.getJobDuration() == null ? TimeDuration.ZERO : reportStatus.getJobDuration();
+
+        PipelineHandler(final boolean pauseBetweenReads) {
+            this.pauseBetweenReads = pauseBetweenReads;
+        }
 
+        @Override
+        public boolean isRunning() {
+            return status == STATUS.OPEN && !cancelFlag;
+        }
 
+        @Override
+        public UserCacheRecord readRecord(final String delimitedKey) {
+            final Instant readStart = Instant.now();
+            try {
+                final UserIdentity userIdentity = UserIdentity.fromDelimitedKey(delimitedKey);
+                final ChaiProvider chaiProvider = pwmApplication.getProxyChaiProvider(userIdentity.getLdapProfileID());
+                final UserInfo userInfo = UserInfoFactory.newUserInfo(
+                        pwmApplication,
+                        SessionLabel.REPORTING_SESSION_LABEL,
+                        PwmConstants.DEFAULT_LOCALE,
+                        userIdentity,
+                        chaiProvider
+                );
+                final UserCacheRecord userCacheRecord = new UserCacheRecord();
+                userCacheRecord.addUiBeanData(userInfo);
+                return userCacheRecord;
+            } catch (Exception e) {
+                recordError(delimitedKey, e);
+            } finally {
+                avgTracker.addSample(TimeDuration.fromCurrent(readStart).getTotalMilliseconds());
+                if (pauseBetweenReads) {
+                    JavaHelper.pause(avgTracker.avgAsLong());
+                }
+            }
+            return null;
+        }
 
-        private void updateCachedRecordFromLdap(final UserIdentity userIdentity)
-                throws ChaiUnavailableException, PwmUnrecoverableException, LocalDBException
+        @Override
+        public void writeRecords(final List<UserCacheRecord> userCacheRecords)
+                throws LocalDBException
         {
-            if (status != STATUS.OPEN) {
-                return;
+            final Map<UserCacheService.StorageKey, UserCacheRecord> storageRecords = new LinkedHashMap<>();
+            for (final UserCacheRecord userCacheRecord : userCacheRecords) {
+                try {
+                    final UserCacheService.StorageKey storageKey = UserCacheService.StorageKey.fromUserGUID(userCacheRecord.getUserGUID(), pwmApplication);
+
+                    // a user appearing twice in one batch has already had its stored record removed from the summary
+                    if (!storageRecords.containsKey(storageKey)) {
+                        final UserCacheRecord previousRecord = userCacheService.readStorageKey(storageKey);
+                        if (previousRecord != null) {
+                            summaryData.remove(previousRecord);
+                        }
+                    }
+                    storageRecords.put(storageKey, userCacheRecord);
+                } catch (Exception e) {
+                    recordError(userCacheRecord.getUserDN(), e);
+                }
             }
 
-            final UserCacheService.StorageKey storageKey = UserCacheService.StorageKey.fromUserIdentity(pwmApplication, userIdentity);
-            final UserCacheRecord userCacheRecord = userCacheService.readStorageKey(storageKey);
+            try {
+                userCacheService.storeAll(storageRecords);
+            } catch (LocalDBException e) {
+                recordError(storageRecords.size() + " records", e);
+                throw e;
+            }
 
-            if (userCacheRecord != null) {
-                summaryData.remove(userCacheRecord);
+            for (final UserCacheRecord userCacheRecord : storageRecords.values()) {
+                summaryData.update(userCacheRecord);
             }
-            final ChaiProvider chaiProvider = pwmApplication.getProxyChaiProvider(userIdentity.getLdapProfileID());
-            final UserInfo userInfo = UserInfoFactory.newUserInfo(
-                    pwmApplication,
-                    SessionLabel.REPORTING_SESSION_LABEL,
-                    PwmConstants.DEFAULT_LOCALE,
-                    userIdentity,
-                    chaiProvider
-            );
-            final UserCacheRecord newUserCacheRecord = userCacheService.updateUserCache(userInfo);
 
-            userCacheService.store(newUserCacheRecord);
-            summaryData.update(newUserCacheRecord);
+            reportStatus.setCount(reportStatus.getCount() + storageRecords.size());
+            reportStatus.setJobDuration(previousJobDuration.add(TimeDuration.fromCurrent(startTime)));
+            eventRateMeter.markEvents(storageRecords.size());
+        }
 
-            LOGGER.trace(SessionLabel.REPORTING_SESSION_LABEL,"stored cache for " + userIdentity);
+        @Override
+        public void publishStageInfo(final Map<ReportStatusInfo.PipelineStage, ReportStatusInfo.StageInfo> stageInfo) {
+            reportStatus.setStageInfo(stageInfo);
+        }
+
+        private void recordError(final String recordDescription, final Exception e) {
+            String errorMsg = "error while updating report cache for " + recordDescription + ", cause: ";
+            errorMsg += e instanceof PwmException ? ((PwmException) e).getErrorInformation().toDebugStr() : e.getMessage();
+            final ErrorInformation errorInformation = new ErrorInformation(PwmError.ERROR_REPORTING_ERROR, errorMsg);
+            LOGGER.error(SessionLabel.REPORTING_SESSION_LABEL, errorInformation.toDebugStr(), e);
+            synchronized (reportStatus) {
+                reportStatus.setLastError(errorInformation);
+                reportStatus.setErrors(reportStatus.getErrors() + 1);
+            }
         }
     }
 
@@ -578,44 +714,98 @@ public class ReportService implements PwmService {
         }
 
         private void updateRestingCacheData() {
+            if (userCacheService.isColumnStoreEnabled() && !userCacheService.isColumnStoreReady()) {
+                userCacheService.rebuildColumnStore(ReportService.this::isExpiredRecord);
+            }
+
             final Instant startTime = Instant.now();
-            int examinedRecords = 0;
+            final int totalRecords = userCacheService.size();
+            LOGGER.debug(SessionLabel.REPORTING_SESSION_LABEL, "beginning cache review process of " + totalRecords + " records");
 
-            try (ClosableIterator<UserCacheRecord> iterator = iterator()) {
-                final int totalRecords = userCacheService.size();
-                LOGGER.debug(SessionLabel.REPORTING_SESSION_LABEL, "beginning cache review process of " + totalRecords + " records");
-                Instant lastLogOutputTime = Instant.now();
+            final SummaryVisitor summaryVisitor = new SummaryVisitor(startTime);
+            try {
+                visitRecords(summaryVisitor);
+            } catch (IOException e) {
+                LOGGER.error(SessionLabel.REPORTING_SESSION_LABEL, "error during cache review process: " + e.getMessage());
+            }
 
-                while (!cancelFlag && iterator.hasNext() && status == STATUS.OPEN) {
-                    final UserCacheRecord record = iterator.next(); // (purge routine is embedded in next();
+            final TimeDuration totalTime = TimeDuration.fromCurrent(startTime);
+            LOGGER.info(SessionLabel.REPORTING_SESSION_LABEL,
+                    "completed cache review process of " + summaryVisitor.examinedRecords
+                            + " cached report records in " + totalTime.asCompactString());
+        }
+    }
 
-                    if (summaryData != null && record != null) {
-                        summaryData.update(record);
-                    }
+    private class SummaryVisitor implements UserCacheColumnStore.RowVisitor {
+        private final Instant startTime;
+        private int examinedRecords = 0;
+        private Instant lastLogOutputTime = Instant.now();
 
-                    examinedRecords++;
+        SummaryVisitor(final Instant startTime) {
+            this.startTime = startTime;
+        }
 
-                    if (TimeDuration.fromCurrent(lastLogOutputTime).isLongerThan(30, TimeUnit.SECONDS)) {
-                        final TimeDuration progressDuration = TimeDuration.fromCurrent(startTime);
-                        LOGGER.trace(SessionLabel.REPORTING_SESSION_LABEL,
-                                "cache review process in progress, examined " + examinedRecords
-                                        + " in " + progressDuration.asCompactString());
-                        lastLogOutputTime = Instant.now();
-                    }
-                }
-                final TimeDuration totalTime = TimeDuration.fromCurrent(startTime);
-                LOGGER.info(SessionLabel.REPORTING_SESSION_LABEL,
-                        "completed cache review process of " + examinedRecords
-                                + " cached report records in " + totalTime.asCompactString());
+        @Override
+        public boolean visit(final UserCacheRecordView record) {
+            if (cancelFlag || status != STATUS.OPEN) {
+                return false;
+            }
+
+            if (summaryData != null) {
+                summaryData.update(record);
             }
+
+            examinedRecords++;
+
+            if (TimeDuration.fromCurrent(lastLogOutputTime).isLongerThan(30, TimeUnit.SECONDS)) {
+                final TimeDuration progressDuration = TimeDuration.fromCurrent(startTime);
+                LOGGER.trace(SessionLabel.REPORTING_SESSION_LABEL,
+                        "cache review process in progress, examined " + examinedRecords
+                                + " in " + progressDuration.asCompactString());
+                lastLogOutputTime = Instant.now();
+            }
+            return true;
         }
     }
 
     private class DailyJobExecuteTask implements Runnable {
         @Override
         public void run() {
-            executorService.execute(new ClearTask());
-            executorService.execute(new ReadLDAPTask());
+            if (incrementalRefreshPossible()) {
+                LOGGER.debug(SessionLabel.REPORTING_SESSION_LABEL, "beginning incremental report refresh, last full sweep was at "
+                        + reportStatus.getLastFullSweep().toString());
+                executorService.execute(new ReadLDAPTask(true));
+            } else {
+                executorService.execute(new ClearTask());
+                executorService.execute(new ReadLDAPTask(false));
+            }
+        }
+
+        /**
+         * An incremental refresh only reads entries whose ldap modify timestamp is newer than the last search, so it
+         * can not detect deleted users or changes to data stored outside of the directory.  A full sweep is required
+         * periodically to catch those, and before unchanged records would be purged for exceeding the max cache age.
+         * Status computed when a record was read, such as password expired or warn period, is also only refreshed
+         * for unchanged users by a full sweep, which is why incremental refresh is disabled by default.
+         */
+        private boolean incrementalRefreshPossible() {
+            if (!settings.isIncrementalRefresh()) {
+                return false;
+            }
+
+            final Instant lastFullSweep = reportStatus.getLastFullSweep();
+            if (lastFullSweep == null) {
+                return false;
+            }
+
+            final TimeDuration fullSweepInterval = settings.getFullSweepInterval().isShorterThan(settings.getMaxCacheAge())
+                    ? settings.getFullSweepInterval()
+                    : settings.getMaxCacheAge();
+            if (TimeDuration.fromCurrent(lastFullSweep).isLongerThan(fullSweepInterval)) {
+                return false;
+            }
+
+            return reportStatus.getHighWaterMarks().keySet().containsAll(pwmApplication.getConfig().getLdapProfiles().keySet());
         }
     }
 
@@ -688,6 +878,8 @@ public class ReportService implements PwmService {
                 userCacheService.clear();
             }
             summaryData = ReportSummaryData.newSummaryData(settings.getTrackDays());
+
+            // the new status has no high water marks or last full sweep, so the next refresh is a full sweep.
             reportStatus = new ReportStatusInfo(settings.getSettingsHash());
             LOGGER.debug(SessionLabel.REPORTING_SESSION_LABEL,"finished clearing report " + TimeDuration.fromCurrent(startTime).asCompactString());
         }
@@ -36,6 +36,7 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 class ReportSettings implements Serializable {
     private static final PwmLogger LOGGER = PwmLogger.forClass(ReportSettings.class);
@@ -48,6 +49,13 @@ class ReportSettings implements Serializable {
     private int reportJobThreads = 1;
     private JobIntensity reportJobIntensity = JobIntensity.LOW;
 
+    // transient so tuning the batch size does not change the settings hash and clear the cached report data.
+    private transient int pipelineBatchSize = 100;
+
+    private transient boolean incrementalRefresh = false;
+    private transient TimeDuration fullSweepInterval = new TimeDuration(TimeDuration.DAY.getTotalMilliseconds() * 7);
+    private transient TimeDuration clockSkewAllowance = new TimeDuration(10, TimeUnit.MINUTES);
+
     public enum JobIntensity {
         LOW,
         MEDIUM,
@@ -71,7 +79,13 @@ class ReportSettings implements Serializable {
 
         settings.trackDays = parseDayIntervalStr(config);
 
-        settings.reportJobThreads = Integer.parseInt(config.readAppProperty(AppProperty.REPORTING_LDAP_SEARCH_THREADS));
+        settings.reportJobThreads = config.readAppPropertyInt(AppProperty.REPORTING_LDAP_SEARCH_THREADS);
+
+        settings.pipelineBatchSize = Math.max(1, config.readAppPropertyInt(AppProperty.REPORTING_PIPELINE_BATCH_SIZE));
+
+        settings.incrementalRefresh = config.readAppPropertyBoolean(AppProperty.REPORTING_INCREMENTAL_ENABLE);
+        settings.fullSweepInterval = new TimeDuration(config.readAppPropertyLong(AppProperty.REPORTING_INCREMENTAL_FULL_SWEEP_INTERVAL_MS));
+        settings.clockSkewAllowance = new TimeDuration(config.readAppPropertyLong(AppProperty.REPORTING_INCREMENTAL_CLOCK_SKEW_MS));
 
         settings.reportJobIntensity = config.readSettingAsEnum(PwmSetting.REPORTING_JOB_INTENSITY, JobIntensity.class);
 
@@ -127,6 +141,22 @@ class ReportSettings implements Serializable {
         return reportJobIntensity;
     }
 
+    public int getPipelineBatchSize() {
+        return pipelineBatchSize;
+    }
+
+    public boolean isIncrementalRefresh() {
+        return incrementalRefresh;
+    }
+
+    public TimeDuration getFullSweepInterval() {
+        return fullSweepInterval;
+    }
+
+    public TimeDuration getClockSkewAllowance() {
+        return clockSkewAllowance;
+    }
+
     public String getSettingsHash()
             throws PwmUnrecoverableException 
     {
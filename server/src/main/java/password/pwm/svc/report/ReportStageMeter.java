@@ -0,0 +1,67 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+
+package password.pwm.svc.report;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread safe counters for one stage of the report processing pipeline.
+ */
+class ReportStageMeter {
+    private final long startNanos = System.nanoTime();
+    private final LongAdder items = new LongAdder();
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder operationNanos = new LongAdder();
+    private final LongAdder inputWaitNanos = new LongAdder();
+    private final LongAdder outputWaitNanos = new LongAdder();
+
+    void recordOperation(final int itemCount, final long durationNanos) {
+        items.add(itemCount);
+        operations.increment();
+        operationNanos.add(durationNanos);
+    }
+
+    void recordInputWait(final long durationNanos) {
+        inputWaitNanos.add(durationNanos);
+    }
+
+    void recordOutputWait(final long durationNanos) {
+        outputWaitNanos.add(durationNanos);
+    }
+
+    ReportStatusInfo.StageInfo toStageInfo() {
+        final long itemCount = items.sum();
+        final long operationCount = operations.sum();
+        final long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+        return ReportStatusInfo.StageInfo.builder()
+                .items(itemCount)
+                .operations(operationCount)
+                .averageLatencyMs(operationCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(operationNanos.sum() / operationCount))
+                .inputWaitMs(TimeUnit.NANOSECONDS.toMillis(inputWaitNanos.sum()))
+                .outputWaitMs(TimeUnit.NANOSECONDS.toMillis(outputWaitNanos.sum()))
+                .itemsPerSecond((float) (itemCount * TimeUnit.SECONDS.toNanos(1) / (double) elapsedNanos))
+                .build();
+    }
+}
@@ -22,11 +22,16 @@
 
 package password.pwm.svc.report;
 
+import lombok.Builder;
+import lombok.Value;
 import password.pwm.error.ErrorInformation;
 import password.pwm.util.java.TimeDuration;
 
 import java.io.Serializable;
 import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class ReportStatusInfo implements Serializable {
     private TimeDuration jobDuration = TimeDuration.ZERO;
@@ -36,6 +41,9 @@ public class ReportStatusInfo implements Serializable {
     private ErrorInformation lastError;
     private String settingsHash;
     private ReportEngineProcess currentProcess = ReportEngineProcess.None;
+    private volatile Map<PipelineStage, StageInfo> stageInfo = Collections.emptyMap();
+    private volatile Map<String, Instant> highWaterMarks = Collections.emptyMap();
+    private Instant lastFullSweep;
 
     public enum ReportEngineProcess {
         RollOver("Initializing"),
@@ -58,6 +66,40 @@ public class ReportStatusInfo implements Serializable {
     }
 
 
+    public enum PipelineStage {
+        QueueDrain("Work Queue"),
+        LdapRead("LDAP Read"),
+        CacheWrite("LocalDB Write"),
+
+        ;
+
+        private final String label;
+
+        PipelineStage(final String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /**
+     * Throughput and latency of one stage of the report processing pipeline.  A stage that spends most of its time
+     * blocked on output is being held back by the next stage; a stage that spends most of its time waiting on input
+     * is faster than the stage before it.
+     */
+    @Value
+    @Builder
+    public static class StageInfo implements Serializable {
+        private final long items;
+        private final long operations;
+        private final long averageLatencyMs;
+        private final long inputWaitMs;
+        private final long outputWaitMs;
+        private final float itemsPerSecond;
+    }
+
     public ReportStatusInfo(final String settingsHash) {
         this.settingsHash = settingsHash;
     }
@@ -114,4 +156,38 @@ public class ReportStatusInfo implements Serializable {
     public void setCurrentProcess(final ReportEngineProcess currentProcess) {
         this.currentProcess = currentProcess;
     }
+
+    public Map<PipelineStage, StageInfo> getStageInfo() {
+        return stageInfo == null ? Collections.emptyMap() : stageInfo;
+    }
+
+    public void setStageInfo(final Map<PipelineStage, StageInfo> stageInfo) {
+        this.stageInfo = Collections.unmodifiableMap(new LinkedHashMap<>(stageInfo));
+    }
+
+    /**
+     * Start time of the most recent ldap search of each ldap profile, keyed by ldap profile identifier.  Entries modified
+     * after the high water mark have not yet been read into the report cache.
+     */
+    public Map<String, Instant> getHighWaterMarks() {
+        return highWaterMarks == null ? Collections.emptyMap() : highWaterMarks;
+    }
+
+    public void setHighWaterMark(final String ldapProfileID, final Instant highWaterMark) {
+        final Map<String, Instant> newMarks = new LinkedHashMap<>(getHighWaterMarks());
+        newMarks.put(ldapProfileID, highWaterMark);
+        this.highWaterMarks = Collections.unmodifiableMap(newMarks);
+    }
+
+    public void clearHighWaterMarks() {
+        this.highWaterMarks = Collections.emptyMap();
+    }
+
+    public Instant getLastFullSweep() {
+        return lastFullSweep;
+    }
+
+    public void setLastFullSweep(final Instant lastFullSweep) {
+        this.lastFullSweep = lastFullSweep;
+    }
 }
@@ -129,176 +129,119 @@ public class ReportSummaryData {
         return meanCacheTime;
     }
 
-    void update(final UserCacheRecord userCacheRecord) {
+    void update(final UserCacheRecordView userCacheRecord) {
         update(userCacheRecord, true);
     }
 
-    void remove(final UserCacheRecord userCacheRecord) {
+    void remove(final UserCacheRecordView userCacheRecord) {
         update(userCacheRecord,false);
     }
 
-    private void update(final UserCacheRecord userCacheRecord, final boolean adding) {
+    private void update(final UserCacheRecordView userCacheRecord, final boolean adding) {
         final int modifier = adding ? 1 : -1;
+        final long now = System.currentTimeMillis();
 
         totalUsers.addAndGet(modifier);
 
-        updateMeanTime(userCacheRecord.cacheTimestamp,adding);
+        updateMeanTime(userCacheRecord.getTime(UserCacheRecordView.TimeField.CacheTimestamp),adding);
 
-        if (userCacheRecord.hasResponses) {
+        if (userCacheRecord.getFlag(UserCacheRecordView.FlagField.HasResponses)) {
             hasResponses.addAndGet(modifier);
         }
 
-        if (userCacheRecord.hasHelpdeskResponses) {
+        if (userCacheRecord.getFlag(UserCacheRecordView.FlagField.HasHelpdeskResponses)) {
             hasHelpdeskResponses.addAndGet(modifier);
         }
 
-        if (userCacheRecord.responseSetTime != null) {
-            hasResponseSetTime.addAndGet(modifier);
+        updateTimeField(userCacheRecord.getTime(UserCacheRecordView.TimeField.ResponseSet), hasResponseSetTime, responseSetDays, now, modifier);
+        updateTimeField(userCacheRecord.getTime(UserCacheRecordView.TimeField.PasswordExpiration), hasPasswordExpirationTime, pwExpireDays, now, modifier);
+        updateTimeField(userCacheRecord.getTime(UserCacheRecordView.TimeField.AccountExpiration), hasAccountExpirationTime, accountExpireDays, now, modifier);
+        updateTimeField(userCacheRecord.getTime(UserCacheRecordView.TimeField.LastLogin), hasLoginTime, loginDays, now, modifier);
+        updateTimeField(userCacheRecord.getTime(UserCacheRecordView.TimeField.PasswordChange), hasChangePwTime, changePwDays, now, modifier);
 
-            for (final Map.Entry<Integer,AtomicInteger> entry : responseSetDays.entrySet()) {
-                final Integer day = entry.getKey();
-                entry.getValue().addAndGet(calcTimeWindow(userCacheRecord.responseSetTime, MS_DAY * day, adding));
+        if (userCacheRecord.getFlag(UserCacheRecordView.FlagField.HasPasswordStatus)) {
+            if (userCacheRecord.getFlag(UserCacheRecordView.FlagField.PasswordExpired)) {
+                pwExpired.addAndGet(modifier);
             }
-        }
-
-        if (userCacheRecord.passwordExpirationTime != null) {
-            hasPasswordExpirationTime.addAndGet(modifier);
-
-            for (final Map.Entry<Integer,AtomicInteger> entry : pwExpireDays.entrySet()) {
-                final Integer day = entry.getKey();
-                entry.getValue().addAndGet(calcTimeWindow(userCacheRecord.passwordExpirationTime, MS_DAY * day, adding));
-            }
-        }
-
-        if (userCacheRecord.accountExpirationTime != null) {
-            hasAccountExpirationTime.addAndGet(modifier);
-
-            for (final Map.Entry<Integer,AtomicInteger> entry : accountExpireDays.entrySet()) {
-                final Integer day = entry.getKey();
-                entry.getValue().addAndGet(calcTimeWindow(userCacheRecord.accountExpirationTime, MS_DAY * day, adding));
-            }
-        }
-
-        if (userCacheRecord.lastLoginTime != null) {
-            hasLoginTime.addAndGet(modifier);
-
-            for (final Map.Entry<Integer,AtomicInteger> entry : loginDays.entrySet()) {
-                final Integer day = entry.getKey();
-                entry.getValue().addAndGet(calcTimeWindow(userCacheRecord.lastLoginTime, MS_DAY * day, adding));
+            if (userCacheRecord.getFlag(UserCacheRecordView.FlagField.PasswordPreExpired)) {
+                pwPreExpired.addAndGet(modifier);
             }
-        }
-
-        if (userCacheRecord.passwordChangeTime != null) {
-            hasChangePwTime.addAndGet(modifier);
-
-            for (final Map.Entry<Integer,AtomicInteger> entry : changePwDays.entrySet()) {
-                final Integer day = entry.getKey();
-                entry.getValue().addAndGet(calcTimeWindow(userCacheRecord.passwordChangeTime, MS_DAY * day, adding));
-            }
-        }
-
-        if (userCacheRecord.passwordStatus != null) {
-            if (adding) {
-                if (userCacheRecord.passwordStatus.isExpired()) {
-                    pwExpired.incrementAndGet();
-                }
-                if (userCacheRecord.passwordStatus.isPreExpired()) {
-                    pwPreExpired.incrementAndGet();
-                }
-                if (userCacheRecord.passwordStatus.isWarnPeriod()) {
-                    pwWarnPeriod.incrementAndGet();
-                }
-            } else {
-                if (userCacheRecord.passwordStatus.isExpired()) {
-                    pwExpired.decrementAndGet();
-                }
-                if (userCacheRecord.passwordStatus.isPreExpired()) {
-                    pwPreExpired.decrementAndGet();
-                }
-                if (userCacheRecord.passwordStatus.isWarnPeriod()) {
-                    pwWarnPeriod.decrementAndGet();
-                }
+            if (userCacheRecord.getFlag(UserCacheRecordView.FlagField.PasswordWarnPeriod)) {
+                pwWarnPeriod.addAndGet(modifier);
             }
         }
 
-        if (userCacheRecord.responseStorageMethod != null) {
-            final DataStorageMethod method = userCacheRecord.responseStorageMethod;
-            responseStorage.putIfAbsent(method, new AtomicInteger(0));
-            if (adding) {
-                responseStorage.get(method).incrementAndGet();
-            } else {
-                responseStorage.get(method).decrementAndGet();
-            }
+        if (userCacheRecord.getResponseStorageMethod() != null) {
+            final DataStorageMethod method = userCacheRecord.getResponseStorageMethod();
+            responseStorage.computeIfAbsent(method, k -> new AtomicInteger(0)).addAndGet(modifier);
         }
 
         if (userCacheRecord.getLdapProfile() != null) {
             final String userProfile = userCacheRecord.getLdapProfile();
-            if (!ldapProfile.containsKey(userProfile)) {
-                ldapProfile.put(userProfile,new AtomicInteger(0));
-            }
-            if (adding) {
-                ldapProfile.get(userProfile).incrementAndGet();
-            } else {
-                ldapProfile.get(userProfile).decrementAndGet();
-            }
+            ldapProfile.computeIfAbsent(userProfile, k -> new AtomicInteger(0)).addAndGet(modifier);
         }
 
-        if (userCacheRecord.responseFormatType != null) {
-            final Answer.FormatType type = userCacheRecord.responseFormatType;
-            responseFormatType.putIfAbsent(type, new AtomicInteger(0));
-            if (adding) {
-                responseFormatType.get(type).incrementAndGet();
-            } else {
-                responseFormatType.get(type).decrementAndGet();
-            }
+        if (userCacheRecord.getResponseFormatType() != null) {
+            final Answer.FormatType type = userCacheRecord.getResponseFormatType();
+            responseFormatType.computeIfAbsent(type, k -> new AtomicInteger(0)).addAndGet(modifier);
         }
 
-        if (userCacheRecord.isHasOtpSecret()) {
+        if (userCacheRecord.getFlag(UserCacheRecordView.FlagField.HasOtpSecret)) {
             hasOtpSecret.addAndGet(modifier);
         }
 
-        if (userCacheRecord.getOtpSecretSetTime() != null) {
-            hasOtpSecretSetTime.addAndGet(modifier);
+        updateTimeField(userCacheRecord.getTime(UserCacheRecordView.TimeField.OtpSecretSet), hasOtpSecretSetTime, otpSetDays, now, modifier);
+    }
+
+    private static void updateTimeField(
+            final long eventTime,
+            final AtomicInteger hasValueCounter,
+            final Map<Integer, AtomicInteger> dayCounters,
+            final long now,
+            final int modifier
+    )
+    {
+        if (eventTime == UserCacheRecordView.NULL_TIME) {
+            return;
+        }
+
+        hasValueCounter.addAndGet(modifier);
 
-            for (final Map.Entry<Integer, AtomicInteger> entry : otpSetDays.entrySet()) {
-                final int day = entry.getKey();
-                entry.getValue().addAndGet(calcTimeWindow(userCacheRecord.getOtpSecretSetTime(), MS_DAY * day, adding));
+        for (final Map.Entry<Integer,AtomicInteger> entry : dayCounters.entrySet()) {
+            final Integer day = entry.getKey();
+            if (isInTimeWindow(eventTime, now, MS_DAY * day)) {
+                entry.getValue().addAndGet(modifier);
             }
         }
     }
 
-    private void updateMeanTime(final Instant newTime, final boolean adding) {
+    private void updateMeanTime(final long newTime, final boolean adding) {
+        if (newTime == UserCacheRecordView.NULL_TIME) {
+            return;
+        }
+
         if (meanCacheTime == null) {
             if (adding) {
-                meanCacheTime = newTime;
+                meanCacheTime = Instant.ofEpochMilli(newTime);
             }
             return;
         }
 
         final BigInteger currentMillis = BigInteger.valueOf(meanCacheTime.toEpochMilli());
-        final BigInteger newMillis = BigInteger.valueOf(newTime.toEpochMilli());
+        final BigInteger newMillis = BigInteger.valueOf(newTime);
         final BigInteger combinedMillis = currentMillis.add(newMillis);
         final BigInteger halvedMillis = combinedMillis.divide(TWO);
         meanCacheTime = Instant.ofEpochMilli(halvedMillis.longValue());
     }
 
-    private int calcTimeWindow(final Instant eventDate, final long timeWindow, final boolean adding) {
-        if (eventDate == null) {
-            return 0;
-        }
-
-        final TimeDuration timeBoundary = new TimeDuration(0,timeWindow);
-        final TimeDuration eventDifference = TimeDuration.fromCurrent(eventDate);
-
-        if (timeWindow >= 0 && eventDate.isAfter(Instant.now()) && eventDifference.isShorterThan(timeBoundary)) {
-            return adding ? 1 : -1;
-        }
+    private static boolean isInTimeWindow(final long eventTime, final long now, final long timeWindow) {
+        final long eventDifference = Math.abs(now - eventTime);
 
-        if (timeWindow < 0 && eventDate.isBefore(Instant.now()) && eventDifference.isShorterThan(timeBoundary)) {
-            return adding ? 1 : -1;
+        if (timeWindow >= 0 && eventTime > now && eventDifference < timeWindow) {
+            return true;
         }
 
-        return 0;
+        return timeWindow < 0 && eventTime < now && eventDifference < -timeWindow;
     }
 
 
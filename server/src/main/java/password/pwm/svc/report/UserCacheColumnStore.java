@@ -0,0 +1,427 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package password.pwm.svc.report;
+
+import com.novell.ldapchai.cr.Answer;
+import password.pwm.config.option.DataStorageMethod;
+import password.pwm.util.logging.PwmLogger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Columnar copy of the reported fields of the user cache, held in memory-mapped files under the LocalDB directory.
+ * Each field is stored in its own file indexed by row slot: times as epoch millisecond longs, booleans as bitsets,
+ * enumerations and the ldap profile as bytes, and text as offsets into an append-only heap file.
+ *
+ * <p>The store is derived data.  It is created empty on every open and is populated from the LocalDB user cache, so
+ * the files never need to be recovered or migrated.  Text replaced by an update is not reclaimed until the store is
+ * cleared or re-opened.</p>
+ *
+ * <p>{@link #scan(RowVisitor)} presents each row through a single reusable {@link UserCacheRecordView}, so reading
+ * the primitive columns does not create any per-row objects.</p>
+ */
+class UserCacheColumnStore {
+    private static final PwmLogger LOGGER = PwmLogger.forClass(UserCacheColumnStore.class);
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MAX_LDAP_PROFILES = 255;
+
+    private static final DataStorageMethod[] STORAGE_METHODS = DataStorageMethod.values();
+    private static final Answer.FormatType[] FORMAT_TYPES = Answer.FormatType.values();
+
+    private enum ByteField {
+        LdapProfile,
+        ResponseStorageMethod,
+        ResponseFormatType,
+    }
+
+    private final File directory;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> slotsByKey = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final List<String> ldapProfiles = new ArrayList<>();
+
+    private final MappedFile presentColumn;
+    private final Map<UserCacheRecordView.TimeField, MappedFile> timeColumns = new EnumMap<>(UserCacheRecordView.TimeField.class);
+    private final Map<UserCacheRecordView.FlagField, MappedFile> flagColumns = new EnumMap<>(UserCacheRecordView.FlagField.class);
+    private final Map<ByteField, MappedFile> byteColumns = new EnumMap<>(ByteField.class);
+    private final Map<UserCacheRecordView.TextField, MappedFile> textColumns = new EnumMap<>(UserCacheRecordView.TextField.class);
+    private final MappedFile textHeap;
+
+    private int capacity;
+    private int slotCount;
+    private long heapSize;
+
+    interface RowVisitor {
+        /**
+         * @param row view of the current row, only valid for the duration of the call
+         * @return false to stop the scan
+         */
+        boolean visit(UserCacheRecordView row) throws IOException;
+    }
+
+    private UserCacheColumnStore(final File directory) throws IOException {
+        this.directory = directory;
+        this.capacity = INITIAL_CAPACITY;
+
+        presentColumn = new MappedFile(new File(directory, "present.col"), bitsetBytes(capacity));
+        for (final UserCacheRecordView.TimeField field : UserCacheRecordView.TimeField.values()) {
+            timeColumns.put(field, new MappedFile(new File(directory, "time-" + field + ".col"), (long) capacity * Long.BYTES));
+        }
+        for (final UserCacheRecordView.FlagField field : UserCacheRecordView.FlagField.values()) {
+            flagColumns.put(field, new MappedFile(new File(directory, "flag-" + field + ".col"), bitsetBytes(capacity)));
+        }
+        for (final ByteField field : ByteField.values()) {
+            byteColumns.put(field, new MappedFile(new File(directory, "byte-" + field + ".col"), capacity));
+        }
+        for (final UserCacheRecordView.TextField field : UserCacheRecordView.TextField.values()) {
+            textColumns.put(field, new MappedFile(new File(directory, "text-" + field + ".col"), (long) capacity * Long.BYTES));
+        }
+        textHeap = new MappedFile(new File(directory, "text.heap"), capacity * 64L);
+    }
+
+    /**
+     * Open a new, empty store in a sub-directory of {@code parentDirectory}.  Each instance uses its own directory
+     * because the files of a previous instance may still be mapped until they are garbage collected; stale
+     * directories are removed when possible.
+     */
+    static UserCacheColumnStore open(final File parentDirectory) throws IOException {
+        if (!parentDirectory.exists() && !parentDirectory.mkdirs()) {
+            throw new IOException("unable to create report column store directory " + parentDirectory.getAbsolutePath());
+        }
+
+        final File[] staleDirectories = parentDirectory.listFiles(File::isDirectory);
+        if (staleDirectories != null) {
+            for (final File staleDirectory : staleDirectories) {
+                deleteDirectory(staleDirectory);
+            }
+        }
+
+        final File directory = new File(parentDirectory, Long.toString(System.currentTimeMillis(), 36));
+        if (!directory.mkdirs()) {
+            throw new IOException("unable to create report column store directory " + directory.getAbsolutePath());
+        }
+
+        LOGGER.trace("opening report column store in " + directory.getAbsolutePath());
+        return new UserCacheColumnStore(directory);
+    }
+
+    void put(final String key, final UserCacheRecordView record) throws IOException {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsByKey.get(key);
+            if (slot == null) {
+                slot = freeSlots.isEmpty() ? allocateSlot() : freeSlots.pop();
+                slotsByKey.put(key, slot);
+            }
+            writeRow(slot, record);
+            setBit(presentColumn, slot, true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(final String key) {
+        lock.writeLock().lock();
+        try {
+            final Integer slot = slotsByKey.remove(key);
+            if (slot != null) {
+                setBit(presentColumn, slot, false);
+                freeSlots.push(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            slotsByKey.clear();
+            freeSlots.clear();
+            ldapProfiles.clear();
+            slotCount = 0;
+            heapSize = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return slotsByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Visit every row of the store.  The read lock is held only while each row is visited, so writers are not
+     * blocked for the duration of a long scan; rows written during the scan may or may not be visited.
+     */
+    void scan(final RowVisitor visitor) throws IOException {
+        final ColumnRow row = new ColumnRow();
+        int slot = 0;
+        while (true) {
+            lock.readLock().lock();
+            try {
+                if (slot >= slotCount) {
+                    return;
+                }
+                if (getBit(presentColumn, slot)) {
+                    row.slot = slot;
+                    if (!visitor.visit(row)) {
+                        return;
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            slot++;
+        }
+    }
+
+    void close() {
+        lock.writeLock().lock();
+        try {
+            presentColumn.close();
+            timeColumns.values().forEach(MappedFile::close);
+            flagColumns.values().forEach(MappedFile::close);
+            byteColumns.values().forEach(MappedFile::close);
+            textColumns.values().forEach(MappedFile::close);
+            textHeap.close();
+            slotsByKey.clear();
+            slotCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        deleteDirectory(directory);
+    }
+
+    private int allocateSlot() throws IOException {
+        if (slotCount >= capacity) {
+            if (capacity > Integer.MAX_VALUE / 2) {
+                throw new IOException("report column store is full");
+            }
+            capacity = capacity * 2;
+            presentColumn.ensureSize(bitsetBytes(capacity));
+            for (final MappedFile column : timeColumns.values()) {
+                column.ensureSize((long) capacity * Long.BYTES);
+            }
+            for (final MappedFile column : flagColumns.values()) {
+                column.ensureSize(bitsetBytes(capacity));
+            }
+            for (final MappedFile column : byteColumns.values()) {
+                column.ensureSize(capacity);
+            }
+            for (final MappedFile column : textColumns.values()) {
+                column.ensureSize((long) capacity * Long.BYTES);
+            }
+        }
+        return slotCount++;
+    }
+
+    private void writeRow(final int slot, final UserCacheRecordView record) throws IOException {
+        for (final Map.Entry<UserCacheRecordView.TimeField, MappedFile> entry : timeColumns.entrySet()) {
+            entry.getValue().buffer.putLong(slot * Long.BYTES, record.getTime(entry.getKey()));
+        }
+        for (final Map.Entry<UserCacheRecordView.FlagField, MappedFile> entry : flagColumns.entrySet()) {
+            setBit(entry.getValue(), slot, record.getFlag(entry.getKey()));
+        }
+        for (final Map.Entry<UserCacheRecordView.TextField, MappedFile> entry : textColumns.entrySet()) {
+            entry.getValue().buffer.putLong(slot * Long.BYTES, appendText(record.getText(entry.getKey())));
+        }
+
+        byteColumns.get(ByteField.LdapProfile).buffer.put(slot, ldapProfileIndex(record.getLdapProfile()));
+        byteColumns.get(ByteField.ResponseStorageMethod).buffer.put(slot, ordinalByte(record.getResponseStorageMethod()));
+        byteColumns.get(ByteField.ResponseFormatType).buffer.put(slot, ordinalByte(record.getResponseFormatType()));
+    }
+
+    /**
+     * @return the heap offset of the text plus one, or zero for a null value
+     */
+    private long appendText(final String value) throws IOException {
+        if (value == null) {
+            return 0;
+        }
+
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        final long offset = heapSize;
+        final long requiredSize = offset + Integer.BYTES + bytes.length;
+        if (requiredSize > textHeap.buffer.capacity()) {
+            textHeap.ensureSize(Math.max(requiredSize, (long) textHeap.buffer.capacity() * 2));
+        }
+
+        final MappedByteBuffer buffer = textHeap.buffer;
+        buffer.putInt((int) offset, bytes.length);
+        for (int i = 0; i < bytes.length; i++) {
+            buffer.put((int) offset + Integer.BYTES + i, bytes[i]);
+        }
+        heapSize = requiredSize;
+        return offset + 1;
+    }
+
+    private String readText(final long heapReference) {
+        if (heapReference == 0) {
+            return null;
+        }
+
+        final int offset = (int) (heapReference - 1);
+        final MappedByteBuffer buffer = textHeap.buffer;
+        final byte[] bytes = new byte[buffer.getInt(offset)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(offset + Integer.BYTES + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private byte ldapProfileIndex(final String ldapProfile) throws IOException {
+        if (ldapProfile == null) {
+            return 0;
+        }
+        int index = ldapProfiles.indexOf(ldapProfile);
+        if (index < 0) {
+            if (ldapProfiles.size() >= MAX_LDAP_PROFILES) {
+                throw new IOException("too many ldap profiles for report column store");
+            }
+            ldapProfiles.add(ldapProfile);
+            index = ldapProfiles.size() - 1;
+        }
+        return (byte) (index + 1);
+    }
+
+    private static byte ordinalByte(final Enum<?> value) {
+        return value == null ? 0 : (byte) (value.ordinal() + 1);
+    }
+
+    private static long bitsetBytes(final int slots) {
+        return (slots + 7) / 8;
+    }
+
+    private static boolean getBit(final MappedFile column, final int slot) {
+        return (column.buffer.get(slot >>> 3) & (1 << (slot & 7))) != 0;
+    }
+
+    private static void setBit(final MappedFile column, final int slot, final boolean value) {
+        final int index = slot >>> 3;
+        final int mask = 1 << (slot & 7);
+        final byte current = column.buffer.get(index);
+        column.buffer.put(index, (byte) (value ? current | mask : current & ~mask));
+    }
+
+    private static void deleteDirectory(final File directory) {
+        final File[] files = directory.listFiles();
+        if (files != null) {
+            for (final File file : files) {
+                if (!file.delete()) {
+                    LOGGER.trace("unable to delete report column store file " + file.getAbsolutePath());
+                }
+            }
+        }
+        if (!directory.delete()) {
+            LOGGER.trace("unable to delete report column store directory " + directory.getAbsolutePath());
+        }
+    }
+
+    private class ColumnRow implements UserCacheRecordView {
+        private int slot;
+
+        @Override
+        public long getTime(final TimeField field) {
+            return timeColumns.get(field).buffer.getLong(slot * Long.BYTES);
+        }
+
+        @Override
+        public boolean getFlag(final FlagField field) {
+            return getBit(flagColumns.get(field), slot);
+        }
+
+        @Override
+        public String getText(final TextField field) {
+            return readText(textColumns.get(field).buffer.getLong(slot * Long.BYTES));
+        }
+
+        @Override
+        public String getLdapProfile() {
+            final int index = byteColumns.get(ByteField.LdapProfile).buffer.get(slot) & 0xFF;
+            return index == 0 ? null : ldapProfiles.get(index - 1);
+        }
+
+        @Override
+        public DataStorageMethod getResponseStorageMethod() {
+            final int ordinal = byteColumns.get(ByteField.ResponseStorageMethod).buffer.get(slot) & 0xFF;
+            return ordinal == 0 ? null : STORAGE_METHODS[ordinal - 1];
+        }
+
+        @Override
+        public Answer.FormatType getResponseFormatType() {
+            final int ordinal = byteColumns.get(ByteField.ResponseFormatType).buffer.get(slot) & 0xFF;
+            return ordinal == 0 ? null : FORMAT_TYPES[ordinal - 1];
+        }
+    }
+
+    private static class MappedFile {
+        private final File file;
+        private final FileChannel channel;
+        private MappedByteBuffer buffer;
+
+        MappedFile(final File file, final long initialSize) throws IOException {
+            this.file = file;
+            this.channel = FileChannel.open(file.toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, initialSize);
+        }
+
+        void ensureSize(final long size) throws IOException {
+            if (size > buffer.capacity()) {
+                if (size > Integer.MAX_VALUE) {
+                    throw new IOException("report column store file " + file.getName() + " would exceed maximum size");
+                }
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            }
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOGGER.trace("error closing report column store file " + file.getName() + ": " + e.getMessage());
+            }
+        }
+    }
+}
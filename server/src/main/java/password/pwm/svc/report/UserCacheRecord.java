@@ -36,7 +36,7 @@ import java.time.Instant;
 
 @Getter
 @Setter(AccessLevel.PRIVATE)
-public class UserCacheRecord implements Serializable {
+public class UserCacheRecord implements Serializable, UserCacheRecordView {
     public String userDN;
     public String ldapProfile;
     public String userGUID;
@@ -114,4 +114,80 @@ public class UserCacheRecord implements Serializable {
         );
     }
 
+    @Override
+    public long getTime(final TimeField field) {
+        final Instant value;
+        switch (field) {
+            case CacheTimestamp:
+                value = cacheTimestamp;
+                break;
+            case PasswordExpiration:
+                value = passwordExpirationTime;
+                break;
+            case PasswordChange:
+                value = passwordChangeTime;
+                break;
+            case LastLogin:
+                value = lastLoginTime;
+                break;
+            case AccountExpiration:
+                value = accountExpirationTime;
+                break;
+            case ResponseSet:
+                value = responseSetTime;
+                break;
+            case OtpSecretSet:
+                value = otpSecretSetTime;
+                break;
+            default:
+                throw new IllegalArgumentException("unknown time field " + field);
+        }
+        return value == null ? NULL_TIME : value.toEpochMilli();
+    }
+
+    @Override
+    public boolean getFlag(final FlagField field) {
+        switch (field) {
+            case HasResponses:
+                return hasResponses;
+            case HasHelpdeskResponses:
+                return hasHelpdeskResponses;
+            case HasOtpSecret:
+                return hasOtpSecret;
+            case RequiresPasswordUpdate:
+                return requiresPasswordUpdate;
+            case RequiresResponseUpdate:
+                return requiresResponseUpdate;
+            case RequiresProfileUpdate:
+                return requiresProfileUpdate;
+            case HasPasswordStatus:
+                return passwordStatus != null;
+            case PasswordExpired:
+                return passwordStatus != null && passwordStatus.isExpired();
+            case PasswordPreExpired:
+                return passwordStatus != null && passwordStatus.isPreExpired();
+            case PasswordViolatesPolicy:
+                return passwordStatus != null && passwordStatus.isViolatesPolicy();
+            case PasswordWarnPeriod:
+                return passwordStatus != null && passwordStatus.isWarnPeriod();
+            default:
+                throw new IllegalArgumentException("unknown flag field " + field);
+        }
+    }
+
+    @Override
+    public String getText(final TextField field) {
+        switch (field) {
+            case UserDN:
+                return userDN;
+            case Username:
+                return username;
+            case Email:
+                return email;
+            case UserGUID:
+                return userGUID;
+            default:
+                throw new IllegalArgumentException("unknown text field " + field);
+        }
+    }
 }
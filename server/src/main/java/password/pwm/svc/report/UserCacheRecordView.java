@@ -0,0 +1,81 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package password.pwm.svc.report;
+
+import com.novell.ldapchai.cr.Answer;
+import password.pwm.config.option.DataStorageMethod;
+
+/**
+ * Read-only view of the reported fields of a user cache record.  Implemented by {@link UserCacheRecord} and by the
+ * rows of {@link UserCacheColumnStore}, so that summaries and exports can be computed from either without
+ * converting between them.
+ */
+interface UserCacheRecordView {
+    /**
+     * Value returned by {@link #getTime(TimeField)} when the record has no value for the field.
+     */
+    long NULL_TIME = Long.MIN_VALUE;
+
+    enum TimeField {
+        CacheTimestamp,
+        PasswordExpiration,
+        PasswordChange,
+        LastLogin,
+        AccountExpiration,
+        ResponseSet,
+        OtpSecretSet,
+    }
+
+    enum FlagField {
+        HasResponses,
+        HasHelpdeskResponses,
+        HasOtpSecret,
+        RequiresPasswordUpdate,
+        RequiresResponseUpdate,
+        RequiresProfileUpdate,
+        HasPasswordStatus,
+        PasswordExpired,
+        PasswordPreExpired,
+        PasswordViolatesPolicy,
+        PasswordWarnPeriod,
+    }
+
+    enum TextField {
+        UserDN,
+        Username,
+        Email,
+        UserGUID,
+    }
+
+    long getTime(TimeField field);
+
+    boolean getFlag(FlagField field);
+
+    String getText(TextField field);
+
+    String getLdapProfile();
+
+    DataStorageMethod getResponseStorageMethod();
+
+    Answer.FormatType getResponseFormatType();
+}
@@ -24,6 +24,8 @@ package password.pwm.svc.report;
 
 import com.google.gson.JsonSyntaxException;
 import com.novell.ldapchai.exception.ChaiUnavailableException;
+import lombok.EqualsAndHashCode;
+import password.pwm.AppProperty;
 import password.pwm.PwmApplication;
 import password.pwm.bean.UserIdentity;
 import password.pwm.ldap.UserInfo;
@@ -35,19 +37,30 @@ import password.pwm.ldap.LdapOperationsHelper;
 import password.pwm.svc.PwmService;
 import password.pwm.util.java.ClosableIterator;
 import password.pwm.util.java.JsonUtil;
+import password.pwm.util.java.TimeDuration;
 import password.pwm.util.localdb.LocalDB;
 import password.pwm.util.localdb.LocalDBException;
 import password.pwm.util.logging.PwmLogger;
 import password.pwm.util.secure.SecureService;
 
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 public class UserCacheService implements PwmService {
 
     private static final PwmLogger LOGGER = PwmLogger.forClass(UserCacheService.class);
 
+    private static final String COLUMN_STORE_DIRECTORY = "reportColumns";
+
     private CacheStoreWrapper cacheStore;
+    private UserCacheColumnStore columnStore;
+    private volatile boolean columnStoreReady;
     private STATUS status;
 
     private PwmApplication pwmApplication;
@@ -87,6 +100,10 @@ public class UserCacheService implements PwmService {
     public boolean removeStorageKey(final StorageKey storageKey)
             throws LocalDBException
     {
+        final UserCacheColumnStore columnStore = this.columnStore;
+        if (columnStore != null) {
+            columnStore.remove(storageKey.getKey());
+        }
         return cacheStore.remove(storageKey);
     }
 
@@ -95,12 +112,113 @@ public class UserCacheService implements PwmService {
     {
         final StorageKey storageKey = StorageKey.fromUserGUID(userCacheRecord.getUserGUID(), pwmApplication);
         cacheStore.write(storageKey, userCacheRecord);
+        updateColumnStore(Collections.singletonMap(storageKey, userCacheRecord));
+    }
+
+    public void storeAll(final Map<StorageKey, UserCacheRecord> userCacheRecords)
+            throws LocalDBException
+    {
+        cacheStore.writeAll(userCacheRecords);
+        updateColumnStore(userCacheRecords);
     }
 
     public void clear()
             throws LocalDBException
     {
         cacheStore.clear();
+        final UserCacheColumnStore columnStore = this.columnStore;
+        if (columnStore != null) {
+            columnStore.clear();
+            columnStoreReady = true;
+        }
+    }
+
+    /**
+     * @return true if the column store is enabled and holds a copy of every cached record
+     */
+    boolean isColumnStoreReady() {
+        return columnStore != null && columnStoreReady;
+    }
+
+    boolean isColumnStoreEnabled() {
+        return columnStore != null;
+    }
+
+    /**
+     * Populate the column store from the records held in LocalDB, purging records that match {@code purgeFilter}.
+     * Must not be called while records are being written by report processing.
+     */
+    void rebuildColumnStore(final Predicate<UserCacheRecord> purgeFilter) {
+        final UserCacheColumnStore columnStore = this.columnStore;
+        if (columnStore == null) {
+            return;
+        }
+
+        final Instant startTime = Instant.now();
+        int recordCount = 0;
+        int purgeCount = 0;
+        try (UserStatusCacheBeanIterator<StorageKey> iterator = iterator()) {
+            while (status == STATUS.OPEN && iterator.hasNext()) {
+                final StorageKey storageKey = iterator.next();
+                final UserCacheRecord record = readStorageKey(storageKey);
+                if (record != null) {
+                    if (purgeFilter.test(record)) {
+                        cacheStore.remove(storageKey);
+                        purgeCount++;
+                    } else {
+                        columnStore.put(storageKey.getKey(), record);
+                        recordCount++;
+                    }
+                }
+            }
+        } catch (LocalDBException | IOException e) {
+            disableColumnStore(e);
+            return;
+        }
+
+        if (status == STATUS.OPEN) {
+            columnStoreReady = true;
+            LOGGER.debug("populated report column store with " + recordCount + " records (purged " + purgeCount
+                    + " expired records) in " + TimeDuration.compactFromCurrent(startTime));
+        }
+    }
+
+    /**
+     * Visit each row of the column store.  Must only be called when {@link #isColumnStoreReady()} is true.
+     */
+    void scanColumnStore(final UserCacheColumnStore.RowVisitor visitor)
+            throws IOException
+    {
+        final UserCacheColumnStore columnStore = this.columnStore;
+        if (columnStore == null) {
+            throw new IOException("report column store is not available");
+        }
+        columnStore.scan(visitor);
+    }
+
+    private void updateColumnStore(final Map<StorageKey, UserCacheRecord> userCacheRecords) {
+        final UserCacheColumnStore columnStore = this.columnStore;
+        if (columnStore == null) {
+            return;
+        }
+
+        try {
+            for (final Map.Entry<StorageKey, UserCacheRecord> entry : userCacheRecords.entrySet()) {
+                columnStore.put(entry.getKey().getKey(), entry.getValue());
+            }
+        } catch (IOException e) {
+            disableColumnStore(e);
+        }
+    }
+
+    private void disableColumnStore(final Exception e) {
+        LOGGER.error("error updating report column store, reports will be read from LocalDB records: " + e.getMessage());
+        final UserCacheColumnStore columnStore = this.columnStore;
+        this.columnStore = null;
+        columnStoreReady = false;
+        if (columnStore != null) {
+            columnStore.close();
+        }
     }
 
     public UserStatusCacheBeanIterator<StorageKey> iterator() {
@@ -112,7 +230,7 @@ public class UserCacheService implements PwmService {
         }
     }
 
-    public class UserStatusCacheBeanIterator<K extends StorageKey> implements ClosableIterator {
+    public class UserStatusCacheBeanIterator<K extends StorageKey> implements ClosableIterator<StorageKey> {
 
         private LocalDB.LocalDBIterator<String> innerIterator;
 
@@ -142,11 +260,27 @@ public class UserCacheService implements PwmService {
         status = STATUS.OPENING;
         this.pwmApplication = pwmApplication;
         this.cacheStore = new CacheStoreWrapper(pwmApplication.getLocalDB());
+
+        final File localDBDirectory = pwmApplication.getLocalDB().getFileLocation();
+        if (localDBDirectory != null && pwmApplication.getConfig().readAppPropertyBoolean(AppProperty.REPORTING_COLUMN_STORE_ENABLE)) {
+            try {
+                columnStore = UserCacheColumnStore.open(new File(localDBDirectory, COLUMN_STORE_DIRECTORY));
+            } catch (IOException e) {
+                LOGGER.error("unable to open report column store, reports will be read from LocalDB records: " + e.getMessage());
+            }
+        }
+
         status = STATUS.OPEN;
     }
 
     public void close() {
         status = STATUS.CLOSED;
+        final UserCacheColumnStore columnStore = this.columnStore;
+        this.columnStore = null;
+        columnStoreReady = false;
+        if (columnStore != null) {
+            columnStore.close();
+        }
     }
 
     public List<HealthRecord> healthCheck() {
@@ -163,6 +297,7 @@ public class UserCacheService implements PwmService {
         return cacheStore.size();
     }
 
+    @EqualsAndHashCode
     public static class StorageKey {
         private String key;
 
@@ -193,7 +328,7 @@ public class UserCacheService implements PwmService {
             return fromUserGUID(userGUID, pwmApplication);
         }
 
-        private static StorageKey fromUserGUID(final String userGUID, final PwmApplication pwmApplication)
+        static StorageKey fromUserGUID(final String userGUID, final PwmApplication pwmApplication)
                 throws PwmUnrecoverableException
         {
             final SecureService secureService = pwmApplication.getSecureService();
@@ -218,6 +353,16 @@ public class UserCacheService implements PwmService {
             localDB.put(DB,key.getKey(),jsonValue);
         }
 
+        private void writeAll(final Map<StorageKey, UserCacheRecord> cacheBeans)
+                throws LocalDBException
+        {
+            final Map<String, String> jsonValues = new LinkedHashMap<>();
+            for (final Map.Entry<StorageKey, UserCacheRecord> entry : cacheBeans.entrySet()) {
+                jsonValues.put(entry.getKey().getKey(), JsonUtil.serialize(entry.getValue()));
+            }
+            localDB.putAll(DB, jsonValues);
+        }
+
         private UserCacheRecord read(final StorageKey key)
                 throws LocalDBException
         {
@@ -133,12 +133,7 @@ public class SessionTrackService implements PwmService {
     public int ldapConnectionCount() {
         int counter = 0;
         try {
-            for (final String identifer : pwmApplication.getConfig().getLdapProfiles().keySet()) {
-                if (pwmApplication.getProxyChaiProvider(identifer).isConnected()) {
-                    counter++;
-                }
-            }
-
+            // pooled proxy connections are counted by LdapConnectionService.connectionCount()
             for (final PwmSession loopSession : currentValidSessionSet()) {
                 if (loopSession != null) {
                     if (loopSession.getSessionManager().hasActiveLdapConnection()) {
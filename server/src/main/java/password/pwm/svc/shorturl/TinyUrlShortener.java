@@ -53,7 +53,7 @@ public class TinyUrlShortener extends BasicUrlShortener {
             LOGGER.debug("Trying to shorten url: "+input);
             final String encodedUrl = StringUtil.urlEncode(input);
             final String callUrl = apiUrl + encodedUrl;
-            final HttpClient httpClient = PwmHttpClient.getHttpClient(context.getConfig());
+            final HttpClient httpClient = PwmHttpClient.getHttpClient(context, null);
             final HttpGet httpRequest = new HttpGet(callUrl);
             final HttpResponse httpResponse = httpClient.execute(httpRequest);
             final int httpResponseCode = httpResponse.getStatusLine().getStatusCode();
@@ -62,6 +62,7 @@ public class TinyUrlShortener extends BasicUrlShortener {
                 LOGGER.debug("Result: "+responseBody);
                 return responseBody;
             } else {
+                EntityUtils.consumeQuietly(httpResponse.getEntity());
                 LOGGER.error("Failed to get shorter URL: "+httpResponse.getStatusLine().getReasonPhrase());
             }
         } catch (java.io.IOException e) {
@@ -26,40 +26,170 @@ import password.pwm.util.java.TimeDuration;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Measures the rate of events per second over a sliding window of {@code maxDuration}.
+ *
+ * <p>Events are added to a striped {@link LongAdder}, so concurrent callers of {@link #markEvents(int)} do not contend
+ * with each other.  The window is divided into {@link #SLOT_COUNT} slots (one second each for windows of a minute or
+ * less) and the running event total is recorded once per slot in a ring buffer; the rate is calculated on read from the
+ * difference between the current total and the total at the start of the window.</p>
+ */
 public class EventRateMeter implements Serializable {
 
+    private static final int SLOT_COUNT = 60;
+    private static final long MIN_SLOT_MILLIS = 1000;
+    private static final long NO_SLOT = Long.MIN_VALUE;
+
     private final TimeDuration maxDuration;
+    private final long windowMillis;
+    private final long slotMillis;
+
+    private final LongAdder eventTotal = new LongAdder();
+    private final AtomicLong currentSlot = new AtomicLong(NO_SLOT);
+    private final AtomicLongArray slotNumbers = new AtomicLongArray(SLOT_COUNT + 1);
+    private final AtomicLongArray slotTotals = new AtomicLongArray(SLOT_COUNT + 1);
 
-    private MovingAverage movingAverage;
-    private double remainder;
+    private volatile long originMillis;
+    private volatile double carryoverRate;
+    private volatile boolean carryover;
 
     public EventRateMeter(final TimeDuration maxDuration) {
         if (maxDuration == null) {
             throw new NullPointerException("maxDuration cannot be null");
         }
         this.maxDuration = maxDuration;
+        this.windowMillis = Math.max(MIN_SLOT_MILLIS, maxDuration.getTotalMilliseconds());
+        this.slotMillis = Math.max(MIN_SLOT_MILLIS, windowMillis / SLOT_COUNT);
         reset();
     }
 
-    public synchronized void reset() {
-        movingAverage = new MovingAverage(maxDuration.getTotalMilliseconds());
-        remainder = 0;
+    /**
+     * Clears all recorded events.  Events marked concurrently with a reset may or may not be counted.
+     */
+    public void reset() {
+        reset(System.currentTimeMillis());
+    }
+
+    void reset(final long now) {
+        for (int i = 0; i < slotNumbers.length(); i++) {
+            slotNumbers.set(i, NO_SLOT);
+            slotTotals.set(i, 0);
+        }
+        currentSlot.set(NO_SLOT);
+        eventTotal.reset();
+        carryover = false;
+        carryoverRate = 0;
+        originMillis = now;
+        advanceSlot(now);
+    }
+
+    public void markEvents(final int eventCount) {
+        markEvents(eventCount, System.currentTimeMillis());
+    }
+
+    void markEvents(final int eventCount, final long now) {
+        advanceSlot(now);
+        eventTotal.add(eventCount);
+    }
+
+    public BigDecimal readEventRate() {
+        return new BigDecimal(readEventRate(System.currentTimeMillis()));
     }
 
-    public synchronized void markEvents(final int eventCount) {
-        final long timeSinceLastUpdate = System.currentTimeMillis() - movingAverage.getLastMillis();
-        if (timeSinceLastUpdate != 0) {
-            final double eventRate  = (eventCount + remainder) / timeSinceLastUpdate;
-            movingAverage.update(eventRate * 1000);
-            remainder = 0;
+    double readEventRate(final long now) {
+        advanceSlot(now);
+
+        final long total = eventTotal.sum();
+        final long nowSlot = now / slotMillis;
+        final long windowStartSlot = nowSlot - SLOT_COUNT;
+
+        // the earliest recorded slot in the window holds the running total as of the start of that slot; no events
+        // were marked in any earlier unrecorded slot of the window.
+        long baselineSlot = nowSlot + 1;
+        long baselineTotal = total;
+        for (int i = 0; i < slotNumbers.length(); i++) {
+            final long slot = slotNumbers.get(i);
+            if (slot >= windowStartSlot && slot < baselineSlot) {
+                final long slotTotal = slotTotals.get(i);
+                if (slotNumbers.get(i) == slot) {
+                    baselineSlot = slot;
+                    baselineTotal = slotTotal;
+                }
+            }
+        }
+
+        final long windowStartMillis = windowStartSlot * slotMillis;
+        final double events;
+        final long elapsedMillis;
+        if (carryover) {
+            final long carryoverMillis = Math.max(0, originMillis - windowStartMillis);
+            events = (total - baselineTotal) + carryoverRate * carryoverMillis / 1000;
+            elapsedMillis = now - windowStartMillis;
         } else {
-            remainder += eventCount;
+            events = total - baselineTotal;
+            elapsedMillis = now - Math.max(windowStartMillis, originMillis);
+        }
+
+        return events * 1000 / Math.max(MIN_SLOT_MILLIS, elapsedMillis);
+    }
+
+    private void advanceSlot(final long now) {
+        final long nowSlot = now / slotMillis;
+        final long lastSlot = currentSlot.get();
+        if (nowSlot > lastSlot && currentSlot.compareAndSet(lastSlot, nowSlot)) {
+            final int index = (int) (nowSlot % slotNumbers.length());
+            slotNumbers.set(index, NO_SLOT);
+            slotTotals.set(index, eventTotal.sum());
+            slotNumbers.set(index, nowSlot);
         }
     }
 
-    public synchronized BigDecimal readEventRate() {
-        return new BigDecimal(this.movingAverage.getAverage());
+    /**
+     * Stored form of the current rate, compatible with the json format previously written for {@code EPS-} statistics.
+     * @return a serializable snapshot of the current rate
+     */
+    public StoredEventRate toStoredEventRate() {
+        final long now = System.currentTimeMillis();
+        final MovingAverage movingAverage = new MovingAverage(windowMillis);
+        movingAverage.average = readEventRate(now);
+        movingAverage.lastMillis = now;
+
+        final StoredEventRate storedEventRate = new StoredEventRate();
+        storedEventRate.maxDuration = maxDuration;
+        storedEventRate.movingAverage = movingAverage;
+        return storedEventRate;
+    }
+
+    /**
+     * Create a meter that continues from a stored rate.  The stored rate is assumed for the part of the window before the
+     * meter was restored, so it ages out of the window as new events are marked.
+     * @param storedEventRate previously stored rate
+     * @param maxDuration window duration of the new meter
+     * @return new meter instance
+     */
+    public static EventRateMeter fromStoredEventRate(final StoredEventRate storedEventRate, final TimeDuration maxDuration) {
+        final EventRateMeter eventRateMeter = new EventRateMeter(maxDuration);
+        if (storedEventRate != null && storedEventRate.movingAverage != null) {
+            final double storedRate = storedEventRate.movingAverage.average;
+            if (storedRate > 0 && !Double.isNaN(storedRate) && !Double.isInfinite(storedRate)) {
+                eventRateMeter.carryoverRate = storedRate;
+                eventRateMeter.carryover = true;
+            }
+        }
+        return eventRateMeter;
+    }
+
+    public static class StoredEventRate implements Serializable {
+        private TimeDuration maxDuration;
+        private MovingAverage movingAverage;
+
+        public TimeDuration getMaxDuration() {
+            return maxDuration;
+        }
     }
 
     /** MovingAverage.java
@@ -0,0 +1,168 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+
+package password.pwm.svc.stats;
+
+import com.google.gson.reflect.TypeToken;
+import password.pwm.util.java.JsonUtil;
+import password.pwm.util.logging.PwmLogger;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Daily and hourly {@link LatencyHistogram}s for each {@link Statistic.Type#AVERAGE} statistic over a single day.
+ * Hours are Zulu hours of the day.
+ */
+public class HistogramBundle {
+    private static final PwmLogger LOGGER = PwmLogger.forClass(HistogramBundle.class);
+
+    static final int HOURS_PER_DAY = 24;
+    private static final String STORED_KEY_DAY = "day";
+
+    private final Map<Statistic, LatencyHistogram> dailyHistograms;
+    private final Map<Statistic, LatencyHistogram[]> hourlyHistograms;
+
+    public HistogramBundle() {
+        final Map<Statistic, LatencyHistogram> daily = new EnumMap<>(Statistic.class);
+        final Map<Statistic, LatencyHistogram[]> hourly = new EnumMap<>(Statistic.class);
+        for (final Statistic statistic : Statistic.values()) {
+            if (statistic.getType() == Statistic.Type.AVERAGE) {
+                daily.put(statistic, new LatencyHistogram());
+                final LatencyHistogram[] hours = new LatencyHistogram[HOURS_PER_DAY];
+                for (int i = 0; i < HOURS_PER_DAY; i++) {
+                    hours[i] = new LatencyHistogram();
+                }
+                hourly.put(statistic, hours);
+            }
+        }
+        dailyHistograms = Collections.unmodifiableMap(daily);
+        hourlyHistograms = Collections.unmodifiableMap(hourly);
+    }
+
+    void record(final Statistic statistic, final long value, final long timestamp) {
+        final LatencyHistogram dailyHistogram = dailyHistograms.get(statistic);
+        if (dailyHistogram == null) {
+            return;
+        }
+
+        final int hourOfDay = (int) (TimeUnit.MILLISECONDS.toHours(timestamp) % HOURS_PER_DAY);
+        dailyHistogram.record(value);
+        hourlyHistograms.get(statistic)[hourOfDay].record(value);
+    }
+
+    public HistogramSummary summarizeDay(final Statistic statistic) {
+        final LatencyHistogram histogram = dailyHistograms.get(statistic);
+        return histogram == null ? null : histogram.summarize();
+    }
+
+    /**
+     * Summaries for each hour that has recorded values.
+     * @param statistic statistic to summarize
+     * @return map keyed by Zulu hour of day, in hour order.
+     */
+    public Map<Integer, HistogramSummary> summarizeHours(final Statistic statistic) {
+        final LatencyHistogram[] hours = hourlyHistograms.get(statistic);
+        if (hours == null) {
+            return Collections.emptyMap();
+        }
+
+        final Map<Integer, HistogramSummary> returnMap = new LinkedHashMap<>();
+        for (int i = 0; i < HOURS_PER_DAY; i++) {
+            if (hours[i].getCount() > 0) {
+                returnMap.put(i, hours[i].summarize());
+            }
+        }
+        return returnMap;
+    }
+
+    public String output() {
+        final Map<String, Map<String, LatencyHistogram.StoredHistogram>> outputMap = new LinkedHashMap<>();
+        for (final Map.Entry<Statistic, LatencyHistogram> entry : dailyHistograms.entrySet()) {
+            final Statistic statistic = entry.getKey();
+            if (entry.getValue().getCount() > 0) {
+                final Map<String, LatencyHistogram.StoredHistogram> statMap = new LinkedHashMap<>();
+                statMap.put(STORED_KEY_DAY, entry.getValue().toStoredHistogram());
+                final LatencyHistogram[] hours = hourlyHistograms.get(statistic);
+                for (int i = 0; i < HOURS_PER_DAY; i++) {
+                    if (hours[i].getCount() > 0) {
+                        statMap.put(String.valueOf(i), hours[i].toStoredHistogram());
+                    }
+                }
+                outputMap.put(statistic.name(), statMap);
+            }
+        }
+        return JsonUtil.serializeMap(outputMap);
+    }
+
+    public static HistogramBundle input(final String inputString) {
+        final HistogramBundle bundle = new HistogramBundle();
+        final Map<String, Map<String, LatencyHistogram.StoredHistogram>> loadedMap;
+        try {
+            loadedMap = JsonUtil.deserialize(inputString, new TypeToken<Map<String, Map<String, LatencyHistogram.StoredHistogram>>>() {
+            });
+        } catch (Exception e) {
+            LOGGER.error("error parsing stored histogram values: " + e.getMessage());
+            return bundle;
+        }
+
+        if (loadedMap == null) {
+            return bundle;
+        }
+
+        for (final Map.Entry<String, Map<String, LatencyHistogram.StoredHistogram>> statEntry : loadedMap.entrySet()) {
+            final Statistic statistic;
+            try {
+                statistic = Statistic.valueOf(statEntry.getKey());
+            } catch (IllegalArgumentException e) {
+                LOGGER.error("error parsing histogram statistic key '" + statEntry.getKey() + "', reason: " + e.getMessage());
+                continue;
+            }
+
+            if (!bundle.dailyHistograms.containsKey(statistic) || statEntry.getValue() == null) {
+                continue;
+            }
+
+            for (final Map.Entry<String, LatencyHistogram.StoredHistogram> periodEntry : statEntry.getValue().entrySet()) {
+                final LatencyHistogram storedHistogram = LatencyHistogram.fromStoredHistogram(periodEntry.getValue());
+                if (STORED_KEY_DAY.equals(periodEntry.getKey())) {
+                    bundle.dailyHistograms.get(statistic).merge(storedHistogram);
+                } else {
+                    try {
+                        final int hour = Integer.parseInt(periodEntry.getKey());
+                        if (hour >= 0 && hour < HOURS_PER_DAY) {
+                            bundle.hourlyHistograms.get(statistic)[hour].merge(storedHistogram);
+                        }
+                    } catch (NumberFormatException e) {
+                        LOGGER.error("error parsing histogram period key '" + periodEntry.getKey() + "' for statistic " + statistic);
+                    }
+                }
+            }
+        }
+
+        return bundle;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+
+package password.pwm.svc.stats;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Fixed size histogram using logarithmic buckets, each power of two range is divided into {@link #SUB_BUCKET_COUNT}
+ * linear sub-buckets.  Values below {@link #SUB_BUCKET_COUNT} are recorded exactly, larger values with a relative
+ * error of at most 1/{@link #SUB_BUCKET_COUNT}.
+ *
+ * <p>Recording a value is lock-free and does not allocate.  Percentiles are calculated when read.</p>
+ */
+class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 31;
+    private static final long MAX_TRACKED_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int BUCKET_COUNT = bucketIndex(MAX_TRACKED_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    void record(final long value) {
+        final long boundedValue = Math.max(0, value);
+        counts.incrementAndGet(bucketIndex(Math.min(boundedValue, MAX_TRACKED_VALUE)));
+        max.accumulate(boundedValue);
+    }
+
+    void merge(final LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            final long count = other.counts.get(i);
+            if (count > 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        max.accumulate(other.getMax());
+    }
+
+    long getCount() {
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Value at the given percentile.
+     * @param percentile percentile between 0 and 100
+     * @return the highest value equivalent to the bucket containing the percentile, or zero if no values are recorded
+     */
+    long percentile(final double percentile) {
+        final long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+
+        if (total == 0) {
+            return 0;
+        }
+
+        final long target = Math.max(1, (long) Math.ceil(total * Math.min(100, Math.max(0, percentile)) / 100));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= target) {
+                return Math.min(bucketHighestValue(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    HistogramSummary summarize() {
+        return HistogramSummary.builder()
+                .count(getCount())
+                .p50(percentile(50))
+                .p95(percentile(95))
+                .p99(percentile(99))
+                .max(getMax())
+                .build();
+    }
+
+    StoredHistogram toStoredHistogram() {
+        final Map<Integer, Long> storedCounts = new TreeMap<>();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            final long count = counts.get(i);
+            if (count > 0) {
+                storedCounts.put(i, count);
+            }
+        }
+        final StoredHistogram storedHistogram = new StoredHistogram();
+        storedHistogram.max = getMax();
+        storedHistogram.counts = storedCounts;
+        return storedHistogram;
+    }
+
+    static LatencyHistogram fromStoredHistogram(final StoredHistogram storedHistogram) {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        if (storedHistogram != null) {
+            if (storedHistogram.counts != null) {
+                for (final Map.Entry<Integer, Long> entry : storedHistogram.counts.entrySet()) {
+                    final int index = entry.getKey();
+                    if (index >= 0 && index < BUCKET_COUNT && entry.getValue() != null) {
+                        histogram.counts.addAndGet(index, entry.getValue());
+                    }
+                }
+            }
+            histogram.max.accumulate(storedHistogram.max);
+        }
+        return histogram;
+    }
+
+    static int bucketIndex(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1));
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long bucketHighestValue(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        final int subBucket = index % SUB_BUCKET_COUNT;
+        final long lowestValue = ((long) (SUB_BUCKET_COUNT + subBucket)) << (exponent - SUB_BUCKET_BITS);
+        return lowestValue + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    static class StoredHistogram implements Serializable {
+        private long max;
+        private Map<Integer, Long> counts;
+    }
+}
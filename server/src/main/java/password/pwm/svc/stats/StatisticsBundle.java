@@ -29,10 +29,17 @@ import password.pwm.util.logging.PwmLogger;
 import java.io.Serializable;
 import java.math.BigInteger;
 import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Counter and average values for each {@link Statistic}.  Updates are lock-free; values are only converted to their
+ * stored string format by {@link #output()}.
+ */
 public class StatisticsBundle {
 
     private static final PwmLogger LOGGER = PwmLogger.forClass(StatisticsBundle.class);
@@ -43,13 +50,44 @@ public class StatisticsBundle {
         STORED_DATETIME_FORMATTER.setTimeZone(TimeZone.getTimeZone("Zulu"));
     }
 
-
-    private final Map<Statistic, String> valueMap = new HashMap<>();
+    private final Map<Statistic, LongAdder> incrementerMap;
+    private final Map<Statistic, AverageAccumulator> averageMap;
 
     public StatisticsBundle() {
+        final Map<Statistic, LongAdder> incrementers = new EnumMap<>(Statistic.class);
+        final Map<Statistic, AverageAccumulator> averages = new EnumMap<>(Statistic.class);
+        for (final Statistic statistic : Statistic.values()) {
+            switch (statistic.getType()) {
+                case INCREMENTOR:
+                    incrementers.put(statistic, new LongAdder());
+                    break;
+
+                case AVERAGE:
+                    averages.put(statistic, new AverageAccumulator());
+                    break;
+
+                default:
+                    break;
+            }
+        }
+        incrementerMap = Collections.unmodifiableMap(incrementers);
+        averageMap = Collections.unmodifiableMap(averages);
     }
 
     public String output() {
+        final Map<Statistic, String> valueMap = new HashMap<>();
+        for (final Map.Entry<Statistic, LongAdder> entry : incrementerMap.entrySet()) {
+            final long value = entry.getValue().sum();
+            if (value != 0) {
+                valueMap.put(entry.getKey(), Long.toString(value));
+            }
+        }
+        for (final Map.Entry<Statistic, AverageAccumulator> entry : averageMap.entrySet()) {
+            final AverageBean averageBean = entry.getValue().toBean();
+            if (!BigInteger.ZERO.equals(averageBean.count)) {
+                valueMap.put(entry.getKey(), JsonUtil.serialize(averageBean));
+            }
+        }
         return JsonUtil.serializeMap(valueMap);
     }
 
@@ -69,77 +107,87 @@ public class StatisticsBundle {
         for (final Statistic loopStat : Statistic.values()) {
             final String value = srcMap.get(loopStat);
             if (!StringUtil.isEmpty(value)) {
-                bundle.valueMap.put(loopStat, value);
+                bundle.loadValue(loopStat, value);
             }
         }
 
         return bundle;
     }
 
-    public synchronized void incrementValue(final Statistic statistic) {
+    private void loadValue(final Statistic statistic, final String value) {
+        switch (statistic.getType()) {
+            case INCREMENTOR:
+                try {
+                    incrementerMap.get(statistic).add(new BigInteger(value).longValueExact());
+                } catch (NumberFormatException | ArithmeticException e) {
+                    LOGGER.error("error reading counter/incremental stat " + statistic);
+                }
+                break;
+
+            case AVERAGE:
+                try {
+                    final AverageBean averageBean = JsonUtil.deserialize(value, AverageBean.class);
+                    averageMap.get(statistic).add(averageBean.total.longValueExact(), averageBean.count.longValueExact());
+                } catch (Exception e) {
+                    LOGGER.trace("unable to parse statistics value for stat " + statistic.toString() + ", value=" + value);
+                }
+                break;
+
+            default:
+                break;
+        }
+    }
+
+    public void incrementValue(final Statistic statistic) {
         if (Statistic.Type.INCREMENTOR != statistic.getType()) {
             LOGGER.error("attempt to increment non-counter/incremental stat " + statistic);
             return;
         }
 
-        BigInteger currentValue = BigInteger.ZERO;
-        try {
-            if (valueMap.containsKey(statistic)) {
-                currentValue = new BigInteger(valueMap.get(statistic));
-            } else {
-                currentValue = BigInteger.ZERO;
-            }
-        } catch (NumberFormatException e) {
-            LOGGER.error("error reading counter/incremental stat " + statistic);
-        }
-        final BigInteger newValue = currentValue.add(BigInteger.ONE);
-        valueMap.put(statistic, newValue.toString());
+        incrementerMap.get(statistic).increment();
     }
 
-    public synchronized void updateAverageValue(final Statistic statistic, final long timeDuration) {
+    public void updateAverageValue(final Statistic statistic, final long timeDuration) {
         if (Statistic.Type.AVERAGE != statistic.getType()) {
             LOGGER.error("attempt to update average value of non-average stat " + statistic);
             return;
         }
 
-        final String avgStrValue = valueMap.get(statistic);
-
-        AverageBean avgBean = new AverageBean();
-        if (avgStrValue != null && avgStrValue.length() > 0) {
-            try {
-                avgBean = JsonUtil.deserialize(avgStrValue, AverageBean.class);
-            } catch (Exception e) {
-                LOGGER.trace("unable to parse statistics value for stat " + statistic.toString() + ", value=" + avgStrValue);
-            }
-        }
-
-        avgBean.appendValue(timeDuration);
-        valueMap.put(statistic, JsonUtil.serialize(avgBean));
+        averageMap.get(statistic).add(timeDuration, 1);
     }
 
     public String getStatistic(final Statistic statistic) {
         switch (statistic.getType()) {
             case INCREMENTOR:
-                return valueMap.containsKey(statistic) ? valueMap.get(statistic) : "0";
+                return Long.toString(incrementerMap.get(statistic).sum());
 
             case AVERAGE:
-                final String avgStrValue = valueMap.get(statistic);
-
-                AverageBean avgBean = new AverageBean();
-                if (avgStrValue != null && avgStrValue.length() > 0) {
-                    try {
-                        avgBean = JsonUtil.deserialize(avgStrValue, AverageBean.class);
-                    } catch (Exception e) {
-                        LOGGER.trace("unable to parse statistics value for stat " + statistic.toString() + ", value=" + avgStrValue);
-                    }
-                }
-                return avgBean.getAverage().toString();
+                return averageMap.get(statistic).toBean().getAverage().toString();
 
             default:
                 return "";
         }
     }
 
+    private static class AverageAccumulator {
+        private final LongAdder total = new LongAdder();
+        private final LongAdder count = new LongAdder();
+
+        void add(final long value, final long valueCount) {
+            total.add(value);
+            count.add(valueCount);
+        }
+
+        AverageBean toBean() {
+            final long countValue = count.sum();
+            final long totalValue = total.sum();
+            final AverageBean averageBean = new AverageBean();
+            averageBean.count = BigInteger.valueOf(countValue);
+            averageBean.total = BigInteger.valueOf(totalValue);
+            return averageBean;
+        }
+    }
+
     private static class AverageBean implements Serializable {
         BigInteger total = BigInteger.ZERO;
         BigInteger count = BigInteger.ZERO;
@@ -154,10 +202,5 @@ public class StatisticsBundle {
 
             return total.divide(count);
         }
-
-        void appendValue(final long value) {
-            count = count.add(BigInteger.ONE);
-            total = total.add(BigInteger.valueOf(value));
-        }
     }
 }
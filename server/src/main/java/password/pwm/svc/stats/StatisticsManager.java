@@ -48,15 +48,18 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.TimeZone;
 import java.util.TimerTask;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 public class StatisticsManager implements PwmService {
 
@@ -68,6 +71,8 @@ public class StatisticsManager implements PwmService {
     private static final String DB_KEY_CUMULATIVE = "CUMULATIVE";
     private static final String DB_KEY_INITIAL_DAILY_KEY = "INITIAL_DAILY_KEY";
     private static final String DB_KEY_PREFIX_DAILY = "DAILY_";
+    private static final String DB_KEY_PREFIX_HISTOGRAM = "HISTOGRAM_";
+    private static final String DB_KEY_PREFIX_EPS = "EPS-";
     private static final String DB_KEY_TEMP = "TEMP_KEY";
 
     private static final String DB_VALUE_VERSION = "1";
@@ -83,9 +88,11 @@ public class StatisticsManager implements PwmService {
     private ScheduledExecutorService executorService;
 
     private final StatisticsBundle statsCurrent = new StatisticsBundle();
-    private StatisticsBundle statsDaily = new StatisticsBundle();
-    private StatisticsBundle statsCummulative = new StatisticsBundle();
-    private Map<String, EventRateMeter> epsMeterMap = new HashMap<>();
+    private volatile StatisticsBundle statsDaily = new StatisticsBundle();
+    private volatile StatisticsBundle statsCummulative = new StatisticsBundle();
+    private volatile HistogramBundle histogramsDaily = new HistogramBundle();
+    private final Map<String, EventRateMeter> epsMeterMap = new ConcurrentHashMap<>();
+    private final Map<String, RestEndpointMetric> restEndpointMetrics = new ConcurrentHashMap<>();
 
     private PwmApplication pwmApplication;
 
@@ -103,19 +110,30 @@ public class StatisticsManager implements PwmService {
     public StatisticsManager() {
     }
 
-    public synchronized void incrementValue(final Statistic statistic) {
+    public void incrementValue(final Statistic statistic) {
         statsCurrent.incrementValue(statistic);
         statsDaily.incrementValue(statistic);
         statsCummulative.incrementValue(statistic);
     }
 
-    public synchronized void updateAverageValue(final Statistic statistic, final long value) {
+    public void updateAverageValue(final Statistic statistic, final long value) {
         statsCurrent.updateAverageValue(statistic,value);
         statsDaily.updateAverageValue(statistic,value);
         statsCummulative.updateAverageValue(statistic, value);
+        histogramsDaily.record(statistic, value, System.currentTimeMillis());
     }
 
     public Map<String,String> getStatHistory(final Statistic statistic, final int days) {
+        {
+            final List<String> storedKeys = new ArrayList<>();
+            DailyKey loopKey = currentDailyKey.previous();
+            for (int i = 1; i < days; i++) {
+                storedKeys.add(loopKey.toString());
+                loopKey = loopKey.previous();
+            }
+            readStoredBundles(storedKeys);
+        }
+
         final Map<String,String> returnMap = new LinkedHashMap<>();
         DailyKey loopKey = currentDailyKey;
         int counter = days;
@@ -170,6 +188,62 @@ public class StatisticsManager implements PwmService {
         return null;
     }
 
+    /**
+     * Latency histograms for a single day.
+     * @param key daily key; {@link #KEY_CURRENT} and {@link #KEY_CUMULATIVE} return the histograms of the current day.
+     * @return histograms for the day, or null if the histograms could not be read.
+     */
+    public HistogramBundle getHistogramBundleForKey(final String key) {
+        if (key == null || key.length() < 1 || KEY_CUMULATIVE.equals(key) || KEY_CURRENT.equals(key) || currentDailyKey.toString().equals(key)) {
+            return histogramsDaily;
+        }
+
+        if (localDB == null) {
+            return null;
+        }
+
+        try {
+            final String storedHistograms = localDB.get(LocalDB.DB.PWM_STATS, DB_KEY_PREFIX_HISTOGRAM + key);
+            return storedHistograms != null && storedHistograms.length() > 0
+                    ? HistogramBundle.input(storedHistograms)
+                    : new HistogramBundle();
+        } catch (LocalDBException e) {
+            LOGGER.error("error retrieving stored histograms for " + key + ": " + e.getMessage());
+        }
+
+        return null;
+    }
+
+    private void readStoredBundles(final List<String> keys) {
+        if (localDB == null) {
+            return;
+        }
+
+        final List<String> uncachedKeys = new ArrayList<>();
+        for (final String key : keys) {
+            if (!cachedStoredStats.containsKey(key)) {
+                uncachedKeys.add(key);
+            }
+        }
+
+        if (uncachedKeys.isEmpty()) {
+            return;
+        }
+
+        try {
+            final Map<String,String> storedStats = localDB.getAll(LocalDB.DB.PWM_STATS, uncachedKeys);
+            for (final String key : uncachedKeys) {
+                final String storedStat = storedStats.get(key);
+                final StatisticsBundle returnBundle = storedStat != null && storedStat.length() > 0
+                        ? StatisticsBundle.input(storedStat)
+                        : new StatisticsBundle();
+                cachedStoredStats.put(key, returnBundle);
+            }
+        } catch (LocalDBException e) {
+            LOGGER.error("error retrieving stored stats: " + e.getMessage());
+        }
+    }
+
     public Map<DailyKey,String> getAvailableKeys(final Locale locale) {
         final DateFormat dateFormatter = SimpleDateFormat.getDateInstance(SimpleDateFormat.DEFAULT, locale);
         final Map<DailyKey,String> returnMap = new LinkedHashMap<DailyKey,String>();
@@ -241,16 +315,15 @@ public class StatisticsManager implements PwmService {
 
         {
             for (final EpsStatistic loopEpsType : EpsStatistic.values()) {
-                for (final EpsStatistic loopEpsDuration : EpsStatistic.values()) {
-                    final String key = "EPS-" + loopEpsType.toString() + loopEpsDuration.toString();
-                    final String storedValue = localDB.get(LocalDB.DB.PWM_STATS,key);
-                    if (storedValue != null && storedValue.length() > 0) {
-                        try {
-                            final EventRateMeter eventRateMeter = JsonUtil.deserialize(storedValue, EventRateMeter.class);
-                            epsMeterMap.put(loopEpsType.toString() + loopEpsDuration.toString(),eventRateMeter);
-                        } catch (Exception e) {
-                            LOGGER.error("unexpected error reading last EPS rate for " + loopEpsType + " from LocalDB: " + e.getMessage());
+                for (final Statistic.EpsDuration loopEpsDuration : Statistic.EpsDuration.values()) {
+                    try {
+                        final EventRateMeter.StoredEventRate storedEventRate = readStoredEventRate(loopEpsType, loopEpsDuration);
+                        if (storedEventRate != null) {
+                            final EventRateMeter eventRateMeter = EventRateMeter.fromStoredEventRate(storedEventRate, loopEpsDuration.getTimeDuration());
+                            epsMeterMap.put(loopEpsType.toString() + loopEpsDuration.toString(), eventRateMeter);
                         }
+                    } catch (Exception e) {
+                        LOGGER.error("unexpected error reading last EPS rate for " + loopEpsType + " from LocalDB: " + e.getMessage());
                     }
                 }
             }
@@ -270,6 +343,10 @@ public class StatisticsManager implements PwmService {
             if (storedDailyStr != null && storedDailyStr.length() > 0) {
                 statsDaily = StatisticsBundle.input(storedDailyStr);
             }
+            final String storedHistogramStr = localDB.get(LocalDB.DB.PWM_STATS, DB_KEY_PREFIX_HISTOGRAM + currentDailyKey.toString());
+            if (storedHistogramStr != null && storedHistogramStr.length() > 0) {
+                histogramsDaily = HistogramBundle.input(storedHistogramStr);
+            }
         }
 
         try {
@@ -293,6 +370,26 @@ public class StatisticsManager implements PwmService {
         status = STATUS.OPEN;
     }
 
+    private EventRateMeter.StoredEventRate readStoredEventRate(final EpsStatistic epsType, final Statistic.EpsDuration epsDuration)
+            throws LocalDBException
+    {
+        final String storedValue = localDB.get(LocalDB.DB.PWM_STATS, DB_KEY_PREFIX_EPS + epsType.toString() + epsDuration.toString());
+        if (storedValue != null && storedValue.length() > 0) {
+            return JsonUtil.deserialize(storedValue, EventRateMeter.StoredEventRate.class);
+        }
+
+        // older versions stored a single meter per statistic without the duration in the key.
+        final String legacyValue = localDB.get(LocalDB.DB.PWM_STATS, DB_KEY_PREFIX_EPS + epsType.toString());
+        if (legacyValue != null && legacyValue.length() > 0) {
+            final EventRateMeter.StoredEventRate storedEventRate = JsonUtil.deserialize(legacyValue, EventRateMeter.StoredEventRate.class);
+            if (storedEventRate != null && epsDuration.getTimeDuration().equals(storedEventRate.getMaxDuration())) {
+                return storedEventRate;
+            }
+        }
+
+        return null;
+    }
+
     private void writeDbValues() {
         if (localDB != null) {
             try {
@@ -301,15 +398,22 @@ public class StatisticsManager implements PwmService {
 
                 for (final EpsStatistic loopEpsType : EpsStatistic.values()) {
                     for (final Statistic.EpsDuration loopEpsDuration : Statistic.EpsDuration.values()) {
-                        final String key = "EPS-" + loopEpsType.toString();
+                        final String key = DB_KEY_PREFIX_EPS + loopEpsType.toString() + loopEpsDuration.toString();
                         final String mapKey = loopEpsType.toString() + loopEpsDuration.toString();
-                        final String value = JsonUtil.serialize(this.epsMeterMap.get(mapKey));
+                        final String value = JsonUtil.serialize(this.epsMeterMap.get(mapKey).toStoredEventRate());
                         localDB.put(LocalDB.DB.PWM_STATS, key, value);
                     }
                 }
             } catch (LocalDBException e) {
                 LOGGER.error("error outputting pwm statistics: " + e.getMessage());
             }
+
+            // written separately so a failure storing the histograms can not prevent the statistics above being saved.
+            try {
+                localDB.put(LocalDB.DB.PWM_STATS, DB_KEY_PREFIX_HISTOGRAM + currentDailyKey.toString(), histogramsDaily.output());
+            } catch (LocalDBException e) {
+                LOGGER.error("error outputting pwm statistic histograms: " + e.getMessage());
+            }
         }
 
     }
@@ -330,6 +434,7 @@ public class StatisticsManager implements PwmService {
 
         currentDailyKey = new DailyKey(new Date());
         statsDaily = new StatisticsBundle();
+        histogramsDaily = new HistogramBundle();
         LOGGER.debug("reset daily statistics");
     }
 
@@ -493,12 +598,56 @@ public class StatisticsManager implements PwmService {
         return counter;
     }
 
+    public void updateRestEndpointMetric(final String endpointName, final TimeDuration duration) {
+        restEndpointMetrics.computeIfAbsent(endpointName, k -> new RestEndpointMetric()).update(duration.getTotalMilliseconds());
+    }
+
+    public Map<String, RestEndpointMetric> getRestEndpointMetrics() {
+        return Collections.unmodifiableMap(new TreeMap<>(restEndpointMetrics));
+    }
+
     public ServiceInfoBean serviceInfo()
     {
+        final Map<String, String> debugProperties = new LinkedHashMap<>();
+        for (final Map.Entry<String, RestEndpointMetric> entry : getRestEndpointMetrics().entrySet()) {
+            final RestEndpointMetric metric = entry.getValue();
+            debugProperties.put("rest." + entry.getKey() + ".count", String.valueOf(metric.getCount()));
+            debugProperties.put("rest." + entry.getKey() + ".averageMs", String.valueOf(metric.getAverageMs()));
+            debugProperties.put("rest." + entry.getKey() + ".maxMs", String.valueOf(metric.getMaxMs()));
+        }
+
         if (status() == STATUS.OPEN) {
-            return new ServiceInfoBean(Collections.singletonList(DataStorageMethod.LOCALDB));
+            return new ServiceInfoBean(Collections.singletonList(DataStorageMethod.LOCALDB), debugProperties);
         } else {
-            return new ServiceInfoBean(Collections.<DataStorageMethod>emptyList());
+            return new ServiceInfoBean(Collections.<DataStorageMethod>emptyList(), debugProperties);
+        }
+    }
+
+    /**
+     * Invocation count and latency of a single rest endpoint since application start.
+     */
+    public static class RestEndpointMetric {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalMs = new LongAdder();
+        private final LongAccumulator maxMs = new LongAccumulator(Math::max, 0);
+
+        void update(final long durationMs) {
+            count.increment();
+            totalMs.add(durationMs);
+            maxMs.accumulate(durationMs);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getAverageMs() {
+            final long currentCount = count.sum();
+            return currentCount == 0 ? 0 : totalMs.sum() / currentCount;
+        }
+
+        public long getMaxMs() {
+            return maxMs.get();
         }
     }
 
@@ -81,7 +81,7 @@ public class TelemetryService implements PwmService {
     private ErrorInformation lastError;
     private TelemetrySender sender;
 
-    private STATUS status = STATUS.NEW;
+    private volatile STATUS status = STATUS.NEW;
 
 
     @Override
@@ -321,8 +321,8 @@ public class TelemetryService implements PwmService {
 
         static Settings fromConfig(final Configuration config) {
             return Settings.builder()
-                    .minimumAuthentications(Integer.parseInt(config.readAppProperty(AppProperty.TELEMETRY_MIN_AUTHENTICATIONS)))
-                    .publishFrequency(new TimeDuration(Integer.parseInt(config.readAppProperty(AppProperty.TELEMETRY_SEND_FREQUENCY_SECONDS)),TimeUnit.SECONDS))
+                    .minimumAuthentications(config.readAppPropertyInt(AppProperty.TELEMETRY_MIN_AUTHENTICATIONS))
+                    .publishFrequency(config.readAppPropertyDuration(AppProperty.TELEMETRY_SEND_FREQUENCY_SECONDS, TimeUnit.SECONDS))
                     .senderImplementation(config.readAppProperty(AppProperty.TELEMETRY_SENDER_IMPLEMENTATION))
                     .senderSettings(config.readAppProperty(AppProperty.TELEMETRY_SENDER_SETTINGS))
                     .build();
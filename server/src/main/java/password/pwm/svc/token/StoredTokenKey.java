@@ -64,7 +64,7 @@ class StoredTokenKey implements TokenKey {
             throw new IllegalArgumentException("new key value has stored suffix");
         }
 
-        final int maxHashLength = Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.TOKEN_STORAGE_MAX_KEY_LENGTH));
+        final int maxHashLength = pwmApplication.getConfig().readAppPropertyInt(AppProperty.TOKEN_STORAGE_MAX_KEY_LENGTH);
         final SecureService secureService = pwmApplication.getSecureService();
         final String generatedHash = secureService.hash(input);
         final String storedHash = StringUtil.truncate(generatedHash, maxHashLength) + SUFFIX;
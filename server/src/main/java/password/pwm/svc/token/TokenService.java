@@ -77,7 +77,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TimerTask;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -197,16 +196,12 @@ public class TokenService implements PwmService {
             return;
         }
 
-        executorService = Executors.newSingleThreadScheduledExecutor(
-                JavaHelper.makePwmThreadFactory(
-                        JavaHelper.makeThreadName(pwmApplication, this.getClass()) + "-",
-                        true
-                ));
+        executorService = JavaHelper.makeSingleThreadExecutorService(pwmApplication, this.getClass());
 
         final TimerTask cleanerTask = new CleanerTask();
 
         {
-            final int cleanerFrequencySeconds = Integer.parseInt(configuration.readAppProperty(AppProperty.TOKEN_CLEANER_INTERVAL_SECONDS));
+            final int cleanerFrequencySeconds = configuration.readAppPropertyInt(AppProperty.TOKEN_CLEANER_INTERVAL_SECONDS);
             final TimeDuration cleanerFrequency = new TimeDuration(cleanerFrequencySeconds, TimeUnit.SECONDS);
             executorService.scheduleAtFixedRate(cleanerTask, 10 , cleanerFrequencySeconds, TimeUnit.SECONDS);
             LOGGER.trace("token cleanup will occur every " + cleanerFrequency.asCompactString());
@@ -220,7 +215,7 @@ public class TokenService implements PwmService {
             LOGGER.trace("can not parse stored last counter position, setting issue counter at 0");
         }
 
-        verifyPwModifyTime = Boolean.parseBoolean(configuration.readAppProperty(AppProperty.TOKEN_VERIFY_PW_MODIFY_TIME));
+        verifyPwModifyTime = configuration.readAppPropertyBoolean(AppProperty.TOKEN_VERIFY_PW_MODIFY_TIME);
 
         status = STATUS.OPEN;
         LOGGER.debug("open");
@@ -269,7 +264,7 @@ public class TokenService implements PwmService {
             return;
         }
 
-        final boolean removeOnClaim = Boolean.parseBoolean(configuration.readAppProperty(AppProperty.TOKEN_REMOVE_ON_CLAIM));
+        final boolean removeOnClaim = configuration.readAppPropertyBoolean(AppProperty.TOKEN_REMOVE_ON_CLAIM);
 
         if (removeOnClaim) {
             try {
@@ -416,7 +411,7 @@ public class TokenService implements PwmService {
     {
         String tokenKey = null;
         int attempts = 0;
-        final int maxUniqueCreateAttempts = Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.TOKEN_MAX_UNIQUE_CREATE_ATTEMPTS));
+        final int maxUniqueCreateAttempts = pwmApplication.getConfig().readAppPropertyInt(AppProperty.TOKEN_MAX_UNIQUE_CREATE_ATTEMPTS);
         while (tokenKey == null && attempts < maxUniqueCreateAttempts) {
             tokenKey = makeRandomCode(configuration);
             LOGGER.trace(sessionLabel, "generated new token random code, checking for uniqueness");
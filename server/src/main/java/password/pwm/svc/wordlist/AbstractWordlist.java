@@ -51,17 +51,19 @@ import password.pwm.util.secure.ChecksumInputStream;
 import password.pwm.util.secure.PwmHashAlgorithm;
 import password.pwm.util.secure.SecureEngine;
 
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -69,6 +71,8 @@ abstract class AbstractWordlist implements Wordlist, PwmService {
 
     static final PwmHashAlgorithm CHECKSUM_HASH_ALG = PwmHashAlgorithm.SHA1;
 
+    private static final int MAPPED_FILE_IMPORT_BATCH_SIZE = 10 * 1000;
+
     protected WordlistConfiguration wordlistConfiguration;
 
     protected volatile STATUS wlStatus = STATUS.NEW;
@@ -85,6 +89,8 @@ abstract class AbstractWordlist implements Wordlist, PwmService {
 
     private PwmApplication pwmApplication;
     protected Populator populator;
+    private volatile WordlistBloomFilter bloomFilter;
+    private volatile MappedWordlistFile mappedWordlist;
 
     private ScheduledExecutorService executorService;
     private PopulationManager populationManager = new PopulationManager();
@@ -100,11 +106,7 @@ abstract class AbstractWordlist implements Wordlist, PwmService {
             debugTrace = true;
         }
 
-        executorService = Executors.newSingleThreadScheduledExecutor(
-                JavaHelper.makePwmThreadFactory(
-                        JavaHelper.makeThreadName(pwmApplication,this.getClass()) + "-",
-                        true
-                ));
+        executorService = JavaHelper.makeDedicatedThreadExecutorService(pwmApplication, this.getClass());
     }
 
     @Override
@@ -157,6 +159,8 @@ abstract class AbstractWordlist implements Wordlist, PwmService {
         //read stored size
         storedSize = readMetadata().getSize();
         wlStatus = STATUS.OPEN;
+
+        openFilter();
     }
 
     String normalizeWord(final String input) {
@@ -196,14 +200,26 @@ abstract class AbstractWordlist implements Wordlist, PwmService {
         final Set<String> testWords = chunkWord(testWord, this.wordlistConfiguration.getCheckSize());
 
         final Instant startTime = Instant.now();
+        final WordlistBloomFilter filter = bloomFilter;
+        final MappedWordlistFile mapped = mappedWordlist;
         try {
-            boolean result = false;
-            for (final String t : testWords) {
-                if (!result) { // stop checking once found
-                    if (localDB.contains(getWordlistDB(), t)) {
-                        result = true;
+            final boolean result;
+            if (mapped != null) {
+                result = testWords.stream().anyMatch(mapped::contains);
+            } else {
+                final Set<String> candidateWords;
+                if (filter == null) {
+                    candidateWords = testWords;
+                } else {
+                    candidateWords = new TreeSet<>();
+                    for (final String t : testWords) {
+                        if (filter.mightContain(t)) {
+                            candidateWords.add(t);
+                        }
                     }
                 }
+
+                result = !candidateWords.isEmpty() && localDB.containsAny(getWordlistDB(), candidateWords);
             }
             final TimeDuration timeDuration = TimeDuration.fromCurrent(startTime);
             if (timeDuration.isLongerThan(100)) {
@@ -237,6 +253,8 @@ abstract class AbstractWordlist implements Wordlist, PwmService {
 
         executorService.shutdown();
         wlStatus = STATUS.CLOSED;
+        bloomFilter = null;
+        mappedWordlist = null;
         localDB = null;
     }
 
@@ -248,6 +266,14 @@ abstract class AbstractWordlist implements Wordlist, PwmService {
         if (wlStatus == STATUS.OPENING && populator != null) {
             return populator.makeStatString();
         } else {
+            final MappedWordlistFile mapped = mappedWordlist;
+            if (wlStatus == STATUS.OPEN && mapped != null) {
+                return wlStatus.toString() + ", " + mapped.debugString();
+            }
+            final WordlistBloomFilter filter = bloomFilter;
+            if (wlStatus == STATUS.OPEN && filter != null) {
+                return wlStatus.toString() + ", " + filter.debugString();
+            }
             return wlStatus.toString();
         }
     }
@@ -262,6 +288,32 @@ abstract class AbstractWordlist implements Wordlist, PwmService {
 
     protected abstract PwmSetting getWordlistFileSetting();
 
+    protected abstract WordlistType getWordlistType();
+
+    /**
+     * Indicates if {@link #getWriteTxnForValue(String)} assigns keys in input order.  If so the populator calls it
+     * from a single thread in input order, otherwise it is called concurrently as words are normalized.
+     * @return true if keys depend on input order
+     */
+    protected boolean hasSequentialKeys() {
+        return false;
+    }
+
+    /**
+     * Called by the populator before the first word is written.
+     * @param existingEntries number of entries already written by the population being resumed, or zero for a new population
+     */
+    protected void populationStarting(final long existingEntries) {
+    }
+
+    /**
+     * LocalDB db used to store the lookup filter for this wordlist.
+     * @return the filter db, or null if lookups for this wordlist are not filtered.
+     */
+    protected LocalDB.DB getFilterDB() {
+        return null;
+    }
+
     public List<HealthRecord> healthCheck() {
         final List<HealthRecord> returnList = new ArrayList<>();
 
@@ -283,6 +335,16 @@ abstract class AbstractWordlist implements Wordlist, PwmService {
             final HealthRecord healthRecord = new HealthRecord(HealthStatus.WARN, HealthTopic.Application, this.DEBUG_LABEL + " error: " + lastError.toDebugStr());
             returnList.add(healthRecord);
         }
+
+        final WordlistBloomFilter filter = bloomFilter;
+        if (wlStatus == STATUS.OPEN && filter != null) {
+            final double targetRate = readFilterFalsePositiveRate();
+            final HealthStatus healthStatus = filter.estimatedFalsePositiveRate() > targetRate * 2
+                    ? HealthStatus.CAUTION
+                    : HealthStatus.GOOD;
+            final HealthRecord healthRecord = new HealthRecord(healthStatus, HealthTopic.Application, this.DEBUG_LABEL + " lookup " + filter.debugString());
+            returnList.add(healthRecord);
+        }
         return Collections.unmodifiableList(returnList);
     }
 
@@ -324,6 +386,238 @@ abstract class AbstractWordlist implements Wordlist, PwmService {
         return inputUrl;
     }
 
+    /**
+     * Build a new lookup filter from the keys currently stored in the wordlist db, and store it in the filter db.
+     * @param expectedSize number of keys expected in the wordlist db
+     * @return information about the stored filter, or null if lookups for this wordlist are not filtered
+     * @throws LocalDBException if the wordlist can not be read or the filter can not be stored
+     */
+    StoredWordlistDataBean.FilterInfo buildFilter(final int expectedSize)
+            throws LocalDBException
+    {
+        bloomFilter = null;
+
+        final LocalDB.DB filterDB = getFilterDB();
+        if (filterDB == null || mappedWordlist != null || !pwmApplication.getConfig().readAppPropertyBoolean(AppProperty.WORDLIST_FILTER_ENABLE)) {
+            return null;
+        }
+
+        final Instant startTime = Instant.now();
+        final WordlistBloomFilter newFilter = WordlistBloomFilter.create(
+                expectedSize,
+                readFilterFalsePositiveRate(),
+                pwmApplication.getConfig().readAppPropertyLong(AppProperty.WORDLIST_FILTER_MAX_SIZE_MB) * 1024 * 1024,
+                pwmApplication.getConfig().readAppPropertyBoolean(AppProperty.WORDLIST_FILTER_OFF_HEAP)
+        );
+
+        try (LocalDB.LocalDBIterator<String> iterator = localDB.iterator(getWordlistDB())) {
+            while (iterator.hasNext()) {
+                newFilter.put(iterator.next());
+            }
+        }
+
+        final StoredWordlistDataBean.FilterInfo filterInfo = newFilter.write(localDB, filterDB);
+        bloomFilter = newFilter;
+        LOGGER.debug("built " + DEBUG_LABEL + " lookup filter in " + TimeDuration.compactFromCurrent(startTime) + ", " + newFilter.debugString());
+        return filterInfo;
+    }
+
+    /**
+     * Open the stored lookup filter.  If there is no usable stored filter, a new one is built on the wordlist executor;
+     * lookups go directly to the wordlist db until it is ready.
+     */
+    private void openFilter() {
+        final LocalDB.DB filterDB = getFilterDB();
+        if (filterDB == null || bloomFilter != null || mappedWordlist != null || !pwmApplication.getConfig().readAppPropertyBoolean(AppProperty.WORDLIST_FILTER_ENABLE)) {
+            return;
+        }
+
+        final StoredWordlistDataBean metadata = readMetadata();
+        if (!metadata.isCompleted()) {
+            return;
+        }
+
+        try {
+            final WordlistBloomFilter storedFilter = WordlistBloomFilter.read(
+                    localDB,
+                    filterDB,
+                    metadata.getFilterInfo(),
+                    pwmApplication.getConfig().readAppPropertyBoolean(AppProperty.WORDLIST_FILTER_OFF_HEAP)
+            );
+            if (storedFilter != null) {
+                bloomFilter = storedFilter;
+                LOGGER.debug("opened stored " + DEBUG_LABEL + " lookup filter, " + storedFilter.debugString());
+                return;
+            }
+
+            LOGGER.debug("no usable stored lookup filter for " + DEBUG_LABEL + ", will build filter from stored words in the background");
+            executorService.schedule(this::buildMissingFilter, 0, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            LOGGER.warn("unable to open " + DEBUG_LABEL + " lookup filter, lookups will not be filtered: " + e.getMessage());
+        }
+    }
+
+    private void buildMissingFilter() {
+        // a population or clear run on the executor in the meantime replaces the stored words and builds its own filter.
+        final StoredWordlistDataBean metadata = readMetadata();
+        if (wlStatus != STATUS.OPEN || bloomFilter != null || !metadata.isCompleted()) {
+            return;
+        }
+
+        try {
+            final StoredWordlistDataBean.FilterInfo filterInfo = buildFilter(metadata.getSize());
+
+            // a user upload may have started while the filter was built, its metadata must not be overwritten.
+            if (wlStatus == STATUS.OPEN) {
+                writeMetadata(metadata.toBuilder().filterInfo(filterInfo).build());
+            }
+        } catch (Exception e) {
+            LOGGER.warn("unable to build " + DEBUG_LABEL + " lookup filter, lookups will not be filtered: " + e.getMessage());
+        }
+    }
+
+    protected MappedWordlistFile getMappedWordlist() {
+        return mappedWordlist;
+    }
+
+    private WordlistStorageFormat readStorageFormat() {
+        return getWordlistType().readStorageFormat(pwmApplication.getConfig());
+    }
+
+    private File mappedFileLocation() {
+        final File localDBDirectory = localDB.getFileLocation();
+        return localDBDirectory == null ? null : new File(localDBDirectory, getWordlistDB().toString() + ".wordlist");
+    }
+
+    /**
+     * Move the words of a completed population from the wordlist db to the configured storage format.
+     * @return the storage format now holding the words
+     * @throws LocalDBException if the wordlist db can not be read or cleared
+     */
+    WordlistStorageFormat storePopulatedWords()
+            throws LocalDBException
+    {
+        if (readStorageFormat() != WordlistStorageFormat.MAPPED_FILE) {
+            return WordlistStorageFormat.LOCALDB;
+        }
+
+        final File file = mappedFileLocation();
+        if (file == null) {
+            LOGGER.warn("LocalDB does not have a file location, " + DEBUG_LABEL + " will be stored in LocalDB");
+            return WordlistStorageFormat.LOCALDB;
+        }
+
+        final Instant startTime = Instant.now();
+        try (MappedWordlistFile.Writer writer = new MappedWordlistFile.Writer(file, !hasSequentialKeys())) {
+            if (hasSequentialKeys()) {
+                final int size = localDB.size(getWordlistDB());
+                for (int i = 0; i < size; i++) {
+                    final String value = localDB.get(getWordlistDB(), String.valueOf(i));
+                    if (value != null) {
+                        writer.add(value);
+                    }
+                }
+            } else {
+                try (LocalDB.LocalDBIterator<String> iterator = localDB.iterator(getWordlistDB())) {
+                    while (iterator.hasNext()) {
+                        writer.add(iterator.next());
+                    }
+                }
+            }
+            writer.commit();
+            mappedWordlist = MappedWordlistFile.open(file);
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.warn("unable to write " + DEBUG_LABEL + " mapped file, words will remain in LocalDB: " + e.getMessage());
+            return WordlistStorageFormat.LOCALDB;
+        }
+
+        bloomFilter = null;
+        localDB.truncate(getWordlistDB());
+        if (getFilterDB() != null) {
+            localDB.truncate(getFilterDB());
+        }
+
+        LOGGER.debug("stored " + DEBUG_LABEL + " in mapped file " + file.getAbsolutePath() + " in "
+                + TimeDuration.compactFromCurrent(startTime) + ", " + mappedWordlist.debugString());
+        return WordlistStorageFormat.MAPPED_FILE;
+    }
+
+    /**
+     * Open the mapped file of a completed wordlist, and move the words to the configured storage format if it
+     * differs from the stored format.
+     */
+    private void checkStorageFormat()
+            throws LocalDBException
+    {
+        final StoredWordlistDataBean metadata = readMetadata();
+        if (!metadata.isCompleted()) {
+            return;
+        }
+
+        final WordlistStorageFormat storedFormat = metadata.getStorageFormat() == null
+                ? WordlistStorageFormat.LOCALDB
+                : metadata.getStorageFormat();
+        final WordlistStorageFormat configuredFormat = readStorageFormat();
+
+        if (storedFormat == WordlistStorageFormat.LOCALDB) {
+            if (configuredFormat == WordlistStorageFormat.MAPPED_FILE) {
+                LOGGER.debug("moving " + DEBUG_LABEL + " words from LocalDB to mapped file");
+                if (storePopulatedWords() == WordlistStorageFormat.MAPPED_FILE) {
+                    writeMetadata(metadata.toBuilder().storageFormat(WordlistStorageFormat.MAPPED_FILE).filterInfo(null).build());
+                }
+            }
+            return;
+        }
+
+        final File file = mappedFileLocation();
+        MappedWordlistFile mapped = mappedWordlist;
+        if (mapped == null) {
+            try {
+                if (file == null) {
+                    throw new IOException("LocalDB does not have a file location");
+                }
+                mapped = MappedWordlistFile.open(file);
+            } catch (IOException e) {
+                LOGGER.warn("unable to open " + DEBUG_LABEL + " mapped file, wordlist will be populated again: " + e.getMessage());
+                writeMetadata(StoredWordlistDataBean.builder().build());
+                return;
+            }
+        }
+
+        if (configuredFormat == WordlistStorageFormat.MAPPED_FILE) {
+            mappedWordlist = mapped;
+            LOGGER.debug("opened " + DEBUG_LABEL + " " + mapped.debugString());
+            return;
+        }
+
+        LOGGER.debug("moving " + DEBUG_LABEL + " words from mapped file to LocalDB");
+        localDB.truncate(getWordlistDB());
+        populationStarting(0);
+        final Map<String, String> batch = new TreeMap<>();
+        for (long i = 0; i < mapped.size(); i++) {
+            batch.putAll(getWriteTxnForValue(mapped.get(i)));
+            if (batch.size() >= MAPPED_FILE_IMPORT_BATCH_SIZE) {
+                localDB.putAll(getWordlistDB(), batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            localDB.putAll(getWordlistDB(), batch);
+        }
+
+        mappedWordlist = null;
+        writeMetadata(metadata.toBuilder().storageFormat(WordlistStorageFormat.LOCALDB).filterInfo(null).build());
+        try {
+            Files.deleteIfExists(mapped.getFile().toPath());
+        } catch (IOException e) {
+            LOGGER.debug("unable to remove unused " + DEBUG_LABEL + " mapped file: " + e.getMessage());
+        }
+    }
+
+    private double readFilterFalsePositiveRate() {
+        return Double.parseDouble(pwmApplication.getConfig().readAppProperty(AppProperty.WORDLIST_FILTER_FALSE_POSITIVE_RATE));
+    }
+
     public StoredWordlistDataBean readMetadata() {
         final StoredWordlistDataBean storedValue = pwmApplication.readAppAttribute(getMetaDataAppAttribute(),StoredWordlistDataBean.class);
         if (storedValue != null) {
@@ -342,7 +636,7 @@ abstract class AbstractWordlist implements Wordlist, PwmService {
             throws IOException, PwmUnrecoverableException
     {
         try {
-            populationManager.populateImpl(inputStream, StoredWordlistDataBean.Source.User);
+            populationManager.populateImpl(inputStream, StoredWordlistDataBean.Source.User, null);
         } finally {
             if (!readMetadata().isCompleted()) {
                 LOGGER.debug("beginning population using builtin source in background thread");
@@ -385,12 +679,12 @@ abstract class AbstractWordlist implements Wordlist, PwmService {
                 if (remoteHash != null) {
                     if (!remoteHash.equals(readMetadata().getSha1hash())) {
                         LOGGER.debug("auto-import url remote hash does not equal currently stored hash, will start auto-import");
-                        populateAutoImport();
+                        populateAutoImport(remoteHash);
                     }
                 }
 
                 if (autoImportError != null) {
-                    final int retrySeconds = Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.APPLICATION_WORDLIST_RETRY_SECONDS));
+                    final int retrySeconds = pwmApplication.getConfig().readAppPropertyInt(AppProperty.APPLICATION_WORDLIST_RETRY_SECONDS);
                     LOGGER.error("auto-import of remote wordlist failed, will retry in " + (new TimeDuration(retrySeconds, TimeUnit.SECONDS).asCompactString()));
                     executorService.schedule(() -> {
                         try {
@@ -409,6 +703,8 @@ abstract class AbstractWordlist implements Wordlist, PwmService {
                 }
             }
 
+            checkStorageFormat();
+
             boolean needsBuiltinPopulating = false;
             if (!readMetadata().isCompleted()) {
                 needsBuiltinPopulating = true;
@@ -430,10 +726,10 @@ abstract class AbstractWordlist implements Wordlist, PwmService {
 
         protected void populateBuiltIn()
                 throws IOException, PwmUnrecoverableException {
-            populateImpl(getBuiltInWordlist(), StoredWordlistDataBean.Source.BuiltIn);
+            populateImpl(getBuiltInWordlist(), StoredWordlistDataBean.Source.BuiltIn, getBuiltInWordlistHash());
         }
 
-        private void populateImpl(final InputStream inputStream, final StoredWordlistDataBean.Source source)
+        private void populateImpl(final InputStream inputStream, final StoredWordlistDataBean.Source source, final String sourceHash)
                 throws IOException, PwmUnrecoverableException {
             if (inputStream == null) {
                 throw new NullPointerException("input stream can not be null for populateImpl()");
@@ -459,14 +755,11 @@ abstract class AbstractWordlist implements Wordlist, PwmService {
                     }
                 }
 
-                { // reset the wordlist metadata
-                    final StoredWordlistDataBean storedWordlistDataBean = StoredWordlistDataBean.builder()
-                            .source(source)
-                            .build();
-                    writeMetadata(storedWordlistDataBean);
-                }
+                bloomFilter = null;
+                mappedWordlist = null;
 
-                populator = new Populator(inputStream, source, AbstractWordlist.this, pwmApplication);
+                // the populator resets the stored metadata, unless it can resume from a checkpoint of the same source
+                populator = new Populator(inputStream, source, sourceHash, AbstractWordlist.this, pwmApplication);
                 populator.populate();
             } catch (Exception e) {
                 final ErrorInformation populationError;
@@ -499,13 +792,13 @@ abstract class AbstractWordlist implements Wordlist, PwmService {
             }
         }
 
-        public boolean populateAutoImport()
+        public boolean populateAutoImport(final String remoteHash)
                 throws IOException, PwmUnrecoverableException {
             autoImportError = null;
             InputStream inputStream = null;
             try {
                 inputStream = autoImportInputStream();
-                populateImpl(inputStream, StoredWordlistDataBean.Source.AutoImport);
+                populateImpl(inputStream, StoredWordlistDataBean.Source.AutoImport, remoteHash);
                 return true;
             } catch (Exception e) {
                 final ErrorInformation errorInformation = new ErrorInformation(PwmError.ERROR_UNKNOWN, "error during remote wordlist import: " + e.getMessage());
@@ -541,7 +834,7 @@ abstract class AbstractWordlist implements Wordlist, PwmService {
         }
 
         private InputStream autoImportInputStream() throws IOException, PwmUnrecoverableException {
-            final boolean promiscuous = Boolean.parseBoolean(pwmApplication.getConfig().readAppProperty(AppProperty.HTTP_CLIENT_PROMISCUOUS_WORDLIST_ENABLE));
+            final boolean promiscuous = pwmApplication.getConfig().readAppPropertyBoolean(AppProperty.HTTP_CLIENT_PROMISCUOUS_WORDLIST_ENABLE);
             final PwmHttpClientConfiguration pwmHttpClientConfiguration = PwmHttpClientConfiguration.builder()
                     .promiscuous(promiscuous)
                     .build();
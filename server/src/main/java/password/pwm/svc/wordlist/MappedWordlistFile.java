@@ -0,0 +1,491 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package password.pwm.svc.wordlist;
+
+import password.pwm.PwmConstants;
+import password.pwm.util.java.StringUtil;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+
+/**
+ * Immutable, memory-mapped wordlist file.  Words are stored as UTF-8 in blocks of {@link #BLOCK_SIZE} words; the first
+ * word of each block is stored in full and the following words are front-coded against their predecessor.  A table
+ * of block offsets follows the blocks.
+ *
+ * <p>When the words were written in ascending order {@link #contains(String)} binary searches the first word of each
+ * block, using an on-heap table of word prefixes, and then scans a single block.  {@link #get(long)} decodes a word by its position for any word order.  All
+ * reads use absolute offsets against the shared mapping, so lookups do not require any locking.</p>
+ *
+ * <p>The layout is:</p>
+ * <pre>
+ * header (64 bytes): magic, version, flags, block size, word count, block count, index offset, max word bytes, checksum
+ * blocks:            [length][bytes] then ([shared prefix length][suffix length][suffix bytes]) * (block size - 1)
+ * index:             block offsets as 8 byte values
+ * </pre>
+ * Lengths are unsigned variable length integers.  The checksum is a CRC32 of everything following the header.
+ */
+class MappedWordlistFile {
+
+    static final int BLOCK_SIZE = 16;
+
+    private static final int MAGIC = 0x50574C31; // "PWL1"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int FLAG_SORTED = 1;
+
+    private final File file;
+    private final ByteBuffer buffer;
+    private final boolean sorted;
+    private final int blockSize;
+    private final long wordCount;
+    private final int blockCount;
+    private final int indexOffset;
+    private final int maxWordBytes;
+
+    /** First eight bytes of the first word of each block, so most of a binary search stays on the heap. */
+    private final long[] blockPrefixes;
+
+    private final LongAdder lookups = new LongAdder();
+
+    private MappedWordlistFile(final File file, final ByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.buffer = buffer;
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("file " + file.getName() + " is not a wordlist file");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("file " + file.getName() + " has unsupported wordlist version " + buffer.getInt(4));
+        }
+
+        this.sorted = (buffer.getInt(8) & FLAG_SORTED) != 0;
+        this.blockSize = buffer.getInt(12);
+        this.wordCount = buffer.getLong(16);
+        this.blockCount = (int) buffer.getLong(24);
+        this.indexOffset = (int) buffer.getLong(32);
+        this.maxWordBytes = buffer.getInt(40);
+
+        if (blockSize < 1 || indexOffset < HEADER_SIZE || (long) indexOffset + (long) blockCount * 8 != buffer.capacity()) {
+            throw new IOException("file " + file.getName() + " has an invalid wordlist header");
+        }
+
+        if (buffer.getLong(44) != checksum(buffer)) {
+            throw new IOException("file " + file.getName() + " has an incorrect wordlist checksum");
+        }
+
+        this.blockPrefixes = new long[blockCount];
+        for (int i = 0; i < blockCount; i++) {
+            final long lengthAndPosition = readVarInt(blockOffset(i));
+            blockPrefixes[i] = prefix(buffer, nextPosition(lengthAndPosition), value(lengthAndPosition));
+        }
+    }
+
+    /**
+     * Map an existing wordlist file.
+     * @param file file previously written by a {@link Writer}
+     * @return the mapped wordlist
+     * @throws IOException if the file can not be read or is not a valid wordlist file
+     */
+    static MappedWordlistFile open(final File file) throws IOException {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+            final FileChannel channel = randomAccessFile.getChannel();
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("file " + file.getName() + " is too large to map");
+            }
+            final MappedByteBuffer mappedByteBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MappedWordlistFile(file, mappedByteBuffer);
+        }
+    }
+
+    boolean isSorted() {
+        return sorted;
+    }
+
+    long size() {
+        return wordCount;
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    /**
+     * Test if the word is present.
+     * @param word word to search for
+     * @return true if the word is present; always false if the words were not written in ascending order
+     */
+    boolean contains(final String word) {
+        lookups.increment();
+        if (!sorted || blockCount == 0) {
+            return false;
+        }
+
+        final byte[] key = word.getBytes(PwmConstants.DEFAULT_CHARSET);
+        if (key.length > maxWordBytes) {
+            return false;
+        }
+
+        final long keyPrefix = prefix(key);
+        int low = 0;
+        int high = blockCount - 1;
+        int block = -1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            int comparison = Long.compareUnsigned(blockPrefixes[mid], keyPrefix);
+            if (comparison == 0) {
+                final long lengthAndPosition = readVarInt(blockOffset(mid));
+                comparison = compare(buffer, nextPosition(lengthAndPosition), value(lengthAndPosition), key);
+            }
+            if (comparison == 0) {
+                return true;
+            } else if (comparison < 0) {
+                block = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        if (block < 0) {
+            return false;
+        }
+
+        final byte[] wordBytes = new byte[maxWordBytes];
+        final BlockReader reader = new BlockReader(block, wordBytes);
+        reader.next();
+        while (reader.next()) {
+            final int comparison = compare(wordBytes, reader.length, key);
+            if (comparison == 0) {
+                return true;
+            } else if (comparison > 0) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Read a word by position.
+     * @param index position of the word, starting at zero
+     * @return the word at the position
+     * @throws IndexOutOfBoundsException if the index is not less than {@link #size()}
+     */
+    String get(final long index) {
+        if (index < 0 || index >= wordCount) {
+            throw new IndexOutOfBoundsException("index " + index + " is outside of wordlist size " + wordCount);
+        }
+
+        lookups.increment();
+        final BlockReader reader = new BlockReader((int) (index / blockSize), new byte[maxWordBytes]);
+        for (int i = 0; i <= index % blockSize; i++) {
+            reader.next();
+        }
+        return new String(reader.word, 0, reader.length, PwmConstants.DEFAULT_CHARSET);
+    }
+
+    String debugString() {
+        return "mapped file words=" + wordCount
+                + ", size=" + StringUtil.formatDiskSize(buffer.capacity())
+                + ", lookups=" + lookups.sum();
+    }
+
+    private int blockOffset(final int block) {
+        return (int) buffer.getLong(indexOffset + block * 8);
+    }
+
+    /**
+     * Sequentially decodes the words of one block into a shared byte array.
+     */
+    private class BlockReader {
+        private final byte[] word;
+        private final int endPosition;
+        private int position;
+        private int length;
+        private int remaining;
+        private boolean first = true;
+
+        BlockReader(final int block, final byte[] word) {
+            this.word = word;
+            this.position = blockOffset(block);
+            this.endPosition = block + 1 < blockCount ? blockOffset(block + 1) : indexOffset;
+            this.remaining = (int) Math.min(blockSize, wordCount - (long) block * blockSize);
+        }
+
+        boolean next() {
+            if (remaining <= 0 || position >= endPosition) {
+                return false;
+            }
+            remaining--;
+
+            final int shared;
+            if (first) {
+                shared = 0;
+                first = false;
+            } else {
+                final long sharedAndPosition = readVarInt(position);
+                shared = value(sharedAndPosition);
+                position = nextPosition(sharedAndPosition);
+            }
+
+            final long suffixAndPosition = readVarInt(position);
+            final int suffixLength = value(suffixAndPosition);
+            position = nextPosition(suffixAndPosition);
+
+            for (int i = 0; i < suffixLength; i++) {
+                word[shared + i] = buffer.get(position + i);
+            }
+            position += suffixLength;
+            length = shared + suffixLength;
+            return true;
+        }
+    }
+
+    /**
+     * Read a variable length integer.
+     * @return the value in the low 32 bits and the position following the value in the high 32 bits.
+     */
+    private long readVarInt(final int startPosition) {
+        int position = startPosition;
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get(position++);
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return ((long) position << 32) | (value & 0xFFFFFFFFL);
+    }
+
+    private static int value(final long valueAndPosition) {
+        return (int) valueAndPosition;
+    }
+
+    private static int nextPosition(final long valueAndPosition) {
+        return (int) (valueAndPosition >>> 32);
+    }
+
+    private static long prefix(final ByteBuffer buffer, final int position, final int length) {
+        long prefix = 0;
+        for (int i = 0; i < 8; i++) {
+            prefix = (prefix << 8) | (i < length ? buffer.get(position + i) & 0xFF : 0);
+        }
+        return prefix;
+    }
+
+    private static long prefix(final byte[] key) {
+        long prefix = 0;
+        for (int i = 0; i < 8; i++) {
+            prefix = (prefix << 8) | (i < key.length ? key[i] & 0xFF : 0);
+        }
+        return prefix;
+    }
+
+    private static int compare(final ByteBuffer buffer, final int position, final int length, final byte[] key) {
+        final int commonLength = Math.min(length, key.length);
+        for (int i = 0; i < commonLength; i++) {
+            final int diff = (buffer.get(position + i) & 0xFF) - (key[i] & 0xFF);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return length - key.length;
+    }
+
+    private static int compare(final byte[] word, final int length, final byte[] key) {
+        final int commonLength = Math.min(length, key.length);
+        for (int i = 0; i < commonLength; i++) {
+            final int diff = (word[i] & 0xFF) - (key[i] & 0xFF);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return length - key.length;
+    }
+
+    private static long checksum(final ByteBuffer buffer) {
+        final CRC32 crc32 = new CRC32();
+        final ByteBuffer body = buffer.duplicate();
+        body.position(HEADER_SIZE);
+        crc32.update(body);
+        return crc32.getValue();
+    }
+
+    /**
+     * Writes a new wordlist file.  Words are written to a temporary file, which replaces the target file when the
+     * writer is {@link #commit() committed}.
+     */
+    static class Writer implements AutoCloseable {
+        private final File targetFile;
+        private final File tempFile;
+        private final boolean requireSorted;
+        private final OutputStream outputStream;
+        private final CRC32 crc32 = new CRC32();
+
+        private long[] blockOffsets = new long[1024];
+        private int blockCount;
+        private long wordCount;
+        private long position = HEADER_SIZE;
+        private int maxWordBytes;
+        private boolean sorted = true;
+        private byte[] previousWord;
+        private boolean committed;
+
+        /**
+         * @param targetFile file to create or replace
+         * @param requireSorted if true, {@link #add(String)} rejects words that are not in ascending order
+         * @throws IOException if the temporary file can not be created
+         */
+        Writer(final File targetFile, final boolean requireSorted) throws IOException {
+            this.targetFile = targetFile;
+            this.tempFile = new File(targetFile.getPath() + ".tmp");
+            this.requireSorted = requireSorted;
+            this.outputStream = new BufferedOutputStream(Files.newOutputStream(tempFile.toPath()), 64 * 1024);
+            outputStream.write(new byte[HEADER_SIZE]);
+        }
+
+        /**
+         * Append a word.
+         * @param word word to append
+         * @throws IOException if the word can not be written
+         * @throws IllegalArgumentException if sorted order is required and the word does not sort after the previous word
+         */
+        void add(final String word) throws IOException {
+            final byte[] wordBytes = word.getBytes(PwmConstants.DEFAULT_CHARSET);
+
+            if (previousWord != null && compare(previousWord, previousWord.length, wordBytes) >= 0) {
+                if (requireSorted) {
+                    throw new IllegalArgumentException("wordlist words must be added in ascending order");
+                }
+                sorted = false;
+            }
+
+            if (wordCount % BLOCK_SIZE == 0) {
+                if (blockCount == blockOffsets.length) {
+                    blockOffsets = Arrays.copyOf(blockOffsets, blockOffsets.length * 2);
+                }
+                blockOffsets[blockCount++] = position;
+                writeVarInt(wordBytes.length);
+                write(wordBytes, 0, wordBytes.length);
+            } else {
+                final int shared = sharedPrefixLength(previousWord, wordBytes);
+                writeVarInt(shared);
+                writeVarInt(wordBytes.length - shared);
+                write(wordBytes, shared, wordBytes.length - shared);
+            }
+
+            if (position > Integer.MAX_VALUE - (long) blockCount * 8) {
+                throw new IOException("wordlist file exceeds maximum size");
+            }
+
+            maxWordBytes = Math.max(maxWordBytes, wordBytes.length);
+            previousWord = wordBytes;
+            wordCount++;
+        }
+
+        long getWordCount() {
+            return wordCount;
+        }
+
+        /**
+         * Write the block index and header, and move the completed file over the target file.
+         * @throws IOException if the file can not be completed
+         */
+        void commit() throws IOException {
+            final long indexOffset = position;
+            final ByteBuffer indexBuffer = ByteBuffer.allocate(8);
+            for (int i = 0; i < blockCount; i++) {
+                indexBuffer.clear();
+                indexBuffer.putLong(blockOffsets[i]);
+                write(indexBuffer.array(), 0, 8);
+            }
+            outputStream.close();
+
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(0, MAGIC);
+            header.putInt(4, VERSION);
+            header.putInt(8, sorted ? FLAG_SORTED : 0);
+            header.putInt(12, BLOCK_SIZE);
+            header.putLong(16, wordCount);
+            header.putLong(24, blockCount);
+            header.putLong(32, indexOffset);
+            header.putInt(40, maxWordBytes);
+            header.putLong(44, crc32.getValue());
+
+            try (RandomAccessFile randomAccessFile = new RandomAccessFile(tempFile, "rw")) {
+                randomAccessFile.getChannel().write(header, 0);
+                randomAccessFile.getChannel().force(true);
+            }
+
+            Files.move(tempFile.toPath(), targetFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                outputStream.close();
+                Files.deleteIfExists(tempFile.toPath());
+            }
+        }
+
+        private void writeVarInt(final int value) throws IOException {
+            final byte[] bytes = new byte[5];
+            int length = 0;
+            int remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            bytes[length++] = (byte) remaining;
+            write(bytes, 0, length);
+        }
+
+        private void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            outputStream.write(bytes, offset, length);
+            crc32.update(bytes, offset, length);
+            position += length;
+        }
+
+        private static int sharedPrefixLength(final byte[] previous, final byte[] current) {
+            final int maxLength = Math.min(previous.length, current.length);
+            int shared = 0;
+            while (shared < maxLength && previous[shared] == current[shared]) {
+                shared++;
+            }
+            return shared;
+        }
+    }
+}
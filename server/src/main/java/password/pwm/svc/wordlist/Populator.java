@@ -22,8 +22,11 @@
 
 package password.pwm.svc.wordlist;
 
+import lombok.Value;
 import org.apache.commons.io.IOUtils;
+import password.pwm.AppProperty;
 import password.pwm.PwmApplication;
+import password.pwm.config.Configuration;
 import password.pwm.error.ErrorInformation;
 import password.pwm.error.PwmError;
 import password.pwm.error.PwmUnrecoverableException;
@@ -40,12 +43,34 @@ import java.io.InputStream;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
+ * Populates a wordlist db from a zip file.  Population runs as a pipeline of three stages:
+ * <ol>
+ *     <li>a reader thread decompresses the input and groups lines into chunks,</li>
+ *     <li>a pool of threads normalizes each chunk into a sorted, de-duplicated set of db entries,</li>
+ *     <li>the calling thread merges chunks in input order and writes them to the db in sorted batches.</li>
+ * </ol>
+ *
+ * <p>While populating, a checkpoint of the lines committed to the db is periodically stored with the wordlist
+ * metadata.  A later population of the same source (identified by its hash) continues from the checkpoint instead
+ * of starting over.</p>
+ *
  * @author Jason D. Rivard
  */
 class Populator {
@@ -54,15 +79,28 @@ class Populator {
     private static final long DEBUG_OUTPUT_FREQUENCY = 3 * 60 * 1000;  // 3 minutes
     private static final String COMMENT_PREFIX = "!#comment:"; // words tarting with this prefix are ignored.
     private static final NumberFormat PERCENT_FORMAT = DecimalFormat.getPercentInstance();
+    private static final int QUEUED_CHUNKS_PER_THREAD = 4;
+    private static final NormalizedChunk END_OF_INPUT = new NormalizedChunk(-1, Collections.emptyList(), Collections.emptyMap());
 
     private final ZipReader zipFileReader;
     private final StoredWordlistDataBean.Source source;
+    private final String sourceHash;
+
+    private final int normalizeThreads;
+    private final int chunkLines;
+    private final TimeDuration checkpointInterval;
+    private final String threadName;
 
     private volatile boolean running;
     private volatile boolean abortFlag;
 
-    private final PopulationStats overallStats = new PopulationStats();
-    private PopulationStats perReportStats = new PopulationStats();
+    private final Instant startTime = Instant.now();
+    private final StageStats readStats = new StageStats();
+    private final StageStats normalizeStats = new StageStats();
+    private final StageStats writeStats = new StageStats();
+    private final AtomicInteger queuedChunks = new AtomicInteger();
+    private Instant lastStatTime = Instant.now();
+
     private TransactionSizeCalculator transactionCalculator = new TransactionSizeCalculator(
             new TransactionSizeCalculator.SettingsBuilder()
                     .setDurationGoal(new TimeDuration(600, TimeUnit.MILLISECONDS))
@@ -71,9 +109,14 @@ class Populator {
                     .createSettings()
     );
 
-    private int loopLines;
-
     private final Map<String,String> bufferedWords = new TreeMap<>();
+    private long bufferedLines;
+    private long bufferedEntries;
+
+    private long resumedLines;
+    private volatile long committedLines;
+    private long committedEntries;
+    private Instant lastCheckpointTime = Instant.now();
 
     private final LocalDB localDB;
 
@@ -89,16 +132,24 @@ class Populator {
     Populator(
             final InputStream inputStream,
             final StoredWordlistDataBean.Source source,
+            final String sourceHash,
             final AbstractWordlist rootWordlist,
             final PwmApplication pwmApplication
     )
             throws Exception
     {
         this.source = source;
+        this.sourceHash = sourceHash;
         this.checksumInputStream = new ChecksumInputStream(AbstractWordlist.CHECKSUM_HASH_ALG, inputStream);
         this.zipFileReader = new ZipReader(checksumInputStream);
         this.localDB = pwmApplication.getLocalDB();
         this.rootWordlist = rootWordlist;
+
+        final Configuration config = pwmApplication.getConfig();
+        this.normalizeThreads = Math.max(1, config.readAppPropertyInt(AppProperty.WORDLIST_IMPORT_NORMALIZE_THREADS));
+        this.chunkLines = Math.max(1, config.readAppPropertyInt(AppProperty.WORDLIST_IMPORT_CHUNK_LINES));
+        this.checkpointInterval = new TimeDuration(config.readAppPropertyLong(AppProperty.WORDLIST_IMPORT_CHECKPOINT_INTERVAL_MS));
+        this.threadName = JavaHelper.makeThreadName(pwmApplication, rootWordlist.getClass()) + "-Import";
     }
 
     private void init() throws LocalDBException, IOException {
@@ -106,45 +157,87 @@ class Populator {
             return;
         }
 
-        localDB.truncate(rootWordlist.getWordlistDB());
+        final StoredWordlistDataBean.ImportCheckpoint checkpoint = readResumableCheckpoint();
+        if (checkpoint == null) {
+            rootWordlist.writeMetadata(StoredWordlistDataBean.builder().source(source).build());
+            localDB.truncate(rootWordlist.getWordlistDB());
+            rootWordlist.populationStarting(0);
+            return;
+        }
+
+        LOGGER.info("resuming " + rootWordlist.DEBUG_LABEL + " population from checkpoint at line " + checkpoint.getLines()
+                + " stored " + JavaHelper.toIsoDate(checkpoint.getTimestamp()));
 
-        if (overallStats.getLines() > 0) {
-            for (int i = 0; i < overallStats.getLines(); i++) {
-                zipFileReader.nextLine();
-            }
+        long skippedLines = 0;
+        while (skippedLines < checkpoint.getLines() && zipFileReader.nextLine() != null) {
+            skippedLines++;
+        }
+
+        resumedLines = skippedLines;
+        committedLines = skippedLines;
+        bufferedLines = skippedLines;
+        committedEntries = checkpoint.getEntries();
+        bufferedEntries = checkpoint.getEntries();
+        rootWordlist.populationStarting(checkpoint.getEntries());
+    }
+
+    private StoredWordlistDataBean.ImportCheckpoint readResumableCheckpoint() {
+        if (sourceHash == null) {
+            return null;
+        }
+
+        final StoredWordlistDataBean storedMetadata = rootWordlist.readMetadata();
+        final StoredWordlistDataBean.ImportCheckpoint checkpoint = storedMetadata.getImportCheckpoint();
+        if (storedMetadata.isCompleted() || storedMetadata.getSource() != source || checkpoint == null) {
+            return null;
         }
+
+        return sourceHash.equals(checkpoint.getSourceHash()) ? checkpoint : null;
     }
 
-    public String makeStatString()
+    public synchronized String makeStatString()
     {
         if (!running) {
             return "not running";
         }
 
-        final int lps = perReportStats.getElapsedSeconds() <= 0 ? 0 : perReportStats.getLines() / perReportStats.getElapsedSeconds();
-
-        perReportStats = new PopulationStats();
-        return rootWordlist.DEBUG_LABEL + ", lines/second="
-                + lps + ", line=" + overallStats.getLines() + ""
+        final long elapsedMs = Math.max(1, TimeDuration.fromCurrent(lastStatTime).getTotalMilliseconds());
+        lastStatTime = Instant.now();
+
+        return rootWordlist.DEBUG_LABEL
+                + ", read lines/second=" + readStats.ratePerSecond(elapsedMs)
+                + ", normalized words/second=" + normalizeStats.ratePerSecond(elapsedMs)
+                + ", written entries/second=" + writeStats.ratePerSecond(elapsedMs)
+                + ", line=" + (resumedLines + readStats.getCount())
+                + ", committed line=" + committedLines
+                + ", queued chunks=" + queuedChunks.get()
+                + ", transaction size=" + transactionCalculator.getTransactionSize()
                 + " current zipEntry=" + zipFileReader.currentZipName();
     }
 
     void populate() throws IOException, LocalDBException, PwmUnrecoverableException {
+        ExecutorService readExecutor = null;
+        ExecutorService normalizeExecutor = null;
         try {
-            rootWordlist.writeMetadata(StoredWordlistDataBean.builder().source(source).build());
             running = true;
             init();
 
-            long lastReportTime = System.currentTimeMillis() - (long) (DEBUG_OUTPUT_FREQUENCY * 0.33);
+            final BlockingQueue<CompletableFuture<NormalizedChunk>> pendingChunks = new ArrayBlockingQueue<>(normalizeThreads * QUEUED_CHUNKS_PER_THREAD);
+            readExecutor = Executors.newSingleThreadExecutor(JavaHelper.makePwmThreadFactory(threadName + "-Read-", true));
+            normalizeExecutor = Executors.newFixedThreadPool(normalizeThreads, JavaHelper.makePwmThreadFactory(threadName + "-Normalize-", true));
 
-            String line;
-            while (!abortFlag && (line = zipFileReader.nextLine()) != null) {
+            final ExecutorService finalNormalizeExecutor = normalizeExecutor;
+            readExecutor.execute(() -> readInput(pendingChunks, finalNormalizeExecutor));
+
+            long lastReportTime = System.currentTimeMillis() - (long) (DEBUG_OUTPUT_FREQUENCY * 0.33);
 
-                overallStats.incrementLines();
-                perReportStats.incrementLines();
+            while (!abortFlag) {
+                final NormalizedChunk chunk = takeChunk(pendingChunks);
+                if (chunk == END_OF_INPUT) {
+                    break;
+                }
 
-                addLine(line);
-                loopLines++;
+                addChunk(chunk);
 
                 if (TimeDuration.fromCurrent(lastReportTime).isLongerThan(DEBUG_OUTPUT_FREQUENCY)) {
                     LOGGER.info(makeStatString());
@@ -157,32 +250,151 @@ class Populator {
             }
 
             if (abortFlag) {
-                LOGGER.warn("pausing " + rootWordlist.DEBUG_LABEL + " population");
+                LOGGER.warn("pausing " + rootWordlist.DEBUG_LABEL + " population at line " + committedLines);
+                writeCheckpoint();
             } else {
                 populationComplete();
             }
         } finally {
             running = false;
+            if (readExecutor != null) {
+                readExecutor.shutdownNow();
+            }
+            if (normalizeExecutor != null) {
+                normalizeExecutor.shutdownNow();
+            }
             IOUtils.closeQuietly(checksumInputStream);
         }
     }
 
-    private void addLine(final String word)
-            throws IOException
+    /**
+     * Read stage; groups input lines into chunks and hands each chunk to the normalize stage.  Runs until the input
+     * is exhausted, the population is aborted, or the thread is interrupted.
+     */
+    private void readInput(
+            final BlockingQueue<CompletableFuture<NormalizedChunk>> pendingChunks,
+            final ExecutorService normalizeExecutor
+    )
+    {
+        try {
+            long lineCounter = resumedLines;
+            List<String> lines = new ArrayList<>(chunkLines);
+            String line;
+            while (!abortFlag && (line = zipFileReader.nextLine()) != null) {
+                lines.add(line);
+                lineCounter++;
+                readStats.add(1);
+
+                if (lines.size() >= chunkLines) {
+                    final List<String> chunkContents = lines;
+                    final long endLine = lineCounter;
+                    queueChunk(pendingChunks, CompletableFuture.supplyAsync(() -> normalizeChunk(chunkContents, endLine), normalizeExecutor));
+                    lines = new ArrayList<>(chunkLines);
+                }
+            }
+
+            if (!lines.isEmpty()) {
+                final List<String> chunkContents = lines;
+                final long endLine = lineCounter;
+                queueChunk(pendingChunks, CompletableFuture.supplyAsync(() -> normalizeChunk(chunkContents, endLine), normalizeExecutor));
+            }
+
+            queueChunk(pendingChunks, CompletableFuture.completedFuture(END_OF_INPUT));
+        } catch (InterruptedException e) {
+            LOGGER.trace("wordlist reader interrupted, stopping");
+        } catch (Exception e) {
+            final CompletableFuture<NormalizedChunk> failure = new CompletableFuture<>();
+            failure.completeExceptionally(e);
+            try {
+                queueChunk(pendingChunks, failure);
+            } catch (InterruptedException e2) {
+                LOGGER.trace("wordlist reader interrupted, stopping");
+            }
+        }
+    }
+
+    private void queueChunk(
+            final BlockingQueue<CompletableFuture<NormalizedChunk>> pendingChunks,
+            final CompletableFuture<NormalizedChunk> chunk
+    )
+            throws InterruptedException
+    {
+        queuedChunks.incrementAndGet();
+        pendingChunks.put(chunk);
+    }
+
+    private NormalizedChunk takeChunk(final BlockingQueue<CompletableFuture<NormalizedChunk>> pendingChunks)
+            throws IOException, PwmUnrecoverableException
     {
+        try {
+            final NormalizedChunk chunk = pendingChunks.take().join();
+            queuedChunks.decrementAndGet();
+            return chunk;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PwmUnrecoverableException(new ErrorInformation(PwmError.ERROR_UNKNOWN, "interrupted during " + rootWordlist.DEBUG_LABEL + " population"));
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause() == null ? e : e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new PwmUnrecoverableException(new ErrorInformation(PwmError.ERROR_UNKNOWN, "error reading " + rootWordlist.DEBUG_LABEL + " input: " + cause.getMessage()));
+        }
+    }
+
+    /**
+     * Normalize stage; may run concurrently for different chunks.
+     */
+    private NormalizedChunk normalizeChunk(final List<String> lines, final long endLine) {
+        final List<String> words = new ArrayList<>(lines.size());
+        for (final String line : lines) {
+            final String normalizedWord = normalizeLine(line);
+            if (normalizedWord != null) {
+                words.add(normalizedWord);
+            }
+        }
+        normalizeStats.add(words.size());
+
+        if (rootWordlist.hasSequentialKeys()) {
+            return new NormalizedChunk(endLine, words, null);
+        }
+
+        return new NormalizedChunk(endLine, null, makeEntries(words));
+    }
+
+    private String normalizeLine(final String word) {
         // check for word suitability
         String normalizedWord = rootWordlist.normalizeWord(word);
 
         if (normalizedWord == null || normalizedWord.length() < 1 || normalizedWord.startsWith(COMMENT_PREFIX)) {
-            return;
+            return null;
         }
 
         if (normalizedWord.length() > MAX_LINE_LENGTH) {
             normalizedWord = normalizedWord.substring(0,MAX_LINE_LENGTH);
         }
 
-        final Map<String,String> wordTxn = rootWordlist.getWriteTxnForValue(normalizedWord);
-        bufferedWords.putAll(wordTxn);
+        return normalizedWord;
+    }
+
+    private Map<String,String> makeEntries(final List<String> words) {
+        final Map<String,String> entries = new TreeMap<>();
+        for (final String word : words) {
+            entries.putAll(rootWordlist.getWriteTxnForValue(word));
+        }
+        return entries;
+    }
+
+    /**
+     * Write stage; chunks are merged in input order.
+     */
+    private void addChunk(final NormalizedChunk chunk) {
+        final Map<String,String> entries = chunk.getEntries() == null
+                ? makeEntries(chunk.getWords())
+                : chunk.getEntries();
+        bufferedWords.putAll(entries);
+        bufferedEntries += entries.size();
+        bufferedLines = chunk.getEndLine();
     }
 
     private void flushBuffer()
@@ -200,11 +412,12 @@ class Populator {
         //mark how long the buffer close took
         final long commitTime = System.currentTimeMillis() - startTime;
         transactionCalculator.recordLastTransactionDuration(commitTime);
+        writeStats.add(bufferedWords.size());
 
         if (bufferedWords.size() > 0) {
             final StringBuilder sb = new StringBuilder();
             sb.append(rootWordlist.DEBUG_LABEL).append(" ");
-            sb.append("read ").append(loopLines).append(", ");
+            sb.append("read ").append(bufferedLines - committedLines).append(", ");
             sb.append("saved ");
             sb.append(bufferedWords.size()).append(" words");
             sb.append(" (").append(new TimeDuration(commitTime).asCompactString()).append(")");
@@ -214,7 +427,30 @@ class Populator {
 
         //clear the buffers.
         bufferedWords.clear();
-        loopLines = 0;
+        committedLines = bufferedLines;
+        committedEntries = bufferedEntries;
+
+        if (TimeDuration.fromCurrent(lastCheckpointTime).isLongerThan(checkpointInterval)) {
+            writeCheckpoint();
+        }
+    }
+
+    private void writeCheckpoint() {
+        lastCheckpointTime = Instant.now();
+        if (sourceHash == null) {
+            return;
+        }
+
+        final StoredWordlistDataBean.ImportCheckpoint checkpoint = StoredWordlistDataBean.ImportCheckpoint.builder()
+                .sourceHash(sourceHash)
+                .lines(committedLines)
+                .entries(committedEntries)
+                .timestamp(lastCheckpointTime)
+                .build();
+        rootWordlist.writeMetadata(StoredWordlistDataBean.builder()
+                .source(source)
+                .importCheckpoint(checkpoint)
+                .build());
     }
 
     private void populationComplete()
@@ -230,14 +466,18 @@ class Populator {
         final StringBuilder sb = new StringBuilder();
         sb.append(rootWordlist.DEBUG_LABEL);
         sb.append(" population complete, added ").append(wordlistSize);
-        sb.append(" total words in ").append(new TimeDuration(overallStats.getElapsedSeconds() * 1000).asCompactString());
+        sb.append(" total words in ").append(TimeDuration.fromCurrent(startTime).asCompactString());
         {
+            final WordlistStorageFormat storageFormat = rootWordlist.storePopulatedWords();
+            final StoredWordlistDataBean.FilterInfo filterInfo = rootWordlist.buildFilter(wordlistSize);
             final StoredWordlistDataBean storedWordlistDataBean = StoredWordlistDataBean.builder()
                     .sha1hash(JavaHelper.binaryArrayToHex(checksumInputStream.closeAndFinalChecksum()))
                     .size(wordlistSize)
                     .storeDate(Instant.now())
                     .source(source)
                     .completed(!abortFlag)
+                    .filterInfo(filterInfo)
+                    .storageFormat(storageFormat)
                     .build();
             rootWordlist.writeMetadata(storedWordlistDataBean);
         }
@@ -263,24 +503,35 @@ class Populator {
         return running;
     }
 
-    private static class PopulationStats {
+    @Value
+    private static class NormalizedChunk {
+        /** Number of input lines read up to and including this chunk. */
+        private final long endLine;
 
-        private long startTime = System.currentTimeMillis();
-        private int lines;
+        /** Normalized words in input order, when entries must be made in input order by the write stage. */
+        private final List<String> words;
 
-        public int getLines()
-        {
-            return lines;
+        /** Sorted and de-duplicated entries, when entries were made by the normalize stage. */
+        private final Map<String,String> entries;
+    }
+
+    private static class StageStats {
+        private final LongAdder count = new LongAdder();
+        private long lastReportCount;
+
+        void add(final long amount) {
+            count.add(amount);
         }
 
-        public void incrementLines()
-        {
-            lines++;
+        long getCount() {
+            return count.sum();
         }
 
-        public int getElapsedSeconds()
-        {
-            return (int) (System.currentTimeMillis() - startTime) / 1000;
+        long ratePerSecond(final long elapsedMs) {
+            final long currentCount = count.sum();
+            final long rate = (currentCount - lastReportCount) * 1000 / elapsedMs;
+            lastReportCount = currentCount;
+            return rate;
         }
     }
 }
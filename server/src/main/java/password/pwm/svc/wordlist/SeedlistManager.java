@@ -52,10 +52,15 @@ public class SeedlistManager extends AbstractWordlist implements Wordlist {
         try {
             final int seedCount = size();
             if (seedCount > 1000) {
-                final int randomKey = PwmRandom.getInstance().nextInt(size());
-                final Object obj = localDB.get(getWordlistDB(), String.valueOf(randomKey));
-                if (obj != null) {
-                    returnValue = obj.toString();
+                final MappedWordlistFile mapped = getMappedWordlist();
+                if (mapped != null) {
+                    returnValue = mapped.get(PwmRandom.getInstance().nextInt((int) mapped.size()));
+                } else {
+                    final int randomKey = PwmRandom.getInstance().nextInt(seedCount);
+                    final Object obj = localDB.get(getWordlistDB(), String.valueOf(randomKey));
+                    if (obj != null) {
+                        returnValue = obj.toString();
+                    }
                 }
             }
         } catch (Exception e) {
@@ -68,6 +73,16 @@ public class SeedlistManager extends AbstractWordlist implements Wordlist {
         return returnValue;
     }
 
+    @Override
+    protected boolean hasSequentialKeys() {
+        return true;
+    }
+
+    @Override
+    protected void populationStarting(final long existingEntries) {
+        initialPopulationCounter = (int) existingEntries;
+    }
+
     protected Map<String, String> getWriteTxnForValue(final String value) {
         final Map<String, String> txItem = Collections.singletonMap(String.valueOf(initialPopulationCounter), value);
         initialPopulationCounter++;
@@ -78,14 +93,19 @@ public class SeedlistManager extends AbstractWordlist implements Wordlist {
         super.init(pwmApplication);
         final String seedlistUrl = readAutoImportUrl();
 
-        final int minSize = Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.WORDLIST_CHAR_LENGTH_MIN));
-        final int maxSize = Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.WORDLIST_CHAR_LENGTH_MAX));
+        final int minSize = pwmApplication.getConfig().readAppPropertyInt(AppProperty.WORDLIST_CHAR_LENGTH_MIN);
+        final int maxSize = pwmApplication.getConfig().readAppPropertyInt(AppProperty.WORDLIST_CHAR_LENGTH_MAX);
 
         this.wordlistConfiguration = new WordlistConfiguration(true, 0, seedlistUrl, minSize, maxSize);
         this.DEBUG_LABEL = PwmConstants.PWM_APP_NAME + "-Seedist";
         backgroundStartup();
     }
 
+    @Override
+    protected WordlistType getWordlistType() {
+        return WordlistType.SEEDLIST;
+    }
+
     @Override
     protected PwmApplication.AppAttribute getMetaDataAppAttribute() {
         return PwmApplication.AppAttribute.SEEDLIST_METADATA;
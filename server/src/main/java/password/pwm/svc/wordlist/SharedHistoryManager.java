@@ -99,9 +99,9 @@ public class SharedHistoryManager implements PwmService {
 
         try {
             final String hashedWord = hashWord(testWord);
-            final boolean inDB = localDB.contains(WORDS_DB, hashedWord);
-            if (inDB) {
-                final long timeStamp = Long.parseLong(localDB.get(WORDS_DB, hashedWord));
+            final String storedTimestamp = localDB.get(WORDS_DB, hashedWord);
+            if (storedTimestamp != null) {
+                final long timeStamp = Long.parseLong(storedTimestamp);
                 final long entryAge = System.currentTimeMillis() - timeStamp;
                 if (entryAge < settings.maxAgeMs) {
                     result = true;
@@ -249,12 +249,11 @@ public class SharedHistoryManager implements PwmService {
         try {
             final String hashedWord = hashWord(addWord);
 
-            final boolean preExisting = localDB.contains(WORDS_DB, hashedWord);
             localDB.put(WORDS_DB, hashedWord, Long.toString(System.currentTimeMillis()));
 
             {
                 final StringBuilder logOutput = new StringBuilder();
-                logOutput.append(preExisting ? "updated" : "added").append(" word");
+                logOutput.append("stored word");
                 logOutput.append(" (").append(new TimeDuration(System.currentTimeMillis(), startTime).asCompactString()).append(")");
                 logOutput.append(" (").append(this.size()).append(" total words)");
                 LOGGER.trace(logOutput.toString());
@@ -367,12 +366,12 @@ public class SharedHistoryManager implements PwmService {
             throws PwmException
     {
         settings.maxAgeMs = 1000 *  pwmApplication.getConfig().readSettingAsLong(PwmSetting.PASSWORD_SHAREDHISTORY_MAX_AGE); // convert to MS;
-        settings.caseInsensitive = Boolean.parseBoolean(pwmApplication.getConfig().readAppProperty(AppProperty.SECURITY_SHAREDHISTORY_CASE_INSENSITIVE));
+        settings.caseInsensitive = pwmApplication.getConfig().readAppPropertyBoolean(AppProperty.SECURITY_SHAREDHISTORY_CASE_INSENSITIVE);
         settings.hashName = pwmApplication.getConfig().readAppProperty(AppProperty.SECURITY_SHAREDHISTORY_HASH_NAME);
-        settings.hashIterations = Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.SECURITY_SHAREDHISTORY_HASH_ITERATIONS));
+        settings.hashIterations = pwmApplication.getConfig().readAppPropertyInt(AppProperty.SECURITY_SHAREDHISTORY_HASH_ITERATIONS);
         settings.version = "2" + "_" + settings.hashName + "_" + settings.hashIterations + "_" + settings.caseInsensitive;
 
-        final int SALT_LENGTH = Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.SECURITY_SHAREDHISTORY_SALT_LENGTH));
+        final int SALT_LENGTH = pwmApplication.getConfig().readAppPropertyInt(AppProperty.SECURITY_SHAREDHISTORY_SALT_LENGTH);
         this.localDB = pwmApplication.getLocalDB();
 
         boolean needsClearing = false;
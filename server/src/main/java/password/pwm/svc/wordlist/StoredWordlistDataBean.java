@@ -29,13 +29,38 @@ import java.io.Serializable;
 import java.time.Instant;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
 public class StoredWordlistDataBean implements Serializable {
     private boolean completed;
     private Source source;
     private Instant storeDate;
     private String sha1hash;
     private int size;
+    private FilterInfo filterInfo;
+    private ImportCheckpoint importCheckpoint;
+    private WordlistStorageFormat storageFormat;
+
+    @Getter
+    @Builder
+    public static class FilterInfo implements Serializable {
+        private long bitCount;
+        private int hashCount;
+        private long itemCount;
+        private int chunkCount;
+        private long checksum;
+    }
+
+    /**
+     * Progress of an incomplete population, used to resume the population from the same source.
+     */
+    @Getter
+    @Builder
+    public static class ImportCheckpoint implements Serializable {
+        private String sourceHash;
+        private long lines;
+        private long entries;
+        private Instant timestamp;
+    }
 
     public enum Source {
         BuiltIn("Built-In"),
@@ -0,0 +1,279 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+
+package password.pwm.svc.wordlist;
+
+import password.pwm.util.java.StringUtil;
+import password.pwm.util.localdb.LocalDB;
+import password.pwm.util.localdb.LocalDBException;
+import password.pwm.util.logging.PwmLogger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.text.NumberFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+
+/**
+ * Bloom filter over the keys of a wordlist {@link LocalDB.DB}.  A negative result from {@link #mightContain(String)} is
+ * definitive, so checks for words that are not in the wordlist never need to reach the LocalDB.
+ *
+ * <p>The filter is populated once by a single thread and is read-only after it has been published, so lookups do not
+ * require any locking.  The bit array may optionally be allocated off-heap.</p>
+ */
+class WordlistBloomFilter {
+    private static final PwmLogger LOGGER = PwmLogger.forClass(WordlistBloomFilter.class);
+
+    private static final int CHUNK_BYTES = 64 * 1024;
+    private static final int CHUNKS_PER_TRANSACTION = 16;
+    private static final int MAX_HASH_COUNT = 16;
+    private static final long MAX_BITS = 8L * 1024 * 1024 * 1024;
+
+    private final LongBuffer bits;
+    private final long bitCount;
+    private final int hashCount;
+    private long itemCount;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder lookupsAvoided = new LongAdder();
+
+    private WordlistBloomFilter(final long bitCount, final int hashCount, final long itemCount, final boolean offHeap) {
+        final int longCount = (int) ((bitCount + 63) / 64);
+        this.bits = offHeap
+                ? ByteBuffer.allocateDirect(longCount * 8).asLongBuffer()
+                : LongBuffer.allocate(longCount);
+        this.bitCount = (long) longCount * 64;
+        this.hashCount = hashCount;
+        this.itemCount = itemCount;
+    }
+
+    /**
+     * Create an empty filter sized for the expected number of items.
+     * @param expectedItems number of items that will be added to the filter
+     * @param falsePositiveRate target false positive rate, between 0 and 1
+     * @param maxBytes upper bound for the size of the bit array; if reached the actual false positive rate will exceed the target
+     * @param offHeap if true the bit array is allocated outside of the java heap
+     * @return a new, empty filter
+     */
+    static WordlistBloomFilter create(final long expectedItems, final double falsePositiveRate, final long maxBytes, final boolean offHeap) {
+        final long items = Math.max(1, expectedItems);
+        final double rate = Math.min(0.5, Math.max(0.000001, falsePositiveRate));
+        final long maxBits = Math.min(Math.max(64, maxBytes * 8), MAX_BITS);
+
+        final long idealBits = (long) Math.ceil(-items * Math.log(rate) / (Math.log(2) * Math.log(2)));
+        final long bitCount = Math.max(64, Math.min(maxBits, idealBits));
+        final int hashCount = (int) Math.max(1, Math.min(MAX_HASH_COUNT, Math.round((double) bitCount / items * Math.log(2))));
+
+        return new WordlistBloomFilter(bitCount, hashCount, 0, offHeap);
+    }
+
+    void put(final String key) {
+        final long hash1 = hash(key);
+        final long hash2 = mix(hash1 ^ 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            final long bitIndex = Math.floorMod(hash1 + i * hash2, bitCount);
+            final int longIndex = (int) (bitIndex >>> 6);
+            bits.put(longIndex, bits.get(longIndex) | (1L << bitIndex));
+        }
+        itemCount++;
+    }
+
+    /**
+     * Test if the key might be present in the wordlist.
+     * @param key wordlist key to test
+     * @return false if the key is definitely not in the wordlist, true if it may be.
+     */
+    boolean mightContain(final String key) {
+        lookups.increment();
+        final long hash1 = hash(key);
+        final long hash2 = mix(hash1 ^ 0xC2B2AE3D27D4EB4FL) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            final long bitIndex = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((bits.get((int) (bitIndex >>> 6)) & (1L << bitIndex)) == 0) {
+                lookupsAvoided.increment();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long getSizeInBytes() {
+        return bitCount / 8;
+    }
+
+    long getItemCount() {
+        return itemCount;
+    }
+
+    long getLookups() {
+        return lookups.sum();
+    }
+
+    long getLookupsAvoided() {
+        return lookupsAvoided.sum();
+    }
+
+    /**
+     * Estimated false positive rate for the number of items actually added to the filter.
+     * @return rate between 0 and 1
+     */
+    double estimatedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashCount * itemCount / bitCount), hashCount);
+    }
+
+    String debugString() {
+        final NumberFormat percentFormat = NumberFormat.getPercentInstance();
+        percentFormat.setMaximumFractionDigits(3);
+        return "filter size=" + StringUtil.formatDiskSize(getSizeInBytes())
+                + ", items=" + itemCount
+                + ", hashes=" + hashCount
+                + ", falsePositiveRate=" + percentFormat.format(estimatedFalsePositiveRate())
+                + ", lookupsAvoided=" + getLookupsAvoided() + "/" + getLookups();
+    }
+
+    /**
+     * Write the filter contents to the given db, replacing any previously stored filter.
+     * @param localDB localDB instance
+     * @param db db to store the filter in
+     * @return information needed to read the filter back using {@link #read(LocalDB, LocalDB.DB, StoredWordlistDataBean.FilterInfo, boolean)}
+     * @throws LocalDBException if the filter can not be written
+     */
+    StoredWordlistDataBean.FilterInfo write(final LocalDB localDB, final LocalDB.DB db)
+            throws LocalDBException
+    {
+        localDB.truncate(db);
+
+        final byte[] bytes = toByteArray();
+        final CRC32 crc32 = new CRC32();
+        crc32.update(bytes);
+
+        final Map<String, String> transaction = new LinkedHashMap<>();
+        int chunkCount = 0;
+        for (int offset = 0; offset < bytes.length; offset += CHUNK_BYTES) {
+            final int length = Math.min(CHUNK_BYTES, bytes.length - offset);
+            final byte[] chunk = new byte[length];
+            System.arraycopy(bytes, offset, chunk, 0, length);
+            transaction.put(String.valueOf(chunkCount), StringUtil.base64Encode(chunk));
+            chunkCount++;
+            if (transaction.size() >= CHUNKS_PER_TRANSACTION) {
+                localDB.putAll(db, transaction);
+                transaction.clear();
+            }
+        }
+        if (!transaction.isEmpty()) {
+            localDB.putAll(db, transaction);
+        }
+
+        return StoredWordlistDataBean.FilterInfo.builder()
+                .bitCount(bitCount)
+                .hashCount(hashCount)
+                .itemCount(itemCount)
+                .chunkCount(chunkCount)
+                .checksum(crc32.getValue())
+                .build();
+    }
+
+    /**
+     * Read a filter previously stored by {@link #write(LocalDB, LocalDB.DB)}.
+     * @param localDB localDB instance
+     * @param db db the filter was stored in
+     * @param filterInfo information returned when the filter was written
+     * @param offHeap if true the bit array is allocated outside of the java heap
+     * @return the stored filter, or null if the stored filter is missing or does not match the filter info
+     * @throws LocalDBException if the filter can not be read
+     */
+    static WordlistBloomFilter read(
+            final LocalDB localDB,
+            final LocalDB.DB db,
+            final StoredWordlistDataBean.FilterInfo filterInfo,
+            final boolean offHeap
+    )
+            throws LocalDBException
+    {
+        if (filterInfo == null || filterInfo.getBitCount() <= 0 || filterInfo.getHashCount() <= 0) {
+            return null;
+        }
+
+        final WordlistBloomFilter filter = new WordlistBloomFilter(filterInfo.getBitCount(), filterInfo.getHashCount(), filterInfo.getItemCount(), offHeap);
+        final ByteBuffer byteBuffer = ByteBuffer.allocate((int) filter.getSizeInBytes());
+        try {
+            for (int i = 0; i < filterInfo.getChunkCount(); i++) {
+                final String value = localDB.get(db, String.valueOf(i));
+                if (value == null) {
+                    LOGGER.debug("stored filter is missing chunk " + i);
+                    return null;
+                }
+                byteBuffer.put(StringUtil.base64Decode(value));
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("unable to decode stored filter: " + e.getMessage());
+            return null;
+        }
+
+        if (byteBuffer.hasRemaining()) {
+            LOGGER.debug("stored filter is shorter than expected");
+            return null;
+        }
+
+        final byte[] bytes = byteBuffer.array();
+        final CRC32 crc32 = new CRC32();
+        crc32.update(bytes);
+        if (crc32.getValue() != filterInfo.getChecksum()) {
+            LOGGER.debug("stored filter checksum does not match");
+            return null;
+        }
+
+        filter.bits.duplicate().put(ByteBuffer.wrap(bytes).asLongBuffer());
+        return filter;
+    }
+
+    private byte[] toByteArray() {
+        final ByteBuffer byteBuffer = ByteBuffer.allocate((int) getSizeInBytes());
+        final LongBuffer source = bits.duplicate();
+        source.rewind();
+        byteBuffer.asLongBuffer().put(source);
+        return byteBuffer.array();
+    }
+
+    private static long hash(final String key) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(final long input) {
+        long value = input;
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -60,14 +60,19 @@ public class WordlistManager extends AbstractWordlist implements Wordlist {
         final int checkSize = (int)pwmApplication.getConfig().readSettingAsLong(PwmSetting.PASSWORD_WORDLIST_WORDSIZE);
         final String wordlistUrl = readAutoImportUrl();
 
-        final int minSize = Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.WORDLIST_CHAR_LENGTH_MIN));
-        final int maxSize = Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.WORDLIST_CHAR_LENGTH_MAX));
+        final int minSize = pwmApplication.getConfig().readAppPropertyInt(AppProperty.WORDLIST_CHAR_LENGTH_MIN);
+        final int maxSize = pwmApplication.getConfig().readAppPropertyInt(AppProperty.WORDLIST_CHAR_LENGTH_MAX);
 
         this.wordlistConfiguration = new WordlistConfiguration(caseSensitive, checkSize, wordlistUrl, minSize, maxSize);
         this.DEBUG_LABEL = PwmConstants.PWM_APP_NAME + "-Wordlist";
         backgroundStartup();
     }
 
+    @Override
+    protected WordlistType getWordlistType() {
+        return WordlistType.WORDLIST;
+    }
+
     @Override
     protected PwmApplication.AppAttribute getMetaDataAppAttribute() {
         return PwmApplication.AppAttribute.WORDLIST_METADATA;
@@ -83,6 +88,11 @@ public class WordlistManager extends AbstractWordlist implements Wordlist {
         return LocalDB.DB.WORDLIST_WORDS;
     }
 
+    @Override
+    protected LocalDB.DB getFilterDB() {
+        return LocalDB.DB.WORDLIST_FILTER;
+    }
+
     @Override
     protected AppProperty getBuiltInWordlistLocationProperty() {
         return AppProperty.WORDLIST_BUILTIN_PATH;
@@ -22,14 +22,31 @@
 
 package password.pwm.svc.wordlist;
 
+import password.pwm.AppProperty;
 import password.pwm.PwmApplication;
+import password.pwm.config.Configuration;
+import password.pwm.util.java.JavaHelper;
 
 public enum WordlistType {
-    WORDLIST,
-    SEEDLIST,
+    WORDLIST(AppProperty.WORDLIST_STORAGE_FORMAT),
+    SEEDLIST(AppProperty.SEEDLIST_STORAGE_FORMAT),
 
     ;
 
+    private final AppProperty storageFormatProperty;
+
+    WordlistType(final AppProperty storageFormatProperty) {
+        this.storageFormatProperty = storageFormatProperty;
+    }
+
+    public WordlistStorageFormat readStorageFormat(final Configuration configuration) {
+        return JavaHelper.readEnumFromString(
+                WordlistStorageFormat.class,
+                WordlistStorageFormat.LOCALDB,
+                configuration.readAppProperty(storageFormatProperty)
+        );
+    }
+
     public Wordlist forType(final PwmApplication pwmApplication) {
         switch (this) {
             case WORDLIST:
@@ -65,6 +65,9 @@ public class LocaleHelper {
 
     private static final PwmLogger LOGGER = PwmLogger.forClass(LocaleHelper.class);
 
+    // messages resolved without a configuration only come from the built-in resource bundles.
+    private static final LocalizedMessageCache DEFAULT_MESSAGE_CACHE = new LocalizedMessageCache();
+
     public static Class classForShortName(final String shortName) {
         if (shortName == null || shortName.isEmpty()) {
             return null;
@@ -110,6 +113,22 @@ public class LocaleHelper {
             final Class bundleClass,
             final String[] values
     )
+    {
+        final LocalizedMessageCache messageCache = config == null ? DEFAULT_MESSAGE_CACHE : config.getLocalizedMessageCache();
+        final LocalizedMessageCache.MessageTemplate messageTemplate = messageCache == null
+                ? LocalizedMessageCache.MessageTemplate.compile(resolveLocalizedMessage(locale, key, config, bundleClass))
+                : messageCache.get(locale, bundleClass, key, () -> resolveLocalizedMessage(locale, key, config, bundleClass));
+
+        final MacroMachine macroMachine = MacroMachine.forStatic();
+        return macroMachine.expandMacros(messageTemplate.apply(values));
+    }
+
+    private static String resolveLocalizedMessage(
+            final Locale locale,
+            final String key,
+            final Configuration config,
+            final Class bundleClass
+    )
     {
         String returnValue = null;
         if (config != null) {
@@ -138,17 +157,7 @@ public class LocaleHelper {
             }
         }
 
-        if (values != null) {
-            for (int i = 0; i < values.length; i++) {
-                if (values[i] != null) {
-                    final String replaceKey = "%" + (i+1) + "%";
-                    returnValue = returnValue.replace(replaceKey,values[i]);
-                }
-            }
-        }
-
-        final MacroMachine macroMachine = MacroMachine.forStatic();
-        return macroMachine.expandMacros(returnValue);
+        return returnValue;
     }
 
     private static ResourceBundle getMessageBundle(final Locale locale, final Class bundleClass) {
@@ -0,0 +1,152 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package password.pwm.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Cache of fully resolved localized messages, keyed by requested locale, bundle and key.  Each entry holds the
+ * message with its <code>%n%</code> placeholder positions already located.
+ *
+ * <p>An instance is owned by each {@link password.pwm.config.Configuration}, so a configuration reload starts
+ * with an empty cache.</p>
+ */
+public class LocalizedMessageCache {
+    private static final int MAX_CACHE_SIZE = 10_000;
+    private static final int MAX_PLACEHOLDER_DIGITS = 4;
+
+    private final Cache<MessageKey, MessageTemplate> cache = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHE_SIZE)
+            .recordStats()
+            .build();
+
+    MessageTemplate get(
+            final Locale locale,
+            final Class<?> bundleClass,
+            final String key,
+            final Supplier<String> resolver
+    )
+    {
+        return cache.get(new MessageKey(locale, bundleClass, key), k -> MessageTemplate.compile(resolver.get()));
+    }
+
+    public Map<String, Object> debugStats() {
+        final CacheStats stats = cache.stats();
+        final Map<String, Object> returnMap = new LinkedHashMap<>();
+        returnMap.put("size", cache.estimatedSize());
+        returnMap.put("hitCount", stats.hitCount());
+        returnMap.put("missCount", stats.missCount());
+        returnMap.put("hitRate", stats.hitRate());
+        returnMap.put("evictionCount", stats.evictionCount());
+        return returnMap;
+    }
+
+    @Value
+    private static class MessageKey {
+        private final Locale locale;
+        private final Class<?> bundleClass;
+        private final String key;
+    }
+
+    static class MessageTemplate {
+        private final String message;
+        private final String[] literals;
+        private final int[] placeholders;
+
+        private MessageTemplate(final String message, final String[] literals, final int[] placeholders) {
+            this.message = message;
+            this.literals = literals;
+            this.placeholders = placeholders;
+        }
+
+        static MessageTemplate compile(final String message) {
+            final List<String> literals = new ArrayList<>();
+            final List<Integer> placeholders = new ArrayList<>();
+
+            int literalStart = 0;
+            int position = message.indexOf('%');
+            while (position >= 0) {
+                int digitEnd = position + 1;
+                while (digitEnd < message.length() && Character.isDigit(message.charAt(digitEnd))) {
+                    digitEnd++;
+                }
+
+                final int digitCount = digitEnd - position - 1;
+                final boolean placeholder = digitCount > 0
+                        && digitCount <= MAX_PLACEHOLDER_DIGITS
+                        && message.charAt(position + 1) != '0'
+                        && digitEnd < message.length()
+                        && message.charAt(digitEnd) == '%';
+
+                if (placeholder) {
+                    literals.add(message.substring(literalStart, position));
+                    placeholders.add(Integer.parseInt(message.substring(position + 1, digitEnd)));
+                    literalStart = digitEnd + 1;
+                    position = message.indexOf('%', literalStart);
+                    continue;
+                }
+
+                position = message.indexOf('%', position + 1);
+            }
+            literals.add(message.substring(literalStart));
+
+            final int[] placeholderArray = new int[placeholders.size()];
+            for (int i = 0; i < placeholderArray.length; i++) {
+                placeholderArray[i] = placeholders.get(i);
+            }
+            return new MessageTemplate(message, literals.toArray(new String[literals.size()]), placeholderArray);
+        }
+
+        /**
+         * Substitute values into the message.  Placeholders without a corresponding non-null value are left as-is.
+         */
+        String apply(final String[] values) {
+            if (values == null || placeholders.length == 0) {
+                return message;
+            }
+
+            final StringBuilder output = new StringBuilder(message.length());
+            for (int i = 0; i < placeholders.length; i++) {
+                output.append(literals[i]);
+                final int valueIndex = placeholders[i] - 1;
+                if (valueIndex < values.length && values[valueIndex] != null) {
+                    output.append(values[valueIndex]);
+                } else {
+                    output.append('%').append(placeholders[i]).append('%');
+                }
+            }
+            output.append(literals[placeholders.length]);
+            return output.toString();
+        }
+    }
+}
@@ -575,7 +575,7 @@ public class PwmPasswordRuleValidator {
     {
         final List<ErrorInformation> returnedErrors = new ArrayList<>();
         final String restURL = config.readSettingAsString(PwmSetting.EXTERNAL_PWCHECK_REST_URLS);
-        final boolean haltOnError = Boolean.parseBoolean(config.readAppProperty(AppProperty.WS_REST_CLIENT_PWRULE_HALTONERROR));
+        final boolean haltOnError = config.readAppPropertyBoolean(AppProperty.WS_REST_CLIENT_PWRULE_HALTONERROR);
         final Map<String,Object> sendData = new LinkedHashMap<>();
 
 
@@ -195,8 +195,8 @@ public class RandomPasswordGenerator {
         final PwmPasswordRuleValidator pwmPasswordRuleValidator = new PwmPasswordRuleValidator(pwmApplication, randomGenPolicy);
 
         // modify until it passes all the rules
-        final int MAX_TRY_COUNT = Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.PASSWORD_RANDOMGEN_MAX_ATTEMPTS));
-        final int JITTER_COUNT = Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.PASSWORD_RANDOMGEN_JITTER_COUNT));
+        final int MAX_TRY_COUNT = pwmApplication.getConfig().readAppPropertyInt(AppProperty.PASSWORD_RANDOMGEN_MAX_ATTEMPTS);
+        final int JITTER_COUNT = pwmApplication.getConfig().readAppPropertyInt(AppProperty.PASSWORD_RANDOMGEN_JITTER_COUNT);
         boolean validPassword = false;
         while (!validPassword && tryCount < MAX_TRY_COUNT) {
             tryCount++;
@@ -601,8 +601,7 @@ public class RandomPasswordGenerator {
         void validateSettings(final PwmApplication pwmApplication)
                 throws PwmUnrecoverableException
         {
-            final int maxLength = Integer.parseInt(
-                    pwmApplication.getConfig().readAppProperty(AppProperty.PASSWORD_RANDOMGEN_MAX_LENGTH));
+            final int maxLength = pwmApplication.getConfig().readAppPropertyInt(AppProperty.PASSWORD_RANDOMGEN_MAX_LENGTH);
             if (this.getMinimumLength() > maxLength) {
                 throw new PwmUnrecoverableException(new ErrorInformation(
                         PwmError.ERROR_UNKNOWN,
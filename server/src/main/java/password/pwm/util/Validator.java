@@ -77,7 +77,7 @@ public class Validator {
     {
         final PwmSession pwmSession = pwmRequest.getPwmSession();
 
-        final boolean enforceRequestSequencing = Boolean.parseBoolean(pwmRequest.getConfig().readAppProperty(AppProperty.SECURITY_HTTP_FORCE_REQUEST_SEQUENCING));
+        final boolean enforceRequestSequencing = pwmRequest.getConfig().readAppPropertyBoolean(AppProperty.SECURITY_HTTP_FORCE_REQUEST_SEQUENCING);
 
         if (enforceRequestSequencing) {
             final String requestVerificationKey = String.valueOf(pwmSession.getLoginInfoBean().getReqCounter());
@@ -153,7 +153,7 @@ public class ResponseStatsCommand extends AbstractCliCommand {
             final UserSearchEngine userSearchEngine = pwmApplication.getUserSearchEngine();
             final SearchConfiguration searchConfiguration = SearchConfiguration.builder()
                     .enableValueEscaping(false)
-                    .searchTimeout(Long.parseLong(pwmApplication.getConfig().readAppProperty(AppProperty.REPORTING_LDAP_SEARCH_TIMEOUT)))
+                    .searchTimeout(pwmApplication.getConfig().readAppPropertyLong(AppProperty.REPORTING_LDAP_SEARCH_TIMEOUT))
                     .username("*")
                     .enableValueEscaping(false)
                     .filter(ldapProfile.readSettingAsString(PwmSetting.LDAP_USERNAME_SEARCH_FILTER))
@@ -82,10 +82,10 @@ public class DBConfiguration implements Serializable {
                  Arrays.asList(strategyList.split(","))
          );
 
-         final int maxConnections = Integer.parseInt(config.readAppProperty(AppProperty.DB_CONNECTIONS_MAX));
-         final int connectionTimeout = Integer.parseInt(config.readAppProperty(AppProperty.DB_CONNECTIONS_TIMEOUT_MS));
+         final int maxConnections = config.readAppPropertyInt(AppProperty.DB_CONNECTIONS_MAX);
+         final int connectionTimeout = config.readAppPropertyInt(AppProperty.DB_CONNECTIONS_TIMEOUT_MS);
 
-         final int keyColumnLength = Integer.parseInt(config.readAppProperty(AppProperty.DB_SCHEMA_KEY_LENGTH));
+         final int keyColumnLength = config.readAppPropertyInt(AppProperty.DB_SCHEMA_KEY_LENGTH);
 
          return new DBConfiguration(
                  config.readSettingAsString(PwmSetting.DATABASE_CLASS),
@@ -59,7 +59,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -104,13 +103,9 @@ public class DatabaseService implements PwmService
         this.pwmApplication = pwmApplication;
         init();
 
-        executorService = Executors.newSingleThreadScheduledExecutor(
-                JavaHelper.makePwmThreadFactory(
-                        JavaHelper.makeThreadName(pwmApplication, this.getClass()) + "-",
-                        true
-                ));
+        executorService = JavaHelper.makeSingleThreadExecutorService(pwmApplication, this.getClass());
 
-        final int watchdogFrequencySeconds = Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.DB_CONNECTIONS_WATCHDOG_FREQUENCY_SECONDS));
+        final int watchdogFrequencySeconds = pwmApplication.getConfig().readAppPropertyInt(AppProperty.DB_CONNECTIONS_WATCHDOG_FREQUENCY_SECONDS);
         executorService.scheduleWithFixedDelay(new ConnectionMonitor(),watchdogFrequencySeconds, watchdogFrequencySeconds, TimeUnit.SECONDS);
     }
 
@@ -266,7 +266,7 @@ public class FormUtility {
                 .build();
 
         final int resultSearchSizeLimit = 1 + (excludeDN == null ? 0 : excludeDN.size());
-        final long cacheLifetimeMS = Long.parseLong(pwmApplication.getConfig().readAppProperty(AppProperty.CACHE_FORM_UNIQUE_VALUE_LIFETIME_MS));
+        final long cacheLifetimeMS = pwmApplication.getConfig().readAppPropertyLong(AppProperty.CACHE_FORM_UNIQUE_VALUE_LIFETIME_MS);
         final CachePolicy cachePolicy = CachePolicy.makePolicyWithExpirationMS(cacheLifetimeMS);
 
         try {
@@ -366,10 +366,30 @@ public class JavaHelper {
         return new CSVPrinter(new OutputStreamWriter(outputStream, PwmConstants.DEFAULT_CHARSET), PwmConstants.DEFAULT_CSV_FORMAT);
     }
 
+    /**
+     * Make an executor that runs one task at a time.  When an application is available the executor runs on the
+     * application's shared {@link password.pwm.svc.PwmScheduler}, otherwise it has its own thread.
+     */
     public static ScheduledExecutorService makeSingleThreadExecutorService(
             final PwmApplication pwmApplication,
             final Class clazz
     )
+    {
+        if (pwmApplication != null && pwmApplication.getPwmScheduler() != null) {
+            return pwmApplication.getPwmScheduler().makeScheduledExecutor(clazz);
+        }
+
+        return makeDedicatedThreadExecutorService(pwmApplication, clazz);
+    }
+
+    /**
+     * Make an executor with its own thread, for services whose tasks run for a long time (such as a report ldap read
+     * or a wordlist import) and would otherwise hold a worker of the shared {@link password.pwm.svc.PwmScheduler}.
+     */
+    public static ScheduledExecutorService makeDedicatedThreadExecutorService(
+            final PwmApplication pwmApplication,
+            final Class clazz
+    )
     {
         return Executors.newSingleThreadScheduledExecutor(
                 makePwmThreadFactory(
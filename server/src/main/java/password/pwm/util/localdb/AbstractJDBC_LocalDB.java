@@ -38,14 +38,19 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
 
 public abstract class AbstractJDBC_LocalDB implements LocalDBProvider {
     private static final PwmLogger LOGGER = PwmLogger.forClass(AbstractJDBC_LocalDB.class, true);
@@ -53,6 +58,7 @@ public abstract class AbstractJDBC_LocalDB implements LocalDBProvider {
     private static final String KEY_COLUMN = "id";
     private static final String VALUE_COLUMN = "value";
     private static final int ITERATOR_LIMIT = 100;
+    private static final int MULTI_KEY_BATCH_SIZE = 100;
 
     private static final String WIDTH_KEY = String.valueOf(LocalDB.MAX_KEY_LENGTH);
 
@@ -224,6 +230,142 @@ public abstract class AbstractJDBC_LocalDB implements LocalDBProvider {
         return null;
     }
 
+    public boolean containsAny(final LocalDB.DB db, final Collection<String> keys)
+            throws LocalDBException {
+        preCheck(false);
+        try {
+            LOCK.readLock().lock();
+            for (final List<String> batch : partitionKeys(keys)) {
+                if (!selectKeys(db, batch, false).isEmpty()) {
+                    return true;
+                }
+            }
+        } finally {
+            LOCK.readLock().unlock();
+        }
+        return false;
+    }
+
+    public Map<String, String> getAll(final LocalDB.DB db, final Collection<String> keys)
+            throws LocalDBException {
+        preCheck(false);
+        final Map<String, String> results = new HashMap<>();
+        try {
+            LOCK.readLock().lock();
+            for (final List<String> batch : partitionKeys(keys)) {
+                results.putAll(selectKeys(db, batch, true));
+            }
+        } finally {
+            LOCK.readLock().unlock();
+        }
+
+        final Map<String, String> returnMap = new LinkedHashMap<>();
+        for (final String key : keys) {
+            if (results.containsKey(key)) {
+                returnMap.put(key, results.get(key));
+            }
+        }
+        return returnMap;
+    }
+
+    public <T> T readInTransaction(final LocalDB.DB db, final Function<LocalDB.ReadView, T> function)
+            throws LocalDBException {
+        preCheck(false);
+        final String sqlText = "SELECT " + VALUE_COLUMN + " FROM " + db.toString() + " WHERE " + KEY_COLUMN + " = ?";
+
+        PreparedStatement statement = null;
+        try {
+            LOCK.readLock().lock();
+            statement = dbConnection.prepareStatement(sqlText);
+            statement.setMaxRows(1);
+            final PreparedStatement readStatement = statement;
+            return function.apply(new LocalDB.ReadView() {
+                @Override
+                public boolean contains(final String key) {
+                    return get(key) != null;
+                }
+
+                @Override
+                public String get(final String key) {
+                    ResultSet resultSet = null;
+                    try {
+                        readStatement.clearParameters();
+                        readStatement.setString(1, key);
+                        resultSet = readStatement.executeQuery();
+                        return resultSet.next() ? resultSet.getString(VALUE_COLUMN) : null;
+                    } catch (final SQLException e) {
+                        throw new IllegalStateException(e);
+                    } finally {
+                        close(resultSet);
+                    }
+                }
+            });
+        } catch (final SQLException ex) {
+            throw new LocalDBException(new ErrorInformation(PwmError.ERROR_LOCALDB_UNAVAILABLE, ex.getMessage()));
+        } catch (final IllegalStateException ex) {
+            if (ex.getCause() instanceof SQLException) {
+                throw new LocalDBException(new ErrorInformation(PwmError.ERROR_LOCALDB_UNAVAILABLE, ex.getCause().getMessage()));
+            }
+            throw ex;
+        } finally {
+            close(statement);
+            LOCK.readLock().unlock();
+        }
+    }
+
+    private Map<String, String> selectKeys(final LocalDB.DB db, final List<String> keys, final boolean includeValues)
+            throws LocalDBException {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("SELECT ").append(KEY_COLUMN);
+        if (includeValues) {
+            sb.append(", ").append(VALUE_COLUMN);
+        }
+        sb.append(" FROM ").append(db.toString()).append(" WHERE " + KEY_COLUMN + " IN (");
+        for (int i = 0; i < keys.size(); i++) {
+            sb.append(i == 0 ? "?" : ",?");
+        }
+        sb.append(")");
+
+        final Map<String, String> returnMap = new HashMap<>();
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            statement = dbConnection.prepareStatement(sb.toString());
+            for (int i = 0; i < keys.size(); i++) {
+                statement.setString(i + 1, keys.get(i));
+            }
+            if (!includeValues) {
+                statement.setMaxRows(1);
+            }
+            resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                returnMap.put(resultSet.getString(KEY_COLUMN), includeValues ? resultSet.getString(VALUE_COLUMN) : "");
+            }
+        } catch (final SQLException ex) {
+            throw new LocalDBException(new ErrorInformation(PwmError.ERROR_LOCALDB_UNAVAILABLE, ex.getMessage()));
+        } finally {
+            close(statement);
+            close(resultSet);
+        }
+        return returnMap;
+    }
+
+    private static List<List<String>> partitionKeys(final Collection<String> keys) {
+        final List<List<String>> returnList = new ArrayList<>();
+        List<String> batch = new ArrayList<>();
+        for (final String key : keys) {
+            batch.add(key);
+            if (batch.size() >= MULTI_KEY_BATCH_SIZE) {
+                returnList.add(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            returnList.add(batch);
+        }
+        return returnList;
+    }
+
     public void init(final File dbDirectory, final Map<String, String> initParams, final Map<Parameter,String> parameters)
             throws LocalDBException {
         this.dbDirectory = dbDirectory;
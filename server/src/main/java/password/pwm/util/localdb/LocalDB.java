@@ -30,6 +30,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.util.Collection;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * A lightweight interface for DB interaction.  Implementations may be backed by an embedded database, an RDBMS or
@@ -61,6 +62,44 @@ public interface LocalDB {
     String get(DB db, String key)
             throws LocalDBException;
 
+    /**
+     * Test if any of the keys are present in the db.  All keys are checked within a single read operation.
+     *
+     * @param db   database to perform the operation on
+     * @param keys keys to test
+     * @return true if at least one of the keys is present
+     * @throws LocalDBException if there is an error reading the store
+     */
+    @ReadOperation
+    boolean containsAny(DB db, Collection<String> keys)
+            throws LocalDBException;
+
+    /**
+     * Read the values of multiple keys within a single read operation.
+     *
+     * @param db   database to perform the operation on
+     * @param keys keys to read
+     * @return map of key/values for the keys that are present; keys that are not present are omitted.
+     * @throws LocalDBException if there is an error reading the store
+     */
+    @ReadOperation
+    Map<String, String> getAll(DB db, Collection<String> keys)
+            throws LocalDBException;
+
+    /**
+     * Execute a function against a consistent read-only view of the db.  All reads made through the {@link ReadView}
+     * share a single read operation; the view must not be used after the function returns.
+     *
+     * @param db       database to perform the operation on
+     * @param function function to execute
+     * @param <T>      function return type
+     * @return the value returned by the function
+     * @throws LocalDBException if there is an error reading the store
+     */
+    @ReadOperation
+    <T> T readInTransaction(DB db, Function<ReadView, T> function)
+            throws LocalDBException;
+
     LocalDBIterator<String> iterator(DB db)
             throws LocalDBException;
 
@@ -138,6 +177,7 @@ public interface LocalDB {
         CACHE(false),
 
         REPORT_QUEUE(false),
+        WORDLIST_FILTER(false),
 
         ;
 
@@ -164,6 +204,12 @@ public interface LocalDB {
     }
 
 
+    interface ReadView {
+        boolean contains(String key);
+
+        String get(String key);
+    }
+
     interface LocalDBIterator<K> extends ClosableIterator<String> {
     }
 }
@@ -35,6 +35,8 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 public class LocalDBAdaptor implements LocalDB {
     private static final PwmLogger LOGGER = PwmLogger.forClass(LocalDBAdaptor.class);
@@ -88,6 +90,70 @@ public class LocalDBAdaptor implements LocalDB {
         return value;
     }
 
+    public boolean containsAny(final DB db, final Collection<String> keys) throws LocalDBException {
+        ParameterValidator.validateDBValue(db);
+        for (final String key : keys) {
+            ParameterValidator.validateKeyValue(key);
+        }
+
+        if (keys.isEmpty()) {
+            return false;
+        }
+
+        final boolean value = innerDB.containsAny(db, keys);
+        markRead(keys.size());
+        return value;
+    }
+
+    public Map<String, String> getAll(final DB db, final Collection<String> keys) throws LocalDBException {
+        ParameterValidator.validateDBValue(db);
+        for (final String key : keys) {
+            ParameterValidator.validateKeyValue(key);
+        }
+
+        final Map<String, String> value = innerDB.getAll(db, keys);
+        markRead(keys.size());
+        return value;
+    }
+
+    public <T> T readInTransaction(final DB db, final Function<ReadView, T> function) throws LocalDBException {
+        ParameterValidator.validateDBValue(db);
+        if (function == null) {
+            throw new NullPointerException("function cannot be null");
+        }
+
+        final AtomicInteger readCount = new AtomicInteger(0);
+        try {
+            return innerDB.readInTransaction(db, innerView -> function.apply(new ReadView() {
+                @Override
+                public boolean contains(final String key) {
+                    validateReadViewKey(key);
+                    readCount.incrementAndGet();
+                    return innerView.contains(key);
+                }
+
+                @Override
+                public String get(final String key) {
+                    validateReadViewKey(key);
+                    readCount.incrementAndGet();
+                    return innerView.get(key);
+                }
+            }));
+        } finally {
+            if (readCount.get() > 0) {
+                markRead(readCount.get());
+            }
+        }
+    }
+
+    private static void validateReadViewKey(final String key) {
+        try {
+            ParameterValidator.validateKeyValue(key);
+        } catch (LocalDBException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
+
     @WriteOperation
     public void init(final File dbDirectory, final Map<String, String> initParameters, final Map<LocalDBProvider.Parameter,String> parameters) throws LocalDBException {
         innerDB.init(dbDirectory, initParameters, parameters);
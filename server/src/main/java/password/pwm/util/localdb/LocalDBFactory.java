@@ -156,7 +156,7 @@ public class LocalDBFactory {
         if (readOnly) {
             parameters.put(LocalDBProvider.Parameter.readOnly, Boolean.TRUE.toString());
         }
-        if (Boolean.parseBoolean(configuration.readAppProperty(AppProperty.LOCALDB_AGGRESSIVE_COMPACT_ENABLED))) {
+        if (configuration.readAppPropertyBoolean(AppProperty.LOCALDB_AGGRESSIVE_COMPACT_ENABLED)) {
             parameters.put(LocalDBProvider.Parameter.aggressiveCompact, Boolean.TRUE.toString());
         }
         return Collections.unmodifiableMap(parameters);
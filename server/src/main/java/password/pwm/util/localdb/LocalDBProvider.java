@@ -27,6 +27,7 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 public interface LocalDBProvider {
 
@@ -51,6 +52,18 @@ public interface LocalDBProvider {
     String get(LocalDB.DB db, String key)
             throws LocalDBException;
 
+    @LocalDB.ReadOperation
+    boolean containsAny(LocalDB.DB db, Collection<String> keys)
+            throws LocalDBException;
+
+    @LocalDB.ReadOperation
+    Map<String, String> getAll(LocalDB.DB db, Collection<String> keys)
+            throws LocalDBException;
+
+    @LocalDB.ReadOperation
+    <T> T readInTransaction(LocalDB.DB db, Function<LocalDB.ReadView, T> function)
+            throws LocalDBException;
+
     @LocalDB.WriteOperation
     void init(File dbDirectory, Map<String, String> initParameters, Map<Parameter,String> parameters)
             throws LocalDBException;
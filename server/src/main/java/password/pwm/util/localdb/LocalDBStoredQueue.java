@@ -24,6 +24,7 @@ package password.pwm.util.localdb;
 
 import password.pwm.PwmApplication;
 import password.pwm.util.java.ConditionalTaskExecutor;
+import password.pwm.util.logging.PwmLogLevel;
 import password.pwm.util.logging.PwmLogger;
 
 import java.math.BigInteger;
@@ -263,6 +264,20 @@ LocalDBStoredQueue implements Queue<String>, Deque<String> {
         }
     }
 
+    /**
+     * Remove up to {@code maxCount} values from the head of the queue using a single LocalDB bulk removal.
+     * @param maxCount maximum number of values to remove
+     * @return the removed values in the order repeated {@link #pollFirst()} calls would return them, empty if the queue is empty.
+     */
+    public List<String> pollFirst(final int maxCount) {
+        try {
+            final int removalCount = Math.min(maxCount, internalQueue.size());
+            return internalQueue.removeFirst(removalCount, true);
+        } catch (LocalDBException e) {
+            throw new IllegalStateException("unexpected localDB error while modifying queue: " + e.getMessage(), e);
+        }
+    }
+
     public String pollLast() {
         try {
             final List<String> values = internalQueue.removeLast(1, true);
@@ -817,7 +832,7 @@ LocalDBStoredQueue implements Queue<String>, Deque<String> {
         }
 
         void debugOutput(final String input) {
-            if (!developerDebug || DEBUG_IGNORED_DB.contains(DB)) {
+            if (!developerDebug || DEBUG_IGNORED_DB.contains(DB) || !LOGGER.isEnabled(PwmLogLevel.TRACE)) {
                 return;
             }
 
@@ -27,9 +27,11 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 
 /**
@@ -76,6 +78,49 @@ public class Memory_LocalDB implements LocalDBProvider {
         return map.get(key);
     }
 
+    public boolean containsAny(final LocalDB.DB db, final Collection<String> keys)
+            throws LocalDBException {
+        opertationPreCheck();
+        final Map<String, String> map = maps.get(db);
+        for (final String key : keys) {
+            if (map.containsKey(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Map<String, String> getAll(final LocalDB.DB db, final Collection<String> keys)
+            throws LocalDBException {
+        opertationPreCheck();
+        final Map<String, String> map = maps.get(db);
+        final Map<String, String> returnMap = new LinkedHashMap<>();
+        for (final String key : keys) {
+            final String value = map.get(key);
+            if (value != null) {
+                returnMap.put(key, value);
+            }
+        }
+        return returnMap;
+    }
+
+    public <T> T readInTransaction(final LocalDB.DB db, final Function<LocalDB.ReadView, T> function)
+            throws LocalDBException {
+        opertationPreCheck();
+        final Map<String, String> map = maps.get(db);
+        return function.apply(new LocalDB.ReadView() {
+            @Override
+            public boolean contains(final String key) {
+                return map.containsKey(key);
+            }
+
+            @Override
+            public String get(final String key) {
+                return map.get(key);
+            }
+        });
+    }
+
     @LocalDB.WriteOperation
     public void init(
             final File dbDirectory,
@@ -34,6 +34,7 @@ import password.pwm.util.java.JavaHelper;
 import password.pwm.util.java.JsonUtil;
 import password.pwm.util.java.StringUtil;
 import password.pwm.util.java.TimeDuration;
+import password.pwm.util.logging.PwmLogLevel;
 import password.pwm.util.logging.PwmLogger;
 import password.pwm.util.secure.PwmRandom;
 
@@ -119,7 +120,7 @@ public final class WorkQueueProcessor<W extends Serializable> {
         if (!queue.isEmpty()) {
             logger.debug("opening with " + queue.size() + " items in work queue");
         }
-        logger.trace("initializing worker thread with settings " + JsonUtil.serialize(settings));
+        logger.trace(() -> "initializing worker thread with settings " + JsonUtil.serialize(settings));
 
         this.workerThread = new WorkerThread();
         workerThread.setDaemon(true);
@@ -235,7 +236,9 @@ public final class WorkQueueProcessor<W extends Serializable> {
             eldestItem = itemWrapper.getDate();
             workerThread.notifyWorkPending();
 
-            logger.trace("item submitted: " + makeDebugText(itemWrapper));
+            if (logger.isEnabled(PwmLogLevel.TRACE)) {
+                logger.trace("item submitted: " + makeDebugText(itemWrapper));
+            }
         }
     }
 
@@ -368,7 +371,9 @@ public final class WorkQueueProcessor<W extends Serializable> {
 
                         case RETRY: {
                             retryWakeupTime = Instant.ofEpochMilli(System.currentTimeMillis() + settings.getRetryInterval().getTotalMilliseconds());
-                            logger.debug("will retry item after failure, item=" + makeDebugText(itemWrapper));
+                            if (logger.isEnabled(PwmLogLevel.DEBUG)) {
+                                logger.debug("will retry item after failure, item=" + makeDebugText(itemWrapper));
+                            }
                         }
                         break;
 
@@ -487,8 +492,10 @@ public final class WorkQueueProcessor<W extends Serializable> {
         final TimeDuration lagTime = TimeDuration.fromCurrent(itemWrapper.getDate());
         avgLagTime.update(lagTime.getTotalMilliseconds());
         sendRate.markEvents(1);
-        logger.trace("successfully processed item=" + makeDebugText(itemWrapper) + "; lagTime=" + lagTime.asCompactString()
-                + "; " + StringUtil.mapToString(debugInfo()));
+        if (logger.isEnabled(PwmLogLevel.TRACE)) {
+            logger.trace("successfully processed item=" + makeDebugText(itemWrapper) + "; lagTime=" + lagTime.asCompactString()
+                    + "; " + StringUtil.mapToString(debugInfo()));
+        }
     }
 
     public Map<String,String> debugInfo() {
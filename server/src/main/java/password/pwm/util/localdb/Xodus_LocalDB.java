@@ -57,6 +57,7 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
 import java.util.zip.Inflater;
@@ -203,6 +204,55 @@ public class Xodus_LocalDB implements LocalDBProvider {
         });
     }
 
+    @Override
+    public boolean containsAny(final LocalDB.DB db, final Collection<String> keys) throws LocalDBException {
+        return readInTransaction(db, readView -> {
+            for (final String key : keys) {
+                if (readView.contains(key)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    @Override
+    public Map<String, String> getAll(final LocalDB.DB db, final Collection<String> keys) throws LocalDBException {
+        return readInTransaction(db, readView -> {
+            final Map<String, String> returnMap = new LinkedHashMap<>();
+            for (final String key : keys) {
+                final String value = readView.get(key);
+                if (value != null) {
+                    returnMap.put(key, value);
+                }
+            }
+            return returnMap;
+        });
+    }
+
+    @Override
+    public <T> T readInTransaction(final LocalDB.DB db, final Function<LocalDB.ReadView, T> function) throws LocalDBException {
+        checkStatus(false);
+        return environment.computeInReadonlyTransaction(transaction -> {
+            final Store store = getStore(db);
+            return function.apply(new LocalDB.ReadView() {
+                @Override
+                public boolean contains(final String key) {
+                    return store.get(transaction, bindMachine.keyToEntry(key)) != null;
+                }
+
+                @Override
+                public String get(final String key) {
+                    final ByteIterable returnValue = store.get(transaction, bindMachine.keyToEntry(key));
+                    if (returnValue != null) {
+                        return bindMachine.entryToValue(returnValue);
+                    }
+                    return null;
+                }
+            });
+        });
+    }
+
     @Override
     public LocalDB.LocalDBIterator<String> iterator(final LocalDB.DB db) throws LocalDBException {
         return new InnerIterator(db);
@@ -290,16 +340,31 @@ public class Xodus_LocalDB implements LocalDBProvider {
         checkStatus(true);
         environment.executeInTransaction(transaction -> {
             final Store store = getStore(db);
+
+            // keys sorting after every key already in the store are appended without a tree search.  sorted bulk
+            // loads into an empty or sequentially filled store take this path for every key.
+            ByteIterable lastKey = readLastKey(store, transaction);
             for (final Map.Entry<String,String> entry : keyValueMap.entrySet()) {
                 final ByteIterable k = bindMachine.keyToEntry(entry.getKey());
                 final ByteIterable v = bindMachine.valueToEntry(entry.getValue());
-                store.put(transaction,k,v);
+                if (lastKey == null || k.compareTo(lastKey) > 0) {
+                    store.putRight(transaction,k,v);
+                    lastKey = k;
+                } else {
+                    store.put(transaction,k,v);
+                }
             }
         });
         outputLogExecutor.conditionallyExecuteTask();
     }
 
 
+    private static ByteIterable readLastKey(final Store store, final Transaction transaction) {
+        try (Cursor cursor = store.openCursor(transaction)) {
+            return cursor.getLast() ? new ArrayByteIterable(cursor.getKey()) : null;
+        }
+    }
+
     @Override
     public boolean put(final LocalDB.DB db, final String key, final String value) throws LocalDBException {
         checkStatus(true);
@@ -45,7 +45,6 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -116,17 +115,9 @@ public class LocalDBLogger implements PwmService {
 
         status = STATUS.OPEN;
 
-        cleanerService = Executors.newSingleThreadScheduledExecutor(
-                JavaHelper.makePwmThreadFactory(
-                        JavaHelper.makeThreadName(pwmApplication, this.getClass()) + "-cleaner-",
-                        true
-                ));
-
-        writerService = Executors.newSingleThreadScheduledExecutor(
-                JavaHelper.makePwmThreadFactory(
-                        JavaHelper.makeThreadName(pwmApplication, this.getClass()) + "-writer-",
-                        true
-                ));
+        cleanerService = JavaHelper.makeSingleThreadExecutorService(pwmApplication, this.getClass());
+
+        writerService = JavaHelper.makeSingleThreadExecutorService(pwmApplication, this.getClass());
 
         cleanerService.scheduleAtFixedRate(new CleanupTask(), 0, 1, TimeUnit.MINUTES);
         writerService.scheduleWithFixedDelay(new FlushTask(), 0, 103, TimeUnit.MILLISECONDS);
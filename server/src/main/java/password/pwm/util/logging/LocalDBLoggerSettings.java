@@ -96,9 +96,9 @@ public class LocalDBLoggerSettings implements Serializable {
         final int maxEvents = (int) configuration.readSettingAsLong(PwmSetting.EVENTS_PWMDB_MAX_EVENTS);
         final long maxAgeMS = 1000 * configuration.readSettingAsLong(PwmSetting.EVENTS_PWMDB_MAX_AGE);
         final TimeDuration maxAge = new TimeDuration(maxAgeMS);
-        final int maxBufferSize = Integer.parseInt(configuration.readAppProperty(AppProperty.LOCALDB_LOGWRITER_BUFFER_SIZE));
-        final TimeDuration maxBufferWaitTime = new TimeDuration(Long.parseLong(configuration.readAppProperty(AppProperty.LOCALDB_LOGWRITER_MAX_BUFFER_WAIT_MS)));
-        final int maxTrimSize = Integer.parseInt(configuration.readAppProperty(AppProperty.LOCALDB_LOGWRITER_MAX_TRIM_SIZE));
+        final int maxBufferSize = configuration.readAppPropertyInt(AppProperty.LOCALDB_LOGWRITER_BUFFER_SIZE);
+        final TimeDuration maxBufferWaitTime = new TimeDuration(configuration.readAppPropertyLong(AppProperty.LOCALDB_LOGWRITER_MAX_BUFFER_WAIT_MS));
+        final int maxTrimSize = configuration.readAppPropertyInt(AppProperty.LOCALDB_LOGWRITER_MAX_TRIM_SIZE);
 
         return new Builder()
                 .setMaxEvents(maxEvents)
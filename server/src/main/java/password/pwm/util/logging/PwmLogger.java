@@ -41,16 +41,17 @@ import java.io.IOException;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * @author Jason D. Rivard
  */
 public class PwmLogger {
-    private static LocalDBLogger localDBLogger;
-    private static PwmLogLevel minimumDbLogLevel;
+    private static volatile LocalDBLogger localDBLogger;
+    private static volatile PwmLogLevel minimumDbLogLevel;
     private static PwmApplication pwmApplication;
     private static RollingFileAppender fileAppender;
-    private static boolean initialized;
+    private static volatile boolean initialized;
 
     private final String name;
     private final org.apache.log4j.Logger log4jLogger;
@@ -105,6 +106,25 @@ public class PwmLogger {
         return name;
     }
 
+    /**
+     * Indicates if an event at the given level would be written anywhere, either to log4j or to the LocalDB log.  Callers
+     * building an expensive message can check this first, or use one of the {@link Supplier} overloads.
+     * @param level level of the prospective log event
+     * @return true if an event at the level would be recorded.
+     */
+    public boolean isEnabled(final PwmLogLevel level) {
+        if (!initialized || level == PwmLogLevel.FATAL) {
+            return true;
+        }
+
+        if (log4jLogger.isEnabledFor(level.getLog4jLevel())) {
+            return true;
+        }
+
+        final PwmLogLevel dbLogLevel = minimumDbLogLevel;
+        return !localDBDisabled && localDBLogger != null && dbLogLevel != null && level.compareTo(dbLogLevel) >= 0;
+    }
+
     private void doPwmRequestLogEvent(final PwmLogLevel level, final PwmRequest pwmRequest, final Object message, final Throwable e)
     {
         final PwmSession pwmSession = pwmRequest != null ? pwmRequest.getPwmSession() : null;
@@ -113,6 +133,9 @@ public class PwmLogger {
 
     private void doPwmSessionLogEvent(final PwmLogLevel level, final PwmSession pwmSession, final Object message, final Throwable e)
     {
+        if (!isEnabled(level)) {
+            return;
+        }
         final SessionLabel sessionLabel = pwmSession != null ? pwmSession.getLabel() : null;
         Object cleanedMessage = message;
         if (pwmSession != null && message != null) {
@@ -128,6 +151,9 @@ public class PwmLogger {
     private void doLogEvent(final PwmLogLevel level, final SessionLabel sessionLabel, final Object message, final Throwable e)
     {
         final PwmLogLevel effectiveLevel = level == null ? PwmLogLevel.TRACE : level;
+        if (!isEnabled(effectiveLevel)) {
+            return;
+        }
         final String topic = log4jLogger.getName();
         final String effectiveMessage = message == null ? "" : message.toString();
         final PwmLogEvent logEvent = PwmLogEvent.createPwmLogEvent(Instant.now(), topic, effectiveMessage, sessionLabel,
@@ -205,6 +231,20 @@ public class PwmLogger {
 
 
 
+    private void doLazyLogEvent(final PwmLogLevel level, final SessionLabel sessionLabel, final Supplier<CharSequence> message)
+    {
+        if (isEnabled(level)) {
+            doLogEvent(level, sessionLabel, message == null ? null : message.get(), null);
+        }
+    }
+
+    private void doLazyPwmRequestLogEvent(final PwmLogLevel level, final PwmRequest pwmRequest, final Supplier<CharSequence> message)
+    {
+        if (isEnabled(level)) {
+            doPwmRequestLogEvent(level, pwmRequest, message == null ? null : message.get(), null);
+        }
+    }
+
     private static String convertErrorInformation(final ErrorInformation info) {
         return info.toDebugStr();
     }
@@ -233,6 +273,18 @@ public class PwmLogger {
         doLogEvent(PwmLogLevel.TRACE, null, message, exception);
     }
 
+    public void trace(final Supplier<CharSequence> message) {
+        doLazyLogEvent(PwmLogLevel.TRACE, null, message);
+    }
+
+    public void trace(final PwmRequest pwmRequest, final Supplier<CharSequence> message) {
+        doLazyPwmRequestLogEvent(PwmLogLevel.TRACE, pwmRequest, message);
+    }
+
+    public void trace(final SessionLabel sessionLabel, final Supplier<CharSequence> message) {
+        doLazyLogEvent(PwmLogLevel.TRACE, sessionLabel, message);
+    }
+
     public void debug(final CharSequence message) {
         doLogEvent(PwmLogLevel.DEBUG, null, message, null);
     }
@@ -269,6 +321,18 @@ public class PwmLogger {
         doPwmSessionLogEvent(PwmLogLevel.DEBUG, pwmSession, message, e);
     }
 
+    public void debug(final Supplier<CharSequence> message) {
+        doLazyLogEvent(PwmLogLevel.DEBUG, null, message);
+    }
+
+    public void debug(final PwmRequest pwmRequest, final Supplier<CharSequence> message) {
+        doLazyPwmRequestLogEvent(PwmLogLevel.DEBUG, pwmRequest, message);
+    }
+
+    public void debug(final SessionLabel sessionLabel, final Supplier<CharSequence> message) {
+        doLazyLogEvent(PwmLogLevel.DEBUG, sessionLabel, message);
+    }
+
     public void info(final CharSequence message) {
         doLogEvent(PwmLogLevel.INFO, null, message, null);
     }
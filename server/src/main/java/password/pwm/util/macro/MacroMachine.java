@@ -22,6 +22,9 @@
 
 package password.pwm.util.macro;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Value;
 import password.pwm.PwmApplication;
 import password.pwm.PwmApplicationMode;
 import password.pwm.PwmConstants;
@@ -56,6 +59,13 @@ public class MacroMachine {
 
     private static final Map<MacroImplementation.Scope,Map<Pattern,MacroImplementation>> BUILTIN_MACROS = makeImplementations();
 
+    private static final char MACRO_DELIMITER = '@';
+    private static final int TEMPLATE_CACHE_SIZE = 1000;
+
+    private static final Cache<MacroSetKey, MacroSet> MACRO_SETS = Caffeine.newBuilder()
+            .maximumSize(20)
+            .build();
+
     public MacroMachine(
             final PwmApplication pwmApplication,
             final SessionLabel sessionLabel,
@@ -93,12 +103,8 @@ public class MacroMachine {
         return map;
     }
 
-    private Map<Pattern,MacroImplementation> makeExternalImplementations(final PwmApplication pwmApplication) {
+    private static Map<Pattern,MacroImplementation> makeExternalImplementations(final List<String> externalMethods) {
         final LinkedHashMap<Pattern,MacroImplementation> map = new LinkedHashMap<>();
-        final List<String> externalMethods = (pwmApplication == null)
-                ? Collections.emptyList()
-                : pwmApplication.getConfig().readSettingAsStringArray(PwmSetting.EXTERNAL_MACROS_REST_URLS);
-
         int iteration = 0;
         for (final String url : externalMethods) {
             iteration++;
@@ -109,8 +115,21 @@ public class MacroMachine {
         return map;
     }
 
-
-
+    private static MacroSet macroSetFor(final Set<MacroImplementation.Scope> scopes, final List<String> externalMethods) {
+        final MacroSetKey key = new MacroSetKey(scopes, externalMethods);
+        return MACRO_SETS.get(key, k -> {
+            final Map<Pattern,MacroImplementation> macroImplementations = new LinkedHashMap<>();
+            //First the User macros
+            if (scopes.contains(MacroImplementation.Scope.User)) {
+                macroImplementations.putAll(makeExternalImplementations(externalMethods));
+            }
+            //last the buitin macros for Encrypt/Encode to work properly
+            for (final MacroImplementation.Scope scope : scopes) {
+                macroImplementations.putAll(BUILTIN_MACROS.get(scope));
+            }
+            return new MacroSet(Collections.unmodifiableMap(macroImplementations));
+        });
+    }
 
     public String expandMacros(
             final String input
@@ -127,42 +146,55 @@ public class MacroMachine {
             return null;
         }
 
-        if (input.length() < 1) {
+        // every macro pattern begins with the delimiter, so there is nothing to look up without one.
+        if (input.indexOf(MACRO_DELIMITER) < 0) {
             return input;
         }
 
-        final MacroImplementation.MacroRequestInfo macroRequestInfo = new MacroImplementation.MacroRequestInfo() {
-            @Override
-            public PwmApplication getPwmApplication()
-            {
-                return pwmApplication;
-            }
+        final MacroImplementation.MacroRequestInfo macroRequestInfo = makeMacroRequestInfo();
+        final MacroSet macroSet = macroSetFor(effectiveScopes(macroRequestInfo), readExternalMethods());
+        final MacroTemplate macroTemplate = macroSet.templateFor(input);
 
-            @Override
-            public UserInfo getUserInfo()
-            {
-                return userInfo;
-            }
+        if (!macroTemplate.isCompiled()) {
+            return expandMacrosMultiPass(input, macroSet.getImplementations(), stringReplacer, macroRequestInfo);
+        }
 
-            @Override
-            public LoginInfoBean getLoginInfoBean()
-            {
-                return loginInfoBean;
+        final boolean[] rescanRequired = new boolean[1];
+        final String output = macroTemplate.expand((matchedStr, macroImplementation) -> {
+            final String replaceStr = replacementValue(matchedStr, macroImplementation, stringReplacer, macroRequestInfo);
+            if (replaceStr != null && replaceStr.indexOf(MACRO_DELIMITER) >= 0) {
+                rescanRequired[0] = true;
             }
-        };
+            return replaceStr;
+        });
 
-        final Set<MacroImplementation.Scope> scopes = effectiveScopes(macroRequestInfo);
-        final Map<Pattern,MacroImplementation> macroImplementations = new LinkedHashMap<>();
-        //First the User macros
-        if (scopes.contains(MacroImplementation.Scope.User)) {
-            macroImplementations.putAll(makeExternalImplementations(pwmApplication));
-        }
-        //last the buitin macros for Encrypt/Encode to work properly
-        for (final MacroImplementation.Scope scope : scopes) {
-            macroImplementations.putAll(BUILTIN_MACROS.get(scope));
-        }
+        // replacement values have always been subject to further macro expansion.
+        return rescanRequired[0]
+                ? expandMacrosMultiPass(output, macroSet.getImplementations(), stringReplacer, macroRequestInfo)
+                : output;
+    }
 
+    /**
+     * Expands macros by repeatedly scanning the working string with each macro pattern in turn.  Used for inputs
+     * that can not be represented as a {@link MacroTemplate}.
+     */
+    String expandMacrosMultiPass(
+            final String input,
+            final StringReplacer stringReplacer
+    )
+    {
+        final MacroImplementation.MacroRequestInfo macroRequestInfo = makeMacroRequestInfo();
+        final MacroSet macroSet = macroSetFor(effectiveScopes(macroRequestInfo), readExternalMethods());
+        return expandMacrosMultiPass(input, macroSet.getImplementations(), stringReplacer, macroRequestInfo);
+    }
 
+    private String expandMacrosMultiPass(
+            final String input,
+            final Map<Pattern,MacroImplementation> macroImplementations,
+            final StringReplacer stringReplacer,
+            final MacroImplementation.MacroRequestInfo macroRequestInfo
+    )
+    {
         String workingString = input;
         final String previousString = workingString;
 
@@ -192,6 +224,34 @@ public class MacroMachine {
         return workingString;
     }
 
+    private MacroImplementation.MacroRequestInfo makeMacroRequestInfo() {
+        return new MacroImplementation.MacroRequestInfo() {
+            @Override
+            public PwmApplication getPwmApplication()
+            {
+                return pwmApplication;
+            }
+
+            @Override
+            public UserInfo getUserInfo()
+            {
+                return userInfo;
+            }
+
+            @Override
+            public LoginInfoBean getLoginInfoBean()
+            {
+                return loginInfoBean;
+            }
+        };
+    }
+
+    private List<String> readExternalMethods() {
+        return pwmApplication == null || pwmApplication.getConfig() == null
+                ? Collections.emptyList()
+                : pwmApplication.getConfig().readSettingAsStringArray(PwmSetting.EXTERNAL_MACROS_REST_URLS);
+    }
+
     private static Set<MacroImplementation.Scope> effectiveScopes(final MacroImplementation.MacroRequestInfo macroRequestInfo) {
         final Set<MacroImplementation.Scope> scopes = new LinkedHashSet<>();
         scopes.add(MacroImplementation.Scope.Static);
@@ -219,9 +279,19 @@ public class MacroMachine {
             final StringReplacer stringReplacer,
             final MacroImplementation.MacroRequestInfo macroRequestInfo
     ) {
-        final String matchedStr = matcher.group();
-        final int startPos = matcher.start();
-        final int endPos = matcher.end();
+        final String replaceStr = replacementValue(matcher.group(), macroImplementation, stringReplacer, macroRequestInfo);
+        if (replaceStr == null) {
+            return input;
+        }
+        return new StringBuilder(input).replace(matcher.start(), matcher.end(), replaceStr).toString();
+    }
+
+    private String replacementValue(
+            final String matchedStr,
+            final MacroImplementation macroImplementation,
+            final StringReplacer stringReplacer,
+            final MacroImplementation.MacroRequestInfo macroRequestInfo
+    ) {
         String replaceStr = "";
         try {
             replaceStr = macroImplementation.replaceValue(matchedStr, macroRequestInfo);
@@ -237,7 +307,7 @@ public class MacroMachine {
         }
 
         if (replaceStr == null) {
-            return input;
+            return null;
         }
 
         if (stringReplacer != null) {
@@ -252,11 +322,11 @@ public class MacroMachine {
             final boolean sensitive = JavaHelper.enumArrayContainsValue(macroImplementation.flags(), MacroImplementation.MacroDefinitionFlag.SensitiveValue);
             final boolean debugOnlyLogging = JavaHelper.enumArrayContainsValue(macroImplementation.flags(), MacroImplementation.MacroDefinitionFlag.OnlyDebugLogging);
             if (!debugOnlyLogging || (pwmApplication != null && pwmApplication.getConfig().isDevDebugMode())) {
-                LOGGER.trace(sessionLabel, "replaced macro " + matchedStr + " with value: "
-                        + (sensitive ? PwmConstants.LOG_REMOVED_VALUE_REPLACEMENT : replaceStr));
+                final String loggedValue = sensitive ? PwmConstants.LOG_REMOVED_VALUE_REPLACEMENT : replaceStr;
+                LOGGER.trace(sessionLabel, () -> "replaced macro " + matchedStr + " with value: " + loggedValue);
             }
         }
-        return new StringBuilder(input).replace(startPos, endPos, replaceStr).toString();
+        return replaceStr;
     }
 
     public static MacroMachine forStatic() {
@@ -306,4 +376,33 @@ public class MacroMachine {
     {
         return new MacroMachine(pwmApplication, sessionLabel, null, null);
     }
+
+    /**
+     * Ordered macro implementations for one combination of scopes and external macro urls, along with the templates
+     * compiled against them.
+     */
+    private static class MacroSet {
+        private final Map<Pattern,MacroImplementation> implementations;
+        private final Cache<String, MacroTemplate> templates = Caffeine.newBuilder()
+                .maximumSize(TEMPLATE_CACHE_SIZE)
+                .build();
+
+        MacroSet(final Map<Pattern,MacroImplementation> implementations) {
+            this.implementations = implementations;
+        }
+
+        Map<Pattern,MacroImplementation> getImplementations() {
+            return implementations;
+        }
+
+        MacroTemplate templateFor(final String input) {
+            return templates.get(input, k -> MacroTemplate.compile(input, implementations.values()));
+        }
+    }
+
+    @Value
+    private static class MacroSetKey {
+        private final Set<MacroImplementation.Scope> scopes;
+        private final List<String> externalMethods;
+    }
 }
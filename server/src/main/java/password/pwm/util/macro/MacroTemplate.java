@@ -0,0 +1,149 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package password.pwm.util.macro;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+
+/**
+ * A macro input string split into literal and macro segments, so that it can be expanded in a single pass without
+ * re-running every macro pattern over the string.
+ *
+ * <p>Macros are located the same way {@link MacroMachine} has always applied them: in implementation order, with
+ * text consumed by an earlier macro unavailable to later ones.  Inputs where that can not be determined up front,
+ * because a post-sequence macro wraps other text or two macro matches partially overlap, are not compiled and
+ * {@link #isCompiled()} returns false.</p>
+ */
+class MacroTemplate {
+    private final String[] literals;
+    private final String[] macroTexts;
+    private final MacroImplementation[] macros;
+
+    interface MacroResolver {
+        /**
+         * @return the replacement value, or null to leave the macro text in place
+         */
+        String resolve(String matchedText, MacroImplementation macroImplementation);
+    }
+
+    private MacroTemplate(final String[] literals, final String[] macroTexts, final MacroImplementation[] macros) {
+        this.literals = literals;
+        this.macroTexts = macroTexts;
+        this.macros = macros;
+    }
+
+    static MacroTemplate compile(final String input, final Collection<MacroImplementation> implementations) {
+        final List<MacroMatch> matches = new ArrayList<>();
+
+        for (final MacroImplementation implementation : implementations) {
+            final Matcher matcher = implementation.getRegExPattern().matcher(input);
+            if (implementation.getSequence() != MacroImplementation.Sequence.normal) {
+                if (matcher.find()) {
+                    return uncompiled();
+                }
+                continue;
+            }
+
+            while (matcher.find()) {
+                final int start = matcher.start();
+                final int end = matcher.end();
+                boolean consumed = false;
+                for (final MacroMatch existing : matches) {
+                    if (start >= existing.start && end <= existing.end) {
+                        consumed = true;
+                        break;
+                    }
+                    if (start < existing.end && end > existing.start) {
+                        return uncompiled();
+                    }
+                }
+                if (!consumed) {
+                    matches.add(new MacroMatch(start, end, implementation));
+                }
+            }
+        }
+
+        matches.sort(Comparator.comparingInt(match -> match.start));
+
+        final String[] literals = new String[matches.size() + 1];
+        final String[] macroTexts = new String[matches.size()];
+        final MacroImplementation[] macros = new MacroImplementation[matches.size()];
+        int position = 0;
+        for (int i = 0; i < matches.size(); i++) {
+            final MacroMatch match = matches.get(i);
+            literals[i] = input.substring(position, match.start);
+            macroTexts[i] = input.substring(match.start, match.end);
+            macros[i] = match.implementation;
+            position = match.end;
+        }
+        literals[matches.size()] = input.substring(position);
+
+        return new MacroTemplate(literals, macroTexts, macros);
+    }
+
+    private static MacroTemplate uncompiled() {
+        return new MacroTemplate(null, null, null);
+    }
+
+    boolean isCompiled() {
+        return literals != null;
+    }
+
+    int macroCount() {
+        return isCompiled() ? macros.length : 0;
+    }
+
+    String expand(final MacroResolver resolver) {
+        if (!isCompiled()) {
+            throw new IllegalStateException("template is not compiled");
+        }
+
+        if (macros.length == 0) {
+            return literals[0];
+        }
+
+        final StringBuilder output = new StringBuilder();
+        for (int i = 0; i < macros.length; i++) {
+            output.append(literals[i]);
+            final String replacement = resolver.resolve(macroTexts[i], macros[i]);
+            output.append(replacement == null ? macroTexts[i] : replacement);
+        }
+        output.append(literals[macros.length]);
+        return output.toString();
+    }
+
+    private static class MacroMatch {
+        private final int start;
+        private final int end;
+        private final MacroImplementation implementation;
+
+        MacroMatch(final int start, final int end, final MacroImplementation implementation) {
+            this.start = start;
+            this.end = end;
+            this.implementation = implementation;
+        }
+    }
+}
@@ -133,7 +133,7 @@ public abstract class StandardMacros {
                     throw new MacroParseException("error parsing length parameter: " + e.getMessage());
                 }
 
-                final int maxLengthPermitted = Integer.parseInt(macroRequestInfo.getPwmApplication().getConfig().readAppProperty(AppProperty.MACRO_LDAP_ATTR_CHAR_MAX_LENGTH));
+                final int maxLengthPermitted = macroRequestInfo.getPwmApplication().getConfig().readAppPropertyInt(AppProperty.MACRO_LDAP_ATTR_CHAR_MAX_LENGTH);
                 if (length > maxLengthPermitted) {
                     throw new MacroParseException("maximum permitted length of LDAP attribute (" + maxLengthPermitted + ") exceeded");
                 } else if (length <= 0) {
@@ -541,7 +541,7 @@ public abstract class StandardMacros {
             final List<String> parameters = splitMacroParameters(matchValue,"RandomChar");
             int length = 1;
             if (parameters.size() > 0 && !parameters.get(0).isEmpty()) {
-                final int maxLengthPermitted = Integer.parseInt(macroRequestInfo.getPwmApplication().getConfig().readAppProperty(AppProperty.MACRO_RANDOM_CHAR_MAX_LENGTH));
+                final int maxLengthPermitted = macroRequestInfo.getPwmApplication().getConfig().readAppPropertyInt(AppProperty.MACRO_RANDOM_CHAR_MAX_LENGTH);
                 try {
                     length = Integer.parseInt(parameters.get(0));
                     if (length > maxLengthPermitted) {
@@ -158,7 +158,7 @@ public class CrService implements PwmService {
                         );
 
                         LOGGER.debug(sessionLabel,"using ldap c/r policy for user " + theUser.getEntryDN() + ": " + returnSet.toString());
-                        LOGGER.trace(sessionLabel,"readUserChallengeProfile completed in " + TimeDuration.fromCurrent(methodStartTime).asCompactString() + ", result=" + JsonUtil.serialize(challengeProfile));
+                        LOGGER.trace(sessionLabel, () -> "readUserChallengeProfile completed in " + TimeDuration.fromCurrent(methodStartTime).asCompactString() + ", result=" + JsonUtil.serialize(challengeProfile));
 
                         return challengeProfile;
                     }
@@ -534,7 +534,7 @@ public class CrService implements PwmService {
 
         // ignore NMAS based CR set if so configured
         if (responseInfoBean != null && (responseInfoBean.getDataStorageMethod() == DataStorageMethod.NMAS)) {
-            final boolean ignoreNmasCr = Boolean.parseBoolean(pwmApplication.getConfig().readAppProperty(AppProperty.NMAS_IGNORE_NMASCR_DURING_FORCECHECK));
+            final boolean ignoreNmasCr = pwmApplication.getConfig().readAppPropertyBoolean(AppProperty.NMAS_IGNORE_NMASCR_DURING_FORCECHECK);
             if (ignoreNmasCr) {
                 LOGGER.debug(pwmSession, "checkIfResponseConfigNeeded: app property " + AppProperty.NMAS_IGNORE_NMASCR_DURING_FORCECHECK.getKey()
                         + "=true and user's responses are in " + responseInfoBean.getDataStorageMethod() + " format, so forcing setup of new responses.");
@@ -192,7 +192,7 @@ public class OtpService implements PwmService {
             final OTPUserRecord.RecoveryInfo recoveryInfo = new OTPUserRecord.RecoveryInfo();
             if (settings.getOtpStorageFormat().supportsHashedRecoveryCodes()) {
                 LOGGER.trace(sessionLabel, "hashing the recovery codes");
-                final int saltCharLength = Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.OTP_SALT_CHARLENGTH));
+                final int saltCharLength = pwmApplication.getConfig().readAppPropertyInt(AppProperty.OTP_SALT_CHARLENGTH);
                 recoveryInfo.setSalt(PwmRandom.getInstance().alphaNumericString(saltCharLength));
                 recoveryInfo.setHashCount(settings.getRecoveryHashIterations());
                 recoveryInfo.setHashMethod(settings.getRecoveryHashMethod());
@@ -495,12 +495,12 @@ public class OtpService implements PwmService {
 
             otpSettings.otpStorageFormat = config.readSettingAsEnum(PwmSetting.OTP_SECRET_STORAGEFORMAT,OTPStorageFormat.class);
             otpSettings.recoveryCodesCount = (int)config.readSettingAsLong(PwmSetting.OTP_RECOVERY_CODES);
-            otpSettings.totpPastIntervals = Integer.parseInt(config.readAppProperty(AppProperty.TOTP_PAST_INTERVALS));
-            otpSettings.totpFutureIntervals = Integer.parseInt(config.readAppProperty(AppProperty.TOTP_FUTURE_INTERVALS));
-            otpSettings.totpIntervalSeconds = Integer.parseInt(config.readAppProperty(AppProperty.TOTP_INTERVAL));
-            otpSettings.otpTokenLength = Integer.parseInt(config.readAppProperty(AppProperty.OTP_TOKEN_LENGTH));
+            otpSettings.totpPastIntervals = config.readAppPropertyInt(AppProperty.TOTP_PAST_INTERVALS);
+            otpSettings.totpFutureIntervals = config.readAppPropertyInt(AppProperty.TOTP_FUTURE_INTERVALS);
+            otpSettings.totpIntervalSeconds = config.readAppPropertyInt(AppProperty.TOTP_INTERVAL);
+            otpSettings.otpTokenLength = config.readAppPropertyInt(AppProperty.OTP_TOKEN_LENGTH);
             otpSettings.recoveryTokenMacro = config.readAppProperty(AppProperty.OTP_RECOVERY_TOKEN_MACRO);
-            otpSettings.recoveryHashIterations = Integer.parseInt(config.readAppProperty(AppProperty.OTP_RECOVERY_HASH_COUNT));
+            otpSettings.recoveryHashIterations = config.readAppPropertyInt(AppProperty.OTP_RECOVERY_HASH_COUNT);
             otpSettings.recoveryHashMethod = config.readAppProperty(AppProperty.OTP_RECOVERY_HASH_METHOD);
             return otpSettings;
         }
@@ -396,7 +396,7 @@ public class PasswordUtility {
 
             LOGGER.trace(sessionLabel, "preparing to setActorPassword for '" + theUser.getEntryDN() + "', using bind DN: " + bindDN);
 
-            final boolean setting_enableChange = Boolean.parseBoolean(pwmApplication.getConfig().readAppProperty(AppProperty.LDAP_PASSWORD_CHANGE_SELF_ENABLE));
+            final boolean setting_enableChange = pwmApplication.getConfig().readAppPropertyBoolean(AppProperty.LDAP_PASSWORD_CHANGE_SELF_ENABLE);
             if (setting_enableChange) {
                 if (oldPassword == null) {
                     theUser.setPassword(newPassword.getStringValue(), true);
@@ -420,6 +420,9 @@ public class PasswordUtility {
             throw PwmUnrecoverableException.fromChaiException(e);
         }
 
+        // cached username resolutions for the user are discarded whenever the entry is modified.
+        pwmApplication.getUserSearchEngine().invalidateResolvedUser(userIdentity);
+
         // add the old password to the global history list (if the old password is known)
         if (oldPassword != null && pwmApplication.getConfig().readSettingAsBoolean(PwmSetting.PASSWORD_SHAREDHISTORY_ENABLE)) {
             pwmApplication.getSharedHistoryManager().addWord(sessionLabel, oldPassword.getStringValue());
@@ -878,7 +881,7 @@ public class PasswordUtility {
         final boolean passwordIsCaseSensitive = userInfo.getPasswordPolicy() == null || userInfo.getPasswordPolicy().getRuleHelper().readBooleanValue(PwmPasswordRule.CaseSensitive);
         final CachePolicy cachePolicy;
         {
-            final long cacheLifetimeMS = Long.parseLong(pwmApplication.getConfig().readAppProperty(AppProperty.CACHE_PWRULECHECK_LIFETIME_MS));
+            final long cacheLifetimeMS = pwmApplication.getConfig().readAppPropertyLong(AppProperty.CACHE_PWRULECHECK_LIFETIME_MS);
             cachePolicy = CachePolicy.makePolicyWithExpirationMS(cacheLifetimeMS);
         }
 
@@ -138,9 +138,9 @@ public class NMASCrOperator implements CrOperator {
 
     public NMASCrOperator(final PwmApplication pwmApplication) {
         this.pwmApplication = pwmApplication;
-        maxThreadCount = Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.NMAS_THREADS_MAX_COUNT));
-        final int MAX_SECONDS = Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.NMAS_THREADS_MAX_SECONDS));
-        final int MIN_SECONDS = Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.NMAS_THREADS_MIN_SECONDS));
+        maxThreadCount = pwmApplication.getConfig().readAppPropertyInt(AppProperty.NMAS_THREADS_MAX_COUNT);
+        final int MAX_SECONDS = pwmApplication.getConfig().readAppPropertyInt(AppProperty.NMAS_THREADS_MAX_SECONDS);
+        final int MIN_SECONDS = pwmApplication.getConfig().readAppPropertyInt(AppProperty.NMAS_THREADS_MIN_SECONDS);
 
         int maxNmasIdleSeconds = (int)pwmApplication.getConfig().readSettingAsLong(PwmSetting.IDLE_TIMEOUT_SECONDS);
         if (maxNmasIdleSeconds > MAX_SECONDS) {
@@ -154,7 +154,7 @@ public class NMASCrOperator implements CrOperator {
     }
 
     private void registerSaslProvider() {
-        final boolean forceRegistration = Boolean.parseBoolean(pwmApplication.getConfig().readAppProperty(AppProperty.NMAS_FORCE_SASL_FACTORY_REGISTRATION));
+        final boolean forceRegistration = pwmApplication.getConfig().readAppPropertyBoolean(AppProperty.NMAS_FORCE_SASL_FACTORY_REGISTRATION);
 
         if (Security.getProvider(NMASCrPwmSaslProvider.SASL_PROVIDER_NAME) != null) {
             if (forceRegistration) {
@@ -168,7 +168,7 @@ public class NMASCrOperator implements CrOperator {
             LOGGER.trace("pre-existing SASL provider for " + NMASCrPwmSaslProvider.SASL_PROVIDER_NAME + " has not been detected");
         }
 
-        final boolean useLocalProvider = Boolean.parseBoolean(pwmApplication.getConfig().readAppProperty(AppProperty.NMAS_USE_LOCAL_SASL_FACTORY));
+        final boolean useLocalProvider = pwmApplication.getConfig().readAppPropertyBoolean(AppProperty.NMAS_USE_LOCAL_SASL_FACTORY);
 
         try {
             if (useLocalProvider) {
@@ -216,8 +216,8 @@ public class NMASCrOperator implements CrOperator {
                 if (timer == null) {
                     LOGGER.debug("starting NMASCrOperator watchdog timer, maxIdleThreadTime=" + maxThreadIdleTime.asCompactString());
                     timer = new Timer(PwmConstants.PWM_APP_NAME + "-NMASCrOperator watchdog timer",true);
-                    final long frequency = Long.parseLong(pwmApplication.getConfig().readAppProperty(AppProperty.NMAS_THREADS_WATCHDOG_FREQUENCY));
-                    final boolean debugOutput = Boolean.parseBoolean(pwmApplication.getConfig().readAppProperty(AppProperty.NMAS_THREADS_WATCHDOG_DEBUG));
+                    final long frequency = pwmApplication.getConfig().readAppPropertyLong(AppProperty.NMAS_THREADS_WATCHDOG_FREQUENCY);
+                    final boolean debugOutput = pwmApplication.getConfig().readAppPropertyBoolean(AppProperty.NMAS_THREADS_WATCHDOG_DEBUG);
                     timer.schedule(new ThreadWatchdogTask(debugOutput),frequency,frequency);
                 }
             }
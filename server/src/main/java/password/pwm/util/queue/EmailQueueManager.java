@@ -104,10 +104,10 @@ public class EmailQueueManager implements PwmService {
         }
 
         final WorkQueueProcessor.Settings settings = WorkQueueProcessor.Settings.builder()
-                .maxEvents(Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.QUEUE_EMAIL_MAX_COUNT)))
+                .maxEvents(pwmApplication.getConfig().readAppPropertyInt(AppProperty.QUEUE_EMAIL_MAX_COUNT))
                 .retryDiscardAge(new TimeDuration(pwmApplication.getConfig().readSettingAsLong(PwmSetting.EMAIL_MAX_QUEUE_AGE), TimeUnit.SECONDS))
-                .retryInterval(new TimeDuration(Long.parseLong(pwmApplication.getConfig().readAppProperty(AppProperty.QUEUE_EMAIL_RETRY_TIMEOUT_MS))))
-                .preThreads(Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.QUEUE_EMAIL_MAX_THREADS)))
+                .retryInterval(new TimeDuration(pwmApplication.getConfig().readAppPropertyLong(AppProperty.QUEUE_EMAIL_RETRY_TIMEOUT_MS)))
+                .preThreads(pwmApplication.getConfig().readAppPropertyInt(AppProperty.QUEUE_EMAIL_MAX_THREADS))
                 .build();
         final LocalDBStoredQueue localDBStoredQueue = LocalDBStoredQueue.createLocalDBStoredQueue(pwmApplication, pwmApplication.getLocalDB(), LocalDB.DB.EMAIL_QUEUE);
 
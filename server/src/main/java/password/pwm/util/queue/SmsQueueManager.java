@@ -123,16 +123,16 @@ public class SmsQueueManager implements PwmService {
         }
 
         final WorkQueueProcessor.Settings settings = WorkQueueProcessor.Settings.builder()
-                .maxEvents(Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.QUEUE_SMS_MAX_COUNT)))
+                .maxEvents(pwmApplication.getConfig().readAppPropertyInt(AppProperty.QUEUE_SMS_MAX_COUNT))
                 .retryDiscardAge(new TimeDuration(pwmApplication.getConfig().readSettingAsLong(PwmSetting.SMS_MAX_QUEUE_AGE), TimeUnit.SECONDS))
-                .retryInterval(new TimeDuration(Long.parseLong(pwmApplication.getConfig().readAppProperty(AppProperty.QUEUE_SMS_RETRY_TIMEOUT_MS))))
+                .retryInterval(new TimeDuration(pwmApplication.getConfig().readAppPropertyLong(AppProperty.QUEUE_SMS_RETRY_TIMEOUT_MS)))
                 .build();
 
         final LocalDBStoredQueue localDBStoredQueue = LocalDBStoredQueue.createLocalDBStoredQueue(pwmApplication, pwmApplication.getLocalDB(), LocalDB.DB.SMS_QUEUE);
 
         workQueueProcessor = new WorkQueueProcessor<>(pwmApplication, localDBStoredQueue, settings, new SmsItemProcessor(), this.getClass());
 
-        smsSendEngine = new SmsSendEngine(pwmApplication.getConfig());
+        smsSendEngine = new SmsSendEngine(pwmApplication, pwmApplication.getConfig());
 
         status = STATUS.OPEN;
     }
@@ -413,11 +413,18 @@ public class SmsQueueManager implements PwmService {
 
     private static class SmsSendEngine {
         private static final PwmLogger LOGGER = PwmLogger.forClass(SmsSendEngine.class);
+        private final PwmApplication pwmApplication;
         private final Configuration config;
         private String lastResponseBody;
 
-        private SmsSendEngine(final Configuration configuration)
+        /**
+         * @param pwmApplication running application, used for its pooled http client; null when sending with a
+         *                       configuration that is not yet in use (such as from the config editor)
+         * @param configuration configuration to read gateway settings from
+         */
+        private SmsSendEngine(final PwmApplication pwmApplication, final Configuration configuration)
         {
+            this.pwmApplication = pwmApplication;
             this.config = configuration;
         }
 
@@ -508,7 +515,9 @@ public class SmsQueueManager implements PwmService {
                     httpRequest.addHeader(HttpHeader.Authorization.getHttpName(), ba.toAuthHeader());
                 }
 
-                final HttpClient httpClient = PwmHttpClient.getHttpClient(config);
+                final HttpClient httpClient = pwmApplication == null
+                        ? PwmHttpClient.getHttpClient(config)
+                        : PwmHttpClient.getHttpClient(pwmApplication, null);
                 final HttpResponse httpResponse = httpClient.execute(httpRequest);
                 final String responseBody = EntityUtils.toString(httpResponse.getEntity());
                 final int resultCode = httpResponse.getStatusLine().getStatusCode();
@@ -545,7 +554,7 @@ public class SmsQueueManager implements PwmService {
     )
             throws PwmUnrecoverableException, PwmOperationalException
     {
-        final SmsSendEngine smsSendEngine = new SmsSendEngine(configuration);
+        final SmsSendEngine smsSendEngine = new SmsSendEngine(null, configuration);
         smsSendEngine.sendSms(smsItemBean.getTo(), smsItemBean.getMessage());
         return smsSendEngine.getLastResponseBody();
     }
@@ -43,7 +43,7 @@ public class BCrypt {
         final char[] pwCharArray = password.toLowerCase().toCharArray();
         final boolean bsdCryptPass = OpenBSDBCrypt.checkPassword(hashedPassword, pwCharArray);
         if (!bsdCryptPass) {
-            final boolean enableJBCrypt = Boolean.parseBoolean(configuration.readAppProperty(AppProperty.CONFIG_JBCRYPT_PWLIB_ENABLE));
+            final boolean enableJBCrypt = configuration.readAppPropertyBoolean(AppProperty.CONFIG_JBCRYPT_PWLIB_ENABLE);
             if (enableJBCrypt) {
                 // legacy check, older jbcrypt library used previously incorrectly encoded some characters
                 // including special ascii characters.
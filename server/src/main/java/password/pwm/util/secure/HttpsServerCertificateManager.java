@@ -263,7 +263,7 @@ public class HttpsServerCertificateManager
 
             LOGGER.debug("creating self-signed certificate with cn of " + cnName);
             final KeyPair keyPair = generateRSAKeyPair(config);
-            final long futureSeconds = Long.parseLong(config.readAppProperty(AppProperty.SECURITY_HTTPSSERVER_SELF_FUTURESECONDS));
+            final long futureSeconds = config.readAppPropertyLong(AppProperty.SECURITY_HTTPSSERVER_SELF_FUTURESECONDS);
             final X509Certificate certificate = generateV3Certificate(keyPair, cnName, futureSeconds);
             return new StoredCertData(certificate, keyPair);
         }
@@ -301,7 +301,7 @@ public class HttpsServerCertificateManager
         static KeyPair generateRSAKeyPair(final Configuration config)
                 throws Exception
         {
-            final int keySize = Integer.parseInt(config.readAppProperty(AppProperty.SECURITY_HTTPSSERVER_SELF_KEY_SIZE));
+            final int keySize = config.readAppPropertyInt(AppProperty.SECURITY_HTTPSSERVER_SELF_KEY_SIZE);
             final String keyAlg = config.readAppProperty(AppProperty.SECURITY_HTTPSSERVER_SELF_ALG);
             final KeyPairGenerator kpGen = KeyPairGenerator.getInstance(keyAlg, "BC");
             kpGen.initialize(keySize, new SecureRandom());
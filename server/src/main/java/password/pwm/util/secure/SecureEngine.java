@@ -50,6 +50,8 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Random;
 
 
@@ -64,6 +66,12 @@ public class SecureEngine {
 
     private static final NonceGenerator AES_GCM_NONCE_GENERATOR = new NonceGenerator(8,8);
 
+    /**
+     * Cipher instances are not thread safe, but are expensive to look up from the provider, so each thread keeps its
+     * own instance per algorithm.  Every use re-initializes the cipher so no state is carried between operations.
+     */
+    private static final ThreadLocal<Map<String, Cipher>> THREAD_CIPHERS = ThreadLocal.withInitial(HashMap::new);
+
     private SecureEngine() {
     }
 
@@ -112,10 +120,10 @@ public class SecureEngine {
             if (blockAlgorithm == PwmBlockAlgorithm.AES128_GCM) {
                 nonce = AES_GCM_NONCE_GENERATOR.nextValue();
                 final GCMParameterSpec spec = new GCMParameterSpec(GCM_TAG_LENGTH * 8, nonce);
-                cipher = Cipher.getInstance(blockAlgorithm.getAlgName());
+                cipher = threadCipher(blockAlgorithm);
                 cipher.init(Cipher.ENCRYPT_MODE, aesKey, spec);
             } else {
-                cipher = Cipher.getInstance(blockAlgorithm.getAlgName());
+                cipher = threadCipher(blockAlgorithm);
                 cipher.init(Cipher.ENCRYPT_MODE, aesKey, cipher.getParameters());
                 nonce = null;
             }
@@ -206,10 +214,10 @@ public class SecureEngine {
                 final byte[] nonce = Arrays.copyOfRange(workingValue, 0, nonceLength);
                 workingValue = Arrays.copyOfRange(workingValue, nonceLength, workingValue.length);
                 final GCMParameterSpec spec = new GCMParameterSpec(GCM_TAG_LENGTH * 8, nonce);
-                cipher = Cipher.getInstance(blockAlgorithm.getAlgName());
+                cipher = threadCipher(blockAlgorithm);
                 cipher.init(Cipher.DECRYPT_MODE, aesKey, spec);
             } else {
-                cipher = Cipher.getInstance(blockAlgorithm.getAlgName());
+                cipher = threadCipher(blockAlgorithm);
                 cipher.init(Cipher.DECRYPT_MODE, aesKey);
             }
             final byte[] decrypted = cipher.doFinal(workingValue);
@@ -221,6 +229,18 @@ public class SecureEngine {
         }
     }
 
+    private static Cipher threadCipher(final PwmBlockAlgorithm blockAlgorithm)
+            throws GeneralSecurityException
+    {
+        final Map<String, Cipher> ciphers = THREAD_CIPHERS.get();
+        Cipher cipher = ciphers.get(blockAlgorithm.getAlgName());
+        if (cipher == null) {
+            cipher = Cipher.getInstance(blockAlgorithm.getAlgName());
+            ciphers.put(blockAlgorithm.getAlgName(), cipher);
+        }
+        return cipher;
+    }
+
     public static String hash(
             final byte[] input,
             final PwmHashAlgorithm algorithm
@@ -186,7 +186,7 @@ public abstract class X509Utils {
 
         public CertMatchingTrustManager(final Configuration config, final List<X509Certificate> certificates) {
             this.certificates = new ArrayList<>(certificates);
-            validateTimestamps = config != null && Boolean.parseBoolean(config.readAppProperty(AppProperty.SECURITY_CERTIFICATES_VALIDATE_TIMESTAMPS));
+            validateTimestamps = config != null && config.readAppPropertyBoolean(AppProperty.SECURITY_CERTIFICATES_VALIDATE_TIMESTAMPS);
         }
 
         @Override
@@ -61,7 +61,7 @@ public class RestClientHelper {
             stringEntity.setContentType(PwmConstants.AcceptValue.json.getHeaderValue());
             httpPost.setEntity(stringEntity);
             LOGGER.debug("beginning external rest call to: " + httpPost.toString() + ", body: " + jsonRequestBody);
-            httpResponse = PwmHttpClient.getHttpClient(pwmApplication.getConfig()).execute(httpPost);
+            httpResponse = PwmHttpClient.getHttpClient(pwmApplication, null).execute(httpPost);
             final String responseBody = EntityUtils.toString(httpResponse.getEntity());
             LOGGER.trace("external rest call returned: " + httpResponse.getStatusLine().toString() + ", body: " + responseBody);
             if (httpResponse.getStatusLine().getStatusCode() != 200) {
@@ -0,0 +1,189 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package password.pwm.ws.server;
+
+import lombok.Data;
+import lombok.Value;
+import password.pwm.http.HttpContentType;
+import password.pwm.http.HttpHeader;
+import password.pwm.http.HttpMethod;
+import password.pwm.util.java.JavaHelper;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable table of the {@link RestMethodHandler} to invoke for every combination of request method, content type and
+ * accept type, built once per {@link RestServlet} class.  Combinations without a handler hold the error message
+ * to report instead.
+ */
+class RestMethodDispatchTable {
+    private static final int CONTENT_TYPE_SLOTS = HttpContentType.values().length + 1;
+
+    private static final MethodType HANDLER_TYPE = MethodType.methodType(RestResultBean.class, RestServlet.class, RestRequest.class);
+
+    private final Entry[] entries;
+
+    @Value
+    static class Entry {
+        private final String endpointName;
+        private final MethodHandle methodHandle;
+        private final String errorMessage;
+    }
+
+    private RestMethodDispatchTable(final Entry[] entries) {
+        this.entries = entries;
+    }
+
+    static RestMethodDispatchTable forClass(final Class<? extends RestServlet> servletClass) {
+        final List<HandlerMethod> handlerMethods = new ArrayList<>();
+        for (final Method method : JavaHelper.getAllMethodsForClass(servletClass)) {
+            final RestMethodHandler annotation = method.getAnnotation(RestMethodHandler.class);
+            if (annotation != null) {
+                handlerMethods.add(new HandlerMethod(servletClass, method, annotation));
+            }
+        }
+
+        final Entry[] entries = new Entry[HttpMethod.values().length * CONTENT_TYPE_SLOTS * CONTENT_TYPE_SLOTS];
+        for (final HttpMethod httpMethod : HttpMethod.values()) {
+            for (int contentSlot = 0; contentSlot < CONTENT_TYPE_SLOTS; contentSlot++) {
+                for (int acceptSlot = 0; acceptSlot < CONTENT_TYPE_SLOTS; acceptSlot++) {
+                    entries[index(httpMethod, contentSlot, acceptSlot)] = resolve(
+                            handlerMethods,
+                            httpMethod,
+                            contentTypeForSlot(contentSlot),
+                            contentTypeForSlot(acceptSlot)
+                    );
+                }
+            }
+        }
+
+        return new RestMethodDispatchTable(entries);
+    }
+
+    Entry lookup(final HttpMethod httpMethod, final HttpContentType contentType, final HttpContentType acceptType) {
+        return entries[index(httpMethod, slotForContentType(contentType), slotForContentType(acceptType))];
+    }
+
+    private static Entry resolve(
+            final List<HandlerMethod> handlerMethods,
+            final HttpMethod reqMethod,
+            final HttpContentType reqContent,
+            final HttpContentType reqAccept
+    )
+    {
+        final boolean careAboutContentType = reqMethod.isHasBody();
+
+        final MethodMatcher anyMatch = new MethodMatcher();
+
+        for (final HandlerMethod handlerMethod : handlerMethods) {
+            final MethodMatcher loopMatch = new MethodMatcher();
+
+            if (handlerMethod.methods.isEmpty() || handlerMethod.methods.contains(reqMethod)) {
+                loopMatch.setMethodMatch(true);
+                anyMatch.setMethodMatch(true);
+            }
+
+            if (!careAboutContentType || handlerMethod.consumes.isEmpty() || handlerMethod.consumes.contains(reqContent)) {
+                loopMatch.setContentMatch(true);
+                anyMatch.setContentMatch(true);
+            }
+
+            if (handlerMethod.produces.isEmpty() || handlerMethod.produces.contains(reqAccept)) {
+                loopMatch.setAcceptMatch(true);
+                anyMatch.setAcceptMatch(true);
+            }
+
+            if (loopMatch.isMethodMatch() && loopMatch.isContentMatch() && loopMatch.isAcceptMatch()) {
+                return new Entry(handlerMethod.endpointName, handlerMethod.methodHandle, null);
+            }
+        }
+
+        final String errorMsg;
+        if (!anyMatch.isMethodMatch()) {
+            errorMsg = "HTTP method invalid";
+        } else if (reqAccept == null && !anyMatch.isAcceptMatch()) {
+            errorMsg = HttpHeader.Accept.getHttpName() + " header is required";
+        } else if (!anyMatch.isAcceptMatch()) {
+            errorMsg = HttpHeader.Accept.getHttpName() + " header value does not match an available processor";
+        } else if (reqContent == null && !anyMatch.isContentMatch()) {
+            errorMsg = HttpHeader.Content_Type.getHttpName() + " header is required";
+        } else if (!anyMatch.isContentMatch()) {
+            errorMsg = HttpHeader.Content_Type.getHttpName() + " header value does not match an available processor";
+        } else {
+            errorMsg = "incorrect method, Content-Type header, or Accept header.";
+        }
+
+        return new Entry(null, null, errorMsg);
+    }
+
+    private static int index(final HttpMethod httpMethod, final int contentSlot, final int acceptSlot) {
+        return (httpMethod.ordinal() * CONTENT_TYPE_SLOTS + contentSlot) * CONTENT_TYPE_SLOTS + acceptSlot;
+    }
+
+    private static int slotForContentType(final HttpContentType contentType) {
+        return contentType == null ? 0 : contentType.ordinal() + 1;
+    }
+
+    private static HttpContentType contentTypeForSlot(final int slot) {
+        return slot == 0 ? null : HttpContentType.values()[slot - 1];
+    }
+
+    @Data
+    private static class MethodMatcher {
+        boolean methodMatch;
+        boolean contentMatch;
+        boolean acceptMatch;
+    }
+
+    private static class HandlerMethod {
+        private final String endpointName;
+        private final MethodHandle methodHandle;
+        private final List<HttpMethod> methods;
+        private final List<HttpContentType> consumes;
+        private final List<HttpContentType> produces;
+
+        HandlerMethod(final Class<? extends RestServlet> servletClass, final Method method, final RestMethodHandler annotation) {
+            this.endpointName = servletClass.getSimpleName() + "." + method.getName();
+            this.methodHandle = unreflect(method);
+            this.methods = Collections.unmodifiableList(Arrays.asList(annotation.method()));
+            this.consumes = Collections.unmodifiableList(Arrays.asList(annotation.consumes()));
+            this.produces = Collections.unmodifiableList(Arrays.asList(annotation.produces()));
+        }
+
+        private static MethodHandle unreflect(final Method method) {
+            method.setAccessible(true);
+            try {
+                return MethodHandles.lookup().unreflect(method).asType(HANDLER_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("unable to access rest handler method " + method.getName() + ": " + e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -5,7 +5,6 @@ import com.novell.ldapchai.ChaiFactory;
 import com.novell.ldapchai.ChaiUser;
 import com.novell.ldapchai.exception.ChaiUnavailableException;
 import com.novell.ldapchai.provider.ChaiProvider;
-import lombok.Data;
 import lombok.Value;
 import password.pwm.PwmApplication;
 import password.pwm.PwmApplicationMode;
@@ -20,12 +19,11 @@ import password.pwm.error.PwmUnrecoverableException;
 import password.pwm.http.ContextManager;
 import password.pwm.http.HttpContentType;
 import password.pwm.http.HttpHeader;
-import password.pwm.http.HttpMethod;
 import password.pwm.http.filter.RequestInitializationFilter;
 import password.pwm.ldap.search.UserSearchEngine;
+import password.pwm.svc.stats.StatisticsManager;
 import password.pwm.util.LocaleHelper;
 import password.pwm.util.java.AtomicLoopIntIncrementer;
-import password.pwm.util.java.JavaHelper;
 import password.pwm.util.java.JsonUtil;
 import password.pwm.util.java.StringUtil;
 import password.pwm.util.java.TimeDuration;
@@ -37,11 +35,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.time.Instant;
-import java.util.Arrays;
-import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 
@@ -50,6 +44,14 @@ public abstract class RestServlet extends HttpServlet{
 
     private static final PwmLogger LOGGER = PwmLogger.forClass(RestServlet.class);
 
+    private volatile RestMethodDispatchTable dispatchTable;
+
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        dispatchTable = RestMethodDispatchTable.forClass(this.getClass());
+    }
+
     protected void service(final HttpServletRequest req, final HttpServletResponse resp)
             throws ServletException, IOException
     {
@@ -124,86 +126,37 @@ public abstract class RestServlet extends HttpServlet{
     }
 
     private RestResultBean invokeWebService(final RestRequest restRequest) throws IOException, PwmUnrecoverableException {
-        final Method interestedMethod = discoverMethodForAction(this.getClass(), restRequest);
-
-        if (interestedMethod != null) {
-            interestedMethod.setAccessible(true);
-            try {
-                return (RestResultBean) interestedMethod.invoke(this, restRequest);
-            } catch (InvocationTargetException e) {
-                final Throwable rootException = e.getTargetException();
-                if (rootException instanceof PwmUnrecoverableException) {
-                    throw (PwmUnrecoverableException)rootException;
-                }
-                throw PwmUnrecoverableException.newException(PwmError.ERROR_UNKNOWN, e.getMessage());
-            } catch (IllegalAccessException e) {
-                throw PwmUnrecoverableException.newException(PwmError.ERROR_UNKNOWN, e.getMessage());
-            }
+        final RestMethodDispatchTable.Entry dispatchEntry = getDispatchTable().lookup(
+                restRequest.getMethod(),
+                restRequest.readContentType(),
+                restRequest.readAcceptType()
+        );
+
+        if (dispatchEntry.getMethodHandle() == null) {
+            throw PwmUnrecoverableException.newException(PwmError.ERROR_REST_INVOCATION_ERROR, dispatchEntry.getErrorMessage());
         }
-        return null;
-    }
-
-    @Data
-    private static class MethodMatcher {
-        boolean methodMatch;
-        boolean contentMatch;
-        boolean acceptMatch;
-    }
-
-    private Method discoverMethodForAction(final Class clazz, final RestRequest restRequest)
-            throws PwmUnrecoverableException
-    {
-        final HttpMethod reqMethod = restRequest.getMethod();
-        final HttpContentType reqContent = restRequest.readContentType();
-        final HttpContentType reqAccept = restRequest.readAcceptType();
-
-        final boolean careAboutContentType = reqMethod.isHasBody();
-
-        final MethodMatcher anyMatch = new MethodMatcher();
 
-        final Collection<Method> methods = JavaHelper.getAllMethodsForClass(clazz);
-        for (Method method : methods) {
-            final RestMethodHandler annotation = method.getAnnotation(RestMethodHandler.class);
-            final MethodMatcher loopMatch = new MethodMatcher();
-
-            if (annotation != null) {
-                if (annotation.method().length == 0 || Arrays.asList(annotation.method()).contains(reqMethod)) {
-                    loopMatch.setMethodMatch(true);
-                    anyMatch.setMethodMatch(true);
-                }
-
-                if (!careAboutContentType || annotation.consumes().length == 0 || Arrays.asList(annotation.consumes()).contains(reqContent)) {
-                    loopMatch.setContentMatch(true);
-                    anyMatch.setContentMatch(true);
-                }
-
-                if (annotation.produces().length == 0 || Arrays.asList(annotation.produces()).contains(reqAccept)) {
-                    loopMatch.setAcceptMatch(true);
-                    anyMatch.setAcceptMatch(true);
-                }
-
-                if (loopMatch.isMethodMatch() && loopMatch.isContentMatch() && loopMatch.isAcceptMatch()) {
-                    return method;
-                }
+        final Instant startTime = Instant.now();
+        try {
+            return (RestResultBean) dispatchEntry.getMethodHandle().invokeExact(this, restRequest);
+        } catch (PwmUnrecoverableException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw PwmUnrecoverableException.newException(PwmError.ERROR_UNKNOWN, e.getMessage());
+        } finally {
+            final StatisticsManager statisticsManager = restRequest.getPwmApplication().getStatisticsManager();
+            if (statisticsManager != null) {
+                statisticsManager.updateRestEndpointMetric(dispatchEntry.getEndpointName(), TimeDuration.fromCurrent(startTime));
             }
         }
+    }
 
-        final String errorMsg;
-        if (!anyMatch.isMethodMatch()) {
-            errorMsg = "HTTP method invalid";
-        } else if (reqAccept == null && !anyMatch.isAcceptMatch()) {
-            errorMsg = HttpHeader.Accept.getHttpName() + " header is required";
-        } else if (!anyMatch.isAcceptMatch()) {
-            errorMsg = HttpHeader.Accept.getHttpName() + " header value does not match an available processor";
-        } else if (reqContent == null && !anyMatch.isContentMatch()) {
-            errorMsg = HttpHeader.Content_Type.getHttpName() + " header is required";
-        } else if (!anyMatch.isContentMatch()) {
-            errorMsg = HttpHeader.Content_Type.getHttpName() + " header value does not match an available processor";
-        } else {
-            errorMsg = "incorrect method, Content-Type header, or Accept header.";
+    private RestMethodDispatchTable getDispatchTable() {
+        // normally built by init(), but servlets constructed outside of a container may not have been initialized.
+        if (dispatchTable == null) {
+            dispatchTable = RestMethodDispatchTable.forClass(this.getClass());
         }
-
-        throw PwmUnrecoverableException.newException(PwmError.ERROR_REST_INVOCATION_ERROR, errorMsg);
+        return dispatchTable;
     }
 
     private void preCheck(final RestRequest restRequest)
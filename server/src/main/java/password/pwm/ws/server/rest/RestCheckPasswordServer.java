@@ -170,7 +170,7 @@ public class RestCheckPasswordServer extends RestServlet {
             final JsonOutput jsonOutput = JsonOutput.fromPasswordCheckInfo(passwordCheckInfo);
             final RestResultBean restResultBean = RestResultBean.withData(jsonOutput);
             final TimeDuration timeDuration = TimeDuration.fromCurrent(startTime);
-            LOGGER.trace(restRequest.getSessionLabel(), "REST /checkpassword response (" + timeDuration.asCompactString() + "): " + JsonUtil.serialize(jsonOutput));
+            LOGGER.trace(restRequest.getSessionLabel(), () -> "REST /checkpassword response (" + timeDuration.asCompactString() + "): " + JsonUtil.serialize(jsonOutput));
             return restResultBean;
         } catch (PwmException e) {
             LOGGER.debug(restRequest.getSessionLabel(), "REST /checkpassword error during execution: " + e.getMessage());
@@ -100,7 +100,7 @@ public class RestFormSigningServer extends RestServlet {
 
     public static Map<String,String> readSignedFormValue(final PwmApplication pwmApplication, final String input) throws PwmUnrecoverableException
     {
-        final Integer maxAgeSeconds = Integer.parseInt(pwmApplication.getConfig().readAppProperty(AppProperty.WS_REST_SERVER_SIGNING_FORM_TIMEOUT_SECONDS));
+        final Integer maxAgeSeconds = pwmApplication.getConfig().readAppPropertyInt(AppProperty.WS_REST_SERVER_SIGNING_FORM_TIMEOUT_SECONDS);
         final TimeDuration maxAge = new TimeDuration(maxAgeSeconds, TimeUnit.SECONDS);
         final SignedFormData signedFormData = pwmApplication.getSecureService().decryptObject(input, SignedFormData.class);
         if (signedFormData != null) {
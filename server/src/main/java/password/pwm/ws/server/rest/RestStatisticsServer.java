@@ -32,6 +32,8 @@ import password.pwm.http.HttpContentType;
 import password.pwm.http.HttpMethod;
 import password.pwm.http.PwmHttpRequestWrapper;
 import password.pwm.svc.stats.EpsStatistic;
+import password.pwm.svc.stats.HistogramBundle;
+import password.pwm.svc.stats.HistogramSummary;
 import password.pwm.svc.stats.Statistic;
 import password.pwm.svc.stats.StatisticsBundle;
 import password.pwm.svc.stats.StatisticsManager;
@@ -48,6 +50,7 @@ import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -65,6 +68,7 @@ public class RestStatisticsServer extends RestServlet {
         public Map<String, String> EPS;
         public Map<String, Object> nameData;
         public Map<String, Object> keyData;
+        public Map<String, Map<String, HistogramSummary>> histogramData;
     }
 
     @Override
@@ -91,6 +95,7 @@ public class RestStatisticsServer extends RestServlet {
                 jsonOutput.nameData = doNameStat(statisticsManager, statName, days);
             } else {
                 jsonOutput.keyData = doKeyStat(statisticsManager, statKey);
+                jsonOutput.histogramData = doHistogramStat(statisticsManager, statKey);
             }
 
             StatisticsManager.incrementStat(restRequest.getPwmApplication(), Statistic.REST_STATISTICS);
@@ -129,6 +134,34 @@ public class RestStatisticsServer extends RestServlet {
         return outputValueMap;
     }
 
+    public static Map<String,Map<String,HistogramSummary>> doHistogramStat(final StatisticsManager statisticsManager, final String statKey) {
+        final String key = (statKey == null)
+                ? StatisticsManager.KEY_CURRENT
+                : statKey;
+
+        final Map<String,Map<String,HistogramSummary>> outputMap = new TreeMap<>();
+        final HistogramBundle histogramBundle = statisticsManager.getHistogramBundleForKey(key);
+        if (histogramBundle == null) {
+            return outputMap;
+        }
+
+        for (final Statistic stat : Statistic.values()) {
+            if (stat.getType() == Statistic.Type.AVERAGE) {
+                final HistogramSummary daySummary = histogramBundle.summarizeDay(stat);
+                if (daySummary != null && daySummary.getCount() > 0) {
+                    final Map<String,HistogramSummary> periodMap = new LinkedHashMap<>();
+                    periodMap.put("day", daySummary);
+                    for (final Map.Entry<Integer,HistogramSummary> entry : histogramBundle.summarizeHours(stat).entrySet()) {
+                        periodMap.put(String.format("%02d", entry.getKey()), entry.getValue());
+                    }
+                    outputMap.put(stat.getKey(), periodMap);
+                }
+            }
+        }
+
+        return outputMap;
+    }
+
     public static Map<String,String> addEpsStats(final StatisticsManager statisticsManager){
         final Map<String,String> outputMap = new TreeMap<>();
         for (final EpsStatistic loopEps : EpsStatistic.values()) {
@@ -1,6 +1,8 @@
 <%@ page import="password.pwm.error.PwmError" %>
 <%@ page import="password.pwm.error.PwmException" %>
 <%@ page import="password.pwm.i18n.Admin" %>
+<%@ page import="password.pwm.svc.stats.HistogramBundle" %>
+<%@ page import="password.pwm.svc.stats.HistogramSummary" %>
 <%@ page import="password.pwm.svc.stats.Statistic" %>
 <%@ page import="password.pwm.svc.stats.StatisticsBundle" %>
 <%@ page import="password.pwm.svc.stats.StatisticsManager" %>
@@ -40,6 +42,7 @@
     String statsPeriodSelect = "";
     String statsChartSelect = "";
     StatisticsBundle stats = null;
+    HistogramBundle histograms = null;
     PwmRequest analysis_pwmRequest = null;
     try {
         analysis_pwmRequest = PwmRequest.forRequest(request, response);
@@ -47,6 +50,7 @@
         statsPeriodSelect = analysis_pwmRequest.readParameterAsString("statsPeriodSelect");
         statsChartSelect = analysis_pwmRequest.readParameterAsString("statsChartSelect",Statistic.PASSWORD_CHANGES.toString());
         stats = statsManager.getStatBundleForKey(statsPeriodSelect);
+        histograms = statsManager.getHistogramBundleForKey(statsPeriodSelect);
     } catch (PwmException e) {
         JspUtility.logError(pageContext, "error during page setup: " + e.getMessage());
     }
@@ -210,6 +214,50 @@
                         </form>
                     </div>
                 </div>
+                <div data-dojo-type="dijit.layout.ContentPane" title="<pwm:display key="Title_LatencyHistograms" bundle="Admin"/>" class="tabContent">
+                    <div style="max-height: 500px; overflow-y: auto">
+                        <% if (histograms != null) { %>
+                        <% for (final Statistic loopStat : Statistic.sortedValues(locale)) { %>
+                        <% final HistogramSummary daySummary = loopStat.getType() == Statistic.Type.AVERAGE ? histograms.summarizeDay(loopStat) : null; %>
+                        <% if (daySummary != null && daySummary.getCount() > 0) { %>
+                        <table>
+                            <tr>
+                                <td class="title" colspan="6"><%= loopStat.getLabel(locale) %></td>
+                            </tr>
+                            <tr>
+                                <td class="key">Period</td>
+                                <td class="key">Count</td>
+                                <td class="key">p50</td>
+                                <td class="key">p95</td>
+                                <td class="key">p99</td>
+                                <td class="key">Max</td>
+                            </tr>
+                            <tr>
+                                <td>Day</td>
+                                <td><%= daySummary.getCount() %></td>
+                                <td><%= daySummary.getP50() %></td>
+                                <td><%= daySummary.getP95() %></td>
+                                <td><%= daySummary.getP99() %></td>
+                                <td><%= daySummary.getMax() %></td>
+                            </tr>
+                            <% for (final Map.Entry<Integer, HistogramSummary> hourEntry : histograms.summarizeHours(loopStat).entrySet()) { %>
+                            <% final HistogramSummary hourSummary = hourEntry.getValue(); %>
+                            <tr>
+                                <td><%= String.format("%02d:00Z", hourEntry.getKey()) %></td>
+                                <td><%= hourSummary.getCount() %></td>
+                                <td><%= hourSummary.getP50() %></td>
+                                <td><%= hourSummary.getP95() %></td>
+                                <td><%= hourSummary.getP99() %></td>
+                                <td><%= hourSummary.getMax() %></td>
+                            </tr>
+                            <% } %>
+                        </table>
+                        <br/>
+                        <% } %>
+                        <% } %>
+                        <% } %>
+                    </div>
+                </div>
                 <div data-dojo-type="dijit.layout.ContentPane" title="<pwm:display key="Title_StatisticsCharts" bundle="Admin"/>" class="tabContent">
                     <div style="height:100%; width: 100%">
                         <div id="statsChartOptionsDiv" style="width:580px; text-align: center; margin:0 auto;">
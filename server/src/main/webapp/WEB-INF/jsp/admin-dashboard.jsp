@@ -233,6 +233,9 @@
                         <td style="font-weight:bold;">
                             Storage
                         </td>
+                        <td style="font-weight:bold;">
+                            Startup
+                        </td>
                         <td style="font-weight:bold;">
                             Health
                         </td>
@@ -251,6 +254,9 @@
                             <br/>
                             <% } %>
                         </td>
+                        <td>
+                            <%= loopService.getStartup() == null ? "" : loopService.getStartup() %>
+                        </td>
                         <td>
                             <% if (!JavaHelper.isEmpty(loopService.getHealth())) { %>
                             <% for (final HealthRecord loopRecord : loopService.getHealth()) { %>
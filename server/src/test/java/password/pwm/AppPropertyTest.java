@@ -25,7 +25,12 @@ package password.pwm;
 import junit.framework.TestCase;
 import org.junit.Assert;
 import org.junit.Test;
+import password.pwm.config.Configuration;
+import password.pwm.config.PwmSetting;
+import password.pwm.config.stored.StoredConfigurationImpl;
+import password.pwm.config.value.StringArrayValue;
 
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.ResourceBundle;
@@ -78,4 +83,26 @@ public class AppPropertyTest extends TestCase {
                     + " does not have a corresponding resource bundle value");
         }
     }
+
+    @Test
+    public void testTypedValues() throws Exception {
+        final StoredConfigurationImpl storedConfiguration = StoredConfigurationImpl.newStoredConfiguration();
+        storedConfiguration.writeSetting(
+                PwmSetting.APP_PROPERTY_OVERRIDES,
+                new StringArrayValue(Collections.singletonList(AppProperty.CACHE_MEMORY_MAX_ITEMS.getKey() + "=1234")),
+                null);
+        final Configuration configuration = new Configuration(storedConfiguration);
+
+        Assert.assertEquals("1234", configuration.readAppProperty(AppProperty.CACHE_MEMORY_MAX_ITEMS));
+        Assert.assertEquals(1234, configuration.readAppPropertyInt(AppProperty.CACHE_MEMORY_MAX_ITEMS));
+        Assert.assertEquals(Long.valueOf(2), configuration.readAppPropertyReadCounts().get(AppProperty.CACHE_MEMORY_MAX_ITEMS));
+
+        for (final AppProperty appProperty : AppProperty.values()) {
+            final String value = configuration.readAppProperty(appProperty);
+            Assert.assertEquals(Boolean.parseBoolean(value), configuration.readAppPropertyBoolean(appProperty));
+            if (value != null && value.matches("-?[0-9]+")) {
+                Assert.assertEquals(Long.parseLong(value), configuration.readAppPropertyLong(appProperty));
+            }
+        }
+    }
 }
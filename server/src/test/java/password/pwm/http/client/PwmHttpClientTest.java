@@ -28,6 +28,8 @@ import org.apache.commons.io.IOUtils;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
 import org.junit.Rule;
 import org.junit.Test;
 import password.pwm.AppProperty;
@@ -43,6 +45,7 @@ import java.security.KeyStore;
 import java.security.cert.X509Certificate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
@@ -198,6 +201,34 @@ public class PwmHttpClientTest {
         assertThat(responseContent).startsWith("Hello");
     }
 
+    /**
+     * Test that a client built on the metered pooling connection manager reuses its connection and records leases
+     */
+    @Test
+    public void testPooledClient_connectionReuse() throws Exception {
+        wm.stubFor(get(urlEqualTo("/simpleHello"))
+            .willReturn(aResponse()
+                .withHeader("Content-Type", "text/plain")
+                .withBody("Hello from the local mock server")));
+
+        final MeteredConnectionManager connectionManager = new MeteredConnectionManager(
+                PwmHttpClient.makeSocketFactoryRegistry(configuration, PwmHttpClientConfiguration.builder().build()),
+                60_000
+        );
+        final CloseableHttpClient httpClient = PwmHttpClient.makeClientBuilder(configuration).setConnectionManager(connectionManager).build();
+
+        for (int i = 0; i < 5; i++) {
+            HttpResponse response = httpClient.execute(new HttpGet(String.format("http://localhost:%d/simpleHello", wm.port())));
+            assertThat(EntityUtils.toString(response.getEntity())).startsWith("Hello");
+        }
+
+        final Map<String, String> debugProperties = connectionManager.debugProperties();
+        assertThat(debugProperties.get("leaseCount")).isEqualTo("5");
+        assertThat(debugProperties.get("leased")).isEqualTo("0");
+        assertThat(debugProperties.get("available")).isEqualTo("1");
+        httpClient.close();
+    }
+
     private List<X509Certificate> getWireMockSelfSignedCertificate() {
         InputStream keystoreInputStream = WireMock.class.getResourceAsStream("/keystore");
 
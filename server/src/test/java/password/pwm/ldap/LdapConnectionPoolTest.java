@@ -0,0 +1,237 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+
+package password.pwm.ldap;
+
+import com.novell.ldapchai.exception.ChaiError;
+import com.novell.ldapchai.exception.ChaiUnavailableException;
+import com.novell.ldapchai.provider.ChaiProvider;
+import org.junit.Assert;
+import org.junit.Test;
+import password.pwm.error.PwmUnrecoverableException;
+import password.pwm.util.java.TimeDuration;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LdapConnectionPoolTest {
+
+    @Test
+    public void testExclusiveLeaseTimeout() throws Exception {
+        final StubConnectionFactory connectionFactory = new StubConnectionFactory();
+        final LdapConnectionPool pool = makePool(LdapConnectionPool.LeaseMode.EXCLUSIVE, 1, 0, connectionFactory);
+
+        final LdapConnectionPool.PooledConnection lease = pool.lease();
+        try {
+            pool.lease();
+            Assert.fail("lease should time out while the only connection is leased");
+        } catch (PwmUnrecoverableException e) {
+            Assert.assertEquals(1, pool.getPoolStats().getWaitTimeoutCount());
+        }
+        pool.release(lease, false);
+
+        Assert.assertNotNull(pool.lease());
+        Assert.assertEquals(1, connectionFactory.openCount.get());
+        pool.close();
+    }
+
+    @Test
+    public void testExclusiveLeaseWaitsForRelease() throws Exception {
+        final StubConnectionFactory connectionFactory = new StubConnectionFactory();
+        final LdapConnectionPool pool = makePool(LdapConnectionPool.LeaseMode.EXCLUSIVE, 1, 5000, connectionFactory);
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+        try {
+            final LdapConnectionPool.PooledConnection lease = pool.lease();
+            final Future<LdapConnectionPool.PooledConnection> waitingLease = executorService.submit(pool::lease);
+            Thread.sleep(100);
+            Assert.assertFalse(waitingLease.isDone());
+
+            pool.release(lease, false);
+            Assert.assertSame(lease, waitingLease.get(5, TimeUnit.SECONDS));
+            Assert.assertEquals(1, pool.getPoolStats().getWaitCount());
+        } finally {
+            executorService.shutdownNow();
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testSharedLease() throws Exception {
+        final StubConnectionFactory connectionFactory = new StubConnectionFactory();
+        final LdapConnectionPool pool = makePool(LdapConnectionPool.LeaseMode.SHARED, 2, 0, connectionFactory);
+
+        final LdapConnectionPool.PooledConnection lease1 = pool.lease();
+        final LdapConnectionPool.PooledConnection lease2 = pool.lease();
+        final LdapConnectionPool.PooledConnection lease3 = pool.lease();
+        Assert.assertNotSame(lease1, lease2);
+        Assert.assertEquals(2, connectionFactory.openCount.get());
+        Assert.assertEquals(3, pool.getPoolStats().getActiveLeases());
+
+        pool.release(lease1, false);
+        pool.release(lease2, false);
+        pool.release(lease3, false);
+        Assert.assertEquals(2, pool.getPoolStats().getIdleConnections());
+        pool.close();
+    }
+
+    @Test
+    public void testPooledProviderDiscardsUnavailableConnection() throws Exception {
+        final StubConnectionFactory connectionFactory = new StubConnectionFactory();
+        final LdapConnectionPool pool = makePool(LdapConnectionPool.LeaseMode.EXCLUSIVE, 2, 0, connectionFactory);
+        final ChaiProvider chaiProvider = pool.getPooledProvider();
+
+        Assert.assertEquals("value", chaiProvider.readStringAttribute("cn=test", "cn"));
+
+        connectionFactory.failOperations.set(true);
+        try {
+            chaiProvider.readStringAttribute("cn=test", "cn");
+            Assert.fail("operation should fail");
+        } catch (ChaiUnavailableException e) {
+            // expected
+        }
+        Assert.assertEquals(0, pool.getPoolStats().getConnections());
+        Assert.assertEquals(1, pool.getPoolStats().getDiscardedCount());
+        Assert.assertEquals(1, connectionFactory.closeCount.get());
+
+        connectionFactory.failOperations.set(false);
+        Assert.assertEquals("value", chaiProvider.readStringAttribute("cn=test", "cn"));
+        Assert.assertEquals(2, connectionFactory.openCount.get());
+
+        // closing the pooled provider must not close the underlying connection
+        chaiProvider.close();
+        Assert.assertEquals(1, pool.getPoolStats().getConnections());
+        pool.close();
+    }
+
+    @Test
+    public void testPooledProviderIsConnected() throws Exception {
+        final StubConnectionFactory connectionFactory = new StubConnectionFactory();
+        final LdapConnectionPool pool = makePool(LdapConnectionPool.LeaseMode.EXCLUSIVE, 1, 0, connectionFactory);
+        final ChaiProvider chaiProvider = pool.getPooledProvider();
+
+        // an empty pool opens a connection to check
+        Assert.assertTrue(chaiProvider.isConnected());
+        Assert.assertEquals(1, connectionFactory.openCount.get());
+        Assert.assertEquals(1, pool.getPoolStats().getIdleConnections());
+
+        connectionFactory.connected.set(false);
+        Assert.assertFalse(chaiProvider.isConnected());
+
+        connectionFactory.connected.set(true);
+        pool.close();
+        Assert.assertFalse(chaiProvider.isConnected());
+    }
+
+    @Test
+    public void testIdleEviction() throws Exception {
+        final StubConnectionFactory connectionFactory = new StubConnectionFactory();
+        final LdapConnectionPool pool = new LdapConnectionPool(
+                "test",
+                LdapConnectionPool.PoolSettings.builder()
+                        .minConnections(1)
+                        .maxConnections(3)
+                        .leaseMode(LdapConnectionPool.LeaseMode.EXCLUSIVE)
+                        .maxWait(new TimeDuration(0))
+                        .idleTimeout(new TimeDuration(0))
+                        .build(),
+                connectionFactory,
+                chaiProvider -> true
+        );
+
+        final LdapConnectionPool.PooledConnection lease1 = pool.lease();
+        final LdapConnectionPool.PooledConnection lease2 = pool.lease();
+        final LdapConnectionPool.PooledConnection lease3 = pool.lease();
+        pool.release(lease1, false);
+        pool.release(lease2, false);
+        pool.release(lease3, false);
+        Thread.sleep(5);
+
+        pool.maintain();
+        Assert.assertEquals(1, pool.getPoolStats().getConnections());
+        Assert.assertEquals(2, pool.getPoolStats().getIdleEvictionCount());
+        Assert.assertEquals(2, connectionFactory.closeCount.get());
+        pool.close();
+    }
+
+    private static LdapConnectionPool makePool(
+            final LdapConnectionPool.LeaseMode leaseMode,
+            final int maxConnections,
+            final long maxWaitMs,
+            final LdapConnectionPool.ConnectionFactory connectionFactory
+    )
+    {
+        return new LdapConnectionPool(
+                "test",
+                LdapConnectionPool.PoolSettings.builder()
+                        .minConnections(0)
+                        .maxConnections(maxConnections)
+                        .leaseMode(leaseMode)
+                        .maxWait(new TimeDuration(maxWaitMs))
+                        .idleTimeout(new TimeDuration(1, TimeUnit.HOURS))
+                        .build(),
+                connectionFactory,
+                chaiProvider -> true
+        );
+    }
+
+    private static class StubConnectionFactory implements LdapConnectionPool.ConnectionFactory {
+        private final AtomicInteger openCount = new AtomicInteger();
+        private final AtomicInteger closeCount = new AtomicInteger();
+        private final AtomicBoolean failOperations = new AtomicBoolean();
+        private final AtomicBoolean connected = new AtomicBoolean(true);
+
+        @Override
+        public ChaiProvider openConnection() {
+            openCount.incrementAndGet();
+            return (ChaiProvider) Proxy.newProxyInstance(
+                    ChaiProvider.class.getClassLoader(),
+                    new Class[] {ChaiProvider.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "close":
+                                closeCount.incrementAndGet();
+                                return null;
+
+                            case "isConnected":
+                                return connected.get();
+
+                            case "readStringAttribute":
+                                if (failOperations.get()) {
+                                    throw new ChaiUnavailableException("stub failure", ChaiError.COMMUNICATION);
+                                }
+                                return "value";
+
+                            default:
+                                return null;
+                        }
+                    }
+            );
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package password.pwm.ldap;
+
+import com.novell.ldapchai.provider.ChaiProvider;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Instant;
+
+public class LdapOperationsHelperTest {
+
+    private static final Instant MODIFIED_SINCE = Instant.parse("2017-03-04T05:06:07Z");
+
+    @Test
+    public void testModifiedSinceFilter() {
+        Assert.assertEquals(
+                "(&(objectClass=inetOrgPerson)(modifyTimestamp>=20170304050607Z))",
+                LdapOperationsHelper.makeModifiedSinceFilter("(objectClass=inetOrgPerson)", ChaiProvider.DIRECTORY_VENDOR.NOVELL_EDIRECTORY, null, MODIFIED_SINCE));
+    }
+
+    @Test
+    public void testModifiedSinceFilterActiveDirectory() {
+        Assert.assertEquals(
+                "(&(objectClass=user)(whenChanged>=20170304050607.0Z))",
+                LdapOperationsHelper.makeModifiedSinceFilter("objectClass=user", ChaiProvider.DIRECTORY_VENDOR.MICROSOFT_ACTIVE_DIRECTORY, "", MODIFIED_SINCE));
+    }
+
+    @Test
+    public void testModifiedSinceFilterAttributeOverride() {
+        Assert.assertEquals(
+                "(&(cn=*)(customTimestamp>=20170304050607Z))",
+                LdapOperationsHelper.makeModifiedSinceFilter("(cn=*)", ChaiProvider.DIRECTORY_VENDOR.OPEN_LDAP, " customTimestamp ", MODIFIED_SINCE));
+    }
+}
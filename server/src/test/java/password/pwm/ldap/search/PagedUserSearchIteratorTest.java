@@ -0,0 +1,236 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+
+package password.pwm.ldap.search;
+
+import com.novell.ldapchai.provider.ChaiProviderImplementor;
+import org.junit.Assert;
+import org.junit.Test;
+import password.pwm.bean.SessionLabel;
+import password.pwm.bean.UserIdentity;
+import password.pwm.config.profile.LdapProfile;
+
+import javax.naming.NamingEnumeration;
+import javax.naming.directory.SearchResult;
+import javax.naming.ldap.Control;
+import javax.naming.ldap.LdapContext;
+import javax.naming.ldap.LdapName;
+import javax.naming.ldap.PagedResultsControl;
+import javax.naming.ldap.PagedResultsResponseControl;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PagedUserSearchIteratorTest {
+
+    @Test
+    public void testPagesAreReadOnDemand() throws Exception {
+        final FakeDirectory directory = new FakeDirectory(
+                Arrays.asList("cn=user1,o=test", "cn=user2,o=test"),
+                Collections.singletonList("cn=user3,o=test")
+        );
+        final PagedUserSearchIterator iterator = directory.makeIterator(0);
+
+        iterator.start();
+        Assert.assertEquals(1, directory.searchCount);
+
+        Assert.assertEquals("cn=user1,o=test", iterator.next().getUserDN());
+        Assert.assertEquals(1, directory.searchCount);
+
+        Assert.assertEquals("cn=user2,o=test", iterator.next().getUserDN());
+        Assert.assertEquals(2, directory.searchCount);
+
+        final UserIdentity lastIdentity = iterator.next();
+        Assert.assertEquals("cn=user3,o=test", lastIdentity.getUserDN());
+        Assert.assertEquals("profile1", lastIdentity.getLdapProfileID());
+        Assert.assertFalse(iterator.hasNext());
+
+        Assert.assertArrayEquals(new byte[] {1}, directory.requestedCookies.get(1));
+        verify(directory.chaiProvider).close();
+    }
+
+    @Test
+    public void testMaxResults() throws Exception {
+        final FakeDirectory directory = new FakeDirectory(
+                Arrays.asList("cn=user1,o=test", "cn=user2,o=test"),
+                Collections.singletonList("cn=user3,o=test")
+        );
+        final PagedUserSearchIterator iterator = directory.makeIterator(2);
+        iterator.start();
+
+        final List<String> results = new ArrayList<>();
+        while (iterator.hasNext()) {
+            results.add(iterator.next().getUserDN());
+        }
+
+        Assert.assertEquals(Arrays.asList("cn=user1,o=test", "cn=user2,o=test"), results);
+        Assert.assertEquals(1, directory.searchCount);
+        verify(directory.chaiProvider).close();
+    }
+
+    @Test
+    public void testCloseReleasesConnection() throws Exception {
+        final FakeDirectory directory = new FakeDirectory(
+                Arrays.asList("cn=user1,o=test", "cn=user2,o=test")
+        );
+        final PagedUserSearchIterator iterator = directory.makeIterator(0);
+        iterator.start();
+        iterator.close();
+
+        Assert.assertFalse(iterator.hasNext());
+        verify(directory.chaiProvider).close();
+    }
+
+    @Test
+    public void testOverlappingContextsAreNotDuplicated() throws Exception {
+        final FakeDirectory directory = new FakeDirectory(
+                Arrays.asList("cn=user1,o=test", "cn=user2,ou=sub,o=test"),
+                Arrays.asList("cn=user2,ou=sub,o=test", "cn=user3,ou=sub,o=test"),
+                Collections.singletonList("cn=user4,o=other")
+        );
+        final PagedUserSearchIterator iterator = directory.makeIterator(0, false, "o=test", "ou=sub,o=test", "o=other");
+        iterator.start();
+
+        final List<String> results = new ArrayList<>();
+        while (iterator.hasNext()) {
+            results.add(iterator.next().getUserDN());
+        }
+
+        Assert.assertEquals(Arrays.asList("cn=user1,o=test", "cn=user2,ou=sub,o=test", "cn=user4,o=other"), results);
+        Assert.assertEquals(3, directory.searchCount);
+    }
+
+    private static class FakeDirectory {
+        private final List<List<String>> pages;
+        private final List<byte[]> requestedCookies = new ArrayList<>();
+        private final ChaiProviderImplementor chaiProvider = mock(ChaiProviderImplementor.class);
+        private final LdapContext ldapContext = mock(LdapContext.class);
+        private int searchCount;
+
+        @SafeVarargs
+        FakeDirectory(final List<String>... pages) throws Exception {
+            this.pages = Arrays.asList(pages);
+
+            when(chaiProvider.getConnectionObject()).thenReturn(ldapContext);
+
+            doAnswer(invocation -> {
+                final Control[] controls = invocation.getArgument(0);
+                final byte[] encodedValue = controls[0].getEncodedValue();
+                requestedCookies.add(encodedValue.length > 7 ? Arrays.copyOfRange(encodedValue, 7, encodedValue.length) : null);
+                return null;
+            }).when(ldapContext).setRequestControls(any());
+
+            when(ldapContext.search(any(LdapName.class), anyString(), any())).thenAnswer(invocation -> {
+                final List<String> page = this.pages.get(searchCount);
+                searchCount++;
+                return new ListEnumeration(page);
+            });
+
+            when(ldapContext.getResponseControls()).thenAnswer(invocation -> {
+                final byte[] cookie = searchCount < this.pages.size() ? new byte[] {(byte) searchCount} : new byte[0];
+                return new Control[] {makeResponseControl(cookie)};
+            });
+        }
+
+        PagedUserSearchIterator makeIterator(final int maxResults) {
+            return makeIterator(maxResults, true, "o=test");
+        }
+
+        PagedUserSearchIterator makeIterator(final int maxResults, final boolean pagingEnabled, final String... contexts) {
+            final LdapProfile ldapProfile = mock(LdapProfile.class);
+            when(ldapProfile.getIdentifier()).thenReturn("profile1");
+
+            final List<UserSearchJob> userSearchJobs = new ArrayList<>();
+            for (final String context : contexts) {
+                userSearchJobs.add(UserSearchJob.builder()
+                        .ldapProfile(ldapProfile)
+                        .context(context)
+                        .searchFilter("(objectClass=inetOrgPerson)")
+                        .timeoutMs(1000)
+                        .build());
+            }
+
+            return new PagedUserSearchIterator(
+                    userSearchJobs,
+                    profile -> chaiProvider,
+                    2,
+                    pagingEnabled,
+                    maxResults,
+                    false,
+                    SessionLabel.SYSTEM_LABEL
+            );
+        }
+    }
+
+    private static Control makeResponseControl(final byte[] cookie) throws Exception {
+        // BER encoded sequence of { size INTEGER, cookie OCTET STRING }
+        final ByteArrayOutputStream value = new ByteArrayOutputStream();
+        value.write(new byte[] {0x30, (byte) (5 + cookie.length), 0x02, 0x01, 0x00, 0x04, (byte) cookie.length});
+        value.write(cookie);
+        return new PagedResultsResponseControl(PagedResultsControl.OID, false, value.toByteArray());
+    }
+
+    private static class ListEnumeration implements NamingEnumeration<SearchResult> {
+        private final Iterator<String> iterator;
+
+        ListEnumeration(final List<String> dnList) {
+            this.iterator = dnList.iterator();
+        }
+
+        @Override
+        public SearchResult next() {
+            final SearchResult searchResult = new SearchResult(null, null, null, false);
+            searchResult.setNameInNamespace(iterator.next());
+            return searchResult;
+        }
+
+        @Override
+        public boolean hasMore() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public boolean hasMoreElements() {
+            return hasMore();
+        }
+
+        @Override
+        public SearchResult nextElement() {
+            return next();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package password.pwm.ldap.search;
+
+import org.junit.Assert;
+import org.junit.Test;
+import password.pwm.bean.UserIdentity;
+import password.pwm.error.ErrorInformation;
+import password.pwm.error.PwmError;
+import password.pwm.util.java.TimeDuration;
+
+public class UsernameResolveCacheTest {
+
+    @Test
+    public void testNormalizedKeyLookup() {
+        final UsernameResolveCache cache = new UsernameResolveCache(100, TimeDuration.MINUTE, TimeDuration.SECOND);
+        final UserIdentity userIdentity = new UserIdentity("cn=bob,ou=users,o=org", "default");
+
+        cache.putResolved(UsernameResolveCache.makeKey("Bob", "default", null), userIdentity);
+
+        Assert.assertEquals(userIdentity, cache.get(UsernameResolveCache.makeKey(" bob ", "default", null)).getUserIdentity());
+        Assert.assertNull(cache.get(UsernameResolveCache.makeKey("bob", "other", null)));
+        Assert.assertNull(cache.get(UsernameResolveCache.makeKey("bob", "default", "ou=users,o=org")));
+    }
+
+    @Test
+    public void testInvalidate() {
+        final UsernameResolveCache cache = new UsernameResolveCache(100, TimeDuration.MINUTE, TimeDuration.MINUTE);
+        final UserIdentity bob = new UserIdentity("cn=bob,ou=users,o=org", "default");
+        final UserIdentity alice = new UserIdentity("cn=alice,ou=users,o=org", "default");
+
+        cache.putResolved(UsernameResolveCache.makeKey("bob", null, null), bob);
+        cache.putResolved(UsernameResolveCache.makeKey("alice", null, null), alice);
+        cache.putFailed(UsernameResolveCache.makeKey("carol", null, null), new ErrorInformation(PwmError.ERROR_CANT_MATCH_USER));
+
+        Assert.assertEquals(PwmError.ERROR_CANT_MATCH_USER, cache.get(UsernameResolveCache.makeKey("carol", null, null)).getErrorInformation().getError());
+
+        cache.invalidate(new UserIdentity("CN=Bob,ou=users,o=org", "default"));
+
+        Assert.assertNull(cache.get(UsernameResolveCache.makeKey("bob", null, null)));
+        Assert.assertNull(cache.get(UsernameResolveCache.makeKey("carol", null, null)));
+        Assert.assertEquals(alice, cache.get(UsernameResolveCache.makeKey("alice", null, null)).getUserIdentity());
+    }
+
+    @Test
+    public void testNegativeExpiry() throws Exception {
+        final UsernameResolveCache cache = new UsernameResolveCache(100, TimeDuration.MINUTE, new TimeDuration(1));
+        cache.putFailed(UsernameResolveCache.makeKey("carol", null, null), new ErrorInformation(PwmError.ERROR_CANT_MATCH_USER));
+        Thread.sleep(20);
+        Assert.assertNull(cache.get(UsernameResolveCache.makeKey("carol", null, null)));
+    }
+}
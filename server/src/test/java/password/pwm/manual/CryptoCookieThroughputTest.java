@@ -0,0 +1,144 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+
+package password.pwm.manual;
+
+import junit.framework.TestCase;
+import password.pwm.AppProperty;
+import password.pwm.bean.LoginInfoBean;
+import password.pwm.config.Configuration;
+import password.pwm.config.PwmSetting;
+import password.pwm.http.PwmRequest;
+import password.pwm.http.PwmSession;
+import password.pwm.http.bean.ForgottenPasswordBean;
+import password.pwm.util.PasswordData;
+import password.pwm.util.java.JsonUtil;
+import password.pwm.util.java.TimeDuration;
+import password.pwm.util.secure.PwmBlockAlgorithm;
+import password.pwm.util.secure.PwmRandom;
+import password.pwm.util.secure.PwmSecurityKey;
+import password.pwm.util.secure.SecureEngine;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.time.Instant;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures the two costs removed from encrypted cookie bean requests: deriving the session security key for every
+ * request instead of reading it from the crypto cookie provider's key cache, and creating a {@link Cipher} for every
+ * encryption instead of re-using one.
+ */
+public class CryptoCookieThroughputTest extends TestCase {
+
+    private static final int ITERATIONS = 50_000;
+
+    private static final PwmBlockAlgorithm BLOCK_ALGORITHM = PwmBlockAlgorithm.AES128_GCM;
+
+    public void testSessionKeyThroughput() throws Exception {
+        final ForgottenPasswordBean bean = new ForgottenPasswordBean();
+        bean.setGuid(PwmRandom.getInstance().alphaNumericString(32));
+        final PwmRequest pwmRequest = makeRequest(bean.getGuid());
+
+        final Class<?> providerClass = Class.forName("password.pwm.http.state.CryptoCookieBeanImpl");
+        final Constructor<?> constructor = providerClass.getDeclaredConstructor(Configuration.class);
+        constructor.setAccessible(true);
+        final Object provider = constructor.newInstance(pwmRequest.getConfig());
+        final Method keyForSession = providerClass.getDeclaredMethod("keyForSession", PwmRequest.class);
+        keyForSession.setAccessible(true);
+
+        final double derivedRate = measure(() -> {
+            final String userGuid = pwmRequest.getPwmSession().getLoginInfoBean().getGuid();
+            final PasswordData configKey = pwmRequest.getConfig().readSettingAsPassword(PwmSetting.PWM_SECURITY_KEY);
+            roundTrip(bean, new PwmSecurityKey(configKey.getStringValue() + userGuid));
+        });
+        final double cachedRate = measure(() -> roundTrip(bean, (PwmSecurityKey) keyForSession.invoke(provider, pwmRequest)));
+
+        System.out.println(String.format("cookie round trips/sec, key derived per request: %.0f, key from session key cache: %.0f",
+                derivedRate, cachedRate));
+    }
+
+    public void testCipherThroughput() throws Exception {
+        final SecretKeySpec key = new SecretKeySpec(PwmRandom.getInstance().newBytes(16), "AES");
+        final byte[] value = JsonUtil.serialize(new ForgottenPasswordBean()).getBytes("UTF-8");
+        final Cipher reusedCipher = Cipher.getInstance(BLOCK_ALGORITHM.getAlgName());
+
+        final double newCipherRate = measure(() -> encrypt(Cipher.getInstance(BLOCK_ALGORITHM.getAlgName()), key, value));
+        final double reusedCipherRate = measure(() -> encrypt(reusedCipher, key, value));
+
+        System.out.println(String.format("encryptions/sec, new cipher per call: %.0f, re-used cipher: %.0f",
+                newCipherRate, reusedCipherRate));
+    }
+
+    private static PwmRequest makeRequest(final String userGuid) throws Exception {
+        final Configuration configuration = mock(Configuration.class);
+        when(configuration.readAppPropertyInt(AppProperty.HTTP_COOKIE_BEAN_KEY_CACHE_MAX_ENTRIES)).thenReturn(10_000);
+        when(configuration.readAppPropertyLong(AppProperty.HTTP_COOKIE_BEAN_KEY_CACHE_IDLE_TIMEOUT_MS)).thenReturn(1_800_000L);
+        when(configuration.configurationHash()).thenReturn("configuration-hash");
+        when(configuration.readSettingAsPassword(PwmSetting.PWM_SECURITY_KEY)).thenReturn(new PasswordData(PwmRandom.getInstance().alphaNumericString(64)));
+
+        final LoginInfoBean loginInfoBean = new LoginInfoBean();
+        loginInfoBean.setGuid(userGuid);
+        final PwmSession pwmSession = mock(PwmSession.class);
+        when(pwmSession.getLoginInfoBean()).thenReturn(loginInfoBean);
+
+        final PwmRequest pwmRequest = mock(PwmRequest.class);
+        when(pwmRequest.getConfig()).thenReturn(configuration);
+        when(pwmRequest.getPwmSession()).thenReturn(pwmSession);
+        return pwmRequest;
+    }
+
+    private static void roundTrip(final ForgottenPasswordBean bean, final PwmSecurityKey key) throws Exception {
+        final String encrypted = SecureEngine.encryptToString(JsonUtil.serialize(bean), key, BLOCK_ALGORITHM, SecureEngine.Flag.URL_SAFE);
+        final String decrypted = SecureEngine.decryptStringValue(encrypted, key, BLOCK_ALGORITHM, SecureEngine.Flag.URL_SAFE);
+        assertEquals(bean.getGuid(), JsonUtil.deserialize(decrypted, ForgottenPasswordBean.class).getGuid());
+    }
+
+    private static void encrypt(final Cipher cipher, final SecretKeySpec key, final byte[] value) throws Exception {
+        final byte[] nonce = PwmRandom.getInstance().newBytes(12);
+        cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(128, nonce));
+        cipher.doFinal(value);
+    }
+
+    private static double measure(final Operation operation) throws Exception {
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            operation.run();
+        }
+
+        final Instant startTime = Instant.now();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.run();
+        }
+        final long elapsedMs = Math.max(1, TimeDuration.fromCurrent(startTime).getTotalMilliseconds());
+        return ITERATIONS * 1000d / elapsedMs;
+    }
+
+    private interface Operation {
+        void run() throws Exception;
+    }
+}
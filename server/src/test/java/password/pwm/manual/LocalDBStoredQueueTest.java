@@ -30,7 +30,9 @@ import password.pwm.util.localdb.LocalDBStoredQueue;
 import password.pwm.util.secure.PwmRandom;
 
 import java.io.File;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 public class LocalDBStoredQueueTest extends TestCase {
@@ -92,6 +94,20 @@ public class LocalDBStoredQueueTest extends TestCase {
         assertEquals(0, storedQueue.size());
     }
 
+    public void testPollFirstBatch() {
+        populatedQueue(SIZE, storedQueue);
+
+        final List<String> firstBatch = storedQueue.pollFirst(3);
+        assertEquals(Arrays.asList("4", "3", "2"), firstBatch);
+        assertEquals(SIZE - 3, storedQueue.size());
+
+        final List<String> secondBatch = storedQueue.pollFirst(SIZE);
+        assertEquals(Arrays.asList("1", "0"), secondBatch);
+        assertTrue(storedQueue.isEmpty());
+
+        assertTrue(storedQueue.pollFirst(SIZE).isEmpty());
+    }
+
     public void testDequeue() {
         storedQueue.clear();
         assertEquals(0,storedQueue.size());
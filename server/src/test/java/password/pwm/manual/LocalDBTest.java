@@ -30,6 +30,8 @@ import password.pwm.util.localdb.LocalDBException;
 import password.pwm.util.localdb.LocalDBFactory;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.Map;
 
 public class LocalDBTest extends TestCase {
 
@@ -52,6 +54,23 @@ public class LocalDBTest extends TestCase {
         Assert.assertEquals(pwmDB.get(TEST_DB,"testKey1"),"testValue1");
     }
 
+    public void testMultiKeyReads() throws LocalDBException {
+        pwmDB.put(TEST_DB,"testKey1","testValue1");
+        pwmDB.put(TEST_DB,"testKey2","testValue2");
+
+        Assert.assertTrue(pwmDB.containsAny(TEST_DB, Arrays.asList("missingKey","testKey2")));
+        Assert.assertFalse(pwmDB.containsAny(TEST_DB, Arrays.asList("missingKey1","missingKey2")));
+
+        final Map<String,String> values = pwmDB.getAll(TEST_DB, Arrays.asList("testKey2","missingKey","testKey1"));
+        Assert.assertEquals(2, values.size());
+        Assert.assertEquals("testValue1", values.get("testKey1"));
+        Assert.assertEquals("testValue2", values.get("testKey2"));
+
+        final String result = pwmDB.readInTransaction(TEST_DB, readView ->
+                readView.contains("testKey1") && !readView.contains("missingKey") ? readView.get("testKey2") : null);
+        Assert.assertEquals("testValue2", result);
+    }
+
     public void testSize() throws LocalDBException {
         final long startTime = System.currentTimeMillis();
         for (final LocalDB.DB loopDB : LocalDB.DB.values()) {
@@ -0,0 +1,80 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+
+package password.pwm.manual;
+
+import junit.framework.TestCase;
+import password.pwm.svc.stats.Statistic;
+import password.pwm.svc.stats.StatisticsManager;
+import password.pwm.util.java.TimeDuration;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Measures statistic update throughput with many request threads updating the same counters concurrently.
+ */
+public class StatisticsManagerThroughputTest extends TestCase {
+
+    private static final int THREADS = 16;
+    private static final int ITERATIONS_PER_THREAD = 500_000;
+
+    public void testConcurrentUpdates() throws Exception {
+        final StatisticsManager statisticsManager = new StatisticsManager();
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    startLatch.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < ITERATIONS_PER_THREAD; i++) {
+                    statisticsManager.incrementValue(Statistic.AUTHENTICATIONS);
+                    statisticsManager.updateAverageValue(Statistic.AVG_AUTHENTICATION_TIME, i % 100);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        final Instant startTime = Instant.now();
+        startLatch.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        final long durationMs = Math.max(1, TimeDuration.fromCurrent(startTime).getTotalMilliseconds());
+
+        final long totalUpdates = (long) THREADS * ITERATIONS_PER_THREAD * 2;
+        System.out.println(THREADS + " threads, " + totalUpdates + " updates in " + durationMs + "ms, updates/sec: " + (totalUpdates * 1000 / durationMs));
+
+        final String expectedCount = String.valueOf((long) THREADS * ITERATIONS_PER_THREAD);
+        assertEquals(expectedCount, statisticsManager.getStatBundleForKey(StatisticsManager.KEY_CURRENT).getStatistic(Statistic.AUTHENTICATIONS));
+        assertEquals(expectedCount, statisticsManager.getStatBundleForKey(StatisticsManager.KEY_CUMULATIVE).getStatistic(Statistic.AUTHENTICATIONS));
+        assertEquals("49", statisticsManager.getStatBundleForKey(StatisticsManager.KEY_CURRENT).getStatistic(Statistic.AVG_AUTHENTICATION_TIME));
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+
+package password.pwm.manual;
+
+import junit.framework.TestCase;
+import password.pwm.config.PwmSetting;
+import password.pwm.config.stored.StoredConfigurationImpl;
+import password.pwm.config.value.StringValue;
+import password.pwm.util.java.TimeDuration;
+
+import java.time.Instant;
+
+/**
+ * Compares setting read throughput of an uncompiled (xpath evaluated) stored configuration
+ * with the same configuration after {@link StoredConfigurationImpl#lock()} has compiled it.
+ */
+public class StoredConfigurationReadTest extends TestCase {
+
+    private static final int ITERATIONS = 200_000;
+
+    private static final PwmSetting[] READ_SETTINGS = new PwmSetting[] {
+            PwmSetting.PWM_SITE_URL,
+            PwmSetting.INTRUDER_ENABLE,
+            PwmSetting.DISPLAY_PASSWORD_GUIDE_TEXT,
+            PwmSetting.APP_PROPERTY_OVERRIDES,
+            PwmSetting.KNOWN_LOCALES,
+            PwmSetting.PWM_SECURITY_KEY,
+    };
+
+    public void testReadsPerSecond() throws Exception {
+        final StoredConfigurationImpl storedConfiguration = new StoredConfigurationImpl();
+        storedConfiguration.writeSetting(PwmSetting.PWM_SITE_URL, new StringValue("https://www.example.com/pwm"), null);
+        storedConfiguration.initNewRandomSecurityKey();
+
+        final double uncompiledRate = readsPerSecond(storedConfiguration);
+        storedConfiguration.lock();
+        final double compiledRate = readsPerSecond(storedConfiguration);
+
+        System.out.println("uncompiled reads/sec: " + (long) uncompiledRate);
+        System.out.println("compiled reads/sec:   " + (long) compiledRate);
+        assertTrue(compiledRate > uncompiledRate);
+    }
+
+    private static double readsPerSecond(final StoredConfigurationImpl storedConfiguration) {
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            storedConfiguration.readSetting(READ_SETTINGS[i % READ_SETTINGS.length]);
+        }
+
+        final Instant startTime = Instant.now();
+        for (int i = 0; i < ITERATIONS; i++) {
+            storedConfiguration.readSetting(READ_SETTINGS[i % READ_SETTINGS.length]);
+        }
+        final long durationMs = Math.max(1, TimeDuration.fromCurrent(startTime).getTotalMilliseconds());
+        return ITERATIONS * 1000d / durationMs;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package password.pwm.svc;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ScheduledTaskExecutorTest {
+
+    private ScheduledThreadPoolExecutor timer;
+    private ExecutorService workers;
+
+    @Before
+    public void setUp() {
+        timer = new ScheduledThreadPoolExecutor(1);
+        workers = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        timer.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrencyLimit() throws Exception {
+        final ScheduledTaskExecutor executor = new ScheduledTaskExecutor("test", 1, timer, workers, name -> { });
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        for (int i = 0; i < 20; i++) {
+            executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+            });
+        }
+
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        Assert.assertEquals(1, maxRunning.get());
+        Assert.assertEquals("20", executor.debugProperties().get("test.executed"));
+    }
+
+    @Test
+    public void testDelayedAndPeriodicTasks() throws Exception {
+        final ScheduledTaskExecutor executor = new ScheduledTaskExecutor("test", 1, timer, workers, name -> { });
+
+        final Future<String> delayed = executor.schedule(() -> "done", 10, TimeUnit.MILLISECONDS);
+        Assert.assertEquals("done", delayed.get(10, TimeUnit.SECONDS));
+
+        final CountDownLatch fixedRateLatch = new CountDownLatch(3);
+        final ScheduledFuture<?> fixedRate = executor.scheduleAtFixedRate(fixedRateLatch::countDown, 0, 5, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(fixedRateLatch.await(10, TimeUnit.SECONDS));
+        fixedRate.cancel(false);
+        Assert.assertTrue(fixedRate.isCancelled());
+
+        final CountDownLatch fixedDelayLatch = new CountDownLatch(3);
+        executor.scheduleWithFixedDelay(() -> {
+            fixedDelayLatch.countDown();
+            throw new IllegalStateException("periodic tasks continue after an exception");
+        }, 0, 5, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(fixedDelayLatch.await(10, TimeUnit.SECONDS));
+
+        final AtomicInteger terminations = new AtomicInteger();
+        final ScheduledTaskExecutor listenedExecutor = new ScheduledTaskExecutor("other", 1, timer, workers, name -> terminations.incrementAndGet());
+        listenedExecutor.schedule(() -> { }, 1, TimeUnit.HOURS);
+        listenedExecutor.shutdown();
+        Assert.assertTrue(listenedExecutor.awaitTermination(10, TimeUnit.SECONDS));
+        Assert.assertEquals(1, terminations.get());
+
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+
+package password.pwm.svc.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Instant;
+
+public class MemoryCacheStoreTest {
+
+    @Test
+    public void testExpiration() throws Exception {
+        final MemoryCacheStore memoryCacheStore = new MemoryCacheStore(100, 100);
+        final CacheKey liveKey = CacheKey.makeCacheKey(MemoryCacheStoreTest.class, null, "live");
+        final CacheKey expiredKey = CacheKey.makeCacheKey(MemoryCacheStoreTest.class, null, "expired");
+
+        memoryCacheStore.store(liveKey, Instant.now().plusSeconds(60), "value1");
+        memoryCacheStore.store(expiredKey, Instant.now().minusSeconds(1), "value2");
+
+        Assert.assertEquals("value1", memoryCacheStore.read(liveKey));
+        Assert.assertNull(memoryCacheStore.read(expiredKey));
+        Assert.assertEquals(1, memoryCacheStore.getCacheStoreInfo().getHitCount());
+        Assert.assertEquals(1, memoryCacheStore.getCacheStoreInfo().getMissCount());
+    }
+
+    @Test
+    public void testNegativeEntries() throws Exception {
+        final MemoryCacheStore memoryCacheStore = new MemoryCacheStore(100, 100);
+        final CacheKey cacheKey = CacheKey.makeCacheKey(MemoryCacheStoreTest.class, null, "absent");
+
+        memoryCacheStore.storeAbsent(cacheKey, Instant.now().plusSeconds(60));
+        final CacheValueWrapper negativeValue = memoryCacheStore.readValue(cacheKey);
+        Assert.assertNotNull(negativeValue);
+        Assert.assertNull(negativeValue.getPayload());
+        Assert.assertEquals(1, memoryCacheStore.getCacheStoreInfo().getNegativeHitCount());
+
+        memoryCacheStore.store(cacheKey, Instant.now().plusSeconds(60), "value");
+        Assert.assertEquals("value", memoryCacheStore.read(cacheKey));
+    }
+
+    @Test
+    public void testNegativeEntriesDoNotEvictValues() throws Exception {
+        final MemoryCacheStore memoryCacheStore = new MemoryCacheStore(5, 2);
+        for (int i = 0; i < 5; i++) {
+            memoryCacheStore.store(CacheKey.makeCacheKey(MemoryCacheStoreTest.class, null, "value" + i), Instant.now().plusSeconds(60), "value" + i);
+        }
+        for (int i = 0; i < 100; i++) {
+            memoryCacheStore.storeAbsent(CacheKey.makeCacheKey(MemoryCacheStoreTest.class, null, "absent" + i), Instant.now().plusSeconds(60));
+        }
+
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals("value" + i, memoryCacheStore.read(CacheKey.makeCacheKey(MemoryCacheStoreTest.class, null, "value" + i)));
+        }
+        Assert.assertEquals(5, memoryCacheStore.itemCount());
+    }
+
+    @Test
+    public void testPromotionKeepsNewerValue() throws Exception {
+        final MemoryCacheStore memoryCacheStore = new MemoryCacheStore(100, 100);
+        final CacheKey cacheKey = CacheKey.makeCacheKey(MemoryCacheStoreTest.class, null, "promoted");
+
+        memoryCacheStore.store(cacheKey, Instant.now().plusSeconds(60), "newer");
+        memoryCacheStore.promote(new CacheValueWrapper(cacheKey, Instant.now().plusSeconds(60), "older"));
+        Assert.assertEquals("newer", memoryCacheStore.read(cacheKey));
+        Assert.assertEquals(0, memoryCacheStore.getCacheStoreInfo().getPromotionCount());
+
+        memoryCacheStore.storeAbsent(cacheKey, Instant.now().plusSeconds(60));
+        Assert.assertEquals("newer", memoryCacheStore.read(cacheKey));
+    }
+}
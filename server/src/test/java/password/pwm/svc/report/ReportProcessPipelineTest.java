@@ -0,0 +1,176 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+
+package password.pwm.svc.report;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import password.pwm.error.ErrorInformation;
+import password.pwm.error.PwmError;
+import password.pwm.util.localdb.LocalDBException;
+import password.pwm.util.localdb.LocalDBStoredQueue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ReportProcessPipelineTest {
+
+    private static final int USER_COUNT = 500;
+    private static final int BATCH_SIZE = 20;
+
+    private final Deque<String> workQueueValues = new ArrayDeque<>();
+    private LocalDBStoredQueue workQueue;
+
+    @Before
+    public void setUp() {
+        workQueue = mock(LocalDBStoredQueue.class);
+        when(workQueue.pollFirst(anyInt())).thenAnswer(invocation -> {
+            synchronized (workQueueValues) {
+                final int maxCount = invocation.getArgument(0);
+                final List<String> results = new ArrayList<>();
+                while (results.size() < maxCount && !workQueueValues.isEmpty()) {
+                    results.add(workQueueValues.pollFirst());
+                }
+                return results;
+            }
+        });
+        when(workQueue.addAll(anyCollectionOf(String.class))).thenAnswer(invocation -> {
+            synchronized (workQueueValues) {
+                return workQueueValues.addAll(invocation.<Collection<String>>getArgument(0));
+            }
+        });
+
+        for (int i = 0; i < USER_COUNT; i++) {
+            workQueueValues.add("user" + i);
+        }
+    }
+
+    @Test
+    public void testAllUsersProcessed() {
+        final TestHandler handler = new TestHandler(Integer.MAX_VALUE);
+        new ReportProcessPipeline(workQueue, "test", 4, BATCH_SIZE, handler).execute();
+
+        Assert.assertEquals(USER_COUNT, handler.writtenKeys.size());
+        Assert.assertTrue(workQueueValues.isEmpty());
+    }
+
+    @Test
+    public void testStopReturnsUnwrittenUsers() {
+        final TestHandler handler = new TestHandler(BATCH_SIZE * 3);
+        new ReportProcessPipeline(workQueue, "test", 4, BATCH_SIZE, handler).execute();
+
+        Assert.assertTrue(handler.writtenKeys.size() < USER_COUNT);
+
+        // every user was either written or is back in the work queue
+        final Set<String> remainingKeys = new HashSet<>(workQueueValues);
+        Assert.assertEquals(USER_COUNT, handler.writtenKeys.size() + remainingKeys.size());
+        for (final String writtenKey : handler.writtenKeys) {
+            Assert.assertFalse(remainingKeys.contains(writtenKey));
+        }
+
+        // a resumed run processes the remaining users
+        final TestHandler resumedHandler = new TestHandler(Integer.MAX_VALUE);
+        new ReportProcessPipeline(workQueue, "test", 4, BATCH_SIZE, resumedHandler).execute();
+
+        final Set<String> allWrittenKeys = new HashSet<>(handler.writtenKeys);
+        allWrittenKeys.addAll(resumedHandler.writtenKeys);
+        Assert.assertEquals(USER_COUNT, allWrittenKeys.size());
+        Assert.assertTrue(workQueueValues.isEmpty());
+    }
+
+    @Test
+    public void testFailedWriteReturnsUsers() {
+        final TestHandler handler = new TestHandler(Integer.MAX_VALUE);
+        handler.failWrites = true;
+        new ReportProcessPipeline(workQueue, "test", 2, BATCH_SIZE, handler).execute();
+
+        Assert.assertTrue(handler.writtenKeys.isEmpty());
+        Assert.assertEquals(USER_COUNT, new HashSet<>(workQueueValues).size());
+    }
+
+    @Test
+    public void testFailedReadNotReturned() {
+        final TestHandler handler = new TestHandler(Integer.MAX_VALUE);
+        handler.failReads = true;
+        new ReportProcessPipeline(workQueue, "test", 2, BATCH_SIZE, handler).execute();
+
+        Assert.assertTrue(handler.writtenKeys.isEmpty());
+        Assert.assertTrue(workQueueValues.isEmpty());
+    }
+
+    private static class TestHandler implements ReportProcessPipeline.Handler {
+        private final int stopAfterWrites;
+        private final Set<String> writtenKeys = new HashSet<>();
+        private volatile boolean running = true;
+        private boolean failReads;
+        private boolean failWrites;
+
+        TestHandler(final int stopAfterWrites) {
+            this.stopAfterWrites = stopAfterWrites;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+
+        @Override
+        public UserCacheRecord readRecord(final String delimitedKey) {
+            if (failReads) {
+                return null;
+            }
+            final UserCacheRecord userCacheRecord = new UserCacheRecord();
+            userCacheRecord.userDN = delimitedKey;
+            return userCacheRecord;
+        }
+
+        @Override
+        public void writeRecords(final List<UserCacheRecord> userCacheRecords) throws LocalDBException {
+            if (failWrites) {
+                throw new LocalDBException(new ErrorInformation(PwmError.ERROR_LOCALDB_UNAVAILABLE, "test write failure"));
+            }
+            for (final UserCacheRecord userCacheRecord : userCacheRecords) {
+                writtenKeys.add(userCacheRecord.getUserDN());
+            }
+            if (writtenKeys.size() >= stopAfterWrites) {
+                running = false;
+            }
+        }
+
+        @Override
+        public void publishStageInfo(final Map<ReportStatusInfo.PipelineStage, ReportStatusInfo.StageInfo> stageInfo) {
+        }
+    }
+}
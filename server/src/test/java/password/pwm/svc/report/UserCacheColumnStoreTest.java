@@ -0,0 +1,151 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package password.pwm.svc.report;
+
+import com.google.gson.reflect.TypeToken;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import password.pwm.util.java.JsonUtil;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class UserCacheColumnStoreTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private UserCacheColumnStore columnStore;
+
+    @Before
+    public void setUp() throws Exception {
+        columnStore = UserCacheColumnStore.open(temporaryFolder.newFolder("reportColumns"));
+    }
+
+    @After
+    public void tearDown() {
+        columnStore.close();
+    }
+
+    @Test
+    public void testRecordRoundTrip() throws Exception {
+        final String userRecordsJson = IOUtils.toString(getClass().getResourceAsStream("allUserRecords.json"));
+        final List<UserCacheRecord> records = JsonUtil.deserialize(userRecordsJson, new TypeToken<ArrayList<UserCacheRecord>>(){}.getType());
+
+        final Map<String, UserCacheRecord> recordsByGuid = new LinkedHashMap<>();
+        for (final UserCacheRecord record : records) {
+            columnStore.put(record.getUserGUID(), record);
+            recordsByGuid.put(record.getUserGUID(), record);
+        }
+        Assert.assertEquals(recordsByGuid.size(), columnStore.size());
+
+        final List<String> visitedGuids = new ArrayList<>();
+        columnStore.scan(row -> {
+            final String guid = row.getText(UserCacheRecordView.TextField.UserGUID);
+            visitedGuids.add(guid);
+            assertSameValues(recordsByGuid.get(guid), row);
+            return true;
+        });
+        Assert.assertEquals(new ArrayList<>(recordsByGuid.keySet()), visitedGuids);
+    }
+
+    @Test
+    public void testUpdateRemoveAndGrow() throws Exception {
+        final int recordCount = 3000;
+        for (int i = 0; i < recordCount; i++) {
+            columnStore.put("key" + i, makeRecord(i));
+        }
+
+        final UserCacheRecord updatedRecord = makeRecord(7);
+        updatedRecord.username = "updated";
+        updatedRecord.lastLoginTime = null;
+        columnStore.put("key7", updatedRecord);
+
+        for (int i = 0; i < recordCount; i += 2) {
+            columnStore.remove("key" + i);
+        }
+        Assert.assertEquals(recordCount / 2, columnStore.size());
+
+        final int[] visited = {0};
+        columnStore.scan(row -> {
+            final String username = row.getText(UserCacheRecordView.TextField.Username);
+            if ("updated".equals(username)) {
+                Assert.assertEquals(UserCacheRecordView.NULL_TIME, row.getTime(UserCacheRecordView.TimeField.LastLogin));
+            } else {
+                final int index = Integer.parseInt(username.substring("user".length()));
+                Assert.assertEquals(1, index % 2);
+                assertSameValues(makeRecord(index), row);
+            }
+            visited[0]++;
+            return true;
+        });
+        Assert.assertEquals(recordCount / 2, visited[0]);
+
+        // removed slots are re-used
+        columnStore.put("reused", makeRecord(0));
+        Assert.assertEquals(recordCount / 2 + 1, columnStore.size());
+
+        columnStore.clear();
+        Assert.assertEquals(0, columnStore.size());
+        columnStore.scan(row -> {
+            Assert.fail("cleared store should have no rows");
+            return true;
+        });
+    }
+
+    private static UserCacheRecord makeRecord(final int index) {
+        final UserCacheRecord record = new UserCacheRecord();
+        record.userGUID = "guid" + index;
+        record.username = "user" + index;
+        record.userDN = "cn=user" + index + ",o=test";
+        record.ldapProfile = index % 3 == 0 ? "default" : "other";
+        record.cacheTimestamp = Instant.ofEpochMilli(1500000000000L + index);
+        record.lastLoginTime = Instant.ofEpochMilli(1400000000000L + index);
+        record.hasResponses = index % 2 == 0;
+        record.requiresProfileUpdate = index % 5 == 0;
+        return record;
+    }
+
+    private static void assertSameValues(final UserCacheRecordView expected, final UserCacheRecordView actual) {
+        for (final UserCacheRecordView.TimeField field : UserCacheRecordView.TimeField.values()) {
+            Assert.assertEquals(field.toString(), expected.getTime(field), actual.getTime(field));
+        }
+        for (final UserCacheRecordView.FlagField field : UserCacheRecordView.FlagField.values()) {
+            Assert.assertEquals(field.toString(), expected.getFlag(field), actual.getFlag(field));
+        }
+        for (final UserCacheRecordView.TextField field : UserCacheRecordView.TextField.values()) {
+            Assert.assertEquals(field.toString(), expected.getText(field), actual.getText(field));
+        }
+        Assert.assertEquals(expected.getLdapProfile(), actual.getLdapProfile());
+        Assert.assertEquals(expected.getResponseStorageMethod(), actual.getResponseStorageMethod());
+        Assert.assertEquals(expected.getResponseFormatType(), actual.getResponseFormatType());
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+
+package password.pwm.svc.stats;
+
+import org.junit.Assert;
+import org.junit.Test;
+import password.pwm.util.java.JsonUtil;
+import password.pwm.util.java.TimeDuration;
+
+public class EventRateMeterTest {
+    private static final long START_TIME = 1_000_000_000_000L;
+
+    @Test
+    public void testSteadyRate() {
+        final EventRateMeter eventRateMeter = new EventRateMeter(TimeDuration.MINUTE);
+        eventRateMeter.reset(START_TIME);
+
+        // 10 events per second for two minutes
+        for (long time = START_TIME; time < START_TIME + 120_000; time += 100) {
+            eventRateMeter.markEvents(1, time);
+        }
+
+        Assert.assertEquals(10, eventRateMeter.readEventRate(START_TIME + 120_000), 0.5);
+    }
+
+    @Test
+    public void testPartialWindow() {
+        final EventRateMeter eventRateMeter = new EventRateMeter(TimeDuration.HOUR);
+        eventRateMeter.reset(START_TIME);
+        eventRateMeter.markEvents(100, START_TIME + 5_000);
+
+        Assert.assertEquals(10, eventRateMeter.readEventRate(START_TIME + 10_000), 0.01);
+    }
+
+    @Test
+    public void testEventsLeaveWindow() {
+        final EventRateMeter eventRateMeter = new EventRateMeter(TimeDuration.MINUTE);
+        eventRateMeter.reset(START_TIME);
+        eventRateMeter.markEvents(600, START_TIME + 1_000);
+
+        Assert.assertTrue(eventRateMeter.readEventRate(START_TIME + 30_000) > 0);
+        Assert.assertEquals(0, eventRateMeter.readEventRate(START_TIME + 5 * 60_000), 0);
+
+        eventRateMeter.markEvents(60, START_TIME + 5 * 60_000 + 500);
+        Assert.assertEquals(1, eventRateMeter.readEventRate(START_TIME + 6 * 60_000), 0.05);
+    }
+
+    @Test
+    public void testStoredRate() {
+        final String legacyValue = "{\"maxDuration\":{\"ms\":60000},\"movingAverage\":{\"windowMillis\":60000,\"lastMillis\":1,\"average\":4.0},\"remainder\":0.0}";
+        final EventRateMeter.StoredEventRate storedEventRate = JsonUtil.deserialize(legacyValue, EventRateMeter.StoredEventRate.class);
+        Assert.assertEquals(TimeDuration.MINUTE, storedEventRate.getMaxDuration());
+
+        final EventRateMeter eventRateMeter = EventRateMeter.fromStoredEventRate(storedEventRate, TimeDuration.MINUTE);
+        Assert.assertEquals(4, eventRateMeter.readEventRate().doubleValue(), 0.5);
+
+        final EventRateMeter.StoredEventRate roundTrip = JsonUtil.deserialize(JsonUtil.serialize(eventRateMeter.toStoredEventRate()), EventRateMeter.StoredEventRate.class);
+        Assert.assertEquals(4, EventRateMeter.fromStoredEventRate(roundTrip, TimeDuration.MINUTE).readEventRate().doubleValue(), 0.5);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+
+package password.pwm.svc.stats;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketBoundaries() {
+        for (long value = 0; value < 100_000; value++) {
+            final int index = LatencyHistogram.bucketIndex(value);
+            Assert.assertTrue(LatencyHistogram.bucketHighestValue(index) >= value);
+            if (index > 0) {
+                Assert.assertTrue(LatencyHistogram.bucketHighestValue(index - 1) < value);
+            }
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+
+        Assert.assertEquals(1000, histogram.getCount());
+        Assert.assertEquals(1000, histogram.getMax());
+        assertWithinBucketError(500, histogram.percentile(50));
+        assertWithinBucketError(950, histogram.percentile(95));
+        assertWithinBucketError(990, histogram.percentile(99));
+        Assert.assertEquals(1000, histogram.percentile(100));
+        Assert.assertEquals(0, new LatencyHistogram().percentile(50));
+    }
+
+    @Test
+    public void testStoredRoundTrip() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3);
+        histogram.record(250);
+        histogram.record(40_000);
+
+        final LatencyHistogram restored = LatencyHistogram.fromStoredHistogram(histogram.toStoredHistogram());
+        Assert.assertEquals(histogram.summarize(), restored.summarize());
+    }
+
+    @Test
+    public void testBundleRoundTrip() {
+        final long hourZero = 0;
+        final long hourFive = 5 * 60 * 60 * 1000L;
+
+        final HistogramBundle bundle = new HistogramBundle();
+        bundle.record(Statistic.AVG_LDAP_SEARCH_TIME, 10, hourZero);
+        bundle.record(Statistic.AVG_LDAP_SEARCH_TIME, 20, hourFive);
+        bundle.record(Statistic.AUTHENTICATIONS, 20, hourFive);
+
+        final HistogramBundle restored = HistogramBundle.input(bundle.output());
+        Assert.assertEquals(2, restored.summarizeDay(Statistic.AVG_LDAP_SEARCH_TIME).getCount());
+        Assert.assertNull(restored.summarizeDay(Statistic.AUTHENTICATIONS));
+
+        final Map<Integer, HistogramSummary> hours = restored.summarizeHours(Statistic.AVG_LDAP_SEARCH_TIME);
+        Assert.assertEquals(2, hours.size());
+        Assert.assertEquals(10, hours.get(0).getMax());
+        Assert.assertEquals(20, hours.get(5).getMax());
+    }
+
+    private static void assertWithinBucketError(final long expected, final long actual) {
+        Assert.assertTrue("expected " + expected + " but was " + actual, actual >= expected && actual <= expected + expected / 8 + 1);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+
+package password.pwm.svc.stats;
+
+import org.junit.Assert;
+import org.junit.Test;
+import password.pwm.util.java.JsonUtil;
+
+import java.util.Map;
+
+public class StatisticsBundleTest {
+
+    @Test
+    public void testStoredFormat() {
+        final StatisticsBundle bundle = new StatisticsBundle();
+        bundle.incrementValue(Statistic.AUTHENTICATIONS);
+        bundle.incrementValue(Statistic.AUTHENTICATIONS);
+        bundle.updateAverageValue(Statistic.AVG_LDAP_SEARCH_TIME, 10);
+        bundle.updateAverageValue(Statistic.AVG_LDAP_SEARCH_TIME, 20);
+
+        final Map<String, String> storedValues = JsonUtil.deserializeStringMap(bundle.output());
+        Assert.assertEquals(2, storedValues.size());
+        Assert.assertEquals("2", storedValues.get(Statistic.AUTHENTICATIONS.name()));
+        Assert.assertEquals("{\"total\":30,\"count\":2}", storedValues.get(Statistic.AVG_LDAP_SEARCH_TIME.name()));
+    }
+
+    @Test
+    public void testInput() {
+        final String storedValue = "{\"AUTHENTICATIONS\":\"5\",\"AVG_LDAP_SEARCH_TIME\":\"{\\\"total\\\":30,\\\"count\\\":2}\",\"BOGUS_STAT\":\"1\"}";
+        final StatisticsBundle bundle = StatisticsBundle.input(storedValue);
+        bundle.incrementValue(Statistic.AUTHENTICATIONS);
+        bundle.updateAverageValue(Statistic.AVG_LDAP_SEARCH_TIME, 60);
+
+        Assert.assertEquals("6", bundle.getStatistic(Statistic.AUTHENTICATIONS));
+        Assert.assertEquals("30", bundle.getStatistic(Statistic.AVG_LDAP_SEARCH_TIME));
+        Assert.assertEquals("0", bundle.getStatistic(Statistic.PASSWORD_CHANGES));
+    }
+}
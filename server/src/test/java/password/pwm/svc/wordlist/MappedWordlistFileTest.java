@@ -0,0 +1,116 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package password.pwm.svc.wordlist;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+public class MappedWordlistFileTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testContains() throws Exception {
+        final TreeSet<String> words = new TreeSet<>();
+        for (int i = 0; i < 5000; i++) {
+            words.add("password" + i);
+            words.add("pässword" + i);
+        }
+        words.add("a");
+        words.add("über");
+
+        final File file = write(new ArrayList<>(words), true);
+        final MappedWordlistFile mappedWordlistFile = MappedWordlistFile.open(file);
+
+        Assert.assertTrue(mappedWordlistFile.isSorted());
+        Assert.assertEquals(words.size(), mappedWordlistFile.size());
+        for (final String word : words) {
+            Assert.assertTrue(word, mappedWordlistFile.contains(word));
+        }
+
+        for (final String word : Arrays.asList("", "0", "b", "password", "password50000", "pa", "zzz", "überall")) {
+            Assert.assertFalse(word, mappedWordlistFile.contains(word));
+        }
+    }
+
+    @Test
+    public void testGet() throws Exception {
+        final List<String> words = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            words.add("seed" + (100 - i));
+        }
+
+        final MappedWordlistFile mappedWordlistFile = MappedWordlistFile.open(write(words, false));
+
+        Assert.assertFalse(mappedWordlistFile.isSorted());
+        for (int i = 0; i < words.size(); i++) {
+            Assert.assertEquals(words.get(i), mappedWordlistFile.get(i));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRequireSorted() throws Exception {
+        write(Arrays.asList("bravo", "alpha"), true);
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+        final MappedWordlistFile mappedWordlistFile = MappedWordlistFile.open(write(new ArrayList<>(), true));
+        Assert.assertEquals(0, mappedWordlistFile.size());
+        Assert.assertFalse(mappedWordlistFile.contains("alpha"));
+    }
+
+    @Test(expected = IOException.class)
+    public void testCorruptFile() throws Exception {
+        final File file = write(Arrays.asList("alpha", "bravo", "charlie"), true);
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.seek(randomAccessFile.length() - 30);
+            final int value = randomAccessFile.read();
+            randomAccessFile.seek(randomAccessFile.length() - 30);
+            randomAccessFile.write(value ^ 0xFF);
+        }
+        MappedWordlistFile.open(file);
+    }
+
+    private File write(final List<String> words, final boolean requireSorted) throws IOException {
+        final File file = new File(temporaryFolder.getRoot(), "test.wordlist");
+        try (MappedWordlistFile.Writer writer = new MappedWordlistFile.Writer(file, requireSorted)) {
+            for (final String word : words) {
+                writer.add(word);
+            }
+            writer.commit();
+        }
+        return file;
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package password.pwm.svc.wordlist;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+import password.pwm.AppProperty;
+import password.pwm.PwmApplication;
+import password.pwm.PwmConstants;
+import password.pwm.config.Configuration;
+import password.pwm.config.PwmSetting;
+import password.pwm.util.localdb.LocalDB;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+public class PopulatorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final Map<String, String> storedWords = Collections.synchronizedMap(new TreeMap<>());
+    private final List<Map<String, String>> writes = Collections.synchronizedList(new ArrayList<>());
+    private final Map<PwmApplication.AppAttribute, Object> appAttributes = new HashMap<>();
+
+    private PwmApplication pwmApplication;
+    private Configuration configuration;
+    private LocalDB localDB;
+
+    @Before
+    public void setUp() throws Exception {
+        configuration = Mockito.mock(Configuration.class);
+        Mockito.when(configuration.readAppPropertyInt(AppProperty.WORDLIST_IMPORT_NORMALIZE_THREADS)).thenReturn(3);
+        Mockito.when(configuration.readAppPropertyInt(AppProperty.WORDLIST_IMPORT_CHUNK_LINES)).thenReturn(2);
+        Mockito.when(configuration.readAppPropertyLong(AppProperty.WORDLIST_IMPORT_CHECKPOINT_INTERVAL_MS)).thenReturn(0L);
+
+        localDB = Mockito.mock(LocalDB.class);
+        Mockito.doAnswer(invocation -> {
+            final Map<String, String> batch = new TreeMap<>(invocation.<Map<String, String>>getArgument(1));
+            writes.add(batch);
+            storedWords.putAll(batch);
+            return null;
+        }).when(localDB).putAll(Mockito.eq(LocalDB.DB.WORDLIST_WORDS), Mockito.anyMap());
+        Mockito.doAnswer(invocation -> {
+            storedWords.clear();
+            return null;
+        }).when(localDB).truncate(LocalDB.DB.WORDLIST_WORDS);
+        Mockito.when(localDB.size(LocalDB.DB.WORDLIST_WORDS)).thenAnswer(invocation -> storedWords.size());
+        Mockito.when(localDB.get(Mockito.eq(LocalDB.DB.WORDLIST_WORDS), Mockito.anyString()))
+                .thenAnswer(invocation -> storedWords.get(invocation.<String>getArgument(1)));
+        Mockito.when(localDB.iterator(LocalDB.DB.WORDLIST_WORDS)).thenAnswer(invocation -> {
+            final Iterator<String> iterator = new ArrayList<>(storedWords.keySet()).iterator();
+            return new TestIterator(iterator);
+        });
+        Mockito.when(localDB.getFileLocation()).thenReturn(temporaryFolder.getRoot());
+
+        pwmApplication = Mockito.mock(PwmApplication.class);
+        Mockito.when(pwmApplication.getConfig()).thenReturn(configuration);
+        Mockito.when(pwmApplication.getLocalDB()).thenReturn(localDB);
+        Mockito.when(pwmApplication.readAppAttribute(Mockito.any(), Mockito.any()))
+                .thenAnswer(invocation -> appAttributes.get(invocation.getArgument(0)));
+        Mockito.doAnswer(invocation -> {
+            appAttributes.put(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(pwmApplication).writeAppAttribute(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void testPopulate() throws Exception {
+        final TestWordlist wordlist = makeWordlist(false);
+        final List<String> lines = Arrays.asList("Password", "password", "!#comment: not a word", "x", "letmein", "  Dragon  ", "letmein", "monkey");
+
+        new Populator(makeZip(lines), StoredWordlistDataBean.Source.User, null, wordlist, pwmApplication).populate();
+
+        Assert.assertEquals(Arrays.asList("dragon", "letmein", "monkey", "password"), new ArrayList<>(storedWords.keySet()));
+
+        final StoredWordlistDataBean metadata = wordlist.readMetadata();
+        Assert.assertTrue(metadata.isCompleted());
+        Assert.assertEquals(4, metadata.getSize());
+        Assert.assertNull(metadata.getImportCheckpoint());
+    }
+
+    @Test
+    public void testResumeFromCheckpoint() throws Exception {
+        final TestWordlist wordlist = makeWordlist(false);
+        final List<String> lines = Arrays.asList("alpha", "bravo", "charlie", "delta", "echo", "foxtrot");
+
+        storedWords.put("alpha", "");
+        storedWords.put("bravo", "");
+        wordlist.writeMetadata(StoredWordlistDataBean.builder()
+                .source(StoredWordlistDataBean.Source.BuiltIn)
+                .importCheckpoint(StoredWordlistDataBean.ImportCheckpoint.builder()
+                        .sourceHash("source-hash")
+                        .lines(2)
+                        .entries(2)
+                        .build())
+                .build());
+
+        new Populator(makeZip(lines), StoredWordlistDataBean.Source.BuiltIn, "source-hash", wordlist, pwmApplication).populate();
+
+        Mockito.verify(localDB, Mockito.never()).truncate(Mockito.any());
+        Assert.assertEquals(lines, new ArrayList<>(storedWords.keySet()));
+        for (final Map<String, String> write : writes) {
+            Assert.assertFalse(write.containsKey("alpha"));
+            Assert.assertFalse(write.containsKey("bravo"));
+        }
+        Assert.assertTrue(wordlist.readMetadata().isCompleted());
+    }
+
+    @Test
+    public void testCheckpointForOtherSourceIgnored() throws Exception {
+        final TestWordlist wordlist = makeWordlist(false);
+        storedWords.put("stale", "");
+        wordlist.writeMetadata(StoredWordlistDataBean.builder()
+                .source(StoredWordlistDataBean.Source.BuiltIn)
+                .importCheckpoint(StoredWordlistDataBean.ImportCheckpoint.builder()
+                        .sourceHash("old-hash")
+                        .lines(1)
+                        .build())
+                .build());
+
+        new Populator(makeZip(Arrays.asList("alpha", "bravo")), StoredWordlistDataBean.Source.BuiltIn, "new-hash", wordlist, pwmApplication).populate();
+
+        Assert.assertEquals(Arrays.asList("alpha", "bravo"), new ArrayList<>(storedWords.keySet()));
+    }
+
+    @Test
+    public void testSequentialKeysKeepInputOrder() throws Exception {
+        final TestWordlist wordlist = makeWordlist(true);
+        final List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            lines.add("word" + i);
+        }
+
+        new Populator(makeZip(lines), StoredWordlistDataBean.Source.User, null, wordlist, pwmApplication).populate();
+
+        Assert.assertEquals(100, storedWords.size());
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals("word" + i, storedWords.get(String.valueOf(i)));
+        }
+    }
+
+    @Test
+    public void testMappedFileStorage() throws Exception {
+        Mockito.when(configuration.readAppProperty(AppProperty.WORDLIST_STORAGE_FORMAT)).thenReturn(WordlistStorageFormat.MAPPED_FILE.toString());
+        final TestWordlist wordlist = makeWordlist(false);
+
+        new Populator(makeZip(Arrays.asList("Alpha", "bravo", "charlie", "alpha")), StoredWordlistDataBean.Source.User, null, wordlist, pwmApplication).populate();
+
+        final StoredWordlistDataBean metadata = wordlist.readMetadata();
+        Assert.assertTrue(metadata.isCompleted());
+        Assert.assertEquals(WordlistStorageFormat.MAPPED_FILE, metadata.getStorageFormat());
+        Assert.assertEquals(3, metadata.getSize());
+        Assert.assertTrue(storedWords.isEmpty());
+        Assert.assertTrue(new File(temporaryFolder.getRoot(), LocalDB.DB.WORDLIST_WORDS.toString() + ".wordlist").exists());
+
+        wordlist.wlStatus = Wordlist.STATUS.OPEN;
+        Assert.assertTrue(wordlist.containsWord("ALPHA"));
+        Assert.assertTrue(wordlist.containsWord("charlie"));
+        Assert.assertFalse(wordlist.containsWord("delta"));
+    }
+
+    @Test
+    public void testMappedFileStorageSequentialKeys() throws Exception {
+        Mockito.when(configuration.readAppProperty(AppProperty.WORDLIST_STORAGE_FORMAT)).thenReturn(WordlistStorageFormat.MAPPED_FILE.toString());
+        final TestWordlist wordlist = makeWordlist(true);
+
+        new Populator(makeZip(Arrays.asList("charlie", "alpha", "bravo")), StoredWordlistDataBean.Source.User, null, wordlist, pwmApplication).populate();
+
+        Assert.assertEquals(WordlistStorageFormat.MAPPED_FILE, wordlist.readMetadata().getStorageFormat());
+        final MappedWordlistFile mapped = wordlist.getMappedWordlist();
+        Assert.assertEquals(Arrays.asList("charlie", "alpha", "bravo"), Arrays.asList(mapped.get(0), mapped.get(1), mapped.get(2)));
+    }
+
+    private TestWordlist makeWordlist(final boolean sequentialKeys) throws Exception {
+        final TestWordlist wordlist = new TestWordlist(sequentialKeys);
+        wordlist.init(pwmApplication);
+        wordlist.wordlistConfiguration = new WordlistConfiguration(false, 0, null, 2, 64);
+        return wordlist;
+    }
+
+    private static InputStream makeZip(final List<String> lines) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+            zipOutputStream.putNextEntry(new ZipEntry("wordlist.txt"));
+            zipOutputStream.write(String.join("\n", lines).getBytes(PwmConstants.DEFAULT_CHARSET));
+            zipOutputStream.closeEntry();
+        }
+        return new ByteArrayInputStream(outputStream.toByteArray());
+    }
+
+    private static class TestWordlist extends AbstractWordlist {
+        private final boolean sequentialKeys;
+        private int counter;
+
+        TestWordlist(final boolean sequentialKeys) {
+            this.sequentialKeys = sequentialKeys;
+        }
+
+        @Override
+        protected Map<String, String> getWriteTxnForValue(final String value) {
+            if (sequentialKeys) {
+                return Collections.singletonMap(String.valueOf(counter++), value);
+            }
+            return Collections.singletonMap(value, "");
+        }
+
+        @Override
+        protected boolean hasSequentialKeys() {
+            return sequentialKeys;
+        }
+
+        @Override
+        protected void populationStarting(final long existingEntries) {
+            counter = (int) existingEntries;
+        }
+
+        @Override
+        protected PwmApplication.AppAttribute getMetaDataAppAttribute() {
+            return PwmApplication.AppAttribute.WORDLIST_METADATA;
+        }
+
+        @Override
+        protected AppProperty getBuiltInWordlistLocationProperty() {
+            return AppProperty.WORDLIST_BUILTIN_PATH;
+        }
+
+        @Override
+        protected LocalDB.DB getWordlistDB() {
+            return LocalDB.DB.WORDLIST_WORDS;
+        }
+
+        @Override
+        protected PwmSetting getWordlistFileSetting() {
+            return PwmSetting.WORDLIST_FILENAME;
+        }
+
+        @Override
+        protected WordlistType getWordlistType() {
+            return WordlistType.WORDLIST;
+        }
+    }
+
+    private static class TestIterator implements LocalDB.LocalDBIterator<String> {
+        private final Iterator<String> iterator;
+
+        TestIterator(final Iterator<String> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public String next() {
+            return iterator.next();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
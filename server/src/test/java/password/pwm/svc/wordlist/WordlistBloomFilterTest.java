@@ -0,0 +1,69 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+
+package password.pwm.svc.wordlist;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WordlistBloomFilterTest {
+
+    @Test
+    public void testNoFalseNegatives() {
+        final WordlistBloomFilter filter = WordlistBloomFilter.create(10_000, 0.01, 1024 * 1024, false);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("word" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            Assert.assertTrue(filter.mightContain("word" + i));
+        }
+        Assert.assertEquals(10_000, filter.getItemCount());
+        Assert.assertEquals(0, filter.getLookupsAvoided());
+    }
+
+    @Test
+    public void testFalsePositiveRate() {
+        final WordlistBloomFilter filter = WordlistBloomFilter.create(10_000, 0.01, 1024 * 1024, true);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("word" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other" + i)) {
+                falsePositives++;
+            }
+        }
+
+        Assert.assertTrue(filter.estimatedFalsePositiveRate() < 0.02);
+        Assert.assertTrue("false positives: " + falsePositives, falsePositives < 2_000);
+        Assert.assertEquals(100_000 - falsePositives, filter.getLookupsAvoided());
+    }
+
+    @Test
+    public void testMaxSize() {
+        final WordlistBloomFilter filter = WordlistBloomFilter.create(1_000_000, 0.01, 1024, false);
+        Assert.assertEquals(1024, filter.getSizeInBytes());
+    }
+}
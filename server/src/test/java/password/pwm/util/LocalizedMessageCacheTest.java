@@ -0,0 +1,54 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package password.pwm.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+import password.pwm.PwmConstants;
+import password.pwm.config.Configuration;
+import password.pwm.config.stored.StoredConfigurationImpl;
+import password.pwm.i18n.Message;
+
+public class LocalizedMessageCacheTest {
+
+    @Test
+    public void testPlaceholderSubstitution() {
+        final LocalizedMessageCache.MessageTemplate template = LocalizedMessageCache.MessageTemplate.compile("a %1% b %2%%1% 100% %0% %01% %3%");
+        Assert.assertEquals("a x b yx 100% %0% %01% %3%", template.apply(new String[] {"x", "y"}));
+        Assert.assertEquals("a %1% b y%1% 100% %0% %01% %3%", template.apply(new String[] {null, "y"}));
+        Assert.assertEquals("a %1% b %2%%1% 100% %0% %01% %3%", template.apply(null));
+    }
+
+    @Test
+    public void testCachedMessages() throws Exception {
+        final Configuration configuration = new Configuration(StoredConfigurationImpl.newStoredConfiguration());
+        final String[] values = new String[] {"7"};
+
+        final String expected = "Can not include more than 7 letter.";
+        Assert.assertEquals(expected, LocaleHelper.getLocalizedMessage(PwmConstants.DEFAULT_LOCALE, Message.Requirement_MaxAlpha, configuration, values));
+        Assert.assertEquals(expected, LocaleHelper.getLocalizedMessage(PwmConstants.DEFAULT_LOCALE, Message.Requirement_MaxAlpha, configuration, values));
+
+        Assert.assertEquals(1L, configuration.getLocalizedMessageCache().debugStats().get("missCount"));
+        Assert.assertEquals(1L, configuration.getLocalizedMessageCache().debugStats().get("hitCount"));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package password.pwm.util.logging;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PwmLoggerTest {
+
+    private static final String LOGGER_NAME = PwmLoggerTest.class.getName();
+
+    @Before
+    public void setUp() {
+        PwmLogger.markInitialized();
+        PwmLogger.setLocalDBLogger(null, null);
+        Logger.getLogger(LOGGER_NAME).setLevel(Level.INFO);
+    }
+
+    @After
+    public void tearDown() {
+        Logger.getLogger(LOGGER_NAME).setLevel(null);
+    }
+
+    @Test
+    public void testIsEnabledFollowsLog4jLevel() {
+        final PwmLogger pwmLogger = PwmLogger.getLogger(LOGGER_NAME);
+        Assert.assertFalse(pwmLogger.isEnabled(PwmLogLevel.TRACE));
+        Assert.assertFalse(pwmLogger.isEnabled(PwmLogLevel.DEBUG));
+        Assert.assertTrue(pwmLogger.isEnabled(PwmLogLevel.INFO));
+        Assert.assertTrue(pwmLogger.isEnabled(PwmLogLevel.FATAL));
+    }
+
+    @Test
+    public void testSupplierNotInvokedWhenDisabled() {
+        final PwmLogger pwmLogger = PwmLogger.getLogger(LOGGER_NAME);
+        final AtomicInteger invocations = new AtomicInteger();
+        pwmLogger.trace(() -> {
+            invocations.incrementAndGet();
+            return "trace message";
+        });
+        pwmLogger.debug(() -> {
+            invocations.incrementAndGet();
+            return "debug message";
+        });
+        Assert.assertEquals(0, invocations.get());
+
+        Logger.getLogger(LOGGER_NAME).setLevel(Level.TRACE);
+        pwmLogger.trace(() -> {
+            invocations.incrementAndGet();
+            return "trace message";
+        });
+        Assert.assertEquals(1, invocations.get());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package password.pwm.util.macro;
+
+import org.junit.Assert;
+import org.junit.Test;
+import password.pwm.util.java.TimeDuration;
+
+import java.time.Instant;
+
+/**
+ * Compares compiled template expansion against the multi-pass expansion for static macros.  Not matched by the
+ * surefire test patterns; run it directly when working on {@link MacroMachine}.
+ */
+public class MacroBenchmark {
+
+    private static final int ITERATIONS = 200_000;
+
+    private static final String[] INPUTS = new String[] {
+            "Your password has been changed.",
+            "Welcome to @PwmAppName@, please sign in to continue.",
+            "@PwmAppName@ version @PwmAppName@ is running, contact your administrator for help.",
+            "Encoded value: @Encode:urlPath:[[https://www.example.com]]@",
+    };
+
+    @Test
+    public void testExpansionThroughput() {
+        final MacroMachine macroMachine = MacroMachine.forStatic();
+
+        for (final String input : INPUTS) {
+            Assert.assertEquals(macroMachine.expandMacrosMultiPass(input, null), macroMachine.expandMacros(input));
+        }
+
+        final TimeDuration multiPassTime = measure(() -> {
+            for (final String input : INPUTS) {
+                macroMachine.expandMacrosMultiPass(input, null);
+            }
+        });
+
+        final TimeDuration compiledTime = measure(() -> {
+            for (final String input : INPUTS) {
+                macroMachine.expandMacros(input);
+            }
+        });
+
+        System.out.println("multi-pass expansion: " + multiPassTime.asCompactString()
+                + ", compiled expansion: " + compiledTime.asCompactString()
+                + " (" + ITERATIONS + " iterations of " + INPUTS.length + " inputs)");
+    }
+
+    private static TimeDuration measure(final Runnable runnable) {
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            runnable.run();
+        }
+
+        final Instant startTime = Instant.now();
+        for (int i = 0; i < ITERATIONS; i++) {
+            runnable.run();
+        }
+        return TimeDuration.fromCurrent(startTime);
+    }
+}
@@ -135,4 +135,46 @@ public class MacroTest {
             Assert.assertEquals(goal,expanded);
         }
     }
+
+    @Test
+    public void testCompiledExpansionMatchesMultiPass() throws Exception
+    {
+        final MacroMachine macroMachine = makeUserMacroMachine("cn=test1,ou=test,o=org");
+
+        final String[] inputs = new String[] {
+                "",
+                "no macros here",
+                "mail to admin@example.com",
+                "@PwmAppName@",
+                "test @PwmAppName@ and @LDAP:givenName@ and @PwmAppName@ test",
+                "@LDAP:givenName@@LDAP:dn@",
+                "test @Encode:urlPath:[[@LDAP:dn@]]@",
+                "@Unknown:macro@ @LDAP:givenName@",
+                "@LDAP:givenName@LDAP:dn@",
+        };
+
+        for (final String input : inputs) {
+            Assert.assertEquals(input, macroMachine.expandMacrosMultiPass(input, null), macroMachine.expandMacros(input));
+            Assert.assertEquals(input, macroMachine.expandMacrosMultiPass(input, null), macroMachine.expandMacros(input));
+        }
+    }
+
+    private static MacroMachine makeUserMacroMachine(final String userDN)
+            throws Exception
+    {
+        final PwmApplication pwmApplication = mock(PwmApplication.class);
+        when(pwmApplication.getApplicationMode()).thenReturn(PwmApplicationMode.RUNNING);
+        when(pwmApplication.getConfig()).thenReturn(new Configuration(StoredConfigurationImpl.newStoredConfiguration()));
+
+        final UserInfo userInfo = mock(UserInfo.class);
+        final UserIdentity userIdentity = new UserIdentity(userDN, "profile");
+        when(userInfo.getUserIdentity()).thenReturn(userIdentity);
+        when(userInfo.readStringAttribute("givenName")).thenReturn("Jason");
+
+        final LoginInfoBean loginInfoBean = mock(LoginInfoBean.class);
+        when(loginInfoBean.isAuthenticated()).thenReturn(true);
+        when(loginInfoBean.getUserIdentity()).thenReturn(userIdentity);
+
+        return MacroMachine.forUser(pwmApplication, null, userInfo, loginInfoBean);
+    }
 }
@@ -0,0 +1,67 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package password.pwm.util.secure;
+
+import org.junit.Assert;
+import org.junit.Test;
+import password.pwm.error.PwmUnrecoverableException;
+
+public class SecureEngineTest {
+
+    @Test
+    public void testRoundTripAllAlgorithms() throws PwmUnrecoverableException {
+        final PwmSecurityKey key = new PwmSecurityKey("secure-engine-test-key-0123456789");
+        for (final PwmBlockAlgorithm blockAlgorithm : PwmBlockAlgorithm.values()) {
+            for (int i = 0; i < 5; i++) {
+                final String input = "value " + i + " for " + blockAlgorithm;
+                final String encrypted = SecureEngine.encryptToString(input, key, blockAlgorithm, SecureEngine.Flag.URL_SAFE);
+                Assert.assertEquals(input, SecureEngine.decryptStringValue(encrypted, key, blockAlgorithm, SecureEngine.Flag.URL_SAFE));
+            }
+        }
+    }
+
+    @Test
+    public void testDecryptAfterFailedDecrypt() throws PwmUnrecoverableException {
+        final PwmSecurityKey key = new PwmSecurityKey("secure-engine-test-key-0123456789");
+        final PwmSecurityKey otherKey = new PwmSecurityKey("secure-engine-other-key-9876543210");
+        final String encrypted = SecureEngine.encryptToString("payload", key, PwmBlockAlgorithm.AES128_GCM, SecureEngine.Flag.URL_SAFE);
+
+        try {
+            SecureEngine.decryptStringValue(encrypted, otherKey, PwmBlockAlgorithm.AES128_GCM, SecureEngine.Flag.URL_SAFE);
+            Assert.fail("decrypt with the wrong key should fail");
+        } catch (PwmUnrecoverableException e) {
+            // expected
+        }
+
+        // the per-thread cipher must not carry state from the failed operation
+        Assert.assertEquals("payload", SecureEngine.decryptStringValue(encrypted, key, PwmBlockAlgorithm.AES128_GCM, SecureEngine.Flag.URL_SAFE));
+    }
+
+    @Test
+    public void testEncryptionUsesFreshNonce() throws PwmUnrecoverableException {
+        final PwmSecurityKey key = new PwmSecurityKey("secure-engine-test-key-0123456789");
+        final String first = SecureEngine.encryptToString("payload", key, PwmBlockAlgorithm.AES128_GCM);
+        final String second = SecureEngine.encryptToString("payload", key, PwmBlockAlgorithm.AES128_GCM);
+        Assert.assertNotEquals(first, second);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Password Management Servlets (PWM)
+ * http://www.pwm-project.org
+ *
+ * Copyright (c) 2006-2009 Novell, Inc.
+ * Copyright (c) 2009-2017 The PWM Project
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package password.pwm.ws.server;
+
+import org.junit.Assert;
+import org.junit.Test;
+import password.pwm.http.HttpContentType;
+import password.pwm.http.HttpMethod;
+import password.pwm.ws.server.rest.RestCheckPasswordServer;
+
+public class RestMethodDispatchTableTest {
+
+    @Test
+    public void testLookup() {
+        final RestMethodDispatchTable dispatchTable = RestMethodDispatchTable.forClass(RestCheckPasswordServer.class);
+
+        {
+            final RestMethodDispatchTable.Entry entry = dispatchTable.lookup(HttpMethod.POST, HttpContentType.json, HttpContentType.json);
+            Assert.assertNotNull(entry.getMethodHandle());
+            Assert.assertEquals("RestCheckPasswordServer.doPasswordRuleCheckJsonPost", entry.getEndpointName());
+        }
+
+        {
+            final RestMethodDispatchTable.Entry entry = dispatchTable.lookup(HttpMethod.POST, HttpContentType.form, HttpContentType.json);
+            Assert.assertEquals("RestCheckPasswordServer.doPasswordRuleCheckFormPost", entry.getEndpointName());
+        }
+
+        {
+            final RestMethodDispatchTable.Entry entry = dispatchTable.lookup(HttpMethod.DELETE, HttpContentType.json, HttpContentType.json);
+            Assert.assertNull(entry.getMethodHandle());
+            Assert.assertEquals("HTTP method invalid", entry.getErrorMessage());
+        }
+
+        {
+            final RestMethodDispatchTable.Entry entry = dispatchTable.lookup(HttpMethod.POST, HttpContentType.json, null);
+            Assert.assertNull(entry.getMethodHandle());
+            Assert.assertEquals("Accept header is required", entry.getErrorMessage());
+        }
+    }
+}